@@ -47,6 +47,7 @@ KW_NOT : 'NOT' | '!';
 
 
 KW_ORDER : 'ORDER';
+KW_DESC : 'DESC';
 KW_GROUP : 'GROUP';
 KW_FILL : 'FILL';
 KW_BY : 'BY';
@@ -77,6 +77,8 @@ TOK_ALL;
 TOK_SLIMIT;
 TOK_SOFFSET;
 TOK_LIMIT;
+TOK_OFFSET;
+TOK_ORDERBY;
 
 /*
   BELOW IS THE METADATA TOKEN
@@ -131,6 +133,8 @@ ArrayList<ParseError> errors = new ArrayList<ParseError>();
         xlateMap.put("KW_LIKE", "LIKE");
 
         xlateMap.put("KW_BY", "BY");
+        xlateMap.put("KW_ORDER", "ORDER");
+        xlateMap.put("KW_DESC", "DESC");
         xlateMap.put("KW_GROUP", "GROUP");
         xlateMap.put("KW_FILL", "FILL");
         xlateMap.put("KW_LINEAR", "LINEAR");
@@ -474,8 +478,9 @@ queryStatement
    :
    selectClause
    whereClause?
+   orderbyClause?
    specialClause?
-   -> ^(TOK_QUERY selectClause whereClause? specialClause?)
+   -> ^(TOK_QUERY selectClause whereClause? orderbyClause? specialClause?)
    ;
 
 specialClause
@@ -691,9 +696,10 @@ Basic Blocks
 */
 
 
+// DESC is a keyword only in ORDER BY TIME DESC, so it is still allowed in paths
 identifier
     :
-    Identifier | integer
+    Identifier | integer | KW_DESC
     ;
 
 //selectClause
@@ -734,6 +740,12 @@ groupbyClause
     -> ^(TOK_GROUPBY ^(TOK_TIMEUNIT $value $unit) ^(TOK_TIMEORIGIN $timeOrigin)? ^(TOK_TIMEINTERVAL timeInterval+))
     ;
 
+orderbyClause
+    :
+    KW_ORDER KW_BY KW_TIME KW_DESC
+    -> ^(TOK_ORDERBY KW_DESC)
+    ;
+
 fillClause
     :
     KW_FILL LPAREN typeClause (COMMA typeClause)* RPAREN
@@ -743,12 +755,13 @@ fillClause
 limitClause
     :
     KW_LIMIT N=NonNegativeInteger offsetClause?
-    -> ^(TOK_LIMIT $N)
+    -> ^(TOK_LIMIT $N) offsetClause?
     ;
 
 offsetClause
     :
     KW_OFFSET OFFSETValue=NonNegativeInteger
+    -> ^(TOK_OFFSET $OFFSETValue)
     ;
 
 slimitClause
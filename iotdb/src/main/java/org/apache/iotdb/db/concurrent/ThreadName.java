@@ -32,8 +32,11 @@ public enum ThreadName {
   FORCE_FLUSH_ALL_POLICY("IoTDB-ForceFlushAllPolicy-Thread"),
   STAT_MONITOR("StatMonitor-ServerServiceImpl"),
   FLUSH_SERVICE("Flush-ServerServiceImpl"),
+  QUERY_IO_SERVICE("Query-IO-ServerServiceImpl"),
   WAL_DAEMON("IoTDB-MultiFileLogNodeManager-Sync-Thread"),
   WAL_FORCE_DAEMON("IoTDB-MultiFileLogNodeManager-Force-Thread"),
+  WAL_RECOVERY_SERVICE("IoTDB-MultiFileLogNodeManager-Recovery"),
+  METADATA_SNAPSHOT("IoTDB-Metadata-Snapshot-Thread"),
   INDEX_SERVICE("Index-ServerServiceImpl");
 
   private String name;
@@ -63,6 +63,36 @@ public class IoTDBConfig {
    */
   public long forceWalPeriodInMs = 10;
 
+  /**
+   * Whether to write ahead logs by group commit. Writers only append their logs into a buffer of
+   * the log node, and the buffer is written and forced to disk as a whole every
+   * wal_group_commit_period_in_ms or when it is full, flush_wal_threshold, flush_wal_period_in_ms
+   * and force_wal_period_in_ms are not used then.
+   */
+  public boolean enableWalGroupCommit = false;
+
+  /**
+   * The size of the group commit buffer in bytes, each log node allocates two of them.
+   */
+  public int walGroupCommitBufferSize = 512 * 1024;
+
+  /**
+   * The cycle when the group commit buffers are written and forced to disk(in milliseconds).
+   */
+  public long walGroupCommitPeriodInMs = 10;
+
+  /**
+   * Whether a writer waits until its log is forced to disk in group commit mode. If not, it is
+   * possible to lose at most wal_group_commit_period_in_ms ms operations.
+   */
+  public boolean walGroupCommitWaitForce = false;
+
+  /**
+   * How many threads can concurrently replay the write ahead logs of different storage groups
+   * during the recovery. When <= 0, use CPU core number.
+   */
+  public int walRecoveryThreadNum = Runtime.getRuntime().availableProcessors();
+
   /**
    * Data directory.
    */
@@ -167,6 +197,18 @@ public class IoTDBConfig {
    */
   public int concurrentFlushThread = Runtime.getRuntime().availableProcessors();
 
+  /**
+   * How many threads of all the queries can concurrently build the readers of series and read
+   * their first batches. When <= 0, use CPU core number.
+   */
+  public int concurrentQueryIOThread = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * How many threads a query can use to build the readers of its series concurrently. The readers
+   * are built one by one on the thread of the query when it is <= 1.
+   */
+  public int queryIOConcurrencyPerQuery = 8;
+
   public ZoneId zoneID = ZoneId.systemDefault();
   /**
    * BufferWriteProcessor and OverflowProcessor will immediately flush if this threshold is
@@ -177,6 +219,32 @@ public class IoTDBConfig {
    * No more insert is allowed if this threshold is reached.
    */
   public long memThresholdDangerous = (long) (0.6 * Runtime.getRuntime().maxMemory());
+  /**
+   * The memory (in byte) of the chunk cache shared by the queries on sealed tsfiles. The chunk
+   * cache is disabled when it is 0.
+   */
+  public long chunkCacheSize = (long) (0.1 * Runtime.getRuntime().maxMemory());
+  /**
+   * The memory (in byte) of the cache of TsFileMetaData and the cache of TsDeviceMetadata. A cache
+   * is disabled when its size is 0.
+   */
+  public long tsFileMetadataCacheSize = (long) (0.02 * Runtime.getRuntime().maxMemory());
+  public long deviceMetadataCacheSize = (long) (0.05 * Runtime.getRuntime().maxMemory());
+  /**
+   * The memory (in byte) of the cache of the ChunkMetaData of the series in sealed tsfiles. The
+   * cache is disabled when it is 0.
+   */
+  public long chunkMetadataCacheSize = (long) (0.05 * Runtime.getRuntime().maxMemory());
+  /**
+   * Whether the queries read sealed tsfiles through memory mapping instead of reading them into
+   * heap buffers.
+   */
+  public boolean enableTsFileMmap = true;
+  /**
+   * The byte size of each mapped region of a sealed tsfile. Reads which cross the border of two
+   * regions are served by normal file reads.
+   */
+  public int tsFileMmapWindowSize = 256 * 1024 * 1024;
   /**
    * MemMonitorThread will check every such interval(in ms). If memThresholdWarning is reached,
    * MemMonitorThread will inform FileNodeManager to flush.
@@ -244,6 +312,13 @@ public class IoTDBConfig {
    * Cache size of {@code checkAndGetDataTypeCache} in {@link MManager}.
    */
   public int mManagerCacheSize = 400000;
+  /**
+   * When the metadata log of {@link MManager} holds this number of operations, the metadata is
+   * written into a binary snapshot in the background and a new log is started. Metadata operations
+   * wait while the metadata is serialized, not while the snapshot is synced. 0 means snapshots are
+   * only written when upgrading from an old version.
+   */
+  public int metadataSnapshotThreshold = 100000;
   /**
    * The maximum size of a single log in byte. If a log exceeds this size, it cannot be written to
    * the WAL file and an exception is thrown.
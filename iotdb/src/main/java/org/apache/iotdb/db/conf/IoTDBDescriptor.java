@@ -126,6 +126,24 @@ public class IoTDBDescriptor {
       conf.forceWalPeriodInMs = Long
           .parseLong(properties.getProperty("force_wal_period_in_ms",
                   Long.toString(conf.forceWalPeriodInMs)));
+      conf.enableWalGroupCommit = Boolean
+          .parseBoolean(properties.getProperty("enable_wal_group_commit",
+                  Boolean.toString(conf.enableWalGroupCommit)));
+      conf.walGroupCommitBufferSize = Integer
+          .parseInt(properties.getProperty("wal_group_commit_buffer_size",
+                  Integer.toString(conf.walGroupCommitBufferSize)));
+      conf.walGroupCommitPeriodInMs = Long
+          .parseLong(properties.getProperty("wal_group_commit_period_in_ms",
+                  Long.toString(conf.walGroupCommitPeriodInMs)));
+      conf.walGroupCommitWaitForce = Boolean
+          .parseBoolean(properties.getProperty("wal_group_commit_wait_force",
+                  Boolean.toString(conf.walGroupCommitWaitForce)));
+      conf.walRecoveryThreadNum = Integer
+          .parseInt(properties.getProperty("wal_recovery_thread_num",
+                  Integer.toString(conf.walRecoveryThreadNum)));
+      if (conf.walRecoveryThreadNum <= 0) {
+        conf.walRecoveryThreadNum = Runtime.getRuntime().availableProcessors();
+      }
 
       conf.dataDir = properties.getProperty("data_dir", conf.dataDir);
       conf.bufferWriteDirs = properties.getProperty("tsfile_dir", conf.default_tsfile_dir)
@@ -166,6 +184,35 @@ public class IoTDBDescriptor {
           properties.getProperty("mem_threshold_dangerous",
                   Long.toString(conf.memThresholdDangerous)).trim()));
 
+      String chunkCacheProportion = properties.getProperty("chunk_cache_proportion");
+      if (chunkCacheProportion != null) {
+        conf.chunkCacheSize = (long) (Runtime.getRuntime().maxMemory() * Double
+            .parseDouble(chunkCacheProportion.trim()));
+      }
+      String tsFileMetadataCacheProportion = properties
+          .getProperty("tsfile_metadata_cache_proportion");
+      if (tsFileMetadataCacheProportion != null) {
+        conf.tsFileMetadataCacheSize = (long) (Runtime.getRuntime().maxMemory() * Double
+            .parseDouble(tsFileMetadataCacheProportion.trim()));
+      }
+      String deviceMetadataCacheProportion = properties
+          .getProperty("device_metadata_cache_proportion");
+      if (deviceMetadataCacheProportion != null) {
+        conf.deviceMetadataCacheSize = (long) (Runtime.getRuntime().maxMemory() * Double
+            .parseDouble(deviceMetadataCacheProportion.trim()));
+      }
+      String chunkMetadataCacheProportion = properties
+          .getProperty("chunk_metadata_cache_proportion");
+      if (chunkMetadataCacheProportion != null) {
+        conf.chunkMetadataCacheSize = (long) (Runtime.getRuntime().maxMemory() * Double
+            .parseDouble(chunkMetadataCacheProportion.trim()));
+      }
+      conf.enableTsFileMmap = Boolean.parseBoolean(properties
+          .getProperty("enable_tsfile_mmap", Boolean.toString(conf.enableTsFileMmap)).trim());
+      conf.tsFileMmapWindowSize = Integer.parseInt(properties
+          .getProperty("tsfile_mmap_window_size", Integer.toString(conf.tsFileMmapWindowSize))
+          .trim());
+
       conf.memMonitorInterval = Long
           .parseLong(properties.getProperty("mem_monitor_interval",
                   Long.toString(conf.memMonitorInterval)).trim());
@@ -216,6 +263,16 @@ public class IoTDBDescriptor {
         conf.concurrentFlushThread = Runtime.getRuntime().availableProcessors();
       }
 
+      conf.concurrentQueryIOThread = Integer
+          .parseInt(properties.getProperty("concurrent_query_io_thread",
+                  Integer.toString(conf.concurrentQueryIOThread)).trim());
+      if (conf.concurrentQueryIOThread <= 0) {
+        conf.concurrentQueryIOThread = Runtime.getRuntime().availableProcessors();
+      }
+      conf.queryIOConcurrencyPerQuery = Integer
+          .parseInt(properties.getProperty("query_io_concurrency_per_query",
+                  Integer.toString(conf.queryIOConcurrencyPerQuery)).trim());
+
       conf.enableMemMonitor = Boolean
           .parseBoolean(properties.getProperty("enable_mem_monitor",
                   Boolean.toString(conf.enableMemMonitor)).trim());
@@ -231,6 +288,9 @@ public class IoTDBDescriptor {
       conf.mManagerCacheSize = Integer
           .parseInt(properties.getProperty("schema_manager_cache_size",
                   Integer.toString(conf.mManagerCacheSize)).trim());
+      conf.metadataSnapshotThreshold = Integer
+          .parseInt(properties.getProperty("metadata_snapshot_threshold",
+                  Integer.toString(conf.metadataSnapshotThreshold)).trim());
 
       int maxLogEntrySize = Integer
           .parseInt(properties.getProperty("max_log_entry_size",
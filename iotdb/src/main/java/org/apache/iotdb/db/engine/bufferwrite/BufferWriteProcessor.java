@@ -166,14 +166,13 @@ public class BufferWriteProcessor extends Processor {
    * @throws BufferWriteProcessorException if a flushing operation occurs and failed.
    */
   public boolean write(TSRecord tsRecord) throws BufferWriteProcessorException {
-    long memUsage = MemUtils.getRecordSize(tsRecord);
-    BasicMemController.UsageLevel level = BasicMemController.getInstance()
-        .reportUse(this, memUsage);
+    long memUsage = 0;
     for (DataPoint dataPoint : tsRecord.dataPointList) {
-      workMemTable.write(tsRecord.deviceId, dataPoint.getMeasurementId(), dataPoint.getType(),
-          tsRecord.time,
-          dataPoint.getValue().toString());
+      memUsage += workMemTable.write(tsRecord.deviceId, dataPoint.getMeasurementId(),
+          dataPoint.getType(), tsRecord.time, dataPoint.getValue().toString());
     }
+    BasicMemController.UsageLevel level = BasicMemController.getInstance()
+        .reportUse(this, memUsage);
     valueCount++;
     String memory;
     switch (level) {
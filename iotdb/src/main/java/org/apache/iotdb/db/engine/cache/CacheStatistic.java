@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.iotdb.db.monitor.IStatistic;
+import org.apache.iotdb.db.monitor.MonitorConstants;
+import org.apache.iotdb.db.monitor.MonitorConstants.CacheStatConstants;
+import org.apache.iotdb.db.monitor.StatMonitor;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+
+/**
+ * This class reports the requests, hits and hit ratios (in percent) of the caches to the
+ * {@link StatMonitor}.
+ */
+public class CacheStatistic implements IStatistic {
+
+  private CacheStatistic() {
+  }
+
+  public static CacheStatistic getInstance() {
+    return CacheStatisticHolder.INSTANCE;
+  }
+
+  @Override
+  public Map<String, AtomicLong> getStatParamsHashMap() {
+    Map<String, AtomicLong> statParamsHashMap = new HashMap<>();
+    TsFileMetaDataCache fileMetaDataCache = TsFileMetaDataCache.getInstance();
+    putCacheStats(statParamsHashMap, fileMetaDataCache.getRequestNum(),
+        fileMetaDataCache.getHitNum(), CacheStatConstants.TSFILE_METADATA_CACHE_REQUEST,
+        CacheStatConstants.TSFILE_METADATA_CACHE_HIT,
+        CacheStatConstants.TSFILE_METADATA_CACHE_HIT_RATIO);
+    RowGroupBlockMetaDataCache deviceMetaDataCache = RowGroupBlockMetaDataCache.getInstance();
+    putCacheStats(statParamsHashMap, deviceMetaDataCache.getRequestNum(),
+        deviceMetaDataCache.getHitNum(), CacheStatConstants.DEVICE_METADATA_CACHE_REQUEST,
+        CacheStatConstants.DEVICE_METADATA_CACHE_HIT,
+        CacheStatConstants.DEVICE_METADATA_CACHE_HIT_RATIO);
+    ChunkMetaDataCache chunkMetaDataCache = ChunkMetaDataCache.getInstance();
+    putCacheStats(statParamsHashMap, chunkMetaDataCache.getRequestNum(),
+        chunkMetaDataCache.getHitNum(), CacheStatConstants.CHUNK_METADATA_CACHE_REQUEST,
+        CacheStatConstants.CHUNK_METADATA_CACHE_HIT,
+        CacheStatConstants.CHUNK_METADATA_CACHE_HIT_RATIO);
+    ChunkCache chunkCache = ChunkCache.getInstance();
+    putCacheStats(statParamsHashMap, chunkCache.getRequestNum(), chunkCache.getHitNum(),
+        CacheStatConstants.CHUNK_CACHE_REQUEST, CacheStatConstants.CHUNK_CACHE_HIT,
+        CacheStatConstants.CHUNK_CACHE_HIT_RATIO);
+    return statParamsHashMap;
+  }
+
+  private void putCacheStats(Map<String, AtomicLong> statParamsHashMap, long requestNum,
+      long hitNum, CacheStatConstants request, CacheStatConstants hit,
+      CacheStatConstants hitRatio) {
+    statParamsHashMap.put(request.name(), new AtomicLong(requestNum));
+    statParamsHashMap.put(hit.name(), new AtomicLong(hitNum));
+    statParamsHashMap.put(hitRatio.name(),
+        new AtomicLong(requestNum == 0 ? 0 : hitNum * 100 / requestNum));
+  }
+
+  @Override
+  public List<String> getAllPathForStatistic() {
+    List<String> list = new ArrayList<>();
+    for (CacheStatConstants statConstant : CacheStatConstants.values()) {
+      list.add(MonitorConstants.STAT_CACHE_DELTA_NAME + MonitorConstants.MONITOR_PATH_SEPERATOR
+          + statConstant.name());
+    }
+    return list;
+  }
+
+  @Override
+  public Map<String, TSRecord> getAllStatisticsValue() {
+    TSRecord tsRecord = StatMonitor
+        .convertToTSRecord(getStatParamsHashMap(), MonitorConstants.STAT_CACHE_DELTA_NAME,
+            System.currentTimeMillis());
+    HashMap<String, TSRecord> ret = new HashMap<>();
+    ret.put(MonitorConstants.STAT_CACHE_DELTA_NAME, tsRecord);
+    return ret;
+  }
+
+  @Override
+  public void registStatMetadata() {
+    Map<String, String> hashMap = new HashMap<>();
+    for (String path : getAllPathForStatistic()) {
+      hashMap.put(path, MonitorConstants.DATA_TYPE);
+    }
+    StatMonitor.getInstance().registStatStorageGroup(hashMap);
+  }
+
+  private static class CacheStatisticHolder {
+
+    private CacheStatisticHolder() {
+    }
+
+    private static final CacheStatistic INSTANCE = new CacheStatistic();
+  }
+}
@@ -0,0 +1,56 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.cache;
+
+import java.io.IOException;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.Chunk;
+import org.apache.iotdb.tsfile.read.controller.ChunkLoader;
+
+/**
+ * Load the chunks of a sealed tsfile through the {@link ChunkCache} shared by all queries.
+ */
+public class CachedChunkLoader implements ChunkLoader {
+
+  private TsFileSequenceReader reader;
+  private String filePath;
+
+  public CachedChunkLoader(TsFileSequenceReader reader, String filePath) {
+    this.reader = reader;
+    this.filePath = filePath;
+  }
+
+  @Override
+  public Chunk getChunk(ChunkMetaData chunkMetaData) throws IOException {
+    Chunk chunk = ChunkCache.getInstance().get(filePath, chunkMetaData, reader);
+    Chunk chunkRet = new Chunk(chunk.getHeader(), chunk.getData().duplicate());
+    chunkRet.setDeletedAt(chunkMetaData.getDeletedAt());
+    return chunkRet;
+  }
+
+  /**
+   * the reader is shared by the queries, it is closed by
+   * {@link org.apache.iotdb.db.query.control.FileReaderManager} once no query refers to it.
+   */
+  @Override
+  public void close() {
+    // do not close the shared reader
+  }
+}
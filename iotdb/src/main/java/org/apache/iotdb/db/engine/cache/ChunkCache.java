@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.cache;
+
+import java.io.IOException;
+import java.util.Objects;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.Chunk;
+
+/**
+ * This class caches the chunks of sealed tsfiles for all queries, the chunks are identified by the
+ * file path and the offset of their headers. The cache is bounded by the estimated bytes of the
+ * chunks, see {@link SegmentedLruCache}.
+ *
+ * <p>The data of a chunk read through a mapped input is a slice of the mapping and is cached
+ * without copying. A slice keeps its mapping alive after the reader is closed, only the readers of
+ * deleted files are unmapped at once, after their chunks are removed from the cache, see
+ * {@link org.apache.iotdb.db.query.control.FileReaderManager}.
+ */
+public class ChunkCache {
+
+  /**
+   * estimated memory of a chunk except its data, including the key and the map entry.
+   */
+  private static final int CHUNK_OVERHEAD = 256;
+
+  private final long memoryBudget;
+  private final SegmentedLruCache<ChunkCacheKey, Chunk> lruCache;
+
+  ChunkCache(long memoryBudget) {
+    this.memoryBudget = memoryBudget;
+    lruCache = new SegmentedLruCache<ChunkCacheKey, Chunk>(memoryBudget) {
+      @Override
+      long estimateSize(ChunkCacheKey key, Chunk chunk) {
+        return CHUNK_OVERHEAD + chunk.getHeader().getSerializedSize() + chunk.getData()
+            .capacity();
+      }
+    };
+  }
+
+  public static ChunkCache getInstance() {
+    return ChunkCacheHolder.INSTANCE;
+  }
+
+  /**
+   * get the chunk of the metadata, read it by the reader if it is not cached. THREAD SAFE.
+   *
+   * @param filePath the path of the sealed tsfile which the reader reads
+   * @return the cached chunk, which is shared by all queries, so its data must be duplicated before
+   * being read
+   */
+  public Chunk get(String filePath, ChunkMetaData metaData, TsFileSequenceReader reader)
+      throws IOException {
+    if (memoryBudget <= 0) {
+      return reader.readMemChunk(metaData);
+    }
+    ChunkCacheKey key = new ChunkCacheKey(filePath, metaData.getOffsetOfChunkHeader());
+    Chunk chunk = lruCache.get(key);
+    if (chunk == null) {
+      // read out of the lock, concurrent misses of the same chunk may read it more than once
+      chunk = reader.readMemChunk(metaData);
+      lruCache.put(key, chunk);
+    }
+    return chunk;
+  }
+
+  public long getRequestNum() {
+    return lruCache.getRequestNum();
+  }
+
+  public long getHitNum() {
+    return lruCache.getHitNum();
+  }
+
+  public long getMissNum() {
+    return lruCache.getRequestNum() - lruCache.getHitNum();
+  }
+
+  public long getEvictionNum() {
+    return lruCache.getEvictionNum();
+  }
+
+  /**
+   * @return the estimated bytes of the cached chunks
+   */
+  public long getUsedMemory() {
+    return lruCache.getUsedMemory();
+  }
+
+  /**
+   * remove the cached chunks of the file, which is called when the file is deleted, e.g., replaced
+   * by a merge.
+   */
+  public void remove(String filePath) {
+    lruCache.removeIf(key -> key.filePath.equals(filePath));
+  }
+
+  /**
+   * clear all cached chunks, the metrics are kept.
+   */
+  public void clear() {
+    lruCache.clear();
+  }
+
+  private static class ChunkCacheKey {
+
+    private final String filePath;
+    private final long offset;
+
+    private ChunkCacheKey(String filePath, long offset) {
+      this.filePath = filePath;
+      this.offset = offset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ChunkCacheKey that = (ChunkCacheKey) o;
+      return offset == that.offset && Objects.equals(filePath, that.filePath);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * filePath.hashCode() + Long.hashCode(offset);
+    }
+  }
+
+  private static class ChunkCacheHolder {
+
+    private ChunkCacheHolder() {
+    }
+
+    private static final ChunkCache INSTANCE = new ChunkCache(
+        IoTDBDescriptor.getInstance().getConfig().chunkCacheSize);
+  }
+}
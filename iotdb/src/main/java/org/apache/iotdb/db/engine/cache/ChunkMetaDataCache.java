@@ -0,0 +1,193 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.cache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.tsfile.file.metadata.ChunkGroupMetaData;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.file.metadata.TsDeviceMetadata;
+import org.apache.iotdb.tsfile.file.metadata.TsFileMetaData;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class is used to cache the <code>ChunkMetaData</code> of a series in a sealed tsfile, which
+ * is shared by all the queries instead of being loaded by a <code>MetadataQuerier</code> of each
+ * query. A missing series is loaded through the series index of the file, or from {@link
+ * RowGroupBlockMetaDataCache} if the file has no such index. The cache is bounded by the estimated
+ * bytes of the metadata, see {@link SegmentedLruCache}.
+ */
+public class ChunkMetaDataCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ChunkMetaDataCache.class);
+
+  /**
+   * estimated memory of the key, the list and its map entry in the cache.
+   */
+  private static final int SERIES_OVERHEAD = 160;
+  private static final int CHUNK_OVERHEAD = 96;
+
+  private SegmentedLruCache<SeriesKey, List<ChunkMetaData>> cache;
+
+  private ChunkMetaDataCache(long memoryBudget) {
+    cache = new SegmentedLruCache<SeriesKey, List<ChunkMetaData>>(memoryBudget) {
+      @Override
+      long estimateSize(SeriesKey key, List<ChunkMetaData> chunkMetaDataList) {
+        long size = SERIES_OVERHEAD + 2L * (key.filePath.length() + key.deviceId.length()
+            + key.measurementId.length());
+        for (ChunkMetaData chunkMetaData : chunkMetaDataList) {
+          size += CHUNK_OVERHEAD + chunkMetaData.getSerializedSize();
+        }
+        return size;
+      }
+    };
+  }
+
+  public static ChunkMetaDataCache getInstance() {
+    return ChunkMetaDataCacheHolder.INSTANCE;
+  }
+
+  /**
+   * get the ChunkMetaData of the series in the sealed tsfile. THREAD SAFE.
+   *
+   * @param reader the reader of the file, used when the series is not cached
+   * @return a new list which can be modified by the caller, but the ChunkMetaData in it are shared
+   * by the cache and must not be modified, see <code>QueryUtils.modifyChunkMetaData</code>
+   */
+  public List<ChunkMetaData> get(String filePath, Path seriesPath, TsFileSequenceReader reader)
+      throws IOException {
+    SeriesKey key = new SeriesKey(filePath, seriesPath.getDevice(), seriesPath.getMeasurement());
+    List<ChunkMetaData> chunkMetaDataList = cache.get(key);
+    if (chunkMetaDataList != null) {
+      return new ArrayList<>(chunkMetaDataList);
+    }
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Cache didn't hint: the number of requests for cache is {}",
+          cache.getRequestNum());
+    }
+    // read out of the lock, concurrent misses of the same series may load it more than once
+    chunkMetaDataList = loadChunkMetaData(filePath, seriesPath, reader);
+    cache.put(key, chunkMetaDataList);
+    return new ArrayList<>(chunkMetaDataList);
+  }
+
+  private List<ChunkMetaData> loadChunkMetaData(String filePath, Path seriesPath,
+      TsFileSequenceReader reader) throws IOException {
+    String deviceId = seriesPath.getDevice();
+    String measurementId = seriesPath.getMeasurement();
+    TsFileMetaData fileMetaData = TsFileMetaDataCache.getInstance().get(filePath);
+    if (!fileMetaData.mightContainSeries(deviceId, measurementId)) {
+      return Collections.emptyList();
+    }
+    if (fileMetaData.getSeriesMetadataIndex(deviceId) != null) {
+      // read only the ChunkMetaData of the series instead of the whole device metadata
+      return reader.readChunkMetaDataList(fileMetaData, seriesPath);
+    }
+    TsDeviceMetadata deviceMetadata = RowGroupBlockMetaDataCache.getInstance()
+        .get(filePath, deviceId, fileMetaData);
+    List<ChunkMetaData> chunkMetaDataList = new ArrayList<>();
+    for (ChunkGroupMetaData chunkGroupMetaData : deviceMetadata.getChunkGroupMetaDataList()) {
+      for (ChunkMetaData chunkMetaData : chunkGroupMetaData.getChunkMetaDataList()) {
+        if (measurementId.equals(chunkMetaData.getMeasurementUid())) {
+          // the device metadata is cached too, set the version on a copy
+          ChunkMetaData copy = chunkMetaData.clone();
+          copy.setVersion(chunkGroupMetaData.getVersion());
+          chunkMetaDataList.add(copy);
+        }
+      }
+    }
+    return chunkMetaDataList;
+  }
+
+  /**
+   * remove the ChunkMetaData of all the series in the file, which is called when the file is
+   * deleted, e.g., replaced by a merge.
+   */
+  public void remove(String filePath) {
+    cache.removeIf(key -> key.filePath.equals(filePath));
+  }
+
+  public void clear() {
+    cache.clear();
+  }
+
+  public long getRequestNum() {
+    return cache.getRequestNum();
+  }
+
+  public long getHitNum() {
+    return cache.getHitNum();
+  }
+
+  /**
+   * @return the estimated bytes of the cached metadata
+   */
+  public long getUsedMemory() {
+    return cache.getUsedMemory();
+  }
+
+  /**
+   * The singleton pattern.
+   */
+  private static class ChunkMetaDataCacheHolder {
+
+    private ChunkMetaDataCacheHolder() {}
+
+    private static final ChunkMetaDataCache INSTANCE = new ChunkMetaDataCache(
+        IoTDBDescriptor.getInstance().getConfig().chunkMetadataCacheSize);
+  }
+
+  private static class SeriesKey {
+
+    private final String filePath;
+    private final String deviceId;
+    private final String measurementId;
+
+    private SeriesKey(String filePath, String deviceId, String measurementId) {
+      this.filePath = filePath;
+      this.deviceId = deviceId;
+      this.measurementId = measurementId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      SeriesKey that = (SeriesKey) o;
+      return Objects.equals(filePath, that.filePath) && Objects.equals(deviceId, that.deviceId)
+          && Objects.equals(measurementId, that.measurementId);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * filePath.hashCode() + deviceId.hashCode()) + measurementId.hashCode();
+    }
+  }
+}
@@ -19,33 +19,44 @@
 package org.apache.iotdb.db.engine.cache;
 
 import java.io.IOException;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicLong;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.tsfile.file.metadata.ChunkGroupMetaData;
 import org.apache.iotdb.tsfile.file.metadata.TsDeviceMetadata;
 import org.apache.iotdb.tsfile.file.metadata.TsFileMetaData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * This class is used to cache <code>RowGroupBlockMetaDataCache</code> of tsfile in IoTDB.
+ * This class is used to cache <code>RowGroupBlockMetaDataCache</code> of tsfile in IoTDB. The cache
+ * is bounded by the estimated bytes of the metadata, see {@link SegmentedLruCache}.
  */
 public class RowGroupBlockMetaDataCache {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(RowGroupBlockMetaDataCache.class);
 
-  private static final int CACHE_SIZE = 100;
   /**
-   * key: the file path + deviceId.
+   * estimated memory of the objects of the metadata beyond its serialized size.
    */
-  private LinkedHashMap<String, TsDeviceMetadata> lruCache;
-
-  private AtomicLong cacheHintNum = new AtomicLong();
-  private AtomicLong cacheRequestNum = new AtomicLong();
-
-  private RowGroupBlockMetaDataCache(int cacheSize) {
-    lruCache = new LruLinkedHashMap(cacheSize, true);
+  private static final int METADATA_OVERHEAD = 256;
+  private static final int CHUNK_GROUP_OVERHEAD = 64;
+  private static final int CHUNK_OVERHEAD = 96;
+
+  private SegmentedLruCache<DeviceMetadataKey, TsDeviceMetadata> cache;
+
+  private RowGroupBlockMetaDataCache(long memoryBudget) {
+    cache = new SegmentedLruCache<DeviceMetadataKey, TsDeviceMetadata>(memoryBudget) {
+      @Override
+      long estimateSize(DeviceMetadataKey key, TsDeviceMetadata deviceMetadata) {
+        long size = METADATA_OVERHEAD + 2L * (key.filePath.length() + key.deviceId.length())
+            + deviceMetadata.getSerializedSize();
+        for (ChunkGroupMetaData chunkGroupMetaData : deviceMetadata.getChunkGroupMetaDataList()) {
+          size += CHUNK_GROUP_OVERHEAD
+              + CHUNK_OVERHEAD * chunkGroupMetaData.getChunkMetaDataList().size();
+        }
+        return size;
+      }
+    };
   }
 
   public static RowGroupBlockMetaDataCache getInstance() {
@@ -57,95 +68,90 @@ public class RowGroupBlockMetaDataCache {
    */
   public TsDeviceMetadata get(String filePath, String deviceId, TsFileMetaData fileMetaData)
       throws IOException {
-    // The key(the tsfile path and deviceId) for the lruCache
-
-    String jointPath = filePath + deviceId;
-    Object jointPathObject = jointPath.intern();
-    synchronized (lruCache) {
-      cacheRequestNum.incrementAndGet();
-      if (lruCache.containsKey(jointPath)) {
-        cacheHintNum.incrementAndGet();
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug(
-              "Cache hint: the number of requests for cache is {}, "
-                  + "the number of hints for cache is {}",
-              cacheRequestNum.get(), cacheHintNum.get());
-        }
-        return lruCache.get(jointPath);
-      }
+    DeviceMetadataKey key = new DeviceMetadataKey(filePath, deviceId);
+    TsDeviceMetadata blockMetaData = cache.get(key);
+    if (blockMetaData != null) {
+      return blockMetaData;
     }
-    synchronized (jointPathObject) {
-      synchronized (lruCache) {
-        if (lruCache.containsKey(jointPath)) {
-          return lruCache.get(jointPath);
-        }
-      }
-      if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug("Cache didn't hint: the number of requests for cache is {}",
-            cacheRequestNum.get());
-      }
-      TsDeviceMetadata blockMetaData = TsFileMetadataUtils
-          .getTsRowGroupBlockMetaData(filePath, deviceId,
-              fileMetaData);
-      synchronized (lruCache) {
-        lruCache.put(jointPath, blockMetaData);
-        return lruCache.get(jointPath);
-      }
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Cache didn't hint: the number of requests for cache is {}",
+          cache.getRequestNum());
     }
+    // read out of the lock, concurrent misses of the same device may read it more than once
+    blockMetaData = TsFileMetadataUtils.getTsRowGroupBlockMetaData(filePath, deviceId,
+        fileMetaData);
+    if (blockMetaData != null) {
+      cache.put(key, blockMetaData);
+    }
+    return blockMetaData;
+  }
+
+  /**
+   * remove the metadata of all the devices in the file.
+   */
+  public void remove(String filePath) {
+    cache.removeIf(key -> key.filePath.equals(filePath));
   }
 
   /**
    * clear LRUCache.
    */
   public void clear() {
-    synchronized (lruCache) {
-      lruCache.clear();
-    }
+    cache.clear();
+  }
+
+  public long getRequestNum() {
+    return cache.getRequestNum();
+  }
+
+  public long getHitNum() {
+    return cache.getHitNum();
+  }
+
+  /**
+   * @return the estimated bytes of the cached metadata
+   */
+  public long getUsedMemory() {
+    return cache.getUsedMemory();
   }
 
   /**
-   * the default LRU cache size is 100. The singleton pattern.
+   * The singleton pattern.
    */
   private static class RowGroupBlockMetaDataCacheSingleton {
 
-    private static final RowGroupBlockMetaDataCache INSTANCE = new
-        RowGroupBlockMetaDataCache(CACHE_SIZE);
+    private static final RowGroupBlockMetaDataCache INSTANCE = new RowGroupBlockMetaDataCache(
+        IoTDBDescriptor.getInstance().getConfig().deviceMetadataCacheSize);
   }
 
   /**
-   * This class is a map used to cache the <code>RowGroupBlockMetaData</code>. The caching strategy
-   * is LRU.
-   *
+   * the file path and the deviceId, to avoid building a concatenated string for every lookup.
    */
-  private class LruLinkedHashMap extends LinkedHashMap<String, TsDeviceMetadata> {
+  private static class DeviceMetadataKey {
 
-    private static final long serialVersionUID = 1290160928914532649L;
-    private static final float LOAD_FACTOR_MAP = 0.75f;
-    private int maxCapacity;
+    private final String filePath;
+    private final String deviceId;
 
-    public LruLinkedHashMap(int maxCapacity, boolean isLru) {
-      super(maxCapacity, LOAD_FACTOR_MAP, isLru);
-      this.maxCapacity = maxCapacity;
+    private DeviceMetadataKey(String filePath, String deviceId) {
+      this.filePath = filePath;
+      this.deviceId = deviceId;
     }
 
     @Override
-    protected boolean removeEldestEntry(Map.Entry<String, TsDeviceMetadata> eldest) {
-      return size() > maxCapacity;
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      DeviceMetadataKey that = (DeviceMetadataKey) o;
+      return Objects.equals(filePath, that.filePath) && Objects.equals(deviceId, that.deviceId);
     }
-  }
 
-  @Override
-  public boolean equals(Object o) {
-    if (this == o) return true;
-    if (o == null || getClass() != o.getClass()) return false;
-    RowGroupBlockMetaDataCache that = (RowGroupBlockMetaDataCache) o;
-    return Objects.equals(lruCache, that.lruCache) &&
-            Objects.equals(cacheHintNum, that.cacheHintNum) &&
-            Objects.equals(cacheRequestNum, that.cacheRequestNum);
-  }
-
-  @Override
-  public int hashCode() {
-    return Objects.hash(lruCache, cacheHintNum, cacheRequestNum);
+    @Override
+    public int hashCode() {
+      return 31 * filePath.hashCode() + deviceId.hashCode();
+    }
   }
 }
@@ -0,0 +1,235 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * A thread safe cache bounded by the estimated bytes of its entries. The cache is split into
+ * segments by the hash of the keys to reduce lock contention, and each segment is a segmented LRU:
+ * an entry enters the probation part, moves to the protected part once it is accessed again, and is
+ * evicted from the probation part first, so that entries read only once by a large scan cannot
+ * flush the entries which are read repeatedly.
+ */
+abstract class SegmentedLruCache<K, V> {
+
+  private static final int SEGMENT_NUM = 16;
+  /**
+   * the proportion of the memory of a segment used by the entries accessed more than once.
+   */
+  private static final double PROTECTED_PROPORTION = 0.8;
+
+  private final Segment[] segments;
+
+  private AtomicLong requestNum = new AtomicLong();
+  private AtomicLong hitNum = new AtomicLong();
+  private AtomicLong evictionNum = new AtomicLong();
+
+  SegmentedLruCache(long memoryBudget) {
+    segments = new SegmentedLruCache.Segment[SEGMENT_NUM];
+    for (int i = 0; i < SEGMENT_NUM; i++) {
+      segments[i] = new Segment(memoryBudget / SEGMENT_NUM);
+    }
+  }
+
+  /**
+   * @return the estimated bytes of the entry
+   */
+  abstract long estimateSize(K key, V value);
+
+  /**
+   * @return the cached value of the key, or null if it is not cached
+   */
+  V get(K key) {
+    requestNum.incrementAndGet();
+    V value = segmentOf(key).get(key);
+    if (value != null) {
+      hitNum.incrementAndGet();
+    }
+    return value;
+  }
+
+  /**
+   * cache the value unless the key is cached already or the value is larger than a segment.
+   */
+  void put(K key, V value) {
+    segmentOf(key).put(key, value);
+  }
+
+  void remove(K key) {
+    segmentOf(key).remove(key);
+  }
+
+  /**
+   * remove all the entries whose keys match the predicate, it scans the whole cache.
+   */
+  void removeIf(Predicate<K> predicate) {
+    for (Segment segment : segments) {
+      segment.removeIf(predicate);
+    }
+  }
+
+  void clear() {
+    for (Segment segment : segments) {
+      segment.clear();
+    }
+  }
+
+  long getRequestNum() {
+    return requestNum.get();
+  }
+
+  long getHitNum() {
+    return hitNum.get();
+  }
+
+  long getEvictionNum() {
+    return evictionNum.get();
+  }
+
+  long getUsedMemory() {
+    long usedMemory = 0;
+    for (Segment segment : segments) {
+      usedMemory += segment.getUsedMemory();
+    }
+    return usedMemory;
+  }
+
+  private Segment segmentOf(K key) {
+    return segments[(key.hashCode() & Integer.MAX_VALUE) % SEGMENT_NUM];
+  }
+
+  private class Segment {
+
+    private final long memoryBudget;
+    private final long protectedBudget;
+    private long probationSize;
+    private long protectedSize;
+    // both are in access order, the eldest entry is the least recently used one
+    private LinkedHashMap<K, V> probationMap = new LinkedHashMap<>(16, 0.75f, true);
+    private LinkedHashMap<K, V> protectedMap = new LinkedHashMap<>(16, 0.75f, true);
+
+    private Segment(long memoryBudget) {
+      this.memoryBudget = memoryBudget;
+      this.protectedBudget = (long) (memoryBudget * PROTECTED_PROPORTION);
+    }
+
+    private synchronized V get(K key) {
+      V value = protectedMap.get(key);
+      if (value != null) {
+        return value;
+      }
+      value = probationMap.remove(key);
+      if (value == null) {
+        return null;
+      }
+      // accessed again, promote it and demote the least recently used protected entries
+      long size = estimateSize(key, value);
+      probationSize -= size;
+      protectedMap.put(key, value);
+      protectedSize += size;
+      Iterator<Entry<K, V>> iterator = protectedMap.entrySet().iterator();
+      while (protectedSize > protectedBudget && iterator.hasNext()) {
+        Entry<K, V> eldest = iterator.next();
+        if (eldest.getKey().equals(key)) {
+          break;
+        }
+        iterator.remove();
+        long eldestSize = estimateSize(eldest.getKey(), eldest.getValue());
+        protectedSize -= eldestSize;
+        probationMap.put(eldest.getKey(), eldest.getValue());
+        probationSize += eldestSize;
+      }
+      evictIfNecessary();
+      return value;
+    }
+
+    private synchronized void put(K key, V value) {
+      long size = estimateSize(key, value);
+      if (size > memoryBudget || protectedMap.containsKey(key) || probationMap.containsKey(key)) {
+        return;
+      }
+      probationMap.put(key, value);
+      probationSize += size;
+      evictIfNecessary();
+    }
+
+    private synchronized void remove(K key) {
+      V value = probationMap.remove(key);
+      if (value != null) {
+        probationSize -= estimateSize(key, value);
+      }
+      value = protectedMap.remove(key);
+      if (value != null) {
+        protectedSize -= estimateSize(key, value);
+      }
+    }
+
+    private synchronized void removeIf(Predicate<K> predicate) {
+      probationSize -= removeIf(probationMap, predicate);
+      protectedSize -= removeIf(protectedMap, predicate);
+    }
+
+    private long removeIf(LinkedHashMap<K, V> map, Predicate<K> predicate) {
+      long removedSize = 0;
+      Iterator<Entry<K, V>> iterator = map.entrySet().iterator();
+      while (iterator.hasNext()) {
+        Entry<K, V> entry = iterator.next();
+        if (predicate.test(entry.getKey())) {
+          iterator.remove();
+          removedSize += estimateSize(entry.getKey(), entry.getValue());
+        }
+      }
+      return removedSize;
+    }
+
+    private void evictIfNecessary() {
+      while (probationSize + protectedSize > memoryBudget) {
+        if (!probationMap.isEmpty()) {
+          probationSize -= evictEldest(probationMap);
+        } else {
+          protectedSize -= evictEldest(protectedMap);
+        }
+      }
+    }
+
+    private long evictEldest(LinkedHashMap<K, V> map) {
+      Iterator<Entry<K, V>> iterator = map.entrySet().iterator();
+      Entry<K, V> eldest = iterator.next();
+      iterator.remove();
+      evictionNum.incrementAndGet();
+      return estimateSize(eldest.getKey(), eldest.getValue());
+    }
+
+    private synchronized long getUsedMemory() {
+      return probationSize + protectedSize;
+    }
+
+    private synchronized void clear() {
+      probationMap.clear();
+      protectedMap.clear();
+      probationSize = 0;
+      protectedSize = 0;
+    }
+  }
+}
@@ -19,27 +19,84 @@
 package org.apache.iotdb.db.engine.cache;
 
 import java.io.IOException;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Map.Entry;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.tsfile.file.metadata.TsFileMetaData;
+import org.apache.iotdb.tsfile.file.metadata.TsSeriesMetadataIndex;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * This class is used to cache <code>TsFileMetaData</code> of tsfile in IoTDB.
+ * This class is used to cache <code>TsFileMetaData</code> of tsfile in IoTDB. The cache is bounded
+ * by the estimated bytes of the metadata, see {@link SegmentedLruCache}.
  */
 public class TsFileMetaDataCache {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(TsFileMetaDataCache.class);
+  /**
+   * estimated memory of the metadata object and its map entry in the cache.
+   */
+  private static final int METADATA_OVERHEAD = 256;
+  /**
+   * estimated memory of a device index or a measurement schema except its name.
+   */
+  private static final int DEVICE_INDEX_OVERHEAD = 96;
+  private static final int MEASUREMENT_SCHEMA_OVERHEAD = 160;
+  /**
+   * estimated memory of a series index with its map entry except the device name, of a measurement
+   * in it except its name, and of a ChunkMetaData position (offset, length and version) in it.
+   */
+  private static final int SERIES_INDEX_OVERHEAD = 160;
+  private static final int SERIES_INDEX_MEASUREMENT_OVERHEAD = 48;
+  private static final int SERIES_INDEX_CHUNK_SIZE = 20;
+  /**
+   * estimated memory of a bloom filter except its bits.
+   */
+  private static final int BLOOM_FILTER_OVERHEAD = 48;
+
   /**
    * key: The file seriesPath of tsfile.
    */
-  private ConcurrentHashMap<String, TsFileMetaData> cache;
-  private AtomicLong cacheHintNum = new AtomicLong();
-  private AtomicLong cacheRequestNum = new AtomicLong();
+  private SegmentedLruCache<String, TsFileMetaData> cache;
+
+  private TsFileMetaDataCache(long memoryBudget) {
+    cache = new SegmentedLruCache<String, TsFileMetaData>(memoryBudget) {
+      @Override
+      long estimateSize(String path, TsFileMetaData fileMetaData) {
+        long size = METADATA_OVERHEAD + 2L * path.length();
+        for (String deviceId : fileMetaData.getDeviceMap().keySet()) {
+          size += DEVICE_INDEX_OVERHEAD + 2L * deviceId.length();
+        }
+        for (MeasurementSchema schema : fileMetaData.getMeasurementSchema().values()) {
+          size += MEASUREMENT_SCHEMA_OVERHEAD + 2L * schema.getMeasurementId().length();
+        }
+        if (fileMetaData.getSeriesIndexMap() != null) {
+          for (Entry<String, TsSeriesMetadataIndex> entry
+              : fileMetaData.getSeriesIndexMap().entrySet()) {
+            size += SERIES_INDEX_OVERHEAD + 2L * entry.getKey().length()
+                + estimateIndexSize(entry.getValue());
+          }
+        }
+        BloomFilter bloomFilter = fileMetaData.getBloomFilter();
+        if (bloomFilter != null) {
+          // the bits are kept in a long array
+          size += BLOOM_FILTER_OVERHEAD
+              + (bloomFilter.getBitNum() + Long.SIZE - 1) / Long.SIZE * (long) Long.BYTES;
+        }
+        return size;
+      }
+    };
+  }
 
-  private TsFileMetaDataCache() {
-    cache = new ConcurrentHashMap<>();
+  private static long estimateIndexSize(TsSeriesMetadataIndex seriesIndex) {
+    long size = 0;
+    for (int i = 0; i < seriesIndex.getMeasurementNum(); i++) {
+      size += SERIES_INDEX_MEASUREMENT_OVERHEAD + 2L * seriesIndex.getMeasurementId(i).length()
+          + (long) SERIES_INDEX_CHUNK_SIZE * seriesIndex.getChunkNum(i);
+    }
+    return size;
   }
 
   public static TsFileMetaDataCache getInstance() {
@@ -47,35 +104,23 @@ public class TsFileMetaDataCache {
   }
 
   /**
-   * get the TsFileMetaData for the given path.
+   * get the TsFileMetaData for the given path. THREAD SAFE.
    *
    * @param path -given path
    */
   public TsFileMetaData get(String path) throws IOException {
-
-    Object internPath = path.intern();
-    synchronized (internPath) {
-      cacheRequestNum.incrementAndGet();
-      if (!cache.containsKey(path)) {
-        // read value from tsfile
-        TsFileMetaData fileMetaData = TsFileMetadataUtils.getTsFileMetaData(path);
-        cache.put(path, fileMetaData);
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug("Cache didn't hint: the number of requests for cache is {}",
-              cacheRequestNum.get());
-        }
-        return cache.get(path);
-      } else {
-        cacheHintNum.incrementAndGet();
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug(
-              "Cache hint: the number of requests for cache is {}, the number of hints for cache "
-                  + "is {}",
-              cacheRequestNum.get(), cacheHintNum.get());
-        }
-        return cache.get(path);
-      }
+    TsFileMetaData fileMetaData = cache.get(path);
+    if (fileMetaData != null) {
+      return fileMetaData;
     }
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Cache didn't hint: the number of requests for cache is {}",
+          cache.getRequestNum());
+    }
+    // read out of the lock, concurrent misses of the same file may read it more than once
+    fileMetaData = TsFileMetadataUtils.getTsFileMetaData(path);
+    cache.put(path, fileMetaData);
+    return fileMetaData;
   }
 
   public void remove(String path) {
@@ -86,6 +131,21 @@ public class TsFileMetaDataCache {
     cache.clear();
   }
 
+  public long getRequestNum() {
+    return cache.getRequestNum();
+  }
+
+  public long getHitNum() {
+    return cache.getHitNum();
+  }
+
+  /**
+   * @return the estimated bytes of the cached metadata
+   */
+  public long getUsedMemory() {
+    return cache.getUsedMemory();
+  }
+
   /*
    * Singleton pattern
    */
@@ -93,6 +153,7 @@ public class TsFileMetaDataCache {
 
     private TsFileMetaDataCacheHolder() {}
 
-    private static final TsFileMetaDataCache INSTANCE = new TsFileMetaDataCache();
+    private static final TsFileMetaDataCache INSTANCE = new TsFileMetaDataCache(
+        IoTDBDescriptor.getInstance().getConfig().tsFileMetadataCacheSize);
   }
 }
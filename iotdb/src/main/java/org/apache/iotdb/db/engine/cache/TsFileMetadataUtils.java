@@ -81,4 +81,17 @@ public class TsFileMetadataUtils {
       }
     }
   }
+
+  /**
+   * remove the cached metadata of the file, which must be called when the file is deleted, because
+   * a file with the same path may be created later.
+   *
+   * @param filePath -file path
+   */
+  public static void removeCachedMetaData(String filePath) {
+    TsFileMetaDataCache.getInstance().remove(filePath);
+    RowGroupBlockMetaDataCache.getInstance().remove(filePath);
+    ChunkMetaDataCache.getInstance().remove(filePath);
+    ChunkCache.getInstance().remove(filePath);
+  }
 }
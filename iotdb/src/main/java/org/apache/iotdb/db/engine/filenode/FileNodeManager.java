@@ -37,6 +37,8 @@ import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.conf.directories.Directories;
 import org.apache.iotdb.db.engine.Processor;
 import org.apache.iotdb.db.engine.bufferwrite.BufferWriteProcessor;
+import org.apache.iotdb.db.engine.cache.CacheStatistic;
+import org.apache.iotdb.db.engine.cache.TsFileMetadataUtils;
 import org.apache.iotdb.db.engine.memcontrol.BasicMemController;
 import org.apache.iotdb.db.engine.overflow.io.OverflowProcessor;
 import org.apache.iotdb.db.engine.pool.FlushManager;
@@ -117,6 +119,9 @@ public class FileNodeManager implements IStatistic, IService {
       StatMonitor statMonitor = StatMonitor.getInstance();
       registStatMetadata();
       statMonitor.registStatistics(MonitorConstants.STAT_STORAGE_DELTA_NAME, this);
+      CacheStatistic.getInstance().registStatMetadata();
+      statMonitor.registStatistics(MonitorConstants.STAT_CACHE_DELTA_NAME,
+          CacheStatistic.getInstance());
     }
   }
 
@@ -324,14 +329,18 @@ public class FileNodeManager implements IStatistic, IService {
       throws FileNodeManagerException {
     try {
       if (IoTDBDescriptor.getInstance().getConfig().enableWal) {
-        List<String> measurementList = new ArrayList<>();
-        List<String> insertValues = new ArrayList<>();
-        for (DataPoint dp : tsRecord.dataPointList) {
+        int size = tsRecord.dataPointList.size();
+        List<String> measurementList = new ArrayList<>(size);
+        TSDataType[] dataTypes = new TSDataType[size];
+        Object[] insertValues = new Object[size];
+        for (int i = 0; i < size; i++) {
+          DataPoint dp = tsRecord.dataPointList.get(i);
           measurementList.add(dp.getMeasurementId());
-          insertValues.add(dp.getValue().toString());
+          dataTypes[i] = dp.getType();
+          insertValues[i] = dp.getValue();
         }
         logNode.write(new InsertPlan(2, tsRecord.deviceId, tsRecord.time, measurementList,
-            insertValues));
+            dataTypes, insertValues));
       }
     } catch (IOException e) {
       if (!isMonitor) {
@@ -877,6 +886,7 @@ public class FileNodeManager implements IStatistic, IService {
       if (bufferFiles != null) {
         for (File bufferFile : bufferFiles) {
           FileReaderManager.getInstance().closeFileAndRemoveReader(bufferFile.getPath());
+          TsFileMetadataUtils.removeCachedMetaData(bufferFile.getPath());
         }
       }
       FileUtils.deleteDirectory(new File(bufferwritePath));
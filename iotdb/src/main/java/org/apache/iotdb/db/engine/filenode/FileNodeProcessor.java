@@ -51,6 +51,7 @@ import org.apache.iotdb.db.engine.bufferwrite.Action;
 import org.apache.iotdb.db.engine.bufferwrite.ActionException;
 import org.apache.iotdb.db.engine.bufferwrite.BufferWriteProcessor;
 import org.apache.iotdb.db.engine.bufferwrite.FileNodeConstants;
+import org.apache.iotdb.db.engine.cache.TsFileMetadataUtils;
 import org.apache.iotdb.db.engine.modification.Deletion;
 import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.modification.ModificationFile;
@@ -74,6 +75,7 @@ import org.apache.iotdb.db.monitor.IStatistic;
 import org.apache.iotdb.db.monitor.MonitorConstants;
 import org.apache.iotdb.db.monitor.StatMonitor;
 import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.control.FileReaderManager;
 import org.apache.iotdb.db.query.factory.SeriesReaderFactory;
 import org.apache.iotdb.db.query.reader.IReader;
 import org.apache.iotdb.db.utils.FileSchemaUtils;
@@ -87,6 +89,7 @@ import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.expression.impl.SingleSeriesExpression;
 import org.apache.iotdb.tsfile.read.filter.TimeFilter;
@@ -1415,7 +1418,11 @@ public class FileNodeProcessor extends Processor implements IStatistic {
         continue;
       }
       for (File file : files) {
-        if (!bufferFiles.contains(file.getPath()) && !file.delete()) {
+        if (bufferFiles.contains(file.getPath())) {
+          continue;
+        }
+        TsFileMetadataUtils.removeCachedMetaData(file.getPath());
+        if (!file.delete()) {
           LOGGER.warn("Cannot delete BufferWrite file {}", file.getPath());
         }
       }
@@ -1443,6 +1450,9 @@ public class FileNodeProcessor extends Processor implements IStatistic {
     // losing some modification.
     mergeDeleteLock.lock();
     QueryContext context = new QueryContext();
+    // hold the reader of the file like a query does, so that it is not closed while merging
+    FileReaderManager.getInstance()
+        .increaseFileReaderReference(backupIntervalFile.getFilePath(), true);
     try {
       for (String deviceId : backupIntervalFile.getStartTimeMap().keySet()) {
         // query one deviceId
@@ -1487,6 +1497,8 @@ public class FileNodeProcessor extends Processor implements IStatistic {
         }
       }
     } finally {
+      FileReaderManager.getInstance()
+          .decreaseFileReaderReference(backupIntervalFile.getFilePath(), true);
       if (mergeDeleteLock.isLocked()) {
         mergeDeleteLock.unlock();
       }
@@ -1573,6 +1585,15 @@ public class FileNodeProcessor extends Processor implements IStatistic {
     if (!endTimeMap.containsKey(deviceId) || endTimeMap.get(deviceId) < endTime) {
       endTimeMap.put(deviceId, endTime);
     }
+    // merge readers provide batches, which avoid creating a TimeValuePair for each point
+    while (seriesReader.hasNextBatch()) {
+      BatchData batchData = seriesReader.nextBatch();
+      while (batchData.hasNext()) {
+        endTime = batchData.currentTime();
+        writeBatchPoint(seriesWriterImpl, dataType, batchData);
+        batchData.next();
+      }
+    }
     while (seriesReader.hasNext()) {
       localTV = seriesReader.next();
       endTime = localTV.getTimestamp();
@@ -1611,6 +1632,33 @@ public class FileNodeProcessor extends Processor implements IStatistic {
   }
 
 
+  private void writeBatchPoint(ChunkWriterImpl seriesWriterImpl, TSDataType dataType,
+      BatchData batchData) throws IOException {
+    switch (dataType) {
+      case BOOLEAN:
+        seriesWriterImpl.write(batchData.currentTime(), batchData.getBoolean());
+        break;
+      case INT32:
+        seriesWriterImpl.write(batchData.currentTime(), batchData.getInt());
+        break;
+      case INT64:
+        seriesWriterImpl.write(batchData.currentTime(), batchData.getLong());
+        break;
+      case FLOAT:
+        seriesWriterImpl.write(batchData.currentTime(), batchData.getFloat());
+        break;
+      case DOUBLE:
+        seriesWriterImpl.write(batchData.currentTime(), batchData.getDouble());
+        break;
+      case TEXT:
+        seriesWriterImpl.write(batchData.currentTime(), batchData.getBinary());
+        break;
+      default:
+        LOGGER.error("Not support data type: {}", dataType);
+        break;
+    }
+  }
+
   private String constructOutputFilePath(String baseDir, String processorName, String fileName) {
 
     String localBaseDir = baseDir;
@@ -21,6 +21,7 @@ package org.apache.iotdb.db.engine.memcontrol;
 import org.apache.iotdb.db.concurrent.ThreadName;
 import org.apache.iotdb.db.engine.filenode.FileNodeManager;
 import org.apache.iotdb.db.utils.MemUtils;
+import org.apache.iotdb.db.utils.datastructure.PrimitiveArrayPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +40,9 @@ public class ForceFLushAllPolicy implements Policy {
                       - Runtime.getRuntime().freeMemory()));
     }
 
+    // the pooled arrays are only kept for reuse, give them up first
+    PrimitiveArrayPool.getInstance().clear();
+
     // use a thread to avoid blocking
     if (workerThread == null) {
       workerThread = createWorkerThread();
@@ -18,17 +18,30 @@
  */
 package org.apache.iotdb.db.engine.memtable;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.iotdb.db.engine.querycontext.ReadOnlyMemChunk;
-import org.apache.iotdb.db.utils.TimeValuePair;
+import org.apache.iotdb.db.utils.datastructure.TVList;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 
 public abstract class AbstractMemTable implements IMemTable {
 
   private final Map<String, Map<String, IWritableMemChunk>> memTableMap;
 
+  /**
+   * whether the chunks may still be read through the memtable this one is copied from, e.g., by a
+   * flush thread.
+   */
+  private boolean chunksShared = false;
+
+  /**
+   * the chunks replaced by a deletion while they are shared, their arrays are given back to the
+   * pool by {@link #clear()}.
+   */
+  private final List<IWritableMemChunk> replacedChunks = new ArrayList<>();
+
   public AbstractMemTable() {
     this.memTableMap = new HashMap<>();
   }
@@ -37,6 +50,14 @@ public abstract class AbstractMemTable implements IMemTable {
     this.memTableMap = memTableMap;
   }
 
+  /**
+   * must be called on a copy of the source memtable, which shares the chunks with it.
+   */
+  protected void setCopiedFrom(AbstractMemTable source) {
+    chunksShared = true;
+    replacedChunks.addAll(source.replacedChunks);
+  }
+
   @Override
   public Map<String, Map<String, IWritableMemChunk>> getMemTableMap() {
     return memTableMap;
@@ -66,10 +87,12 @@ public abstract class AbstractMemTable implements IMemTable {
   protected abstract IWritableMemChunk genMemSeries(TSDataType dataType);
 
   @Override
-  public void write(String deviceId, String measurement, TSDataType dataType, long insertTime,
+  public long write(String deviceId, String measurement, TSDataType dataType, long insertTime,
       String insertValue) {
     IWritableMemChunk memSeries = createIfNotExistAndGet(deviceId, measurement, dataType);
+    long memSize = memSeries.getMemSize();
     memSeries.write(insertTime, insertValue);
+    return memSeries.getMemSize() - memSize;
   }
 
   @Override
@@ -85,7 +108,16 @@ public abstract class AbstractMemTable implements IMemTable {
 
   @Override
   public void clear() {
+    for (Map<String, IWritableMemChunk> seriesMap : memTableMap.values()) {
+      for (IWritableMemChunk writableMemChunk : seriesMap.values()) {
+        writableMemChunk.reset();
+      }
+    }
     memTableMap.clear();
+    for (IWritableMemChunk replacedChunk : replacedChunks) {
+      replacedChunk.reset();
+    }
+    replacedChunks.clear();
   }
 
   @Override
@@ -99,21 +131,31 @@ public abstract class AbstractMemTable implements IMemTable {
     return new ReadOnlyMemChunk(dataType, getSeriesData(deviceId, measurement, dataType), props);
   }
 
+  /**
+   * the chunks give their arrays back to the pool once the memtable is flushed, while a query may
+   * still be reading, so the query gets a copy of the sorted data.
+   */
   private TimeValuePairSorter getSeriesData(String deviceId, String measurement, TSDataType dataType) {
     if (!checkPath(deviceId, measurement)) {
       return new WritableMemChunk(dataType);
     }
-    return memTableMap.get(deviceId).get(measurement);
+    TVList sortedList = memTableMap.get(deviceId).get(measurement).getSortedList();
+    return new WritableMemChunk(dataType, sortedList.copy());
   }
 
   @Override
   public void delete(String deviceId, String measurementId, long timestamp) {
     Map<String, IWritableMemChunk> deviceMap = memTableMap.get(deviceId);
-    if (deviceMap != null) {
+    if (deviceMap != null && deviceMap.containsKey(measurementId)) {
       IWritableMemChunk chunk = deviceMap.get(measurementId);
       IWritableMemChunk newChunk = filterChunk(chunk, timestamp);
       if (newChunk != null) {
         deviceMap.put(measurementId, newChunk);
+        if (chunksShared) {
+          replacedChunks.add(chunk);
+        } else {
+          chunk.reset();
+        }
       }
     }
   }
@@ -128,30 +170,31 @@ public abstract class AbstractMemTable implements IMemTable {
    * null.
    */
   private IWritableMemChunk filterChunk(IWritableMemChunk chunk, long timestamp) {
-    List<TimeValuePair> timeValuePairs = chunk.getSortedTimeValuePairList();
-    if (!timeValuePairs.isEmpty() && timeValuePairs.get(0).getTimestamp() <= timestamp) {
+    TVList sortedList = chunk.getSortedList();
+    if (sortedList.size() > 0 && sortedList.getTime(0) <= timestamp) {
       TSDataType dataType = chunk.getType();
       IWritableMemChunk newChunk = genMemSeries(dataType);
-      for (TimeValuePair pair : timeValuePairs) {
-        if (pair.getTimestamp() > timestamp) {
+      for (int i = 0; i < sortedList.size(); i++) {
+        long time = sortedList.getTime(i);
+        if (time > timestamp) {
           switch (dataType) {
             case BOOLEAN:
-              newChunk.putBoolean(pair.getTimestamp(), pair.getValue().getBoolean());
+              newChunk.putBoolean(time, sortedList.getBoolean(i));
               break;
             case DOUBLE:
-              newChunk.putDouble(pair.getTimestamp(), pair.getValue().getDouble());
+              newChunk.putDouble(time, sortedList.getDouble(i));
               break;
             case INT64:
-              newChunk.putLong(pair.getTimestamp(), pair.getValue().getLong());
+              newChunk.putLong(time, sortedList.getLong(i));
               break;
             case INT32:
-              newChunk.putInt(pair.getTimestamp(), pair.getValue().getInt());
+              newChunk.putInt(time, sortedList.getInt(i));
               break;
             case FLOAT:
-              newChunk.putFloat(pair.getTimestamp(), pair.getValue().getFloat());
+              newChunk.putFloat(time, sortedList.getFloat(i));
               break;
             case TEXT:
-              newChunk.putBinary(pair.getTimestamp(), pair.getValue().getBinary());
+              newChunk.putBinary(time, sortedList.getBinary(i));
               break;
             default:
                 throw new UnsupportedOperationException("Unknown datatype: " + dataType);
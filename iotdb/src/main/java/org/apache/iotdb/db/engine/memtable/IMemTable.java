@@ -33,7 +33,10 @@ public interface IMemTable {
 
   Map<String, Map<String, IWritableMemChunk>> getMemTableMap();
 
-  void write(String deviceId, String measurement, TSDataType dataType,
+  /**
+   * @return bytes of the memory newly taken by this write
+   */
+  long write(String deviceId, String measurement, TSDataType dataType,
       long insertTime, String insertValue);
 
   int size();
@@ -42,7 +45,8 @@ public interface IMemTable {
       Map<String, String> props);
 
   /**
-   * release all the memory resources.
+   * release all the memory resources. The data must not be read through the chunks of this memtable
+   * any more, queries read a copy of it instead, see {@link #query}.
    */
   void clear();
 
@@ -59,7 +63,8 @@ public interface IMemTable {
   void delete(String deviceId, String measurementId, long timestamp);
 
   /**
-   * Make a copy of this MemTable.
+   * Make a copy of this MemTable. The copy shares the chunks with this one, so the chunks replaced
+   * by deletions on the copy are kept until the copy is cleared, which releases all of them.
    *
    * @return a MemTable with the same data as this one.
    */
@@ -18,6 +18,7 @@
  */
 package org.apache.iotdb.db.engine.memtable;
 
+import org.apache.iotdb.db.utils.datastructure.TVList;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.utils.Binary;
 
@@ -37,8 +38,23 @@ public interface IWritableMemChunk extends TimeValuePairSorter {
 
   void write(long insertTime, String insertValue);
 
+  /**
+   * get the data in ascending order of timestamp without duplicated timestamps, the values can be
+   * read by the typed getters of the list without boxing. The list is sorted in place, so no write
+   * may happen at the same time.
+   */
+  TVList getSortedList();
+
+  /**
+   * give the memory back to the pool, the chunk is empty after that.
+   */
   void reset();
 
+  /**
+   * @return bytes of the memory taken by the data of this chunk
+   */
+  long getMemSize();
+
   int count();
 
   TSDataType getType();
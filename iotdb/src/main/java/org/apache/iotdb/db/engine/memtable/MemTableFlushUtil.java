@@ -19,9 +19,8 @@
 package org.apache.iotdb.db.engine.memtable;
 
 import java.io.IOException;
-import java.util.List;
 
-import org.apache.iotdb.db.utils.TimeValuePair;
+import org.apache.iotdb.db.utils.datastructure.TVList;
 import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
 import org.apache.iotdb.tsfile.file.footer.ChunkGroupFooter;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
@@ -43,35 +42,29 @@ public class MemTableFlushUtil {
 
   }
 
-  private static void writeOneSeries(List<TimeValuePair> tvPairs, IChunkWriter seriesWriterImpl,
-      TSDataType dataType)
+  private static void writeOneSeries(TVList sortedList,
+      IChunkWriter seriesWriterImpl, TSDataType dataType)
       throws IOException {
-    for (TimeValuePair timeValuePair : tvPairs) {
+    for (int i = 0; i < sortedList.size(); i++) {
+      long time = sortedList.getTime(i);
       switch (dataType) {
         case BOOLEAN:
-            seriesWriterImpl
-                    .write(timeValuePair.getTimestamp(), timeValuePair.getValue().getBoolean());
+          seriesWriterImpl.write(time, sortedList.getBoolean(i));
           break;
         case INT32:
-            seriesWriterImpl.write(timeValuePair.getTimestamp(),
-                    timeValuePair.getValue().getInt());
+          seriesWriterImpl.write(time, sortedList.getInt(i));
           break;
         case INT64:
-            seriesWriterImpl.write(timeValuePair.getTimestamp(),
-                    timeValuePair.getValue().getLong());
+          seriesWriterImpl.write(time, sortedList.getLong(i));
           break;
         case FLOAT:
-            seriesWriterImpl.write(timeValuePair.getTimestamp(),
-                    timeValuePair.getValue().getFloat());
+          seriesWriterImpl.write(time, sortedList.getFloat(i));
           break;
         case DOUBLE:
-            seriesWriterImpl
-                    .write(timeValuePair.getTimestamp(),
-                            timeValuePair.getValue().getDouble());
+          seriesWriterImpl.write(time, sortedList.getDouble(i));
           break;
         case TEXT:
-            seriesWriterImpl
-                    .write(timeValuePair.getTimestamp(), timeValuePair.getValue().getBinary());
+          seriesWriterImpl.write(time, sortedList.getBinary(i));
           break;
         default:
           LOGGER.error("don't support data type: {}", dataType);
@@ -96,8 +89,7 @@ public class MemTableFlushUtil {
         MeasurementSchema desc = fileSchema.getMeasurementSchema(measurementId);
         ChunkBuffer chunkBuffer = new ChunkBuffer(desc);
         IChunkWriter seriesWriter = new ChunkWriterImpl(desc, chunkBuffer, PAGE_SIZE_THRESHOLD);
-        writeOneSeries(series.getSortedTimeValuePairList(), seriesWriter,
-            desc.getType());
+        writeOneSeries(series.getSortedList(), seriesWriter, desc.getType());
         seriesWriter.writeToFileWriter(tsFileIoWriter);
       }
       long memSize = tsFileIoWriter.getPos() - startPos;
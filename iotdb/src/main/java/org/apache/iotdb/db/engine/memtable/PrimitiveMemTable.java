@@ -42,6 +42,8 @@ public class PrimitiveMemTable extends AbstractMemTable {
   public IMemTable copy() {
     Map<String, Map<String, IWritableMemChunk>> newMap = new HashMap<>(getMemTableMap());
 
-    return new PrimitiveMemTable(newMap);
+    PrimitiveMemTable copy = new PrimitiveMemTable(newMap);
+    copy.setCopiedFrom(this);
+    return copy;
   }
 }
@@ -20,12 +20,10 @@ package org.apache.iotdb.db.engine.memtable;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.TreeMap;
 
-import org.apache.iotdb.db.utils.PrimitiveArrayList;
-import org.apache.iotdb.db.utils.PrimitiveArrayListFactory;
 import org.apache.iotdb.db.utils.TimeValuePair;
 import org.apache.iotdb.db.utils.TsPrimitiveType;
+import org.apache.iotdb.db.utils.datastructure.TVList;
 import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.utils.Binary;
@@ -33,11 +31,15 @@ import org.apache.iotdb.tsfile.utils.Binary;
 public class WritableMemChunk implements IWritableMemChunk {
 
   private TSDataType dataType;
-  private PrimitiveArrayList list;
+  private TVList list;
 
   public WritableMemChunk(TSDataType dataType) {
+    this(dataType, TVList.newList(dataType));
+  }
+
+  public WritableMemChunk(TSDataType dataType, TVList list) {
     this.dataType = dataType;
-    this.list = PrimitiveArrayListFactory.getByDataType(dataType);
+    this.list = list;
   }
 
   @Override
@@ -68,50 +70,78 @@ public class WritableMemChunk implements IWritableMemChunk {
 
   @Override
   public void putLong(long t, long v) {
-    list.putTimestamp(t, v);
+    list.putLong(t, v);
   }
 
   @Override
   public void putInt(long t, int v) {
-    list.putTimestamp(t, v);
+    list.putInt(t, v);
   }
 
   @Override
   public void putFloat(long t, float v) {
-    list.putTimestamp(t, v);
+    list.putFloat(t, v);
   }
 
   @Override
   public void putDouble(long t, double v) {
-    list.putTimestamp(t, v);
+    list.putDouble(t, v);
   }
 
   @Override
   public void putBinary(long t, Binary v) {
-    list.putTimestamp(t, v);
+    list.putBinary(t, v);
   }
 
   @Override
   public void putBoolean(long t, boolean v) {
-    list.putTimestamp(t, v);
+    list.putBoolean(t, v);
   }
 
   @Override
-  // TODO: Consider using arrays to sort and remove duplicates
   public List<TimeValuePair> getSortedTimeValuePairList() {
-    int length = list.size();
-    TreeMap<Long, TsPrimitiveType> treeMap = new TreeMap<>();
+    TVList sortedList = getSortedList();
+    int length = sortedList.size();
+    List<TimeValuePair> ret = new ArrayList<>(length);
     for (int i = 0; i < length; i++) {
-      treeMap.put(list.getTimestamp(i), TsPrimitiveType.getByType(dataType, list.getValue(i)));
+      ret.add(new TimeValuePairInMemTable(sortedList.getTime(i), getValue(sortedList, i)));
     }
-    List<TimeValuePair> ret = new ArrayList<>();
-    treeMap.forEach((k, v) -> ret.add(new TimeValuePairInMemTable(k, v)));
     return ret;
   }
 
+  private TsPrimitiveType getValue(TVList sortedList, int index) {
+    switch (dataType) {
+      case BOOLEAN:
+        return new TsPrimitiveType.TsBoolean(sortedList.getBoolean(index));
+      case INT32:
+        return new TsPrimitiveType.TsInt(sortedList.getInt(index));
+      case INT64:
+        return new TsPrimitiveType.TsLong(sortedList.getLong(index));
+      case FLOAT:
+        return new TsPrimitiveType.TsFloat(sortedList.getFloat(index));
+      case DOUBLE:
+        return new TsPrimitiveType.TsDouble(sortedList.getDouble(index));
+      case TEXT:
+        return new TsPrimitiveType.TsBinary(sortedList.getBinary(index));
+      default:
+        throw new UnSupportedDataTypeException("Unsupported data type:" + dataType);
+    }
+  }
+
+  @Override
+  public TVList getSortedList() {
+    list.sort();
+    return list;
+  }
+
   @Override
   public void reset() {
-    this.list = PrimitiveArrayListFactory.getByDataType(dataType);
+    list.clear();
+  }
+
+  @Override
+  public long getMemSize() {
+    return list.getMemSize();
   }
 
   @Override
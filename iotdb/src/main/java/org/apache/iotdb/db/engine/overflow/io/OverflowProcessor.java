@@ -171,11 +171,10 @@ public class OverflowProcessor extends Processor {
    * insert one time-series record
    */
   public void insert(TSRecord tsRecord) throws IOException {
+    // write data
+    long memUage = workSupport.insert(tsRecord);
     // memory control
-    long memUage = MemUtils.getRecordSize(tsRecord);
     BasicMemController.getInstance().reportUse(this, memUage);
-    // write data
-    workSupport.insert(tsRecord);
     valueCount++;
     // check flush
     memUage = memSize.addAndGet(memUage);
@@ -49,12 +49,16 @@ public class OverflowSupport {
     memTable = new PrimitiveMemTable();
   }
 
-  public void insert(TSRecord tsRecord) {
+  /**
+   * @return bytes of the memory newly taken by the record
+   */
+  public long insert(TSRecord tsRecord) {
+    long memSize = 0;
     for (DataPoint dataPoint : tsRecord.dataPointList) {
-      memTable.write(tsRecord.deviceId, dataPoint.getMeasurementId(), dataPoint.getType(),
-              tsRecord.time,
-              dataPoint.getValue().toString());
+      memSize += memTable.write(tsRecord.deviceId, dataPoint.getMeasurementId(),
+          dataPoint.getType(), tsRecord.time, dataPoint.getValue().toString());
     }
+    return memSize;
   }
 
   /**
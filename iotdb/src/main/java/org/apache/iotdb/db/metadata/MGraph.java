@@ -18,6 +18,9 @@
  */
 package org.apache.iotdb.db.metadata;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -37,8 +40,9 @@ import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 public class MGraph implements Serializable {
 
   private static final long serialVersionUID = 8214849219614352834L;
-  private static final String DOUB_SEPARATOR = "\\.";
   private static final String TIME_SERIES_INCORRECT = "Timeseries's root is not Correct. RootName: ";
+  // the version of the snapshot written by serializeTo()
+  private static final int SNAPSHOT_VERSION = 1;
   private MTree mtree;
   private HashMap<String, PTree> ptreeMap;
 
@@ -65,7 +69,7 @@ public class MGraph implements Serializable {
    */
   public void addPathToMTree(String path, TSDataType dataType, TSEncoding encoding,
       CompressionType compressor, Map<String, String> props) throws PathErrorException, MetadataArgsErrorException {
-    String[] nodes = path.trim().split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path.trim());
     if (nodes.length == 0) {
       throw new PathErrorException("Timeseries is null");
     }
@@ -76,11 +80,11 @@ public class MGraph implements Serializable {
    * Add a seriesPath to {@code PTree}.
    */
   public void addPathToPTree(String path) throws PathErrorException, MetadataArgsErrorException {
-    String[] nodes = path.trim().split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path.trim());
     if (nodes.length == 0) {
       throw new PathErrorException("Timeseries is null.");
     }
-    String rootName = path.trim().split(DOUB_SEPARATOR)[0];
+    String rootName = MetaUtils.splitPathToNodes(path.trim())[0];
     if (ptreeMap.containsKey(rootName)) {
       PTree ptree = ptreeMap.get(rootName);
       ptree.addPath(path);
@@ -95,11 +99,11 @@ public class MGraph implements Serializable {
    * @param path a seriesPath belongs to MTree or PTree
    */
   public String deletePath(String path) throws PathErrorException {
-    String[] nodes = path.trim().split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path.trim());
     if (nodes.length == 0) {
       throw new PathErrorException("Timeseries is null");
     }
-    String rootName = path.trim().split(DOUB_SEPARATOR)[0];
+    String rootName = MetaUtils.splitPathToNodes(path.trim())[0];
     if (mtree.getRoot().getName().equals(rootName)) {
       return mtree.deletePath(path);
     } else if (ptreeMap.containsKey(rootName)) {
@@ -115,7 +119,7 @@ public class MGraph implements Serializable {
    * Link a {@code MNode} to a {@code PNode} in current PTree.
    */
   public void linkMNodeToPTree(String path, String mpath) throws PathErrorException {
-    String ptreeName = path.trim().split(DOUB_SEPARATOR)[0];
+    String ptreeName = MetaUtils.splitPathToNodes(path.trim())[0];
     if (!ptreeMap.containsKey(ptreeName)) {
       throw new PathErrorException("Error: PTree Path Not Correct. Path: " + path);
     } else {
@@ -127,7 +131,7 @@ public class MGraph implements Serializable {
    * Unlink a {@code MNode} from a {@code PNode} in current PTree.
    */
   public void unlinkMNodeFromPTree(String path, String mpath) throws PathErrorException {
-    String ptreeName = path.trim().split(DOUB_SEPARATOR)[0];
+    String ptreeName = MetaUtils.splitPathToNodes(path.trim())[0];
     if (!ptreeMap.containsKey(ptreeName)) {
       throw new PathErrorException("Error: PTree Path Not Correct. Path: " + path);
     } else {
@@ -154,7 +158,7 @@ public class MGraph implements Serializable {
    */
   public HashMap<String, ArrayList<String>> getAllPathGroupByFilename(String path)
       throws PathErrorException {
-    String rootName = path.trim().split(DOUB_SEPARATOR)[0];
+    String rootName = MetaUtils.splitPathToNodes(path.trim())[0];
     if (mtree.getRoot().getName().equals(rootName)) {
       return mtree.getAllPath(path);
     } else if (ptreeMap.containsKey(rootName)) {
@@ -168,7 +172,7 @@ public class MGraph implements Serializable {
    * function for getting all timeseries paths under the given seriesPath.
    */
   public List<List<String>> getShowTimeseriesPath(String path) throws PathErrorException {
-    String rootName = path.trim().split(DOUB_SEPARATOR)[0];
+    String rootName = MetaUtils.splitPathToNodes(path.trim())[0];
     if (mtree.getRoot().getName().equals(rootName)) {
       return mtree.getShowTimeseriesPath(path);
     } else if (ptreeMap.containsKey(rootName)) {
@@ -333,6 +337,39 @@ public class MGraph implements Serializable {
     return mtree.getSchemaForOnePathWithCheck(path);
   }
 
+  /**
+   * serialize the MTree and the PTrees into a binary snapshot, which is written and loaded node by
+   * node instead of through Java serialization of the whole graph.
+   */
+  public void serializeTo(DataOutputStream outputStream) throws IOException {
+    outputStream.writeInt(SNAPSHOT_VERSION);
+    mtree.serializeTo(outputStream);
+    outputStream.writeInt(ptreeMap.size());
+    for (PTree ptree : ptreeMap.values()) {
+      ptree.getRoot().serializeTo(outputStream);
+    }
+  }
+
+  /**
+   * deserialize a snapshot written by {@link #serializeTo(DataOutputStream)}.
+   */
+  public static MGraph deserializeFrom(DataInputStream inputStream) throws IOException {
+    int version = inputStream.readInt();
+    if (version != SNAPSHOT_VERSION) {
+      throw new IOException("Unsupported version of the metadata snapshot: " + version);
+    }
+    MTree mtree = MTree.deserializeFrom(inputStream);
+    MGraph mgraph = new MGraph(mtree.getRoot().getName());
+    mgraph.mtree = mtree;
+    int ptreeNum = inputStream.readInt();
+    for (int i = 0; i < ptreeNum; i++) {
+      PNode ptreeRoot = PNode.deserializeFrom(inputStream, null);
+      mgraph.ptreeMap.put(ptreeRoot.getName(),
+          new PTree(ptreeRoot.getName(), ptreeRoot, mgraph.mtree));
+    }
+    return mgraph;
+  }
+
   /**
    * functions for converting the mTree to a readable string in json format.
    */
@@ -18,8 +18,12 @@
  */
 package org.apache.iotdb.db.metadata;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -27,14 +31,19 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.iotdb.db.concurrent.ThreadName;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.MetadataArgsErrorException;
 import org.apache.iotdb.db.exception.PathErrorException;
@@ -46,6 +55,8 @@ import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * This class takes the responsibility of serialization of all the metadata info and persistent it
@@ -56,13 +67,25 @@ import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
  */
 public class MManager {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(MManager.class);
   private static final String ROOT_NAME = MetadataConstant.ROOT;
+  private static final int SNAPSHOT_BUFFER_SIZE = 1 << 16;
   // the lock for read/write
   private ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-  // The file storing the serialize info for metadata
+  // The file storing the serialize info for metadata, only read to upgrade it to a snapshot
   private String datafilePath;
-  // the log file seriesPath
+  // the file storing the binary snapshot of the metadata
+  private String snapshotFilePath;
+  // the log file seriesPath, which holds the operations since the last snapshot
   private String logFilePath;
+  // the number of operations in the log file
+  private int logLineNum;
+  // the number of operations in the log file that triggers a snapshot
+  private int snapshotThreshold;
+  // only one snapshot is written at a time
+  private ReentrantLock snapshotLock = new ReentrantLock();
+  // the thread writing the snapshot triggered by the log
+  private volatile Thread snapshotThread;
   private MGraph mgraph;
   private BufferedWriter logWriter;
   private boolean writeToLog;
@@ -72,18 +95,28 @@ public class MManager {
   private RandomDeleteCache<String, MNode> mnodecache;
 
   private MManager() {
-    metadataDirPath = IoTDBDescriptor.getInstance().getConfig().metadataDir;
+    this(IoTDBDescriptor.getInstance().getConfig().metadataDir,
+        IoTDBDescriptor.getInstance().getConfig().metadataSnapshotThreshold);
+  }
+
+  /**
+   * create a manager of the metadata in the given directory, only for tests.
+   */
+  MManager(String metadataDirPath, int snapshotThreshold) {
     if (metadataDirPath.length() > 0
         && metadataDirPath.charAt(metadataDirPath.length() - 1) != File.separatorChar) {
       metadataDirPath = metadataDirPath + File.separatorChar;
     }
+    this.metadataDirPath = metadataDirPath;
     File metadataDir = new File(metadataDirPath);
     if (!metadataDir.exists()) {
       metadataDir.mkdirs();
     }
     datafilePath = metadataDirPath + MetadataConstant.METADATA_OBJ;
+    snapshotFilePath = metadataDirPath + MetadataConstant.METADATA_SNAPSHOT;
     logFilePath = metadataDirPath + MetadataConstant.METADATA_LOG;
     writeToLog = false;
+    this.snapshotThreshold = snapshotThreshold;
 
     int cacheSize = IoTDBDescriptor.getInstance().getConfig().mManagerCacheSize;
     checkAndGetDataTypeCache = new RandomDeleteCache<String, PathCheckRet>(cacheSize) {
@@ -125,33 +158,43 @@ public class MManager {
 
     lock.writeLock().lock();
     File dataFile = new File(datafilePath);
+    File snapshotFile = new File(snapshotFilePath);
     File logFile = new File(logFilePath);
     try {
       try {
-        if (dataFile.exists()) {
-          // init the metadata from the serialized file
+        recoverSnapshot();
+        logLineNum = 0;
+        boolean upgraded = false;
+        if (snapshotFile.exists()) {
+          // init the metadata from the snapshot and the operations logged after it
+          try (DataInputStream inputStream = new DataInputStream(
+              new BufferedInputStream(new FileInputStream(snapshotFile), SNAPSHOT_BUFFER_SIZE))) {
+            mgraph = MGraph.deserializeFrom(inputStream);
+          }
+          replayLog(logFile);
+        } else if (dataFile.exists()) {
+          // init the metadata from the serialized file of an old version, which covers the whole
+          // log, and replace them by a snapshot
           FileInputStream fis = new FileInputStream(dataFile);
           ObjectInputStream ois = new ObjectInputStream(fis);
           mgraph = (MGraph) ois.readObject();
           ois.close();
           fis.close();
-          dataFile.delete();
+          upgraded = true;
         } else {
           // init the metadata from the operation log
           mgraph = new MGraph(ROOT_NAME);
-          if (logFile.exists()) {
-            FileReader fr = new FileReader(logFile);
-            BufferedReader br = new BufferedReader(fr);
-            String cmd;
-            while ((cmd = br.readLine()) != null) {
-              operation(cmd);
-            }
-            br.close();
-          }
+          replayLog(logFile);
         }
         FileWriter fw = new FileWriter(logFile, true);
         logWriter = new BufferedWriter(fw);
         writeToLog = true;
+        if (upgraded || needSnapshot()) {
+          writeSnapshot();
+        }
+        if (dataFile.exists()) {
+          dataFile.delete();
+        }
       } catch (Exception e) {
         e.printStackTrace();
         throw new RuntimeException(e);
@@ -161,6 +204,168 @@ public class MManager {
     }
   }
 
+  private void replayLog(File logFile)
+      throws IOException, PathErrorException, MetadataArgsErrorException {
+    if (!logFile.exists()) {
+      return;
+    }
+    try (BufferedReader br = new BufferedReader(new FileReader(logFile))) {
+      String cmd;
+      while ((cmd = br.readLine()) != null) {
+        operation(cmd);
+        logLineNum++;
+      }
+    }
+  }
+
+  /**
+   * A snapshot is written to a temporary file and the log is moved aside before the temporary file
+   * replaces the snapshot, see {@link #prepareSnapshot()} and {@link #commitSnapshot()}. Operations
+   * after the log is moved aside go to a new log. Finish or roll back a snapshot interrupted by a
+   * crash: if the temporary file still exists, the old snapshot is valid and the old log followed
+   * by the new log are merged into the log, otherwise the new snapshot has replaced the old one and
+   * the old log is dropped.
+   */
+  private void recoverSnapshot() throws IOException {
+    File tempFile = new File(snapshotFilePath + MetadataConstant.METADATA_TEMP);
+    File logFile = new File(logFilePath);
+    File oldLogFile = new File(logFilePath + MetadataConstant.METADATA_OLD);
+    File mergedLogFile = new File(logFilePath + MetadataConstant.METADATA_TEMP);
+    if (tempFile.exists()) {
+      // the temporary file is deleted only after the merged log is durable, so a crash while
+      // merging merges again
+      try (FileOutputStream outputStream = new FileOutputStream(mergedLogFile)) {
+        if (oldLogFile.exists()) {
+          Files.copy(oldLogFile.toPath(), outputStream);
+        }
+        if (logFile.exists()) {
+          Files.copy(logFile.toPath(), outputStream);
+        }
+        outputStream.getFD().sync();
+      }
+      Files.delete(tempFile.toPath());
+    }
+    if (mergedLogFile.exists()) {
+      Files.move(mergedLogFile.toPath(), logFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+    if (oldLogFile.exists()) {
+      Files.delete(oldLogFile.toPath());
+    }
+  }
+
+  /**
+   * write the whole metadata into a new snapshot and start a new empty log. The caller should hold
+   * the write lock, and no background snapshot may be running.
+   */
+  private void writeSnapshot() throws IOException {
+    prepareSnapshot();
+    commitSnapshot();
+  }
+
+  /**
+   * write the whole metadata into the temporary file of a snapshot and move the log aside, so that
+   * the snapshot covers exactly the operations logged so far. The caller should hold the read lock
+   * or the write lock, so that no operation is applied or logged meanwhile.
+   */
+  private void prepareSnapshot() throws IOException {
+    File metadataDir = new File(metadataDirPath);
+    if (!metadataDir.exists()) {
+      metadataDir.mkdirs();
+    }
+    File tempFile = new File(snapshotFilePath + MetadataConstant.METADATA_TEMP);
+    File logFile = new File(logFilePath);
+    File oldLogFile = new File(logFilePath + MetadataConstant.METADATA_OLD);
+    if (oldLogFile.exists()) {
+      throw new IOException(String.format("The old metadata log %s of an unfinished snapshot "
+          + "exists, it is recovered at the next start", oldLogFile));
+    }
+    try (DataOutputStream outputStream = new DataOutputStream(
+        new BufferedOutputStream(new FileOutputStream(tempFile), SNAPSHOT_BUFFER_SIZE))) {
+      mgraph.serializeTo(outputStream);
+    }
+    // close the logFile stream, the next operation opens a new log
+    if (logWriter != null) {
+      logWriter.close();
+      logWriter = null;
+    }
+    if (logFile.exists()) {
+      Files.move(logFile.toPath(), oldLogFile.toPath());
+    }
+    logLineNum = 0;
+  }
+
+  /**
+   * make the snapshot written by {@link #prepareSnapshot()} durable and let it replace the old
+   * snapshot and the old log. It needs no lock of the metadata.
+   */
+  private void commitSnapshot() throws IOException {
+    File tempFile = new File(snapshotFilePath + MetadataConstant.METADATA_TEMP);
+    File oldLogFile = new File(logFilePath + MetadataConstant.METADATA_OLD);
+    try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.WRITE)) {
+      channel.force(true);
+    }
+    Files.move(tempFile.toPath(), new File(snapshotFilePath).toPath(),
+        StandardCopyOption.REPLACE_EXISTING);
+    if (oldLogFile.exists()) {
+      Files.delete(oldLogFile.toPath());
+    }
+  }
+
+  /**
+   * write a snapshot in a background thread, which holds the read lock while serializing the
+   * metadata into the page cache, so that queries of the metadata go on and operations wait only
+   * for the serialization but not for the fsync.
+   */
+  private void startSnapshot() {
+    snapshotThread = new Thread(() -> {
+      snapshotLock.lock();
+      try {
+        lock.readLock().lock();
+        try {
+          prepareSnapshot();
+        } finally {
+          lock.readLock().unlock();
+        }
+        commitSnapshot();
+      } catch (IOException e) {
+        LOGGER.error("Failed to write the snapshot of the metadata", e);
+      } finally {
+        snapshotLock.unlock();
+      }
+    }, ThreadName.METADATA_SNAPSHOT.getName());
+    snapshotThread.start();
+  }
+
+  /**
+   * wait for the snapshot being written in the background, if any, only for tests.
+   */
+  void waitForSnapshot() throws InterruptedException {
+    Thread thread = snapshotThread;
+    if (thread != null) {
+      thread.join();
+    }
+  }
+
+  /**
+   * append an operation to the log, and write a snapshot if the log becomes too long. The caller
+   * should hold the write lock.
+   */
+  private void writeLog(String cmd) throws IOException {
+    initLogStream();
+    logWriter.write(cmd);
+    logWriter.newLine();
+    logWriter.flush();
+    logLineNum++;
+    if (needSnapshot()) {
+      startSnapshot();
+    }
+  }
+
+  private boolean needSnapshot() {
+    return snapshotThreshold > 0 && logLineNum >= snapshotThreshold
+        && (snapshotThread == null || !snapshotThread.isAlive());
+  }
+
   /**
    * function for clearing mgraph.
    */
@@ -249,16 +454,15 @@ public class MManager {
     try {
       mgraph.addPathToMTree(path, dataType, encoding, compressor, props);
       if (writeToLog) {
-        initLogStream();
-        logWriter.write(String.format("%s,%s,%s,%s,%s", MetadataOperationType.ADD_PATH_TO_MTREE,
-            path, dataType.serialize(), encoding.serialize(), compressor.serialize()));
+        StringBuilder cmd = new StringBuilder(String.format("%s,%s,%s,%s,%s",
+            MetadataOperationType.ADD_PATH_TO_MTREE, path, dataType.serialize(),
+            encoding.serialize(), compressor.serialize()));
         if (props != null) {
           for (Map.Entry entry : props.entrySet()) {
-            logWriter.write(String.format(",%s=%s", entry.getKey(), entry.getValue()));
+            cmd.append(String.format(",%s=%s", entry.getKey(), entry.getValue()));
           }
         }
-        logWriter.newLine();
-        logWriter.flush();
+        writeLog(cmd.toString());
       }
     } finally {
       lock.writeLock().unlock();
@@ -293,10 +497,7 @@ public class MManager {
       mnodecache.clear();
       String dataFileName = mgraph.deletePath(path);
       if (writeToLog) {
-        initLogStream();
-        logWriter.write(MetadataOperationType.DELETE_PATH_FROM_MTREE + "," + path);
-        logWriter.newLine();
-        logWriter.flush();
+        writeLog(MetadataOperationType.DELETE_PATH_FROM_MTREE + "," + path);
       }
       return dataFileName;
     } finally {
@@ -315,10 +516,7 @@ public class MManager {
       mnodecache.clear();
       mgraph.setStorageLevel(path);
       if (writeToLog) {
-        initLogStream();
-        logWriter.write(MetadataOperationType.SET_STORAGE_LEVEL_TO_MTREE + "," + path);
-        logWriter.newLine();
-        logWriter.flush();
+        writeLog(MetadataOperationType.SET_STORAGE_LEVEL_TO_MTREE + "," + path);
       }
     } finally {
       lock.writeLock().unlock();
@@ -334,10 +532,7 @@ public class MManager {
     try {
       mgraph.addAPTree(ptreeRootName);
       if (writeToLog) {
-        initLogStream();
-        logWriter.write(MetadataOperationType.ADD_A_PTREE + "," + ptreeRootName);
-        logWriter.newLine();
-        logWriter.flush();
+        writeLog(MetadataOperationType.ADD_A_PTREE + "," + ptreeRootName);
       }
     } finally {
       lock.writeLock().unlock();
@@ -354,10 +549,7 @@ public class MManager {
     try {
       mgraph.addPathToPTree(path);
       if (writeToLog) {
-        initLogStream();
-        logWriter.write(MetadataOperationType.ADD_A_PATH_TO_PTREE + "," + path);
-        logWriter.newLine();
-        logWriter.flush();
+        writeLog(MetadataOperationType.ADD_A_PATH_TO_PTREE + "," + path);
       }
     } finally {
       lock.writeLock().unlock();
@@ -373,10 +565,7 @@ public class MManager {
     try {
       mgraph.deletePath(path);
       if (writeToLog) {
-        initLogStream();
-        logWriter.write(MetadataOperationType.DELETE_PATH_FROM_PTREE + "," + path);
-        logWriter.newLine();
-        logWriter.flush();
+        writeLog(MetadataOperationType.DELETE_PATH_FROM_PTREE + "," + path);
       }
     } finally {
       lock.writeLock().unlock();
@@ -392,10 +581,7 @@ public class MManager {
     try {
       mgraph.linkMNodeToPTree(path, mpath);
       if (writeToLog) {
-        initLogStream();
-        logWriter.write(MetadataOperationType.LINK_MNODE_TO_PTREE + "," + path + "," + mpath);
-        logWriter.newLine();
-        logWriter.flush();
+        writeLog(MetadataOperationType.LINK_MNODE_TO_PTREE + "," + path + "," + mpath);
       }
     } finally {
       lock.writeLock().unlock();
@@ -412,10 +598,7 @@ public class MManager {
     try {
       mgraph.unlinkMNodeFromPTree(path, mpath);
       if (writeToLog) {
-        initLogStream();
-        logWriter.write(MetadataOperationType.UNLINK_MNODE_FROM_PTREE + "," + path + "," + mpath);
-        logWriter.newLine();
-        logWriter.flush();
+        writeLog(MetadataOperationType.UNLINK_MNODE_FROM_PTREE + "," + path + "," + mpath);
       }
     } finally {
       lock.writeLock().unlock();
@@ -921,35 +1104,21 @@ public class MManager {
   }
 
   /**
-   * function for flushing object to file.
+   * function for flushing the metadata into a snapshot, after which the log is empty. It waits for
+   * the snapshot being written in the background, if any.
    */
   public void flushObjectToFile() throws IOException {
 
-    lock.writeLock().lock();
+    snapshotLock.lock();
     try {
-      File dataFile = new File(datafilePath);
-      // delete old metadata data file
-      if (dataFile.exists()) {
-        dataFile.delete();
-      }
-      File metadataDir = new File(metadataDirPath);
-      if (!metadataDir.exists()) {
-        metadataDir.mkdirs();
-      }
-      File tempFile = new File(datafilePath + MetadataConstant.METADATA_TEMP);
-      FileOutputStream fos = new FileOutputStream(tempFile);
-      ObjectOutputStream oos = new ObjectOutputStream(fos);
-      oos.writeObject(mgraph);
-      oos.close();
-      // close the logFile stream
-      if (logWriter != null) {
-        logWriter.close();
-        logWriter = null;
+      lock.writeLock().lock();
+      try {
+        writeSnapshot();
+      } finally {
+        lock.writeLock().unlock();
       }
-      // rename temp file to data file
-      tempFile.renameTo(dataFile);
     } finally {
-      lock.writeLock().unlock();
+      snapshotLock.unlock();
     }
   }
 
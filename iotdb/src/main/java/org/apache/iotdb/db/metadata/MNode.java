@@ -18,7 +18,13 @@
  */
 package org.apache.iotdb.db.metadata;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -35,6 +41,14 @@ public class MNode implements Serializable {
 
   private static final long serialVersionUID = -770028375899514063L;
 
+  // flags of a node in the snapshot, see serializeTo()
+  private static final byte LEAF_FLAG = 1;
+  private static final byte STORAGE_LEVEL_FLAG = 2;
+  private static final byte DATA_FILE_NAME_FLAG = 4;
+
+  // the max number of children kept in childArray, more children are kept in a map
+  private static final int CHILD_ARRAY_LIMIT = 8;
+
   // The name of the MNode
   private String name;
   // Whether current node is a leaf in the Metadata Tree
@@ -50,19 +64,22 @@ public class MNode implements Serializable {
   // node is one leaf
   private MeasurementSchema schema;
   private MNode parent;
+  // the children of a node with few children in the order they are added, which are looked up by
+  // comparing the names one by one
+  private MNode[] childArray;
+  private int childNum;
+  // the children of a node with many children, which replaces childArray
   private LinkedHashMap<String, MNode> children;
 
   /**
-   * Constructor of MNode.
+   * Constructor of MNode. The names of leaves, i.e. the measurements, repeat in many devices and
+   * are interned.
    */
   public MNode(String name, MNode parent, boolean isLeaf) {
-    this.setName(name);
+    this.setName(isLeaf ? name.intern() : name);
     this.parent = parent;
     this.isLeaf = isLeaf;
     this.isStorageLevel = false;
-    if (!isLeaf) {
-      children = new LinkedHashMap<>();
-    }
   }
 
   public MNode(String name, MNode parent, TSDataType dataType, TSEncoding encoding,
@@ -109,33 +126,74 @@ public class MNode implements Serializable {
    * function for checking whether mnode's children contain the given key.
    */
   public boolean hasChild(String key) {
-    if (!isLeaf) {
-      return this.children.containsKey(key);
-    }
-    return false;
+    return getChild(key) != null;
   }
 
   /**
    * function for adding the given key to the given child mnode.
    */
   public void addChild(String key, MNode child) {
-    if (!isLeaf) {
-      this.children.put(key, child);
+    if (isLeaf) {
+      return;
+    }
+    if (children != null) {
+      children.put(key, child);
+      return;
+    }
+    int index = indexOfChild(key);
+    if (index >= 0) {
+      childArray[index] = child;
+    } else if (childNum == CHILD_ARRAY_LIMIT) {
+      children = new LinkedHashMap<>();
+      for (int i = 0; i < childNum; i++) {
+        children.put(childArray[i].getName(), childArray[i]);
+      }
+      children.put(key, child);
+      childArray = null;
+      childNum = 0;
+    } else {
+      if (childArray == null) {
+        childArray = new MNode[1];
+      } else if (childNum == childArray.length) {
+        childArray = Arrays.copyOf(childArray, Math.min(childNum * 2, CHILD_ARRAY_LIMIT));
+      }
+      childArray[childNum++] = child;
     }
   }
 
   public void deleteChild(String key) {
-    children.remove(key);
+    if (children != null) {
+      children.remove(key);
+      return;
+    }
+    int index = indexOfChild(key);
+    if (index >= 0) {
+      System.arraycopy(childArray, index + 1, childArray, index, childNum - index - 1);
+      childArray[--childNum] = null;
+    }
   }
 
   /**
    * function for getting the child mnode under the given key.
    */
   public MNode getChild(String key) {
-    if (!isLeaf) {
+    if (isLeaf) {
+      return null;
+    }
+    if (children != null) {
       return children.get(key);
     }
-    return null;
+    int index = indexOfChild(key);
+    return index < 0 ? null : childArray[index];
+  }
+
+  private int indexOfChild(String key) {
+    for (int i = 0; i < childNum; i++) {
+      if (childArray[i].getName().equals(key)) {
+        return i;
+      }
+    }
+    return -1;
   }
 
   /**
@@ -146,7 +204,7 @@ public class MNode implements Serializable {
       return 1;
     } else {
       int leafCount = 0;
-      for (MNode child : this.children.values()) {
+      for (MNode child : getChildren()) {
         leafCount += child.getLeafCount();
       }
       return leafCount;
@@ -182,12 +240,33 @@ public class MNode implements Serializable {
     this.parent = parent;
   }
 
-  public LinkedHashMap<String, MNode> getChildren() {
-    return children;
+  /**
+   * function for getting the children in the order they are added, or null if the node is a leaf.
+   */
+  public Collection<MNode> getChildren() {
+    if (isLeaf) {
+      return null;
+    }
+    if (children != null) {
+      return children.values();
+    }
+    if (childNum == 0) {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(Arrays.asList(childArray).subList(0, childNum));
+  }
+
+  public int getChildrenNum() {
+    if (children != null) {
+      return children.size();
+    }
+    return childNum;
   }
 
   public void setChildren(LinkedHashMap<String, MNode> children) {
     this.children = children;
+    this.childArray = null;
+    this.childNum = 0;
   }
 
   public String getName() {
@@ -198,4 +277,120 @@ public class MNode implements Serializable {
     this.name = name;
   }
 
+  /**
+   * serialize the subtree of this node in pre-order: the name, the flags, the data file name, the
+   * schema of a leaf, the schema maps of a storage group and then the children.
+   */
+  public void serializeTo(DataOutputStream outputStream) throws IOException {
+    byte flags = 0;
+    if (isLeaf) {
+      flags |= LEAF_FLAG;
+    }
+    if (isStorageLevel) {
+      flags |= STORAGE_LEVEL_FLAG;
+    }
+    if (dataFileName != null) {
+      flags |= DATA_FILE_NAME_FLAG;
+    }
+    outputStream.writeUTF(name);
+    outputStream.writeByte(flags);
+    if (dataFileName != null) {
+      outputStream.writeUTF(dataFileName);
+    }
+    if (isLeaf) {
+      serializeSchema(schema, outputStream);
+    }
+    if (isStorageLevel) {
+      outputStream.writeInt(schemaMap.size());
+      for (Map.Entry<String, MeasurementSchema> entry : schemaMap.entrySet()) {
+        outputStream.writeUTF(entry.getKey());
+        serializeSchema(entry.getValue(), outputStream);
+      }
+      outputStream.writeInt(numSchemaMap.size());
+      for (Map.Entry<String, Integer> entry : numSchemaMap.entrySet()) {
+        outputStream.writeUTF(entry.getKey());
+        outputStream.writeInt(entry.getValue());
+      }
+    }
+    if (!isLeaf) {
+      outputStream.writeInt(getChildrenNum());
+      for (MNode child : getChildren()) {
+        child.serializeTo(outputStream);
+      }
+    }
+  }
+
+  /**
+   * deserialize the subtree written by {@link #serializeTo(DataOutputStream)}.
+   *
+   * @param parent the parent of the deserialized node
+   * @param mtree the tree of the node, which shares the schemas
+   */
+  public static MNode deserializeFrom(DataInputStream inputStream, MNode parent, MTree mtree)
+      throws IOException {
+    String name = inputStream.readUTF();
+    byte flags = inputStream.readByte();
+    MNode node = new MNode(name, parent, (flags & LEAF_FLAG) != 0);
+    if ((flags & DATA_FILE_NAME_FLAG) != 0) {
+      node.dataFileName = inputStream.readUTF();
+    }
+    if (node.isLeaf) {
+      node.schema = deserializeSchema(inputStream, mtree);
+    }
+    if ((flags & STORAGE_LEVEL_FLAG) != 0) {
+      node.setStorageLevel(true);
+      int schemaNum = inputStream.readInt();
+      for (int i = 0; i < schemaNum; i++) {
+        node.schemaMap.put(inputStream.readUTF(), deserializeSchema(inputStream, mtree));
+      }
+      int numSchemaNum = inputStream.readInt();
+      for (int i = 0; i < numSchemaNum; i++) {
+        node.numSchemaMap.put(inputStream.readUTF(), inputStream.readInt());
+      }
+    }
+    if (!node.isLeaf) {
+      int childNum = inputStream.readInt();
+      for (int i = 0; i < childNum; i++) {
+        MNode child = deserializeFrom(inputStream, node, mtree);
+        node.addChild(child.name, child);
+      }
+    }
+    return node;
+  }
+
+  private static void serializeSchema(MeasurementSchema schema, DataOutputStream outputStream)
+      throws IOException {
+    outputStream.writeUTF(schema.getMeasurementId());
+    outputStream.writeShort(schema.getType().serialize());
+    outputStream.writeShort(schema.getEncodingType().serialize());
+    outputStream.writeShort(schema.getCompressor().serialize());
+    Map<String, String> props = schema.getProps();
+    if (props == null) {
+      outputStream.writeInt(0);
+      return;
+    }
+    outputStream.writeInt(props.size());
+    for (Map.Entry<String, String> entry : props.entrySet()) {
+      outputStream.writeUTF(entry.getKey());
+      outputStream.writeUTF(entry.getValue());
+    }
+  }
+
+  private static MeasurementSchema deserializeSchema(DataInputStream inputStream, MTree mtree)
+      throws IOException {
+    String measurementId = inputStream.readUTF();
+    TSDataType dataType = TSDataType.deserialize(inputStream.readShort());
+    TSEncoding encoding = TSEncoding.deserialize(inputStream.readShort());
+    CompressionType compressor = CompressionType.deserialize(inputStream.readShort());
+    int propNum = inputStream.readInt();
+    Map<String, String> props = null;
+    if (propNum > 0) {
+      props = new HashMap<>(propNum);
+      for (int i = 0; i < propNum; i++) {
+        props.put(inputStream.readUTF(), inputStream.readUTF());
+      }
+    }
+    return mtree.getSharedSchema(measurementId, dataType, encoding, compressor, props);
+  }
+
 }
@@ -18,6 +18,9 @@
  */
 package org.apache.iotdb.db.metadata;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -39,13 +42,14 @@ public class MTree implements Serializable {
 
   private static final long serialVersionUID = -4200394435237291964L;
   private static final String QUAD_SPACE = "    ";
-  private static final String DOUB_SEPARATOR = "\\.";
   private static final String NO_CHILD_ERROR = "Timeseries is not correct. Node[%s] "
       + "doesn't have child named:%s";
   private static final String NOT_LEAF_NODE = "Timeseries %s is not the leaf node";
   private static final String SERIES_NOT_CORRECT = "Timeseries %s is not correct";
   private static final String NOT_SERIES_PATH = "The prefix of the seriesPath %s is not one storage group seriesPath";
   private MNode root;
+  // the schemas shared by the leaves by measurement, see getSharedSchema()
+  private transient Map<String, List<MeasurementSchema>> schemaPool;
 
   public MTree(String rootName) {
     this.root = new MNode(rootName, null, false);
@@ -71,7 +75,7 @@ public class MTree implements Serializable {
    */
   public void addTimeseriesPath(String timeseriesPath, TSDataType dataType, TSEncoding encoding,
       CompressionType compressor, Map<String, String> props) throws PathErrorException {
-    String[] nodeNames = timeseriesPath.trim().split(DOUB_SEPARATOR);
+    String[] nodeNames = MetaUtils.splitPathToNodes(timeseriesPath.trim());
     if (nodeNames.length <= 1 || !nodeNames[0].equals(root.getName())) {
       throw new PathErrorException(String.format("Timeseries %s is not right.", timeseriesPath));
     }
@@ -102,10 +106,8 @@ public class MTree implements Serializable {
       }
       i++;
     }
-    MNode leaf = new MNode(nodeNames[nodeNames.length - 1], cur, dataType, encoding, compressor);
-    if ( props != null && !props.isEmpty()) {
-      leaf.getSchema().setProps(props);
-    }
+    MNode leaf = new MNode(nodeNames[nodeNames.length - 1], cur, true);
+    leaf.setSchema(getSharedSchema(leaf.getName(), dataType, encoding, compressor, props));
     levelPath = cur.getDataFileName();
     leaf.setDataFileName(levelPath);
     if (cur.isLeaf()) {
@@ -123,7 +125,7 @@ public class MTree implements Serializable {
    * @param path -seriesPath not necessarily the whole seriesPath (possibly a prefix of a sequence)
    */
   public boolean isPathExist(String path) {
-    String[] nodeNames = path.trim().split(DOUB_SEPARATOR);
+    String[] nodeNames = MetaUtils.splitPathToNodes(path.trim());
     MNode cur = root;
     int i = 0;
     while (i < nodeNames.length - 1) {
@@ -147,7 +149,7 @@ public class MTree implements Serializable {
    * function for checking whether the given path exists under the given mnode.
    */
   public boolean isPathExist(MNode node, String path) {
-    String[] nodeNames = path.trim().split(DOUB_SEPARATOR);
+    String[] nodeNames = MetaUtils.splitPathToNodes(path.trim());
     if (nodeNames.length < 1) {
       return true;
     }
@@ -178,7 +180,7 @@ public class MTree implements Serializable {
    * make sure check seriesPath before setting storage group.
    */
   public void setStorageGroup(String path) throws PathErrorException {
-    String[] nodeNames = path.split(DOUB_SEPARATOR);
+    String[] nodeNames = MetaUtils.splitPathToNodes(path);
     MNode cur = root;
     if (nodeNames.length <= 1 || !nodeNames[0].equals(root.getName())) {
       throw new PathErrorException(
@@ -223,7 +225,7 @@ public class MTree implements Serializable {
     if (node.getChildren() == null) {
       return;
     }
-    for (MNode child : node.getChildren().values()) {
+    for (MNode child : node.getChildren()) {
       checkStorageGroup(child);
     }
   }
@@ -233,7 +235,7 @@ public class MTree implements Serializable {
     if (node.getChildren() == null) {
       return;
     }
-    for (MNode child : node.getChildren().values()) {
+    for (MNode child : node.getChildren()) {
       setDataFileName(path, child);
     }
   }
@@ -245,7 +247,7 @@ public class MTree implements Serializable {
    * node.
    */
   public String deletePath(String path) throws PathErrorException {
-    String[] nodes = path.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path);
     if (nodes.length == 0 || !nodes[0].equals(getRoot().getName())) {
       throw new PathErrorException("Timeseries %s is not correct." + path);
     }
@@ -267,7 +269,7 @@ public class MTree implements Serializable {
     }
     cur.getParent().deleteChild(cur.getName());
     cur = cur.getParent();
-    while (cur != null && !MetadataConstant.ROOT.equals(cur.getName()) && cur.getChildren().size() == 0) {
+    while (cur != null && !MetadataConstant.ROOT.equals(cur.getName()) && cur.getChildrenNum() == 0) {
       if (cur.isStorageLevel()) {
         dataFileName = cur.getDataFileName();
         return dataFileName;
@@ -283,7 +285,7 @@ public class MTree implements Serializable {
    * Check whether the seriesPath given exists.
    */
   public boolean hasPath(String path) {
-    String[] nodes = path.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path);
     if (nodes.length == 0 || !nodes[0].equals(getRoot().getName())) {
       return false;
     }
@@ -296,7 +298,7 @@ public class MTree implements Serializable {
     }
     if (("*").equals(nodes[idx])) {
       boolean res = false;
-      for (MNode child : node.getChildren().values()) {
+      for (MNode child : node.getChildren()) {
         res |= hasPath(child, nodes, idx + 1);
       }
       return res;
@@ -335,7 +337,7 @@ public class MTree implements Serializable {
 
   private MNode getLeafByPath(String path) throws PathErrorException {
     checkPath(path);
-    String[] node = path.split(DOUB_SEPARATOR);
+    String[] node = MetaUtils.splitPathToNodes(path);
     MNode cur = getRoot();
     for (int i = 1; i < node.length; i++) {
       cur = cur.getChild(node[i]);
@@ -348,7 +350,7 @@ public class MTree implements Serializable {
 
   private MNode getLeafByPath(MNode node, String path) throws PathErrorException {
     checkPath(node, path);
-    String[] nodes = path.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path);
     MNode cur = node.getChild(nodes[0]);
     for (int i = 1; i < nodes.length; i++) {
       cur = cur.getChild(nodes[i]);
@@ -360,7 +362,7 @@ public class MTree implements Serializable {
   }
 
   private MNode getLeafByPathWithCheck(MNode node, String path) throws PathErrorException {
-    String[] nodes = path.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path);
     if (nodes.length < 1 || !node.hasChild(nodes[0])) {
       throw new PathErrorException(String.format(SERIES_NOT_CORRECT, path));
     }
@@ -380,7 +382,7 @@ public class MTree implements Serializable {
   }
 
   private MNode getLeafByPathWithCheck(String path) throws PathErrorException {
-    String[] nodes = path.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path);
     if (nodes.length < 2 || !nodes[0].equals(getRoot().getName())) {
       throw new PathErrorException(String.format(SERIES_NOT_CORRECT, path));
     }
@@ -404,7 +406,7 @@ public class MTree implements Serializable {
    */
   public MNode getNodeByPath(String path) throws PathErrorException {
     checkPath(path);
-    String[] node = path.split(DOUB_SEPARATOR);
+    String[] node = MetaUtils.splitPathToNodes(path);
     MNode cur = getRoot();
     for (int i = 1; i < node.length; i++) {
       cur = cur.getChild(node[i]);
@@ -417,7 +419,7 @@ public class MTree implements Serializable {
    */
   public MNode getNodeByPathWithFileLevelCheck(String path) throws PathErrorException {
     boolean fileLevelChecked = false;
-    String[] nodes = path.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path);
     if (nodes.length < 2 || !nodes[0].equals(getRoot().getName())) {
       throw new PathErrorException(String.format(SERIES_NOT_CORRECT, path));
     }
@@ -446,7 +448,7 @@ public class MTree implements Serializable {
    */
   public String getDeviceTypeByPath(String path) throws PathErrorException {
     checkPath(path);
-    String[] nodes = path.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path);
     if (nodes.length < 2) {
       throw new PathErrorException(
           String.format("Timeseries %s must have two or more nodes", path));
@@ -460,7 +462,7 @@ public class MTree implements Serializable {
    * @return last node in given seriesPath if current seriesPath is available
    */
   private MNode checkPath(String path) throws PathErrorException {
-    String[] nodes = path.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path);
     if (nodes.length < 2 || !nodes[0].equals(getRoot().getName())) {
       throw new PathErrorException(String.format(SERIES_NOT_CORRECT, path));
     }
@@ -476,7 +478,7 @@ public class MTree implements Serializable {
   }
 
   private void checkPath(MNode node, String path) throws PathErrorException {
-    String[] nodes = path.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path);
     if (nodes.length < 1) {
       return;
     }
@@ -497,7 +499,7 @@ public class MTree implements Serializable {
    */
   public String getFileNameByPath(String path) throws PathErrorException {
 
-    String[] nodes = path.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path);
     MNode cur = getRoot();
     for (int i = 1; i < nodes.length; i++) {
       if (cur == null) {
@@ -522,7 +524,7 @@ public class MTree implements Serializable {
    */
   public String getFileNameByPath(MNode node, String path) throws PathErrorException {
 
-    String[] nodes = path.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path);
     MNode cur = node.getChild(nodes[0]);
     for (int i = 1; i < nodes.length; i++) {
       if (cur == null) {
@@ -547,7 +549,7 @@ public class MTree implements Serializable {
    */
   public String getFileNameByPathWithCheck(MNode node, String path) throws PathErrorException {
 
-    String[] nodes = path.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path);
     if (nodes.length < 1 || !node.hasChild(nodes[0])) {
       throw new PathErrorException(
           String
@@ -587,7 +589,7 @@ public class MTree implements Serializable {
    */
   public boolean checkFileNameByPath(String path) {
 
-    String[] nodes = path.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path);
     MNode cur = getRoot();
     for (int i = 1; i <= nodes.length; i++) {
       if (cur == null) {
@@ -609,7 +611,7 @@ public class MTree implements Serializable {
    */
   public HashMap<String, ArrayList<String>> getAllPath(String pathReg) throws PathErrorException {
     HashMap<String, ArrayList<String>> paths = new HashMap<>();
-    String[] nodes = pathReg.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(pathReg);
     if (nodes.length == 0 || !nodes[0].equals(getRoot().getName())) {
       throw new PathErrorException(String.format(SERIES_NOT_CORRECT, pathReg));
     }
@@ -622,7 +624,7 @@ public class MTree implements Serializable {
    */
   public List<List<String>> getShowTimeseriesPath(String pathReg) throws PathErrorException {
     List<List<String>> res = new ArrayList<>();
-    String[] nodes = pathReg.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(pathReg);
     if (nodes.length == 0 || !nodes[0].equals(getRoot().getName())) {
       throw new PathErrorException(String.format(SERIES_NOT_CORRECT, pathReg));
     }
@@ -638,7 +640,7 @@ public class MTree implements Serializable {
   public List<String> getLeafNodePathInNextLevel(String path) throws PathErrorException {
     List<String> ret = new ArrayList<>();
     MNode cur = checkPath(path);
-    for (MNode child : cur.getChildren().values()) {
+    for (MNode child : cur.getChildren()) {
       if (child.isLeaf()) {
         ret.add(new StringBuilder(path).append(".").append(child.getName()).toString());
       }
@@ -664,7 +666,7 @@ public class MTree implements Serializable {
    * @return The total count of storage-level nodes.
    */
   public int getFileCountForOneType(String path) throws PathErrorException {
-    String[] nodes = path.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path);
     if (nodes.length != 2 || !nodes[0].equals(getRoot().getName()) || !getRoot()
         .hasChild(nodes[1])) {
       throw new PathErrorException(
@@ -681,7 +683,7 @@ public class MTree implements Serializable {
     }
     int sum = 0;
     if (!node.isLeaf()) {
-      for (MNode child : node.getChildren().values()) {
+      for (MNode child : node.getChildren()) {
         sum += getFileCountForOneNode(child);
       }
     }
@@ -696,8 +698,8 @@ public class MTree implements Serializable {
   public ArrayList<String> getAllType() {
     ArrayList<String> res = new ArrayList<>();
     if (getRoot() != null) {
-      for (String type : getRoot().getChildren().keySet()) {
-        res.add(type);
+      for (MNode type : getRoot().getChildren()) {
+        res.add(type.getName());
       }
     }
     return res;
@@ -722,7 +724,7 @@ public class MTree implements Serializable {
       res.add(path);
       return;
     }
-    for (MNode childNode : node.getChildren().values()) {
+    for (MNode childNode : node.getChildren()) {
       findStorageGroup(childNode, path + "." + childNode.toString(), res);
     }
   }
@@ -748,9 +750,9 @@ public class MTree implements Serializable {
     if (node.isLeaf()) {
       deviceMap.put(path, 1);
     } else {
-      for (String child : node.getChildren().keySet()) {
+      for (MNode child : node.getChildren()) {
         String newPath = path + "." + node.getName();
-        putDeviceToMap(newPath, node.getChildren().get(child), deviceMap);
+        putDeviceToMap(newPath, child, deviceMap);
       }
     }
   }
@@ -762,7 +764,7 @@ public class MTree implements Serializable {
    * @return a list contains all column schema
    */
   public ArrayList<MeasurementSchema> getSchemaForOneType(String path) throws PathErrorException {
-    String[] nodes = path.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path);
     if (nodes.length != 2 || !nodes[0].equals(getRoot().getName()) || !getRoot()
         .hasChild(nodes[1])) {
       throw new PathErrorException(
@@ -783,7 +785,7 @@ public class MTree implements Serializable {
    */
   public ArrayList<MeasurementSchema> getSchemaForOneFileNode(String path) {
 
-    String[] nodes = path.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path);
     HashMap<String, MeasurementSchema> leafMap = new HashMap<>();
     MNode cur = getRoot();
     for (int i = 1; i < nodes.length; i++) {
@@ -800,7 +802,7 @@ public class MTree implements Serializable {
    * function for getting schema map for one file node.
    */
   public Map<String, MeasurementSchema> getSchemaMapForOneFileNode(String path) {
-    String[] nodes = path.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path);
     MNode cur = getRoot();
     for (int i = 1; i < nodes.length; i++) {
       cur = cur.getChild(nodes[i]);
@@ -812,7 +814,7 @@ public class MTree implements Serializable {
    * function for getting num schema map for one file node.
    */
   public Map<String, Integer> getNumSchemaMapForOneFileNode(String path) {
-    String[] nodes = path.split(DOUB_SEPARATOR);
+    String[] nodes = MetaUtils.splitPathToNodes(path);
     MNode cur = getRoot();
     for (int i = 1; i < nodes.length; i++) {
       cur = cur.getChild(nodes[i]);
@@ -827,7 +829,7 @@ public class MTree implements Serializable {
       }
       return;
     }
-    for (MNode child : node.getChildren().values()) {
+    for (MNode child : node.getChildren()) {
       putLeafToLeafMap(child, leafMap);
     }
   }
@@ -854,7 +856,7 @@ public class MTree implements Serializable {
         findPath(node.getChild(nodeReg), nodes, idx + 1, parent + node.getName() + ".", paths);
       }
     } else {
-      for (MNode child : node.getChildren().values()) {
+      for (MNode child : node.getChildren()) {
         findPath(child, nodes, idx + 1, parent + node.getName() + ".", paths);
       }
     }
@@ -891,7 +893,7 @@ public class MTree implements Serializable {
         findPath(node.getChild(nodeReg), nodes, idx + 1, parent + node.getName() + ".", res);
       }
     } else {
-      for (MNode child : node.getChildren().values()) {
+      for (MNode child : node.getChildren()) {
         findPath(child, nodes, idx + 1, parent + node.getName() + ".", res);
       }
     }
@@ -920,10 +922,10 @@ public class MTree implements Serializable {
       builder.append(QUAD_SPACE);
     }
     builder.append(node.getName());
-    if (!node.isLeaf() && node.getChildren().size() > 0) {
+    if (!node.isLeaf() && node.getChildrenNum() > 0) {
       builder.append(":{\n");
       int first = 0;
-      for (MNode child : node.getChildren().values()) {
+      for (MNode child : node.getChildren()) {
         if (first == 0) {
           first = 1;
         } else {
@@ -966,4 +968,49 @@ public class MTree implements Serializable {
   public MNode getRoot() {
     return root;
   }
+
+  /**
+   * get the schema of a leaf. The leaves of the same measurement usually have the same schema in
+   * all the devices, so a schema is created once and shared by these leaves, which must not modify
+   * it.
+   */
+  public MeasurementSchema getSharedSchema(String measurementId, TSDataType dataType,
+      TSEncoding encoding, CompressionType compressor, Map<String, String> props) {
+    if (schemaPool == null) {
+      schemaPool = new HashMap<>();
+    }
+    boolean hasProps = props != null && !props.isEmpty();
+    List<MeasurementSchema> schemas = schemaPool.get(measurementId);
+    if (schemas == null) {
+      schemas = new ArrayList<>(1);
+      schemaPool.put(measurementId, schemas);
+    }
+    for (MeasurementSchema schema : schemas) {
+      if (schema.getType() == dataType && schema.getEncodingType() == encoding
+          && schema.getCompressor() == compressor
+          && (hasProps ? props.equals(schema.getProps()) : schema.getProps().isEmpty())) {
+        return schema;
+      }
+    }
+    MeasurementSchema schema = new MeasurementSchema(measurementId, dataType, encoding,
+        compressor, hasProps ? new HashMap<>(props) : null);
+    schemas.add(schema);
+    return schema;
+  }
+
+  /**
+   * serialize the tree, see {@link MNode#serializeTo(DataOutputStream)}.
+   */
+  public void serializeTo(DataOutputStream outputStream) throws IOException {
+    root.serializeTo(outputStream);
+  }
+
+  /**
+   * deserialize a tree written by {@link #serializeTo(DataOutputStream)}.
+   */
+  public static MTree deserializeFrom(DataInputStream inputStream) throws IOException {
+    MTree mtree = new MTree((MNode) null);
+    mtree.root = MNode.deserializeFrom(inputStream, null, mtree);
+    return mtree;
+  }
 }
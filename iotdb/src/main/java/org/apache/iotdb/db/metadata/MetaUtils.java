@@ -0,0 +1,58 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata;
+
+import java.util.Arrays;
+
+public class MetaUtils {
+
+  private MetaUtils() {
+    //allowed to do nothing
+  }
+
+  /**
+   * split a path into its nodes at the dots, without going through a regular expression. The
+   * result is the same as <code>path.split("\\.")</code>: the trailing empty nodes are removed.
+   */
+  public static String[] splitPathToNodes(String path) {
+    int nodeNum = 1;
+    for (int i = 0; i < path.length(); i++) {
+      if (path.charAt(i) == '.') {
+        nodeNum++;
+      }
+    }
+    if (nodeNum == 1) {
+      return new String[]{path};
+    }
+    String[] nodes = new String[nodeNum];
+    int start = 0;
+    int end;
+    int index = 0;
+    while ((end = path.indexOf('.', start)) >= 0) {
+      nodes[index++] = path.substring(start, end);
+      start = end + 1;
+    }
+    nodes[index] = path.substring(start);
+    int length = nodeNum;
+    while (length > 0 && nodes[length - 1].isEmpty()) {
+      length--;
+    }
+    return length == nodeNum ? nodes : Arrays.copyOf(nodes, length);
+  }
+}
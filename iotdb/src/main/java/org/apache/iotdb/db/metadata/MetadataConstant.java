@@ -25,6 +25,8 @@ public class MetadataConstant {
   public static final String ROOT = "root";
   public static final String METADATA_OBJ = "mdata.obj";
   public static final String METADATA_LOG = "mlog.txt";
+  public static final String METADATA_SNAPSHOT = "mtree.snapshot";
   public static final String METADATA_TEMP = ".temp";
+  public static final String METADATA_OLD = ".old";
 
 }
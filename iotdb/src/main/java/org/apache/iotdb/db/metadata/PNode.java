@@ -18,9 +18,13 @@
  */
 package org.apache.iotdb.db.metadata;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.Map;
 import org.apache.iotdb.db.exception.PathErrorException;
 
 /**
@@ -124,4 +128,48 @@ public class PNode implements Serializable {
   public void setLinkedMTreePathMap(LinkedHashMap<String, Integer> linkedMTreePathMap) {
     this.linkedMTreePathMap = linkedMTreePathMap;
   }
+
+  /**
+   * serialize the subtree of this node in pre-order: the name, whether it is a leaf, and then the
+   * linked MTree paths of a leaf or the children.
+   */
+  public void serializeTo(DataOutputStream outputStream) throws IOException {
+    outputStream.writeUTF(name);
+    outputStream.writeBoolean(isLeaf);
+    if (isLeaf) {
+      outputStream.writeInt(linkedMTreePathMap.size());
+      for (Map.Entry<String, Integer> entry : linkedMTreePathMap.entrySet()) {
+        outputStream.writeUTF(entry.getKey());
+        outputStream.writeInt(entry.getValue());
+      }
+    } else {
+      outputStream.writeInt(children.size());
+      for (PNode child : children.values()) {
+        child.serializeTo(outputStream);
+      }
+    }
+  }
+
+  /**
+   * deserialize the subtree written by {@link #serializeTo(DataOutputStream)}.
+   *
+   * @param parent the parent of the deserialized node
+   */
+  public static PNode deserializeFrom(DataInputStream inputStream, PNode parent)
+      throws IOException {
+    PNode node = new PNode(inputStream.readUTF(), parent, inputStream.readBoolean());
+    if (node.isLeaf) {
+      int pathNum = inputStream.readInt();
+      for (int i = 0; i < pathNum; i++) {
+        node.linkedMTreePathMap.put(inputStream.readUTF(), inputStream.readInt());
+      }
+    } else {
+      int childNum = inputStream.readInt();
+      for (int i = 0; i < childNum; i++) {
+        PNode child = deserializeFrom(inputStream, node);
+        node.children.put(child.name, child);
+      }
+    }
+    return node;
+  }
 }
@@ -38,6 +38,11 @@ public class MonitorConstants {
   public static final String STAT_STORAGE_DELTA_NAME = STAT_STORAGE_GROUP_PREFIX
           + MONITOR_PATH_SEPERATOR + FILE_NODE_MANAGER_PATH;
 
+  // statistic for the caches
+  public static final String CACHE_PATH = "cache";
+  public static final String STAT_CACHE_DELTA_NAME = STAT_STORAGE_GROUP_PREFIX
+          + MONITOR_PATH_SEPERATOR + CACHE_PATH;
+
   /**
    * function for initing values.
    *
@@ -73,4 +78,14 @@ public class MonitorConstants {
   public enum FileNodeProcessorStatConstants {
     TOTAL_REQ_SUCCESS, TOTAL_REQ_FAIL, TOTAL_POINTS_SUCCESS, TOTAL_POINTS_FAIL,
   }
+
+  /**
+   * the hit ratios are in percent.
+   */
+  public enum CacheStatConstants {
+    TSFILE_METADATA_CACHE_REQUEST, TSFILE_METADATA_CACHE_HIT, TSFILE_METADATA_CACHE_HIT_RATIO,
+    DEVICE_METADATA_CACHE_REQUEST, DEVICE_METADATA_CACHE_HIT, DEVICE_METADATA_CACHE_HIT_RATIO,
+    CHUNK_METADATA_CACHE_REQUEST, CHUNK_METADATA_CACHE_HIT, CHUNK_METADATA_CACHE_HIT_RATIO,
+    CHUNK_CACHE_REQUEST, CHUNK_CACHE_HIT, CHUNK_CACHE_HIT_RATIO,
+  }
 }
@@ -24,6 +24,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import org.apache.iotdb.db.auth.AuthException;
 import org.apache.iotdb.db.auth.authorizer.IAuthorizer;
 import org.apache.iotdb.db.auth.authorizer.LocalFileAuthorizer;
@@ -53,15 +54,23 @@ import org.apache.iotdb.db.qp.physical.sys.MetadataPlan;
 import org.apache.iotdb.db.qp.physical.sys.PropertyPlan;
 import org.apache.iotdb.db.utils.AuthUtils;
 import org.apache.iotdb.db.utils.LoadDataUtils;
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.expression.IExpression;
 import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.BooleanDataPoint;
 import org.apache.iotdb.tsfile.write.record.datapoint.DataPoint;
+import org.apache.iotdb.tsfile.write.record.datapoint.DoubleDataPoint;
+import org.apache.iotdb.tsfile.write.record.datapoint.FloatDataPoint;
+import org.apache.iotdb.tsfile.write.record.datapoint.IntDataPoint;
+import org.apache.iotdb.tsfile.write.record.datapoint.LongDataPoint;
+import org.apache.iotdb.tsfile.write.record.datapoint.StringDataPoint;
 import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -177,8 +186,18 @@ public class OverflowQPExecutor extends QueryProcessExecutor {
 
   @Override
   public QueryDataSet aggregate(List<Pair<Path, String>> aggres, IExpression expression)
-      throws ProcessorException {
-    throw new ProcessorException("not support");
+      throws ProcessorException, IOException, PathErrorException {
+    List<Path> paths = new ArrayList<>();
+    List<String> aggregations = new ArrayList<>();
+    for (Pair<Path, String> pair : aggres) {
+      paths.add(pair.left);
+      aggregations.add(pair.right);
+    }
+    try {
+      return queryRouter.aggregate(paths, aggregations, expression);
+    } catch (FileNodeManagerException e) {
+      throw new ProcessorException(e);
+    }
   }
 
   // @Override
@@ -190,8 +209,20 @@ public class OverflowQPExecutor extends QueryProcessExecutor {
   @Override
   public QueryDataSet groupBy(List<Pair<Path, String>> aggres, IExpression expression, long unit,
       long origin,
-      List<Pair<Long, Long>> intervals, int fetchSize) throws ProcessorException {
-    throw new ProcessorException("not support");
+      List<Pair<Long, Long>> intervals, int fetchSize)
+      throws ProcessorException, IOException, PathErrorException {
+    List<Path> paths = new ArrayList<>();
+    List<String> aggregations = new ArrayList<>();
+    for (Pair<Path, String> pair : aggres) {
+      paths.add(pair.left);
+      aggregations.add(pair.right);
+    }
+    try {
+      // the windows are calculated lazily, each fetch of the client pulls fetchSize rows
+      return queryRouter.groupBy(paths, aggregations, expression, unit, origin, intervals);
+    } catch (FileNodeManagerException e) {
+      throw new ProcessorException(e);
+    }
   }
 
   @Override
@@ -265,18 +296,7 @@ public class OverflowQPExecutor extends QueryProcessExecutor {
       MNode node = mManager.getNodeByDeviceIdFromCache(deviceId);
 
       for (int i = 0; i < measurementList.size(); i++) {
-        if (!node.hasChild(measurementList.get(i))) {
-          throw new ProcessorException(
-              String.format("Current deviceId[%s] does not contains measurement:%s",
-                  deviceId, measurementList.get(i)));
-        }
-        MNode measurementNode = node.getChild(measurementList.get(i));
-        if (!measurementNode.isLeaf()) {
-          throw new ProcessorException(
-              String.format("Current Path is not leaf node. %s.%s", deviceId,
-                  measurementList.get(i)));
-        }
-
+        MNode measurementNode = getMeasurementNode(node, deviceId, measurementList.get(i));
         TSDataType dataType = measurementNode.getSchema().getType();
         String value = insertValues.get(i);
         value = checkValue(dataType, value);
@@ -290,6 +310,133 @@ public class OverflowQPExecutor extends QueryProcessExecutor {
     }
   }
 
+  /**
+   * the whole tablet is checked before the first row is inserted, then the rows are inserted one
+   * by one, a row failed to be inserted does not stop the following ones.
+   */
+  @Override
+  public Map<Integer, String> insertTablet(String deviceId, List<String> measurementList,
+      List<TSDataType> dataTypes, long[] times, Object[] columns) throws ProcessorException {
+    checkTablet(deviceId, measurementList, dataTypes, times, columns);
+
+    Map<Integer, String> failedRows = new TreeMap<>();
+    for (int row = 0; row < times.length; row++) {
+      TSRecord tsRecord = new TSRecord(times[row], deviceId);
+      for (int i = 0; i < measurementList.size(); i++) {
+        tsRecord.addTuple(
+            getDataPoint(measurementList.get(i), dataTypes.get(i), columns[i], row));
+      }
+      try {
+        fileNodeManager.insert(tsRecord, false);
+      } catch (FileNodeManagerException e) {
+        LOG.error("Fail to insert the row {} of {}", row, deviceId, e);
+        failedRows.put(row, e.getMessage());
+      }
+    }
+    return failedRows;
+  }
+
+  /**
+   * check the schema, the data types and the shape of the columns of a tablet, so that nothing is
+   * inserted if any of them is wrong.
+   */
+  private void checkTablet(String deviceId, List<String> measurementList,
+      List<TSDataType> dataTypes, long[] times, Object[] columns) throws ProcessorException {
+    if (dataTypes.size() != measurementList.size() || columns.length != measurementList.size()) {
+      throw new ProcessorException(
+          String.format("%d measurements are given with %d data types and %d columns",
+              measurementList.size(), dataTypes.size(), columns.length));
+    }
+    MNode node;
+    try {
+      node = mManager.getNodeByDeviceIdFromCache(deviceId);
+    } catch (PathErrorException e) {
+      throw new ProcessorException(e.getMessage());
+    }
+    for (int i = 0; i < measurementList.size(); i++) {
+      MNode measurementNode = getMeasurementNode(node, deviceId, measurementList.get(i));
+      TSDataType dataType = measurementNode.getSchema().getType();
+      if (dataType != dataTypes.get(i)) {
+        throw new ProcessorException(
+            String.format("The data type of %s.%s is %s, but %s is given", deviceId,
+                measurementList.get(i), dataType, dataTypes.get(i)));
+      }
+      if (!isColumnOf(dataType, columns[i], times.length)) {
+        throw new ProcessorException(
+            String.format("The column of %s.%s is not a %s column of %d values", deviceId,
+                measurementList.get(i), dataType, times.length));
+      }
+    }
+    for (long time : times) {
+      if (time < 0) {
+        throw new ProcessorException(
+            String.format("The insert time %d of %s is less than 0", time, deviceId));
+      }
+    }
+  }
+
+  private static boolean isColumnOf(TSDataType dataType, Object column, int size) {
+    switch (dataType) {
+      case BOOLEAN:
+        return column instanceof boolean[] && ((boolean[]) column).length >= size;
+      case INT32:
+        return column instanceof int[] && ((int[]) column).length >= size;
+      case INT64:
+        return column instanceof long[] && ((long[]) column).length >= size;
+      case FLOAT:
+        return column instanceof float[] && ((float[]) column).length >= size;
+      case DOUBLE:
+        return column instanceof double[] && ((double[]) column).length >= size;
+      case TEXT:
+        if (!(column instanceof Binary[]) || ((Binary[]) column).length < size) {
+          return false;
+        }
+        for (int i = 0; i < size; i++) {
+          if (((Binary[]) column)[i] == null) {
+            return false;
+          }
+        }
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private MNode getMeasurementNode(MNode node, String deviceId, String measurement)
+      throws ProcessorException {
+    if (!node.hasChild(measurement)) {
+      throw new ProcessorException(
+          String.format("Current deviceId[%s] does not contains measurement:%s",
+              deviceId, measurement));
+    }
+    MNode measurementNode = node.getChild(measurement);
+    if (!measurementNode.isLeaf()) {
+      throw new ProcessorException(
+          String.format("Current Path is not leaf node. %s.%s", deviceId, measurement));
+    }
+    return measurementNode;
+  }
+
+  private static DataPoint getDataPoint(String measurementId, TSDataType dataType, Object column,
+      int row) {
+    switch (dataType) {
+      case BOOLEAN:
+        return new BooleanDataPoint(measurementId, ((boolean[]) column)[row]);
+      case INT32:
+        return new IntDataPoint(measurementId, ((int[]) column)[row]);
+      case INT64:
+        return new LongDataPoint(measurementId, ((long[]) column)[row]);
+      case FLOAT:
+        return new FloatDataPoint(measurementId, ((float[]) column)[row]);
+      case DOUBLE:
+        return new DoubleDataPoint(measurementId, ((double[]) column)[row]);
+      case TEXT:
+        return new StringDataPoint(measurementId, ((Binary[]) column)[row]);
+      default:
+        throw new UnSupportedDataTypeException("Unsupported data type: " + dataType);
+    }
+  }
+
   @Override
   public List<String> getAllPaths(String originPath) throws PathErrorException {
     return MManager.getInstance().getPaths(originPath);
@@ -22,12 +22,15 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.apache.iotdb.db.exception.FileNodeManagerException;
 import org.apache.iotdb.db.exception.PathErrorException;
 import org.apache.iotdb.db.exception.ProcessorException;
 import org.apache.iotdb.db.metadata.MManager;
 import org.apache.iotdb.db.qp.physical.PhysicalPlan;
+import org.apache.iotdb.db.qp.physical.crud.AggregationPlan;
+import org.apache.iotdb.db.qp.physical.crud.GroupByPlan;
 import org.apache.iotdb.db.qp.physical.crud.QueryPlan;
 import org.apache.iotdb.db.query.executor.EngineQueryRouter;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
@@ -40,7 +43,7 @@ import org.apache.iotdb.tsfile.utils.Pair;
 public abstract class QueryProcessExecutor {
 
   protected ThreadLocal<Integer> fetchSize = new ThreadLocal<>();
-  private EngineQueryRouter queryRouter = new EngineQueryRouter();
+  protected EngineQueryRouter queryRouter = new EngineQueryRouter();
 
   public QueryProcessExecutor() {
   }
@@ -48,10 +51,34 @@ public abstract class QueryProcessExecutor {
   public QueryDataSet processQuery(PhysicalPlan plan) throws IOException, FileNodeManagerException {
     QueryPlan queryPlan = (QueryPlan) plan;
 
+    if (queryPlan instanceof AggregationPlan) {
+      List<Path> paths = queryPlan.getPaths();
+      List<String> aggregations = queryPlan.getAggregations();
+      List<Pair<Path, String>> aggres = new ArrayList<>();
+      for (int i = 0; i < paths.size(); i++) {
+        // a single aggregation is applied to all the paths
+        aggres.add(new Pair<>(paths.get(i),
+            aggregations.get(aggregations.size() == paths.size() ? i : 0)));
+      }
+      try {
+        if (queryPlan instanceof GroupByPlan) {
+          GroupByPlan groupByPlan = (GroupByPlan) queryPlan;
+          return EngineQueryRouter.withLimit(groupBy(aggres, groupByPlan.getExpression(),
+              groupByPlan.getUnit(), groupByPlan.getOrigin(), groupByPlan.getIntervals(),
+              getFetchSize()), queryPlan.getRowLimit(), queryPlan.getRowOffset());
+        }
+        return EngineQueryRouter.withLimit(aggregate(aggres, queryPlan.getExpression()),
+            queryPlan.getRowLimit(), queryPlan.getRowOffset());
+      } catch (ProcessorException | PathErrorException e) {
+        throw new FileNodeManagerException(e);
+      }
+    }
+
     QueryExpression queryExpression = QueryExpression.create().setSelectSeries(queryPlan.getPaths())
         .setExpression(queryPlan.getExpression());
 
-    return queryRouter.query(queryExpression);
+    return queryRouter.query(queryExpression, queryPlan.getRowLimit(), queryPlan.getRowOffset(),
+        !queryPlan.isDescending());
   }
 
   public abstract TSDataType getSeriesType(Path fullPath) throws PathErrorException;
@@ -174,6 +201,28 @@ public abstract class QueryProcessExecutor {
   public abstract int multiInsert(String deviceId, long insertTime, List<String> measurementList,
       List<String> insertValues) throws ProcessorException;
 
+  /**
+   * insert the rows of one device given by typed columns, so no value needs to be parsed. The
+   * schema, the data types and the columns are checked before any row is inserted.
+   *
+   * @param deviceId
+   *            deviceId to be inserted
+   * @param measurementList
+   *            measurements to be inserted
+   * @param dataTypes
+   *            data types of the measurements, they must be the same as the registered ones
+   * @param times
+   *            timestamps of the rows
+   * @param columns
+   *            values of each measurement, a boolean[], int[], long[], float[], double[] or Binary[]
+   *            according to the data type, with one element for each row
+   * @return - the error message of each row failed to be inserted by its index, empty if all the
+   *         rows are inserted.
+   * @throws ProcessorException if the tablet does not pass the check, no row is inserted then.
+   */
+  public abstract Map<Integer, String> insertTablet(String deviceId, List<String> measurementList,
+      List<TSDataType> dataTypes, long[] times, Object[] columns) throws ProcessorException;
+
   public abstract List<String> getAllPaths(String originPath) throws PathErrorException;
 
 }
@@ -39,6 +39,9 @@ public class QueryOperator extends SFWOperator {
   private int seriesLimit;
   private int seriesOffset;
   private boolean hasSlimit = false; // false if sql does not contain SLIMIT clause
+  private int rowLimit = 0; // 0 if sql does not contain LIMIT clause
+  private int rowOffset = 0;
+  private boolean isDescending = false; // true if sql contains ORDER BY TIME DESC clause
   public QueryOperator(int tokenIntType) {
     super(tokenIntType);
     operatorType = Operator.OperatorType.QUERY;
@@ -93,6 +96,30 @@ public class QueryOperator extends SFWOperator {
     return hasSlimit;
   }
 
+  public int getRowLimit() {
+    return rowLimit;
+  }
+
+  public void setRowLimit(int rowLimit) {
+    this.rowLimit = rowLimit;
+  }
+
+  public int getRowOffset() {
+    return rowOffset;
+  }
+
+  public void setRowOffset(int rowOffset) {
+    this.rowOffset = rowOffset;
+  }
+
+  public boolean isDescending() {
+    return isDescending;
+  }
+
+  public void setDescending(boolean descending) {
+    isDescending = descending;
+  }
+
   public long getUnit() {
     return unit;
   }
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Objects;
 import org.apache.iotdb.db.qp.logical.Operator;
 import org.apache.iotdb.db.qp.physical.PhysicalPlan;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.Path;
 
 public class InsertPlan extends PhysicalPlan {
@@ -31,6 +32,10 @@ public class InsertPlan extends PhysicalPlan {
   private List<String> measurements;
   private List<String> values;
   private long time;
+  // the data types and the values in their own types (Integer, Long, Float, Double, Boolean or
+  // Binary), only set when the plan is built from typed data points, e.g. when writing the WAL.
+  private TSDataType[] dataTypes;
+  private Object[] typedValues;
 
   // insertType
   // 1 : BufferWrite Insert 2 : Overflow Insert
@@ -55,6 +60,21 @@ public class InsertPlan extends PhysicalPlan {
     this.values = insertValues;
   }
 
+  /**
+   * create a plan whose values are kept in their own types, so that they can be serialized without
+   * being converted to and parsed from strings.
+   */
+  public InsertPlan(int insertType, String deviceId, long insertTime, List<String> measurementList,
+      TSDataType[] dataTypes, Object[] typedValues) {
+    super(false, Operator.OperatorType.INSERT);
+    this.insertType = insertType;
+    this.time = insertTime;
+    this.deviceId = deviceId;
+    this.measurements = measurementList;
+    this.dataTypes = dataTypes;
+    this.typedValues = typedValues;
+  }
+
   public long getTime() {
     return time;
   }
@@ -98,6 +118,13 @@ public class InsertPlan extends PhysicalPlan {
   }
 
   public List<String> getValues() {
+    if (values == null && typedValues != null) {
+      List<String> stringValues = new ArrayList<>(typedValues.length);
+      for (Object value : typedValues) {
+        stringValues.add(value.toString());
+      }
+      values = stringValues;
+    }
     return this.values;
   }
 
@@ -105,6 +132,18 @@ public class InsertPlan extends PhysicalPlan {
     this.values = values;
   }
 
+  public boolean isTyped() {
+    return typedValues != null;
+  }
+
+  public TSDataType[] getDataTypes() {
+    return dataTypes;
+  }
+
+  public Object[] getTypedValues() {
+    return typedValues;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -116,7 +155,7 @@ public class InsertPlan extends PhysicalPlan {
     InsertPlan that = (InsertPlan) o;
     return time == that.time && Objects.equals(deviceId, that.deviceId)
         && Objects.equals(measurements, that.measurements)
-        && Objects.equals(values, that.values);
+        && Objects.equals(getValues(), that.getValues());
   }
 
 }
@@ -30,6 +30,9 @@ public class QueryPlan extends PhysicalPlan {
 
   private List<Path> paths = null;
   private IExpression expression = null;
+  private int rowLimit = 0; // no limit if it is 0
+  private int rowOffset = 0;
+  private boolean isDescending = false; // rows are returned in descending order of time if true
 
   public QueryPlan() {
     super(true);
@@ -67,4 +70,28 @@ public class QueryPlan extends PhysicalPlan {
   public void setPaths(List<Path> paths) {
     this.paths = paths;
   }
+
+  public int getRowLimit() {
+    return rowLimit;
+  }
+
+  public void setRowLimit(int rowLimit) {
+    this.rowLimit = rowLimit;
+  }
+
+  public int getRowOffset() {
+    return rowOffset;
+  }
+
+  public void setRowOffset(int rowOffset) {
+    this.rowOffset = rowOffset;
+  }
+
+  public boolean isDescending() {
+    return isDescending;
+  }
+
+  public void setDescending(boolean descending) {
+    isDescending = descending;
+  }
 }
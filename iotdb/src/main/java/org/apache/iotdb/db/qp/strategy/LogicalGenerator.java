@@ -57,6 +57,7 @@ import org.apache.iotdb.db.sql.parse.Node;
 import org.apache.iotdb.db.sql.parse.TSParser;
 import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
 import org.apache.iotdb.tsfile.common.constant.SystemConstant;
+import org.apache.iotdb.tsfile.compress.ICompressor;
 import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
@@ -195,6 +196,12 @@ public class LogicalGenerator {
       case TSParser.TOK_LIMIT:
         analyzeLimit(astNode);
         return;
+      case TSParser.TOK_OFFSET:
+        analyzeOffset(astNode);
+        return;
+      case TSParser.TOK_ORDERBY:
+        ((QueryOperator) initializedOperator).setDescending(true);
+        return;
       case TSParser.TOK_SLIMIT:
         analyzeSlimit(astNode);
         return;
@@ -251,6 +258,18 @@ public class LogicalGenerator {
       throw new LogicalOperatorException(
           "LIMIT <N>: N must be a positive integer and can not be zero.");
     }
+    ((QueryOperator) initializedOperator).setRowLimit(rowsLimit);
+  }
+
+  private void analyzeOffset(AstNode astNode) throws LogicalOperatorException {
+    AstNode unit = astNode.getChild(0);
+    try {
+      // NOTE rowsOffset is ensured to be a non negative integer after the lexical examination.
+      ((QueryOperator) initializedOperator)
+          .setRowOffset(Integer.parseInt(unit.getText().trim()));
+    } catch (NumberFormatException e) {
+      throw new LogicalOperatorException("OFFSET <OFFSETValue>: OFFSETValue should be Int32.");
+    }
   }
 
   private void analyzeList(AstNode astNode) {
@@ -1095,7 +1114,8 @@ public class LogicalGenerator {
     }
 
     try {
-      CompressionType.valueOf(compressor);
+      // make sure that the compressor is implemented rather than only declared
+      ICompressor.getCompressor(compressor);
     } catch (Exception e) {
       throw new MetadataArgsErrorException(String.format("compressor %s is not support", compressor));
     }
@@ -1121,7 +1141,8 @@ public class LogicalGenerator {
         }
         break;
       case TEXT:
-        if (!tsEncoding.equals(TSEncoding.PLAIN)) {
+        if (!(tsEncoding.equals(TSEncoding.PLAIN)
+            || tsEncoding.equals(TSEncoding.PLAIN_DICTIONARY))) {
           throwExp = true;
         }
         break;
@@ -47,6 +47,7 @@ import org.apache.iotdb.db.qp.physical.sys.LoadDataPlan;
 import org.apache.iotdb.db.qp.physical.sys.MetadataPlan;
 import org.apache.iotdb.db.qp.physical.sys.PropertyPlan;
 import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.expression.IBinaryExpression;
 import org.apache.iotdb.tsfile.read.expression.IExpression;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -237,6 +238,12 @@ public class PhysicalGenerator {
 
     QueryPlan queryPlan;
 
+    if (queryOperator.isDescending() && (queryOperator.isGroupBy() || queryOperator.isFill()
+        || queryOperator.hasAggregation())) {
+      throw new QueryProcessorException(
+          "ORDER BY TIME DESC is not supported for group by, fill or aggregation queries");
+    }
+
     if (queryOperator.isGroupBy()) {
       queryPlan = new GroupByPlan();
       ((GroupByPlan) queryPlan).setUnit(queryOperator.getUnit());
@@ -268,13 +275,37 @@ public class PhysicalGenerator {
 
     if (filterOperator != null) {
       IExpression expression = filterOperator.transformToExpression(executor);
+      if (queryOperator.isDescending() && hasValueFilter(expression)) {
+        throw new QueryProcessorException(
+            "ORDER BY TIME DESC is not supported for queries with value filters");
+      }
       queryPlan.setExpression(expression);
     }
 
+    queryPlan.setRowLimit(queryOperator.getRowLimit());
+    queryPlan.setRowOffset(queryOperator.getRowOffset());
+    queryPlan.setDescending(queryOperator.isDescending());
+
     queryPlan.checkPaths(executor);
     return queryPlan;
   }
 
+  /**
+   * whether the expression filters the values of any series besides the time.
+   */
+  private boolean hasValueFilter(IExpression expression) {
+    switch (expression.getType()) {
+      case SERIES:
+        return true;
+      case AND:
+      case OR:
+        return hasValueFilter(((IBinaryExpression) expression).getLeft())
+            || hasValueFilter(((IBinaryExpression) expression).getRight());
+      default:
+        return false;
+    }
+  }
+
   // private SingleQueryPlan constructSelectPlan(FilterOperator filterOperator, List<Path> paths,
   // QueryProcessExecutor conf) throws QueryProcessorException {
   // FilterOperator timeFilter = null;
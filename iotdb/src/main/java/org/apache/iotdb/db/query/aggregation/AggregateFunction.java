@@ -0,0 +1,171 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.aggregation;
+
+import java.io.IOException;
+import org.apache.iotdb.db.utils.TsPrimitiveType;
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.common.Field;
+import org.apache.iotdb.tsfile.utils.Binary;
+
+/**
+ * Aggregate function of one series. The data of the series is fed in ascending time order, either
+ * as the statistics of a whole chunk or page, or as decoded points.
+ */
+public abstract class AggregateFunction {
+
+  protected String name;
+  protected TSDataType seriesDataType;
+  protected TSDataType resultDataType;
+
+  /**
+   * constructor of AggregateFunction.
+   *
+   * @param name name of the aggregation
+   * @param seriesDataType data type of the aggregated series
+   * @param resultDataType data type of the aggregation result
+   */
+  public AggregateFunction(String name, TSDataType seriesDataType, TSDataType resultDataType) {
+    this.name = name;
+    this.seriesDataType = seriesDataType;
+    this.resultDataType = resultDataType;
+  }
+
+  /**
+   * clear the intermediate result, so that this function can be reused.
+   */
+  public abstract void init();
+
+  /**
+   * calculate the aggregation using the statistics of a chunk or page, all the points of which
+   * are needed.
+   *
+   * @param startTime min time of the chunk or page
+   * @param endTime max time of the chunk or page
+   * @param count number of points of the chunk or page
+   * @param statistics value statistics of the chunk or page
+   */
+  public abstract void calculateValueFromStatistics(long startTime, long endTime, long count,
+      Statistics<?> statistics);
+
+  /**
+   * calculate the aggregation using all the remaining points of the given batch data. The batch
+   * data will be consumed.
+   */
+  public abstract void calculateValueFromPageData(BatchData data) throws IOException;
+
+  /**
+   * calculate the aggregation using one point.
+   */
+  public abstract void calculateValueFromPoint(long time, TsPrimitiveType value);
+
+  /**
+   * whether the result is already determined, so that the remaining data can be skipped.
+   */
+  public boolean isCalculatedAggregationResult() {
+    return false;
+  }
+
+  /**
+   * get the result of the aggregation. An empty field is returned if no point is aggregated.
+   */
+  public abstract Field getResult();
+
+  public String getName() {
+    return name;
+  }
+
+  public TSDataType getResultDataType() {
+    return resultDataType;
+  }
+
+  /**
+   * get the current value of the batch data as a double, used by numeric aggregations.
+   */
+  protected double getDoubleValue(BatchData data) {
+    switch (data.getDataType()) {
+      case INT32:
+        return data.getInt();
+      case INT64:
+        return data.getLong();
+      case FLOAT:
+        return data.getFloat();
+      case DOUBLE:
+        return data.getDouble();
+      default:
+        throw new UnSupportedDataTypeException(String.valueOf(data.getDataType()));
+    }
+  }
+
+  /**
+   * get the value as a double, used by numeric aggregations.
+   */
+  protected double getDoubleValue(TsPrimitiveType value) {
+    switch (value.getDataType()) {
+      case INT32:
+        return value.getInt();
+      case INT64:
+        return value.getLong();
+      case FLOAT:
+        return value.getFloat();
+      case DOUBLE:
+        return value.getDouble();
+      default:
+        throw new UnSupportedDataTypeException(String.valueOf(value.getDataType()));
+    }
+  }
+
+  /**
+   * construct a field of the result data type.
+   *
+   * @param value result value, null if the result is empty
+   */
+  protected Field getField(Object value) {
+    if (value == null) {
+      return new Field(null);
+    }
+    Field field = new Field(resultDataType);
+    switch (resultDataType) {
+      case INT32:
+        field.setIntV((Integer) value);
+        break;
+      case INT64:
+        field.setLongV((Long) value);
+        break;
+      case FLOAT:
+        field.setFloatV((Float) value);
+        break;
+      case DOUBLE:
+        field.setDoubleV((Double) value);
+        break;
+      case BOOLEAN:
+        field.setBoolV((Boolean) value);
+        break;
+      case TEXT:
+        field.setBinaryV((Binary) value);
+        break;
+      default:
+        throw new UnSupportedDataTypeException(String.valueOf(resultDataType));
+    }
+    return field;
+  }
+}
@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.aggregation.impl;
+
+import org.apache.iotdb.db.query.aggregation.AggregateFunction;
+import org.apache.iotdb.db.utils.TsPrimitiveType;
+import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.common.Field;
+
+public class MaxTimeAggrFunc extends AggregateFunction {
+
+  private Long maxTime;
+
+  public MaxTimeAggrFunc(TSDataType seriesDataType) {
+    super(StatisticConstant.MAX_TIME, seriesDataType, TSDataType.INT64);
+  }
+
+  @Override
+  public void init() {
+    maxTime = null;
+  }
+
+  @Override
+  public void calculateValueFromStatistics(long startTime, long endTime, long count,
+      Statistics<?> statistics) {
+    maxTime = endTime;
+  }
+
+  @Override
+  public void calculateValueFromPageData(BatchData data) {
+    while (data.hasNext()) {
+      maxTime = data.currentTime();
+      data.next();
+    }
+  }
+
+  @Override
+  public void calculateValueFromPoint(long time, TsPrimitiveType value) {
+    maxTime = time;
+  }
+
+  @Override
+  public Field getResult() {
+    return getField(maxTime);
+  }
+}
@@ -16,32 +16,20 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-package org.apache.iotdb.db.utils;
+package org.apache.iotdb.db.query.aggregation.impl;
 
-import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
+import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
-import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.read.common.Field;
 
-public class PrimitiveArrayListFactory {
+public class MeanAggrFunc extends SumAggrFunc {
 
-  private PrimitiveArrayListFactory(){}
+  public MeanAggrFunc(TSDataType seriesDataType) {
+    super(StatisticConstant.MEAN, seriesDataType);
+  }
 
-  public static PrimitiveArrayList getByDataType(TSDataType dataType) {
-    switch (dataType) {
-      case BOOLEAN:
-        return new PrimitiveArrayList(boolean.class);
-      case INT32:
-        return new PrimitiveArrayList(int.class);
-      case INT64:
-        return new PrimitiveArrayList(long.class);
-      case FLOAT:
-        return new PrimitiveArrayList(float.class);
-      case DOUBLE:
-        return new PrimitiveArrayList(double.class);
-      case TEXT:
-        return new PrimitiveArrayList(Binary.class);
-      default:
-        throw new UnSupportedDataTypeException("DataType: " + dataType);
-    }
+  @Override
+  public Field getResult() {
+    return count == 0 ? getField(null) : getField(sum / count);
   }
 }
@@ -46,10 +46,11 @@ public class QueryContext {
 
   /**
    * Find the modifications of timeseries 'path' in 'modFile'. If they are not in the cache, read
-   * them from 'modFile' and put then into the cache.
+   * them from 'modFile' and put then into the cache. Synchronized as the readers of a query may be
+   * built by several threads, see {@link org.apache.iotdb.db.query.control.QueryIOManager}.
    */
-  public List<Modification> getPathModifications(ModificationFile modFile, String path)
-      throws IOException {
+  public synchronized List<Modification> getPathModifications(ModificationFile modFile,
+      String path) throws IOException {
 
     Map<String, List<Modification>> fileModifications =
         filePathModCache.computeIfAbsent(modFile.getFilePath(), k -> new HashMap<>());
@@ -19,17 +19,21 @@
 package org.apache.iotdb.db.query.control;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.iotdb.db.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.cache.ChunkCache;
 import org.apache.iotdb.db.service.IService;
 import org.apache.iotdb.db.service.ServiceType;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.UnClosedTsFileReader;
+import org.apache.iotdb.tsfile.read.reader.MappedTsFileInput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -68,13 +72,25 @@ public class FileReaderManager implements IService {
    */
   private ConcurrentHashMap<String, AtomicInteger> unclosedReferenceMap;
 
+  /**
+   * the readers of deleted closed files that were still referenced by queries when the files were
+   * deleted. A mapped reader must not be closed under its queries, so they are closed once their
+   * reference counts drop to zero.
+   */
+  private ConcurrentHashMap<String, TsFileSequenceReader> retiredFileReaderMap;
+  private ConcurrentHashMap<String, AtomicInteger> retiredReferenceMap;
+
   private ScheduledExecutorService executorService;
 
+  private IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
   private FileReaderManager() {
     closedFileReaderMap = new ConcurrentHashMap<>();
     unclosedFileReaderMap = new ConcurrentHashMap<>();
     closedReferenceMap = new ConcurrentHashMap<>();
     unclosedReferenceMap = new ConcurrentHashMap<>();
+    retiredFileReaderMap = new ConcurrentHashMap<>();
+    retiredReferenceMap = new ConcurrentHashMap<>();
     executorService = IoTDBThreadPoolFactory.newScheduledThreadPool(1,
         "opended-files-manager");
 
@@ -89,19 +105,25 @@ public class FileReaderManager implements IService {
 
     long examinePeriod = IoTDBDescriptor.getInstance().getConfig().cacheFileReaderClearPeriod;
 
-    executorService.scheduleAtFixedRate(() -> {
-      synchronized (this) {
-        clearMap(unclosedFileReaderMap, unclosedReferenceMap);
-        clearMap(closedFileReaderMap, closedReferenceMap);
-      }
-    }, 0, examinePeriod, TimeUnit.MILLISECONDS);
+    executorService.scheduleAtFixedRate(this::clearUnusedReaders, 0, examinePeriod,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * close and remove the readers whose reference counts are zero. It is called periodically, and
+   * public only for tests.
+   */
+  public synchronized void clearUnusedReaders() {
+    clearMap(unclosedFileReaderMap, unclosedReferenceMap);
+    clearMap(closedFileReaderMap, closedReferenceMap);
   }
 
   private void clearMap(Map<String, TsFileSequenceReader> readerMap,
       Map<String, AtomicInteger> refMap) {
     for (Map.Entry<String, TsFileSequenceReader> entry : readerMap.entrySet()) {
       TsFileSequenceReader reader = entry.getValue();
-      int referenceNum = refMap.get(entry.getKey()).get();
+      AtomicInteger reference = refMap.get(entry.getKey());
+      int referenceNum = reference == null ? 0 : reference.get();
 
       if (referenceNum == 0) {
         try {
@@ -136,8 +158,15 @@ public class FileReaderManager implements IService {
         LOGGER.warn("Query has opened {} files !", readerMap.size());
       }
 
-      TsFileSequenceReader tsFileReader = !isClosed ? new UnClosedTsFileReader(filePath)
-          : new TsFileSequenceReader(filePath);
+      TsFileSequenceReader tsFileReader;
+      if (!isClosed) {
+        tsFileReader = new UnClosedTsFileReader(filePath);
+      } else if (config.enableTsFileMmap) {
+        tsFileReader = new TsFileSequenceReader(
+            new MappedTsFileInput(Paths.get(filePath), config.tsFileMmapWindowSize), filePath);
+      } else {
+        tsFileReader = new TsFileSequenceReader(filePath);
+      }
 
       readerMap.put(filePath, tsFileReader);
       return tsFileReader;
@@ -167,11 +196,38 @@ public class FileReaderManager implements IService {
       unclosedReferenceMap.get(filePath).getAndDecrement();
     } else if (closedReferenceMap.containsKey(filePath)){
       closedReferenceMap.get(filePath).getAndDecrement();
+    } else if (retiredReferenceMap.containsKey(filePath)
+        && retiredReferenceMap.get(filePath).decrementAndGet() == 0) {
+      retiredReferenceMap.remove(filePath);
+      TsFileSequenceReader reader = retiredFileReaderMap.remove(filePath);
+      try {
+        closeRetiredReader(filePath, reader);
+      } catch (IOException e) {
+        LOGGER.error("Can not close TsFileSequenceReader {} !", reader.getFileName(), e);
+      }
     }
   }
 
   /**
-   * This method is used when the given file path is deleted.
+   * close the reader of a deleted file which no reader references any more. Its mapped memory, if
+   * any, is released at once rather than by GC, so that the space of the deleted file is freed.
+   * The chunks of the file are removed from the {@link ChunkCache} first, as they may be slices of
+   * the mapping. The other readers are only closed and left to GC, as slices of them may still be
+   * read.
+   */
+  private void closeRetiredReader(String filePath, TsFileSequenceReader reader)
+      throws IOException {
+    if (reader.getTsFileInput() instanceof MappedTsFileInput) {
+      ChunkCache.getInstance().remove(filePath);
+      ((MappedTsFileInput) reader.getTsFileInput()).unmapAndClose();
+    } else {
+      reader.close();
+    }
+  }
+
+  /**
+   * This method is used when the given file path is deleted. The reader of a closed file that is
+   * still referenced by queries or merges is closed after the last of them releases it.
    */
   public synchronized void closeFileAndRemoveReader(String filePath)
       throws IOException {
@@ -181,9 +237,16 @@ public class FileReaderManager implements IService {
       unclosedFileReaderMap.remove(filePath);
     }
     if (closedFileReaderMap.containsKey(filePath)) {
-      closedReferenceMap.remove(filePath);
-      closedFileReaderMap.get(filePath).close();
-      closedFileReaderMap.remove(filePath);
+      AtomicInteger reference = closedReferenceMap.remove(filePath);
+      TsFileSequenceReader reader = closedFileReaderMap.remove(filePath);
+      if (reference != null && reference.get() > 0 && !retiredFileReaderMap.containsKey(filePath)) {
+        retiredFileReaderMap.put(filePath, reader);
+        retiredReferenceMap.put(filePath, reference);
+      } else if (reference != null && reference.get() > 0) {
+        reader.close();
+      } else {
+        closeRetiredReader(filePath, reader);
+      }
     }
   }
 
@@ -202,6 +265,11 @@ public class FileReaderManager implements IService {
       unclosedReferenceMap.remove(entry.getKey());
       unclosedFileReaderMap.remove(entry.getKey());
     }
+    for (Map.Entry<String, TsFileSequenceReader> entry : retiredFileReaderMap.entrySet()) {
+      entry.getValue().close();
+      retiredReferenceMap.remove(entry.getKey());
+      retiredFileReaderMap.remove(entry.getKey());
+    }
   }
 
   /**
@@ -0,0 +1,246 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.control;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.iotdb.db.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.db.concurrent.ThreadName;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.query.reader.IReader;
+import org.apache.iotdb.db.service.IService;
+import org.apache.iotdb.db.service.ServiceType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Bounded pool shared by all the queries to build the readers of their series and read the first
+ * batches concurrently. How many of its threads one query can use is limited by
+ * {@link IoTDBConfig#queryIOConcurrencyPerQuery}.
+ * </p>
+ * <p>
+ * The tasks submitted here must not submit further tasks and wait for them, otherwise the pool may
+ * be exhausted by tasks waiting for each other.
+ * </p>
+ * <p>
+ * The pool is shut down when the service is stopped with the other services of IoTDB, and created
+ * again when the service is started.
+ * </p>
+ */
+public class QueryIOManager implements IService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(QueryIOManager.class);
+  private static final long EXIT_WAIT_TIME_MS = 10 * 1000L;
+
+  private IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  private ExecutorService pool;
+  private int threadCnt;
+
+  private QueryIOManager() {
+    createPool();
+  }
+
+  private void createPool() {
+    this.threadCnt = config.concurrentQueryIOThread;
+    pool = IoTDBThreadPoolFactory
+        .newFixedThreadPool(threadCnt, ThreadName.QUERY_IO_SERVICE.getName());
+  }
+
+  public static QueryIOManager getInstance() {
+    return InstanceHolder.instance;
+  }
+
+  public synchronized <T> Future<T> submit(Callable<T> task) {
+    return pool.submit(task);
+  }
+
+  public int getThreadCnt() {
+    return threadCnt;
+  }
+
+  /**
+   * the number of tasks a query with the given number of series should be split into, 1 means the
+   * query should do its work on its own thread.
+   */
+  public int getConcurrency(int seriesNum) {
+    return Math.max(1,
+        Math.min(Math.min(config.queryIOConcurrencyPerQuery, threadCnt), seriesNum));
+  }
+
+  /**
+   * Build the readers by 'concurrency' tasks, the i-th task builds the readers i, i + concurrency,
+   * i + 2 * concurrency... The readers are built on the calling thread if concurrency <= 1. If any
+   * of them fails, the tasks stop building, and the failure is thrown after all the tasks have
+   * finished and the readers already built are closed, so that nothing is left open. The running
+   * tasks are not interrupted, as an interrupted read closes the cached channel of the file which
+   * is shared with other queries.
+   *
+   * @param readerNum the number of readers to build
+   * @param builder builds the reader of the given index
+   * @return the readers in the order of their indexes
+   */
+  public List<IReader> buildReaders(int readerNum, int concurrency, ReaderBuilder builder)
+      throws IOException {
+    IReader[] readers = new IReader[readerNum];
+    if (concurrency <= 1) {
+      try {
+        for (int i = 0; i < readerNum; i++) {
+          readers[i] = builder.build(i);
+        }
+      } catch (IOException | RuntimeException e) {
+        closeAll(readers, e);
+        throw e;
+      }
+      return Arrays.asList(readers);
+    }
+
+    AtomicBoolean failed = new AtomicBoolean();
+    List<Future<Void>> futures = new ArrayList<>(concurrency);
+    for (int i = 0; i < concurrency; i++) {
+      final int start = i;
+      futures.add(submit(() -> {
+        for (int j = start; j < readerNum && !failed.get(); j += concurrency) {
+          try {
+            readers[j] = builder.build(j);
+          } catch (IOException | RuntimeException e) {
+            failed.set(true);
+            throw e;
+          }
+        }
+        return null;
+      }));
+    }
+
+    // wait for all the tasks even if one fails, the readers are only visible after they finish
+    Throwable failure = null;
+    boolean interrupted = false;
+    for (Future<Void> future : futures) {
+      while (true) {
+        try {
+          future.get();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+          failed.set(true);
+          if (failure == null) {
+            failure = e;
+          }
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure = e.getCause();
+          }
+          break;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    if (failure == null) {
+      return Arrays.asList(readers);
+    }
+
+    IOException exception;
+    if (failure instanceof IOException) {
+      exception = (IOException) failure;
+    } else if (failure instanceof InterruptedException) {
+      exception = new IOException("Interrupted while building the readers of the query", failure);
+    } else {
+      exception = new IOException(failure);
+    }
+    closeAll(readers, exception);
+    throw exception;
+  }
+
+  private void closeAll(IReader[] readers, Exception failure) {
+    for (IReader reader : readers) {
+      if (reader != null) {
+        try {
+          reader.close();
+        } catch (IOException e) {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+  }
+
+  @Override
+  public synchronized void start() {
+    if (pool.isShutdown()) {
+      createPool();
+    }
+  }
+
+  /**
+   * refuse new tasks and wait for the running ones to finish. The threads are not interrupted, as
+   * an interrupted read closes the cached channel of the file which is shared with other queries.
+   */
+  @Override
+  public void stop() {
+    ExecutorService oldPool;
+    synchronized (this) {
+      if (pool.isShutdown()) {
+        return;
+      }
+      oldPool = pool;
+      oldPool.shutdown();
+    }
+    try {
+      if (!oldPool.awaitTermination(EXIT_WAIT_TIME_MS, TimeUnit.MILLISECONDS)) {
+        LOGGER.warn("Query IO thread pool doesn't exit after {} ms", EXIT_WAIT_TIME_MS);
+      }
+    } catch (InterruptedException e) {
+      LOGGER.error("Interrupted while waiting query IO thread pool to exit.", e);
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public ServiceType getID() {
+    return ServiceType.QUERY_IO_SERVICE;
+  }
+
+  /**
+   * builds a reader of a query by its index.
+   */
+  @FunctionalInterface
+  public interface ReaderBuilder {
+
+    IReader build(int index) throws IOException;
+  }
+
+  private static class InstanceHolder {
+
+    private InstanceHolder() {
+      //allowed to do nothing
+    }
+
+    private static QueryIOManager instance = new QueryIOManager();
+  }
+}
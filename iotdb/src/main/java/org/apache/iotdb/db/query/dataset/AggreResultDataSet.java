@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.dataset;
+
+import java.util.List;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.Field;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+
+/**
+ * Result of an aggregation query, which contains only one row with timestamp 0.
+ */
+public class AggreResultDataSet extends QueryDataSet {
+
+  private RowRecord record;
+
+  /**
+   * constructor of AggreResultDataSet.
+   *
+   * @param paths aggregated paths
+   * @param dataTypes data types of the aggregation results
+   * @param fields aggregation results, one for each path
+   */
+  public AggreResultDataSet(List<Path> paths, List<TSDataType> dataTypes, List<Field> fields) {
+    super(paths, dataTypes);
+    record = new RowRecord(0);
+    for (Field field : fields) {
+      record.addField(field);
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    return record != null;
+  }
+
+  @Override
+  public RowRecord next() {
+    RowRecord ret = record;
+    record = null;
+    return ret;
+  }
+}
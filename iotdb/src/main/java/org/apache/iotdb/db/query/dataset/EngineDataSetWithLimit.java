@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.dataset;
+
+import java.io.IOException;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+
+/**
+ * Apply the LIMIT and OFFSET clauses of a query to the rows of another data set.
+ */
+public class EngineDataSetWithLimit extends QueryDataSet {
+
+  private QueryDataSet dataSet;
+  /**
+   * the number of rows still to return, no limit if it is <= 0 at the beginning.
+   */
+  private long rowsToReturn;
+  private boolean hasLimit;
+  /**
+   * the number of leading rows still to discard.
+   */
+  private long rowsToSkip;
+
+  /**
+   * constructor of EngineDataSetWithLimit.
+   *
+   * @param dataSet the data set to take the rows from
+   * @param rowLimit the maximum number of rows to return, no limit if it is <= 0
+   * @param rowOffset the number of leading rows to discard
+   */
+  public EngineDataSetWithLimit(QueryDataSet dataSet, long rowLimit, long rowOffset) {
+    super(dataSet.getPaths(), dataSet.getDataTypes());
+    this.dataSet = dataSet;
+    this.rowsToReturn = rowLimit;
+    this.hasLimit = rowLimit > 0;
+    this.rowsToSkip = rowOffset;
+  }
+
+  @Override
+  public boolean hasNext() throws IOException {
+    if (hasLimit && rowsToReturn <= 0) {
+      return false;
+    }
+    while (rowsToSkip > 0) {
+      if (!dataSet.hasNext()) {
+        return false;
+      }
+      dataSet.next();
+      rowsToSkip--;
+    }
+    return dataSet.hasNext();
+  }
+
+  @Override
+  public RowRecord next() throws IOException {
+    if (!hasNext()) {
+      return null;
+    }
+    rowsToReturn--;
+    return dataSet.next();
+  }
+}
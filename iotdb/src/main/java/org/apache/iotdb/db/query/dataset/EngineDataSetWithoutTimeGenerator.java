@@ -19,6 +19,7 @@
 package org.apache.iotdb.db.query.dataset;
 
 import java.io.IOException;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.PriorityQueue;
@@ -57,14 +58,29 @@ public class EngineDataSetWithoutTimeGenerator extends QueryDataSet {
   public EngineDataSetWithoutTimeGenerator(List<Path> paths, List<TSDataType> dataTypes,
       List<IReader> readers)
       throws IOException {
+    this(paths, dataTypes, readers, true);
+  }
+
+  /**
+   * constructor of EngineDataSetWithoutTimeGenerator.
+   *
+   * @param paths paths in List structure
+   * @param dataTypes time series data type
+   * @param readers readers in List(IReader) structure, which return points in the given order
+   * @param ascending whether the rows are returned in ascending order of time
+   * @throws IOException IOException
+   */
+  public EngineDataSetWithoutTimeGenerator(List<Path> paths, List<TSDataType> dataTypes,
+      List<IReader> readers, boolean ascending)
+      throws IOException {
     super(paths, dataTypes);
     this.readers = readers;
-    initHeap();
+    initHeap(ascending);
   }
 
-  private void initHeap() throws IOException {
+  private void initHeap(boolean ascending) throws IOException {
     timeSet = new HashSet<>();
-    timeHeap = new PriorityQueue<>();
+    timeHeap = ascending ? new PriorityQueue<>() : new PriorityQueue<>(Comparator.reverseOrder());
     cacheTimeValueList = new TimeValuePair[readers.size()];
 
     for (int i = 0; i < readers.size(); i++) {
@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.dataset.groupby;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.utils.Pair;
+
+/**
+ * Result of a group by query. The time windows are generated lazily in ascending order, and the
+ * aggregation of a window is calculated only when the corresponding row is fetched, so that the
+ * whole result is never materialized in memory.
+ */
+public abstract class GroupByEngineDataSet extends QueryDataSet {
+
+  private long unit;
+  private long origin;
+  private List<Pair<Long, Long>> intervals;
+
+  private int intervalIndex;
+  private long nextStartTime = Long.MIN_VALUE;
+
+  /**
+   * constructor of GroupByEngineDataSet.
+   *
+   * @param paths aggregated paths
+   * @param dataTypes data types of the aggregation results
+   * @param unit length of a time window
+   * @param origin start point of the time windows
+   * @param intervals closed time intervals to show
+   */
+  public GroupByEngineDataSet(List<Path> paths, List<TSDataType> dataTypes, long unit,
+      long origin, List<Pair<Long, Long>> intervals) {
+    super(paths, dataTypes);
+    this.unit = unit;
+    this.origin = origin;
+    this.intervals = mergeIntervals(intervals);
+  }
+
+  /**
+   * sort the intervals and merge the overlapped ones, so that the windows are disjoint and
+   * ascending.
+   */
+  private static List<Pair<Long, Long>> mergeIntervals(List<Pair<Long, Long>> intervals) {
+    List<Pair<Long, Long>> sorted = new ArrayList<>();
+    for (Pair<Long, Long> interval : intervals) {
+      if (interval.left <= interval.right) {
+        sorted.add(new Pair<>(interval.left, interval.right));
+      }
+    }
+    sorted.sort(Comparator.comparing(interval -> interval.left));
+
+    List<Pair<Long, Long>> merged = new ArrayList<>();
+    for (Pair<Long, Long> interval : sorted) {
+      Pair<Long, Long> last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+      if (last != null && interval.left <= last.right) {
+        last.right = Math.max(last.right, interval.right);
+      } else {
+        merged.add(interval);
+      }
+    }
+    return merged;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return intervalIndex < intervals.size();
+  }
+
+  @Override
+  public RowRecord next() throws IOException {
+    Pair<Long, Long> interval = intervals.get(intervalIndex);
+    long startTime = Math.max(nextStartTime, interval.left);
+    long windowEndTime = origin + (Math.floorDiv(startTime - origin, unit) + 1) * unit - 1;
+    long endTime = windowEndTime < startTime ? interval.right
+        : Math.min(windowEndTime, interval.right);
+
+    if (endTime == interval.right) {
+      intervalIndex++;
+    } else {
+      nextStartTime = endTime + 1;
+    }
+
+    RowRecord record = new RowRecord(startTime);
+    aggregateWindow(startTime, endTime, record);
+    return record;
+  }
+
+  /**
+   * calculate the aggregations of the time window [startTime, endTime] and add the results to the
+   * record. Windows are passed in ascending time order.
+   */
+  protected abstract void aggregateWindow(long startTime, long endTime, RowRecord record)
+      throws IOException;
+}
@@ -0,0 +1,315 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.dataset.groupby;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import org.apache.iotdb.db.engine.cache.CachedChunkLoader;
+import org.apache.iotdb.db.engine.cache.ChunkMetaDataCache;
+import org.apache.iotdb.db.engine.filenode.IntervalFileNode;
+import org.apache.iotdb.db.engine.modification.Modification;
+import org.apache.iotdb.db.engine.querycontext.GlobalSortedSeriesDataSource;
+import org.apache.iotdb.db.query.aggregation.AggregateFunction;
+import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.control.FileReaderManager;
+import org.apache.iotdb.db.query.reader.IReader;
+import org.apache.iotdb.db.query.reader.mem.MemChunkReaderWithFilter;
+import org.apache.iotdb.db.query.reader.mem.MemChunkReaderWithoutFilter;
+import org.apache.iotdb.db.query.reader.merge.PriorityMergeReader;
+import org.apache.iotdb.db.utils.QueryUtils;
+import org.apache.iotdb.db.utils.TimeValuePair;
+import org.apache.iotdb.db.utils.TimeValuePairUtils;
+import org.apache.iotdb.db.utils.TsPrimitiveType;
+import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.common.Field;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.controller.ChunkLoader;
+import org.apache.iotdb.tsfile.read.controller.ChunkLoaderImpl;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReader;
+import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReaderWithFilter;
+import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReaderWithoutFilter;
+
+/**
+ * Aggregates one series window by window. The sealed TsFiles, the unsealed TsFile and the memtable
+ * are scanned only once: the reader keeps its position (chunk, page or decoded page data) between
+ * windows. A chunk or page which falls entirely in one window and does not overlap with unsequence
+ * data is aggregated by its statistics without decoding.
+ */
+public class GroupBySeriesReader {
+
+  private AggregateFunction function;
+  private GlobalSortedSeriesDataSource sources;
+  private PriorityMergeReader unSeqMergeReader;
+  private Filter timeFilter;
+  private QueryContext context;
+
+  private int sealedFileIndex;
+  private boolean unsealedFileLoaded;
+  private IReader memChunkReader;
+  private TimeValuePair cachedMemPoint;
+
+  private ChunkLoader chunkLoader;
+  private List<ChunkMetaData> chunkMetaDataList = Collections.emptyList();
+  private int chunkMetaDataIndex;
+
+  // position of the reader, at most one of them is not null
+  private ChunkMetaData chunkMetaData;
+  private ChunkReader chunkReader;
+  private long chunkDeletedAt;
+  private PageHeader pageHeader;
+  private BatchData batchData;
+
+  /**
+   * constructor of GroupBySeriesReader.
+   *
+   * @param function aggregate function of the series, reused for each window
+   * @param sources sequence data sources of the series
+   * @param unSeqMergeReader reader of the unsequence data of the series
+   * @param timeFilter time filter, null if there is no filter
+   * @param context query context
+   */
+  public GroupBySeriesReader(AggregateFunction function, GlobalSortedSeriesDataSource sources,
+      PriorityMergeReader unSeqMergeReader, Filter timeFilter, QueryContext context) {
+    this.function = function;
+    this.sources = sources;
+    this.unSeqMergeReader = unSeqMergeReader;
+    this.timeFilter = timeFilter;
+    this.context = context;
+    if (sources.hasRawSeriesChunk()) {
+      if (timeFilter == null) {
+        memChunkReader = new MemChunkReaderWithoutFilter(sources.getReadableChunk());
+      } else {
+        memChunkReader = new MemChunkReaderWithFilter(sources.getReadableChunk(), timeFilter);
+      }
+    }
+  }
+
+  /**
+   * aggregate the points in [startTime, endTime]. The windows must be passed in ascending order,
+   * points before startTime which have not been consumed are dropped.
+   */
+  public Field aggregateWindow(long startTime, long endTime) throws IOException {
+    function.init();
+
+    while (true) {
+      if (batchData != null) {
+        while (batchData.hasNext() && batchData.currentTime() <= endTime) {
+          aggregatePoint(startTime, batchData.currentTime(),
+              TimeValuePairUtils.getCurrentTimeValuePair(batchData).getValue());
+          batchData.next();
+        }
+        if (batchData.hasNext()) {
+          break;
+        }
+        batchData = null;
+      } else if (pageHeader != null) {
+        long minTime = pageHeader.getMinTimestamp();
+        long maxTime = pageHeader.getMaxTimestamp();
+        if (minTime > endTime) {
+          break;
+        }
+        aggregateUnSeqData(startTime, minTime - 1);
+        if (minTime >= startTime && maxTime <= endTime
+            && chunkDeletedAt < minTime && canUseStatistics(minTime, maxTime)) {
+          function.calculateValueFromStatistics(minTime, maxTime, pageHeader.getNumOfValues(),
+              pageHeader.getStatistics());
+          chunkReader.skipPageData();
+        } else {
+          batchData = chunkReader.nextPageData();
+        }
+        pageHeader = null;
+      } else if (chunkReader != null) {
+        if (chunkReader.hasNextBatch()) {
+          PageHeader header = chunkReader.nextPageHeader();
+          if (chunkReader.pageSatisfied(header)) {
+            pageHeader = header;
+          } else {
+            chunkReader.skipPageData();
+          }
+        } else {
+          chunkReader.close();
+          chunkReader = null;
+        }
+      } else if (chunkMetaData != null) {
+        long chunkStartTime = chunkMetaData.getStartTime();
+        long chunkEndTime = chunkMetaData.getEndTime();
+        if (chunkStartTime > endTime) {
+          break;
+        }
+        aggregateUnSeqData(startTime, chunkStartTime - 1);
+        if (chunkStartTime >= startTime && chunkEndTime <= endTime
+            && aggregateChunkByStatistics()) {
+          chunkMetaData = null;
+          continue;
+        }
+        chunkDeletedAt = chunkMetaData.getDeletedAt();
+        chunkReader = timeFilter == null
+            ? new ChunkReaderWithoutFilter(chunkLoader.getChunk(chunkMetaData))
+            : new ChunkReaderWithFilter(chunkLoader.getChunk(chunkMetaData), timeFilter);
+        chunkMetaData = null;
+      } else if (!nextChunkMetaData()) {
+        aggregateMemChunk(startTime, endTime);
+        break;
+      }
+    }
+
+    aggregateUnSeqData(startTime, endTime);
+    return function.getResult();
+  }
+
+  /**
+   * aggregate the points of the memtable in the window.
+   */
+  private void aggregateMemChunk(long startTime, long endTime) throws IOException {
+    if (memChunkReader == null) {
+      return;
+    }
+    while (cachedMemPoint != null || memChunkReader.hasNext()) {
+      if (cachedMemPoint == null) {
+        cachedMemPoint = memChunkReader.next();
+      }
+      if (cachedMemPoint.getTimestamp() > endTime) {
+        return;
+      }
+      aggregatePoint(startTime, cachedMemPoint.getTimestamp(), cachedMemPoint.getValue());
+      cachedMemPoint = null;
+    }
+    memChunkReader.close();
+    memChunkReader = null;
+  }
+
+  private boolean aggregateChunkByStatistics() throws IOException {
+    long chunkStartTime = chunkMetaData.getStartTime();
+    long chunkEndTime = chunkMetaData.getEndTime();
+    if (chunkMetaData.getDeletedAt() >= chunkStartTime
+        || !canUseStatistics(chunkStartTime, chunkEndTime)) {
+      return false;
+    }
+    Statistics<?> statistics = Statistics
+        .deserialize(chunkMetaData.getDigest(), chunkMetaData.getTsDataType());
+    if (statistics.isEmpty()) {
+      return false;
+    }
+    function.calculateValueFromStatistics(chunkStartTime, chunkEndTime,
+        chunkMetaData.getNumOfPoints(), statistics);
+    return true;
+  }
+
+  /**
+   * move to the next chunk satisfying the time filter.
+   *
+   * @return false if all the chunks of the TsFiles have been consumed
+   */
+  private boolean nextChunkMetaData() throws IOException {
+    while (chunkMetaDataIndex < chunkMetaDataList.size() || nextChunkMetaDataList()) {
+      ChunkMetaData metaData = chunkMetaDataList.get(chunkMetaDataIndex++);
+      if (timeFilter == null || timeFilter
+          .satisfyStartEndTime(metaData.getStartTime(), metaData.getEndTime())) {
+        chunkMetaData = metaData;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean nextChunkMetaDataList() throws IOException {
+    chunkMetaDataIndex = 0;
+    chunkMetaDataList = Collections.emptyList();
+    Path seriesPath = sources.getSeriesPath();
+
+    while (sources.hasSealedTsFiles() && sealedFileIndex < sources.getSealedTsFiles().size()) {
+      IntervalFileNode fileNode = sources.getSealedTsFiles().get(sealedFileIndex++);
+      if (timeFilter != null && !timeFilter.satisfyStartEndTime(
+          fileNode.getStartTime(seriesPath.getDevice()),
+          fileNode.getEndTime(seriesPath.getDevice()))) {
+        continue;
+      }
+
+      // to avoid too many opened files
+      TsFileSequenceReader tsFileReader = FileReaderManager.getInstance()
+          .get(fileNode.getFilePath(), true);
+      List<ChunkMetaData> metaDataList = ChunkMetaDataCache.getInstance()
+          .get(fileNode.getFilePath(), seriesPath, tsFileReader);
+      List<Modification> pathModifications = context.getPathModifications(
+          fileNode.getModFile(), seriesPath.getFullPath());
+      if (!pathModifications.isEmpty()) {
+        QueryUtils.modifyChunkMetaData(metaDataList, pathModifications);
+      }
+      chunkLoader = new CachedChunkLoader(tsFileReader, fileNode.getFilePath());
+      chunkMetaDataList = metaDataList;
+      if (!metaDataList.isEmpty()) {
+        return true;
+      }
+    }
+
+    if (sources.hasUnsealedTsFile() && !unsealedFileLoaded) {
+      unsealedFileLoaded = true;
+      TsFileSequenceReader unClosedTsFileReader = FileReaderManager.getInstance()
+          .get(sources.getUnsealedTsFile().getFilePath(), false);
+      chunkLoader = new ChunkLoaderImpl(unClosedTsFileReader);
+      chunkMetaDataList = sources.getUnsealedTsFile().getChunkMetaDataList();
+      return !chunkMetaDataList.isEmpty();
+    }
+    return false;
+  }
+
+  /**
+   * whether all the points in [startTime, endTime] are needed and are not overwritten by unsequence
+   * data. Notice that, unsequence data before startTime has been consumed.
+   */
+  private boolean canUseStatistics(long startTime, long endTime) throws IOException {
+    if (timeFilter != null && !timeFilter.containStartEndTime(startTime, endTime)) {
+      return false;
+    }
+    return !unSeqMergeReader.hasNext() || unSeqMergeReader.current().getTimestamp() > endTime;
+  }
+
+  /**
+   * aggregate a sequence point, the unsequence point with the same timestamp overwrites it.
+   */
+  private void aggregatePoint(long startTime, long time, TsPrimitiveType value)
+      throws IOException {
+    aggregateUnSeqData(startTime, time - 1);
+    if (unSeqMergeReader.hasNext() && unSeqMergeReader.current().getTimestamp() == time) {
+      value = unSeqMergeReader.next().getValue();
+    }
+    if (time >= startTime) {
+      function.calculateValueFromPoint(time, value);
+    }
+  }
+
+  /**
+   * aggregate the unsequence points whose timestamps are not greater than endTime, the ones before
+   * startTime are dropped.
+   */
+  private void aggregateUnSeqData(long startTime, long endTime) throws IOException {
+    while (unSeqMergeReader.hasNext() && unSeqMergeReader.current().getTimestamp() <= endTime) {
+      TimeValuePair timeValuePair = unSeqMergeReader.next();
+      if (timeValuePair.getTimestamp() >= startTime) {
+        function.calculateValueFromPoint(timeValuePair.getTimestamp(), timeValuePair.getValue());
+      }
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.dataset.groupby;
+
+import java.io.IOException;
+import java.util.List;
+import org.apache.iotdb.db.query.aggregation.AggregateFunction;
+import org.apache.iotdb.db.query.reader.merge.EngineReaderByTimeStamp;
+import org.apache.iotdb.db.query.timegenerator.EngineTimeGenerator;
+import org.apache.iotdb.db.utils.TsPrimitiveType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.utils.Pair;
+
+/**
+ * Group by query with value filter, the timestamps satisfying the filter are generated in
+ * ascending order and assigned to the windows one by one.
+ */
+public class GroupByWithValueFilterDataSet extends GroupByEngineDataSet {
+
+  private List<AggregateFunction> functions;
+  private EngineTimeGenerator timeGenerator;
+  private List<EngineReaderByTimeStamp> readers;
+
+  private boolean hasCachedTimestamp;
+  private long cachedTimestamp;
+
+  /**
+   * constructor of GroupByWithValueFilterDataSet.
+   *
+   * @param functions aggregate functions, one for each path
+   * @param timeGenerator generator of the timestamps satisfying the filter
+   * @param readers readers of the aggregated paths
+   */
+  public GroupByWithValueFilterDataSet(List<Path> paths, List<TSDataType> dataTypes, long unit,
+      long origin, List<Pair<Long, Long>> intervals, List<AggregateFunction> functions,
+      EngineTimeGenerator timeGenerator, List<EngineReaderByTimeStamp> readers) {
+    super(paths, dataTypes, unit, origin, intervals);
+    this.functions = functions;
+    this.timeGenerator = timeGenerator;
+    this.readers = readers;
+  }
+
+  @Override
+  protected void aggregateWindow(long startTime, long endTime, RowRecord record)
+      throws IOException {
+    for (AggregateFunction function : functions) {
+      function.init();
+    }
+
+    while (hasCachedTimestamp || timeGenerator.hasNext()) {
+      if (!hasCachedTimestamp) {
+        cachedTimestamp = timeGenerator.next();
+        hasCachedTimestamp = true;
+      }
+      if (cachedTimestamp > endTime) {
+        break;
+      }
+      if (cachedTimestamp >= startTime) {
+        for (int i = 0; i < functions.size(); i++) {
+          TsPrimitiveType value = readers.get(i).getValueInTimestamp(cachedTimestamp);
+          if (value != null) {
+            functions.get(i).calculateValueFromPoint(cachedTimestamp, value);
+          }
+        }
+      }
+      hasCachedTimestamp = false;
+    }
+
+    for (AggregateFunction function : functions) {
+      record.addField(function.getResult());
+    }
+  }
+}
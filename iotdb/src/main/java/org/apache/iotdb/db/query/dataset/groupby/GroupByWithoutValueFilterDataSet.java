@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.dataset.groupby;
+
+import java.io.IOException;
+import java.util.List;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.utils.Pair;
+
+/**
+ * Group by query without value filter, each series is scanned only once by its
+ * {@link GroupBySeriesReader} across all the windows.
+ */
+public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
+
+  private List<GroupBySeriesReader> seriesReaders;
+
+  /**
+   * constructor of GroupByWithoutValueFilterDataSet.
+   *
+   * @param seriesReaders readers of the aggregated paths
+   */
+  public GroupByWithoutValueFilterDataSet(List<Path> paths, List<TSDataType> dataTypes, long unit,
+      long origin, List<Pair<Long, Long>> intervals, List<GroupBySeriesReader> seriesReaders) {
+    super(paths, dataTypes, unit, origin, intervals);
+    this.seriesReaders = seriesReaders;
+  }
+
+  @Override
+  protected void aggregateWindow(long startTime, long endTime, RowRecord record)
+      throws IOException {
+    for (GroupBySeriesReader seriesReader : seriesReaders) {
+      record.addField(seriesReader.aggregateWindow(startTime, endTime));
+    }
+  }
+}
@@ -0,0 +1,351 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.executor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.iotdb.db.engine.cache.CachedChunkLoader;
+import org.apache.iotdb.db.engine.cache.ChunkMetaDataCache;
+import org.apache.iotdb.db.engine.filenode.IntervalFileNode;
+import org.apache.iotdb.db.engine.modification.Modification;
+import org.apache.iotdb.db.engine.querycontext.GlobalSortedSeriesDataSource;
+import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.exception.FileNodeManagerException;
+import org.apache.iotdb.db.exception.PathErrorException;
+import org.apache.iotdb.db.exception.ProcessorException;
+import org.apache.iotdb.db.metadata.MManager;
+import org.apache.iotdb.db.query.aggregation.AggreFuncFactory;
+import org.apache.iotdb.db.query.aggregation.AggregateFunction;
+import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.control.FileReaderManager;
+import org.apache.iotdb.db.query.control.QueryDataSourceManager;
+import org.apache.iotdb.db.query.control.QueryTokenManager;
+import org.apache.iotdb.db.query.dataset.AggreResultDataSet;
+import org.apache.iotdb.db.query.factory.SeriesReaderFactory;
+import org.apache.iotdb.db.query.reader.IReader;
+import org.apache.iotdb.db.query.reader.mem.MemChunkReaderWithFilter;
+import org.apache.iotdb.db.query.reader.mem.MemChunkReaderWithoutFilter;
+import org.apache.iotdb.db.query.reader.merge.EngineReaderByTimeStamp;
+import org.apache.iotdb.db.query.reader.merge.PriorityMergeReader;
+import org.apache.iotdb.db.query.timegenerator.EngineTimeGenerator;
+import org.apache.iotdb.db.utils.QueryUtils;
+import org.apache.iotdb.db.utils.TimeValuePair;
+import org.apache.iotdb.db.utils.TimeValuePairUtils;
+import org.apache.iotdb.db.utils.TsPrimitiveType;
+import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.common.Chunk;
+import org.apache.iotdb.tsfile.read.common.Field;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.controller.ChunkLoader;
+import org.apache.iotdb.tsfile.read.controller.ChunkLoaderImpl;
+import org.apache.iotdb.tsfile.read.expression.IExpression;
+import org.apache.iotdb.tsfile.read.expression.impl.GlobalTimeExpression;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReader;
+import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReaderWithFilter;
+import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReaderWithoutFilter;
+
+/**
+ * IoTDB aggregation executor. Without value filter, a chunk or page which is fully covered by the
+ * time filter and does not overlap with unsequence data is aggregated by its statistics directly,
+ * and only the remaining pages are decoded.
+ */
+public class AggregateEngineExecutor {
+
+  private long jobId;
+  private List<Path> selectedSeries;
+  private List<String> aggres;
+  private IExpression expression;
+
+  /**
+   * constructor of AggregateEngineExecutor.
+   *
+   * @param jobId id of the query job
+   * @param selectedSeries aggregated paths
+   * @param aggres aggregation names, one for each path
+   * @param expression filter expression, null if there is no filter
+   */
+  AggregateEngineExecutor(long jobId, List<Path> selectedSeries, List<String> aggres,
+      IExpression expression) {
+    this.jobId = jobId;
+    this.selectedSeries = selectedSeries;
+    this.aggres = aggres;
+    this.expression = expression;
+  }
+
+  /**
+   * execute aggregation without filter or with global time filter.
+   */
+  public QueryDataSet executeWithoutValueFilter(QueryContext context)
+      throws FileNodeManagerException, IOException, PathErrorException, ProcessorException {
+
+    Filter timeFilter = null;
+    if (expression != null) {
+      timeFilter = ((GlobalTimeExpression) expression).getFilter();
+    }
+
+    QueryTokenManager.getInstance().beginQueryOfGivenQueryPaths(jobId, selectedSeries);
+
+    List<AggregateFunction> functions = new ArrayList<>();
+    for (int i = 0; i < selectedSeries.size(); i++) {
+      Path path = selectedSeries.get(i);
+      AggregateFunction function = createFunction(i);
+
+      QueryDataSource queryDataSource = QueryDataSourceManager.getQueryDataSource(jobId, path,
+          context);
+
+      // unseq reader for all chunk groups in unSeqFile and memtable of overflow
+      PriorityMergeReader unSeqMergeReader = SeriesReaderFactory.getInstance()
+          .createUnSeqMergeReader(queryDataSource.getOverflowSeriesDataSource(), timeFilter);
+
+      aggregateSeries(function, queryDataSource.getSeqDataSource(), unSeqMergeReader, timeFilter,
+          context);
+      functions.add(function);
+    }
+    return constructDataSet(functions);
+  }
+
+  /**
+   * execute aggregation with value filter, the points satisfying the filter are aggregated one by
+   * one.
+   */
+  public QueryDataSet executeWithValueFilter(QueryContext context)
+      throws FileNodeManagerException, IOException, PathErrorException, ProcessorException {
+
+    QueryTokenManager.getInstance().beginQueryOfGivenQueryPaths(jobId, selectedSeries);
+    QueryTokenManager.getInstance().beginQueryOfGivenExpression(jobId, expression);
+
+    EngineTimeGenerator timestampGenerator = new EngineTimeGenerator(jobId, expression, context);
+    List<EngineReaderByTimeStamp> readersOfSelectedSeries = EngineExecutorWithTimeGenerator
+        .getReadersOfSelectedPaths(jobId, selectedSeries, context);
+
+    List<AggregateFunction> functions = new ArrayList<>();
+    for (int i = 0; i < selectedSeries.size(); i++) {
+      functions.add(createFunction(i));
+    }
+
+    while (timestampGenerator.hasNext()) {
+      long time = timestampGenerator.next();
+      for (int i = 0; i < functions.size(); i++) {
+        TsPrimitiveType value = readersOfSelectedSeries.get(i).getValueInTimestamp(time);
+        if (value != null) {
+          functions.get(i).calculateValueFromPoint(time, value);
+        }
+      }
+    }
+    return constructDataSet(functions);
+  }
+
+  private AggregateFunction createFunction(int index)
+      throws PathErrorException, ProcessorException {
+    TSDataType dataType = MManager.getInstance()
+        .getSeriesType(selectedSeries.get(index).getFullPath());
+    AggregateFunction function = AggreFuncFactory.getAggrFuncByName(aggres.get(index), dataType);
+    function.init();
+    return function;
+  }
+
+  private QueryDataSet constructDataSet(List<AggregateFunction> functions) {
+    List<TSDataType> dataTypes = new ArrayList<>();
+    List<Field> fields = new ArrayList<>();
+    for (AggregateFunction function : functions) {
+      dataTypes.add(function.getResultDataType());
+      fields.add(function.getResult());
+    }
+    return new AggreResultDataSet(selectedSeries, dataTypes, fields);
+  }
+
+  /**
+   * aggregate sealed TsFiles, the unsealed TsFile and the memtable of a series in time order,
+   * merging the unsequence data with higher priority.
+   */
+  private void aggregateSeries(AggregateFunction function,
+      GlobalSortedSeriesDataSource sources, PriorityMergeReader unSeqMergeReader,
+      Filter timeFilter, QueryContext context) throws IOException {
+
+    if (sources.hasSealedTsFiles()) {
+      Path seriesPath = sources.getSeriesPath();
+      for (IntervalFileNode fileNode : sources.getSealedTsFiles()) {
+        if (function.isCalculatedAggregationResult()) {
+          return;
+        }
+        if (timeFilter != null && !timeFilter.satisfyStartEndTime(
+            fileNode.getStartTime(seriesPath.getDevice()),
+            fileNode.getEndTime(seriesPath.getDevice()))) {
+          continue;
+        }
+
+        // to avoid too many opened files
+        TsFileSequenceReader tsFileReader = FileReaderManager.getInstance()
+            .get(fileNode.getFilePath(), true);
+        List<ChunkMetaData> metaDataList = ChunkMetaDataCache.getInstance()
+            .get(fileNode.getFilePath(), seriesPath, tsFileReader);
+        List<Modification> pathModifications = context.getPathModifications(
+            fileNode.getModFile(), seriesPath.getFullPath());
+        if (!pathModifications.isEmpty()) {
+          QueryUtils.modifyChunkMetaData(metaDataList, pathModifications);
+        }
+        aggregateChunks(function, new CachedChunkLoader(tsFileReader, fileNode.getFilePath()),
+            metaDataList, timeFilter, unSeqMergeReader);
+      }
+    }
+
+    if (sources.hasUnsealedTsFile()) {
+      TsFileSequenceReader unClosedTsFileReader = FileReaderManager.getInstance()
+          .get(sources.getUnsealedTsFile().getFilePath(), false);
+      aggregateChunks(function, new ChunkLoaderImpl(unClosedTsFileReader),
+          sources.getUnsealedTsFile().getChunkMetaDataList(), timeFilter, unSeqMergeReader);
+    }
+
+    if (sources.hasRawSeriesChunk() && !function.isCalculatedAggregationResult()) {
+      IReader memChunkReader;
+      if (timeFilter == null) {
+        memChunkReader = new MemChunkReaderWithoutFilter(sources.getReadableChunk());
+      } else {
+        memChunkReader = new MemChunkReaderWithFilter(sources.getReadableChunk(), timeFilter);
+      }
+      while (memChunkReader.hasNext() && !function.isCalculatedAggregationResult()) {
+        TimeValuePair timeValuePair = memChunkReader.next();
+        aggregatePoint(function, timeValuePair.getTimestamp(), timeValuePair.getValue(),
+            unSeqMergeReader);
+      }
+    }
+
+    // the remaining unsequence data is aggregated batch by batch
+    while (unSeqMergeReader.hasNextBatch() && !function.isCalculatedAggregationResult()) {
+      function.calculateValueFromPageData(unSeqMergeReader.nextBatch());
+    }
+  }
+
+  private void aggregateChunks(AggregateFunction function, ChunkLoader chunkLoader,
+      List<ChunkMetaData> metaDataList, Filter timeFilter, PriorityMergeReader unSeqMergeReader)
+      throws IOException {
+
+    for (ChunkMetaData chunkMetaData : metaDataList) {
+      if (function.isCalculatedAggregationResult()) {
+        return;
+      }
+      long startTime = chunkMetaData.getStartTime();
+      long endTime = chunkMetaData.getEndTime();
+      if (timeFilter != null && !timeFilter.satisfyStartEndTime(startTime, endTime)) {
+        continue;
+      }
+
+      aggregateUnSeqData(function, unSeqMergeReader, startTime);
+      if (canUseStatistics(startTime, endTime, chunkMetaData.getDeletedAt(), timeFilter,
+          unSeqMergeReader)) {
+        Statistics<?> statistics = Statistics
+            .deserialize(chunkMetaData.getDigest(), chunkMetaData.getTsDataType());
+        if (!statistics.isEmpty()) {
+          function.calculateValueFromStatistics(startTime, endTime,
+              chunkMetaData.getNumOfPoints(), statistics);
+          continue;
+        }
+      }
+
+      Chunk chunk = chunkLoader.getChunk(chunkMetaData);
+      ChunkReader chunkReader = timeFilter == null ? new ChunkReaderWithoutFilter(chunk)
+          : new ChunkReaderWithFilter(chunk, timeFilter);
+      aggregatePages(function, chunkReader, chunkMetaData.getDeletedAt(), timeFilter,
+          unSeqMergeReader);
+    }
+  }
+
+  private void aggregatePages(AggregateFunction function, ChunkReader chunkReader,
+      long deletedAt, Filter timeFilter, PriorityMergeReader unSeqMergeReader)
+      throws IOException {
+
+    while (chunkReader.hasNextBatch() && !function.isCalculatedAggregationResult()) {
+      PageHeader pageHeader = chunkReader.nextPageHeader();
+      if (!chunkReader.pageSatisfied(pageHeader)) {
+        chunkReader.skipPageData();
+        continue;
+      }
+
+      long minTime = pageHeader.getMinTimestamp();
+      long maxTime = pageHeader.getMaxTimestamp();
+      aggregateUnSeqData(function, unSeqMergeReader, minTime);
+      if (canUseStatistics(minTime, maxTime, deletedAt, timeFilter, unSeqMergeReader)) {
+        function.calculateValueFromStatistics(minTime, maxTime, pageHeader.getNumOfValues(),
+            pageHeader.getStatistics());
+        chunkReader.skipPageData();
+        continue;
+      }
+
+      BatchData batchData = chunkReader.nextPageData();
+      if (!unSeqMergeReader.hasNext() || unSeqMergeReader.current().getTimestamp() > maxTime) {
+        function.calculateValueFromPageData(batchData);
+      } else {
+        while (batchData.hasNext() && !function.isCalculatedAggregationResult()) {
+          aggregatePoint(function, batchData.currentTime(),
+              TimeValuePairUtils.getCurrentTimeValuePair(batchData).getValue(), unSeqMergeReader);
+          batchData.next();
+        }
+      }
+    }
+  }
+
+  /**
+   * whether all the points in [startTime, endTime] are needed and are not overwritten by unsequence
+   * data. Notice that, unsequence data before startTime has been consumed.
+   */
+  private boolean canUseStatistics(long startTime, long endTime, long deletedAt,
+      Filter timeFilter, PriorityMergeReader unSeqMergeReader) {
+    if (deletedAt >= startTime) {
+      return false;
+    }
+    if (timeFilter != null && !timeFilter.containStartEndTime(startTime, endTime)) {
+      return false;
+    }
+    return !unSeqMergeReader.hasNext() || unSeqMergeReader.current().getTimestamp() > endTime;
+  }
+
+  /**
+   * aggregate a sequence point, the unsequence point with the same timestamp overwrites it.
+   */
+  private void aggregatePoint(AggregateFunction function, long time, TsPrimitiveType value,
+      PriorityMergeReader unSeqMergeReader) throws IOException {
+    aggregateUnSeqData(function, unSeqMergeReader, time);
+    if (unSeqMergeReader.hasNext() && unSeqMergeReader.current().getTimestamp() == time) {
+      TimeValuePair timeValuePair = unSeqMergeReader.next();
+      function.calculateValueFromPoint(time, timeValuePair.getValue());
+    } else {
+      function.calculateValueFromPoint(time, value);
+    }
+  }
+
+  /**
+   * aggregate the unsequence points whose timestamps are less than the bound.
+   */
+  private void aggregateUnSeqData(AggregateFunction function,
+      PriorityMergeReader unSeqMergeReader, long bound) throws IOException {
+    while (unSeqMergeReader.hasNext() && unSeqMergeReader.current().getTimestamp() < bound
+        && !function.isCalculatedAggregationResult()) {
+      TimeValuePair timeValuePair = unSeqMergeReader.next();
+      function.calculateValueFromPoint(timeValuePair.getTimestamp(), timeValuePair.getValue());
+    }
+  }
+}
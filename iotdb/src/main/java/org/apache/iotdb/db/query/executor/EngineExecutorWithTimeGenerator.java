@@ -71,8 +71,8 @@ public class EngineExecutorWithTimeGenerator {
     List<EngineReaderByTimeStamp> readersOfSelectedSeries;
     try {
       timestampGenerator = new EngineTimeGenerator(jobId, queryExpression.getExpression(), context);
-      readersOfSelectedSeries = getReadersOfSelectedPaths(queryExpression.getSelectedSeries(),
-          context);
+      readersOfSelectedSeries = getReadersOfSelectedPaths(jobId,
+          queryExpression.getSelectedSeries(), context);
     } catch (IOException ex) {
       throw new FileNodeManagerException(ex);
     }
@@ -92,7 +92,10 @@ public class EngineExecutorWithTimeGenerator {
         readersOfSelectedSeries);
   }
 
-  private List<EngineReaderByTimeStamp> getReadersOfSelectedPaths(List<Path> paths,
+  /**
+   * construct readers which get values of the given paths by timestamp.
+   */
+  static List<EngineReaderByTimeStamp> getReadersOfSelectedPaths(long jobId, List<Path> paths,
       QueryContext context)
       throws IOException, FileNodeManagerException {
 
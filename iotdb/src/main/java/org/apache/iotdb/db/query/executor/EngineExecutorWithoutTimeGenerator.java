@@ -27,6 +27,7 @@ import org.apache.iotdb.db.exception.PathErrorException;
 import org.apache.iotdb.db.metadata.MManager;
 import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.control.QueryDataSourceManager;
+import org.apache.iotdb.db.query.control.QueryIOManager;
 import org.apache.iotdb.db.query.control.QueryTokenManager;
 import org.apache.iotdb.db.query.dataset.EngineDataSetWithoutTimeGenerator;
 import org.apache.iotdb.db.query.factory.SeriesReaderFactory;
@@ -47,10 +48,35 @@ public class EngineExecutorWithoutTimeGenerator {
 
   private QueryExpression queryExpression;
   private long jobId;
+  /**
+   * the maximum number of rows to return, no limit if it is <= 0.
+   */
+  private long rowLimit;
+  /**
+   * the number of leading rows still to discard.
+   */
+  private long rowOffset;
+  /**
+   * whether the rows are returned in ascending order of time.
+   */
+  private boolean ascending;
 
   public EngineExecutorWithoutTimeGenerator(long jobId, QueryExpression queryExpression) {
+    this(jobId, queryExpression, 0, 0, true);
+  }
+
+  /**
+   * @param rowLimit the maximum number of rows to return, no limit if it is <= 0
+   * @param rowOffset the number of leading rows to discard
+   * @param ascending whether the rows are returned in ascending order of time
+   */
+  public EngineExecutorWithoutTimeGenerator(long jobId, QueryExpression queryExpression,
+      long rowLimit, long rowOffset, boolean ascending) {
     this.jobId = jobId;
     this.queryExpression = queryExpression;
+    this.rowLimit = rowLimit;
+    this.rowOffset = rowOffset;
+    this.ascending = ascending;
   }
 
   /**
@@ -60,17 +86,36 @@ public class EngineExecutorWithoutTimeGenerator {
       throws FileNodeManagerException {
 
     Filter timeFilter = ((GlobalTimeExpression) queryExpression.getExpression()).getFilter();
+    return execute(context, timeFilter);
+  }
 
-    List<IReader> readersOfSelectedSeries = new ArrayList<>();
-    List<TSDataType> dataTypes = new ArrayList<>();
+  /**
+   * without filter.
+   */
+  public QueryDataSet executeWithoutFilter(QueryContext context)
+      throws FileNodeManagerException {
+    return execute(context, null);
+  }
 
-    QueryTokenManager.getInstance()
-        .beginQueryOfGivenQueryPaths(jobId, queryExpression.getSelectedSeries());
+  /**
+   * The data sources and data types are fetched on the current thread, as the opened files are
+   * registered for the job of this thread. The readers are then built by the threads of
+   * {@link QueryIOManager}, which also reads the first batch of each series since building a
+   * {@link PriorityMergeReader} reads the first point of its readers.
+   *
+   * @param timeFilter null if there is no global time filter
+   */
+  private QueryDataSet execute(QueryContext context, Filter timeFilter)
+      throws FileNodeManagerException {
 
-    for (Path path : queryExpression.getSelectedSeries()) {
+    List<Path> selectedSeries = queryExpression.getSelectedSeries();
+    List<QueryDataSource> queryDataSources = new ArrayList<>();
+    List<TSDataType> dataTypes = new ArrayList<>();
 
-      QueryDataSource queryDataSource = QueryDataSourceManager.getQueryDataSource(jobId, path,
-          context);
+    QueryTokenManager.getInstance().beginQueryOfGivenQueryPaths(jobId, selectedSeries);
+
+    for (Path path : selectedSeries) {
+      queryDataSources.add(QueryDataSourceManager.getQueryDataSource(jobId, path, context));
 
       // add data type
       try {
@@ -78,95 +123,78 @@ public class EngineExecutorWithoutTimeGenerator {
       } catch (PathErrorException e) {
         throw new FileNodeManagerException(e);
       }
+    }
 
-      PriorityMergeReader priorityReader = new PriorityMergeReader();
-
-      // sequence reader for one sealed tsfile
-      SequenceDataReader tsFilesReader;
-      try {
-        tsFilesReader = new SequenceDataReader(queryDataSource.getSeqDataSource(),
-            timeFilter, context);
-        priorityReader.addReaderWithPriority(tsFilesReader, PriorityMergeReader.LOW_PRIORITY);
-      } catch (IOException e) {
-        throw new FileNodeManagerException(e);
-      }
-
-      // unseq reader for all chunk groups in unSeqFile
-      PriorityMergeReader unSeqMergeReader;
-      try {
-        unSeqMergeReader = SeriesReaderFactory.getInstance()
-            .createUnSeqMergeReader(queryDataSource.getOverflowSeriesDataSource(), timeFilter);
-        priorityReader.addReaderWithPriority(unSeqMergeReader, PriorityMergeReader.HIGH_PRIORITY);
-      } catch (IOException e) {
-        throw new FileNodeManagerException(e);
+    List<IReader> readersOfSelectedSeries;
+    try {
+      int concurrency = QueryIOManager.getInstance().getConcurrency(selectedSeries.size());
+      if (selectedSeries.size() == 1) {
+        // the rows are the points of the only series, so the offset can be pushed down
+        readersOfSelectedSeries = new ArrayList<>();
+        readersOfSelectedSeries.add(createSeriesReaderWithOffset(queryDataSources.get(0),
+            timeFilter, context));
+      } else {
+        // the series of a device, which are usually adjacent, are spread over the tasks
+        readersOfSelectedSeries = QueryIOManager.getInstance()
+            .buildReaders(queryDataSources.size(), concurrency,
+                i -> createSeriesReader(queryDataSources.get(i), timeFilter, context));
       }
-
-      readersOfSelectedSeries.add(priorityReader);
+    } catch (IOException e) {
+      throw new FileNodeManagerException(e);
     }
 
     try {
-      return new EngineDataSetWithoutTimeGenerator(queryExpression.getSelectedSeries(), dataTypes,
-          readersOfSelectedSeries);
+      return EngineQueryRouter.withLimit(new EngineDataSetWithoutTimeGenerator(selectedSeries,
+          dataTypes, readersOfSelectedSeries, ascending), rowLimit, rowOffset);
     } catch (IOException e) {
       throw new FileNodeManagerException(e);
     }
   }
 
-  /**
-   * without filter.
-   */
-  public QueryDataSet executeWithoutFilter(QueryContext context)
-      throws FileNodeManagerException {
-
-    List<IReader> readersOfSelectedSeries = new ArrayList<>();
-    List<TSDataType> dataTypes = new ArrayList<>();
-
-    QueryTokenManager.getInstance()
-        .beginQueryOfGivenQueryPaths(jobId, queryExpression.getSelectedSeries());
+  private PriorityMergeReader createSeriesReader(QueryDataSource queryDataSource,
+      Filter timeFilter, QueryContext context) throws IOException {
 
-    for (Path path : queryExpression.getSelectedSeries()) {
-
-      QueryDataSource queryDataSource = QueryDataSourceManager.getQueryDataSource(jobId, path,
-          context);
-
-      // add data type
-      try {
-        dataTypes.add(MManager.getInstance().getSeriesType(path.getFullPath()));
-      } catch (PathErrorException e) {
-        throw new FileNodeManagerException(e);
-      }
+    // sequence reader for one sealed tsfile
+    SequenceDataReader tsFilesReader = new SequenceDataReader(queryDataSource.getSeqDataSource(),
+        timeFilter, context, ascending);
 
-      PriorityMergeReader priorityReader = new PriorityMergeReader();
+    // unseq reader for all chunk groups in unSeqFile
+    PriorityMergeReader unSeqMergeReader = SeriesReaderFactory.getInstance()
+        .createUnSeqMergeReader(queryDataSource.getOverflowSeriesDataSource(), timeFilter,
+            ascending);
 
-      // sequence insert data
-      SequenceDataReader tsFilesReader;
-      try {
-        tsFilesReader = new SequenceDataReader(queryDataSource.getSeqDataSource(),
-            null, context);
-        priorityReader.addReaderWithPriority(tsFilesReader, 1);
-      } catch (IOException e) {
-        throw new FileNodeManagerException(e);
-      }
-
-      // unseq insert data
-      PriorityMergeReader unSeqMergeReader;
-      try {
-        unSeqMergeReader = SeriesReaderFactory.getInstance()
-            .createUnSeqMergeReader(queryDataSource.getOverflowSeriesDataSource(), null);
-        priorityReader.addReaderWithPriority(unSeqMergeReader, 2);
-      } catch (IOException e) {
-        throw new FileNodeManagerException(e);
-      }
+    return mergeSeriesReaders(tsFilesReader, unSeqMergeReader);
+  }
 
-      readersOfSelectedSeries.add(priorityReader);
+  /**
+   * build the reader of the only selected series and skip the leading points of the offset by the
+   * metadata of the sealed tsfiles, the rest of the offset is applied to the rows of the result.
+   */
+  private PriorityMergeReader createSeriesReaderWithOffset(QueryDataSource queryDataSource,
+      Filter timeFilter, QueryContext context) throws IOException {
+
+    SequenceDataReader tsFilesReader = new SequenceDataReader(queryDataSource.getSeqDataSource(),
+        timeFilter, context, ascending);
+    PriorityMergeReader unSeqMergeReader = SeriesReaderFactory.getInstance()
+        .createUnSeqMergeReader(queryDataSource.getOverflowSeriesDataSource(), timeFilter,
+            ascending);
+
+    // unsequence points may overwrite or interleave with the sequence ones, so that the sequence
+    // points are the rows only if there is no unsequence point. Nothing is skipped in descending
+    // order by the sequence reader.
+    if (rowOffset > 0 && !unSeqMergeReader.hasNext()) {
+      rowOffset -= tsFilesReader.skipPoints(rowOffset);
     }
 
-    try {
-      return new EngineDataSetWithoutTimeGenerator(queryExpression.getSelectedSeries(), dataTypes,
-          readersOfSelectedSeries);
-    } catch (IOException e) {
-      throw new FileNodeManagerException(e);
-    }
+    return mergeSeriesReaders(tsFilesReader, unSeqMergeReader);
+  }
+
+  private PriorityMergeReader mergeSeriesReaders(SequenceDataReader tsFilesReader,
+      PriorityMergeReader unSeqMergeReader) throws IOException {
+    PriorityMergeReader priorityReader = new PriorityMergeReader(ascending);
+    priorityReader.addReaderWithPriority(tsFilesReader, PriorityMergeReader.LOW_PRIORITY);
+    priorityReader.addReaderWithPriority(unSeqMergeReader, PriorityMergeReader.HIGH_PRIORITY);
+    return priorityReader;
   }
 
 }
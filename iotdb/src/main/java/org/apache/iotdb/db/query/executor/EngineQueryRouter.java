@@ -21,17 +21,27 @@ package org.apache.iotdb.db.query.executor;
 import static org.apache.iotdb.tsfile.read.expression.ExpressionType.GLOBAL_TIME;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 import org.apache.iotdb.db.exception.FileNodeManagerException;
 import org.apache.iotdb.db.exception.PathErrorException;
+import org.apache.iotdb.db.exception.ProcessorException;
 import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.control.OpenedFilePathsManager;
 import org.apache.iotdb.db.query.control.QueryTokenManager;
+import org.apache.iotdb.db.query.dataset.EngineDataSetWithLimit;
 import org.apache.iotdb.tsfile.exception.filter.QueryFilterOptimizationException;
+import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.expression.IExpression;
 import org.apache.iotdb.tsfile.read.expression.QueryExpression;
+import org.apache.iotdb.tsfile.read.expression.impl.BinaryExpression;
+import org.apache.iotdb.tsfile.read.expression.impl.GlobalTimeExpression;
 import org.apache.iotdb.tsfile.read.expression.util.ExpressionOptimizer;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
 import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.utils.Pair;
 
 /**
  * Query entrance class of IoTDB query process. All query clause will be transformed to physical
@@ -51,6 +61,22 @@ public class EngineQueryRouter {
    */
   public QueryDataSet query(QueryExpression queryExpression)
       throws FileNodeManagerException {
+    return query(queryExpression, 0, 0, true);
+  }
+
+  /**
+   * execute physical plan with the LIMIT and OFFSET clauses and the order of time. Without a value
+   * filter, the offset is pushed down to the readers of a single selected series. The rows can be
+   * returned in descending order of time only without a value filter, plans of descending queries
+   * with value filters are rejected by the PhysicalGenerator.
+   *
+   * @param rowLimit the maximum number of rows to return, no limit if it is <= 0
+   * @param rowOffset the number of leading rows to discard
+   * @param ascending whether the rows are returned in ascending order of time
+   */
+  public QueryDataSet query(QueryExpression queryExpression, long rowLimit, long rowOffset,
+      boolean ascending)
+      throws FileNodeManagerException {
 
     long nextJobId = getNextJobId();
     QueryTokenManager.getInstance().setJobIdForCurrentRequestThread(nextJobId);
@@ -67,14 +93,13 @@ public class EngineQueryRouter {
         if (optimizedExpression.getType() == GLOBAL_TIME) {
           EngineExecutorWithoutTimeGenerator engineExecutor =
               new EngineExecutorWithoutTimeGenerator(
-
-                  nextJobId, queryExpression);
+                  nextJobId, queryExpression, rowLimit, rowOffset, ascending);
           return engineExecutor.executeWithGlobalTimeFilter(context);
         } else {
           EngineExecutorWithTimeGenerator engineExecutor = new EngineExecutorWithTimeGenerator(
               nextJobId,
               queryExpression);
-          return engineExecutor.execute(context);
+          return withLimit(engineExecutor.execute(context), rowLimit, rowOffset);
         }
 
       } catch (QueryFilterOptimizationException e) {
@@ -83,11 +108,119 @@ public class EngineQueryRouter {
     } else {
       EngineExecutorWithoutTimeGenerator engineExecutor = new EngineExecutorWithoutTimeGenerator(
           nextJobId,
-          queryExpression);
+          queryExpression, rowLimit, rowOffset, ascending);
       return engineExecutor.executeWithoutFilter(context);
     }
   }
 
+  /**
+   * apply the LIMIT and OFFSET clauses to the rows of a data set.
+   *
+   * @param rowLimit the maximum number of rows to return, no limit if it is <= 0
+   * @param rowOffset the number of leading rows to discard
+   */
+  public static QueryDataSet withLimit(QueryDataSet dataSet, long rowLimit, long rowOffset) {
+    if (rowLimit <= 0 && rowOffset <= 0) {
+      return dataSet;
+    }
+    return new EngineDataSetWithLimit(dataSet, rowLimit, rowOffset);
+  }
+
+  /**
+   * execute aggregation query.
+   *
+   * @param selectedSeries aggregated paths
+   * @param aggres aggregation names, one for each path
+   * @param expression filter expression, null if there is no filter
+   */
+  public QueryDataSet aggregate(List<Path> selectedSeries, List<String> aggres,
+      IExpression expression)
+      throws FileNodeManagerException, IOException, PathErrorException, ProcessorException {
+
+    long nextJobId = getNextJobId();
+    QueryTokenManager.getInstance().setJobIdForCurrentRequestThread(nextJobId);
+    OpenedFilePathsManager.getInstance().setJobIdForCurrentRequestThread(nextJobId);
+
+    QueryContext context = new QueryContext();
+
+    if (expression != null) {
+      IExpression optimizedExpression;
+      try {
+        optimizedExpression = ExpressionOptimizer.getInstance()
+            .optimize(expression, selectedSeries);
+      } catch (QueryFilterOptimizationException e) {
+        throw new FileNodeManagerException(e);
+      }
+      AggregateEngineExecutor engineExecutor = new AggregateEngineExecutor(nextJobId,
+          selectedSeries, aggres, optimizedExpression);
+      if (optimizedExpression.getType() == GLOBAL_TIME) {
+        return engineExecutor.executeWithoutValueFilter(context);
+      } else {
+        return engineExecutor.executeWithValueFilter(context);
+      }
+    } else {
+      AggregateEngineExecutor engineExecutor = new AggregateEngineExecutor(nextJobId,
+          selectedSeries, aggres, null);
+      return engineExecutor.executeWithoutValueFilter(context);
+    }
+  }
+
+  /**
+   * execute group by query.
+   *
+   * @param selectedSeries aggregated paths
+   * @param aggres aggregation names, one for each path
+   * @param expression filter expression, null if there is no filter
+   * @param unit length of a time window
+   * @param origin start point of the time windows
+   * @param intervals closed time intervals to show
+   */
+  public QueryDataSet groupBy(List<Path> selectedSeries, List<String> aggres,
+      IExpression expression, long unit, long origin, List<Pair<Long, Long>> intervals)
+      throws FileNodeManagerException, IOException, PathErrorException, ProcessorException {
+
+    if (unit <= 0) {
+      throw new ProcessorException(
+          String.format("Interval of group by should be positive, but was %d", unit));
+    }
+    if (intervals.isEmpty()) {
+      throw new ProcessorException("No time interval is given for group by");
+    }
+
+    long nextJobId = getNextJobId();
+    QueryTokenManager.getInstance().setJobIdForCurrentRequestThread(nextJobId);
+    OpenedFilePathsManager.getInstance().setJobIdForCurrentRequestThread(nextJobId);
+
+    QueryContext context = new QueryContext();
+
+    // only the data in the intervals is needed
+    Filter intervalFilter = null;
+    for (Pair<Long, Long> interval : intervals) {
+      Filter filter = FilterFactory
+          .and(TimeFilter.gtEq(interval.left), TimeFilter.ltEq(interval.right));
+      intervalFilter = intervalFilter == null ? filter : FilterFactory.or(intervalFilter, filter);
+    }
+    IExpression groupByExpression = new GlobalTimeExpression(intervalFilter);
+    if (expression != null) {
+      groupByExpression = BinaryExpression.and(expression, groupByExpression);
+    }
+
+    IExpression optimizedExpression;
+    try {
+      optimizedExpression = ExpressionOptimizer.getInstance()
+          .optimize(groupByExpression, selectedSeries);
+    } catch (QueryFilterOptimizationException e) {
+      throw new FileNodeManagerException(e);
+    }
+    GroupByEngineExecutor engineExecutor = new GroupByEngineExecutor(nextJobId, selectedSeries,
+        aggres, optimizedExpression, unit, origin, intervals);
+    if (optimizedExpression.getType() == GLOBAL_TIME) {
+      return engineExecutor.executeWithoutValueFilter(context);
+    } else {
+      return engineExecutor.executeWithValueFilter(context);
+    }
+  }
+
   private synchronized long getNextJobId() {
     return jobIdGenerator.incrementAndGet();
   }
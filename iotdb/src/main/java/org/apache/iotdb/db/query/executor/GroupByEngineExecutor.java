@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.executor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.exception.FileNodeManagerException;
+import org.apache.iotdb.db.exception.PathErrorException;
+import org.apache.iotdb.db.exception.ProcessorException;
+import org.apache.iotdb.db.metadata.MManager;
+import org.apache.iotdb.db.query.aggregation.AggreFuncFactory;
+import org.apache.iotdb.db.query.aggregation.AggregateFunction;
+import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.control.QueryDataSourceManager;
+import org.apache.iotdb.db.query.control.QueryTokenManager;
+import org.apache.iotdb.db.query.dataset.groupby.GroupBySeriesReader;
+import org.apache.iotdb.db.query.dataset.groupby.GroupByWithValueFilterDataSet;
+import org.apache.iotdb.db.query.dataset.groupby.GroupByWithoutValueFilterDataSet;
+import org.apache.iotdb.db.query.factory.SeriesReaderFactory;
+import org.apache.iotdb.db.query.reader.merge.EngineReaderByTimeStamp;
+import org.apache.iotdb.db.query.reader.merge.PriorityMergeReader;
+import org.apache.iotdb.db.query.timegenerator.EngineTimeGenerator;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.expression.IExpression;
+import org.apache.iotdb.tsfile.read.expression.impl.GlobalTimeExpression;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.utils.Pair;
+
+/**
+ * IoTDB group by executor. The returned data set calculates the windows lazily, so that the rows
+ * are produced batch by batch as the client fetches them.
+ */
+public class GroupByEngineExecutor {
+
+  private long jobId;
+  private List<Path> selectedSeries;
+  private List<String> aggres;
+  private IExpression expression;
+  private long unit;
+  private long origin;
+  private List<Pair<Long, Long>> intervals;
+
+  /**
+   * constructor of GroupByEngineExecutor.
+   *
+   * @param jobId id of the query job
+   * @param selectedSeries aggregated paths
+   * @param aggres aggregation names, one for each path
+   * @param expression filter expression which contains the time intervals
+   * @param unit length of a time window
+   * @param origin start point of the time windows
+   * @param intervals closed time intervals to show
+   */
+  GroupByEngineExecutor(long jobId, List<Path> selectedSeries, List<String> aggres,
+      IExpression expression, long unit, long origin, List<Pair<Long, Long>> intervals) {
+    this.jobId = jobId;
+    this.selectedSeries = selectedSeries;
+    this.aggres = aggres;
+    this.expression = expression;
+    this.unit = unit;
+    this.origin = origin;
+    this.intervals = intervals;
+  }
+
+  /**
+   * execute group by with global time filter.
+   */
+  public QueryDataSet executeWithoutValueFilter(QueryContext context)
+      throws FileNodeManagerException, IOException, PathErrorException, ProcessorException {
+
+    Filter timeFilter = ((GlobalTimeExpression) expression).getFilter();
+
+    QueryTokenManager.getInstance().beginQueryOfGivenQueryPaths(jobId, selectedSeries);
+
+    List<TSDataType> dataTypes = new ArrayList<>();
+    List<GroupBySeriesReader> seriesReaders = new ArrayList<>();
+    for (int i = 0; i < selectedSeries.size(); i++) {
+      AggregateFunction function = createFunction(i);
+      dataTypes.add(function.getResultDataType());
+
+      QueryDataSource queryDataSource = QueryDataSourceManager
+          .getQueryDataSource(jobId, selectedSeries.get(i), context);
+
+      // unseq reader for all chunk groups in unSeqFile and memtable of overflow
+      PriorityMergeReader unSeqMergeReader = SeriesReaderFactory.getInstance()
+          .createUnSeqMergeReader(queryDataSource.getOverflowSeriesDataSource(), timeFilter);
+
+      seriesReaders.add(new GroupBySeriesReader(function, queryDataSource.getSeqDataSource(),
+          unSeqMergeReader, timeFilter, context));
+    }
+    return new GroupByWithoutValueFilterDataSet(selectedSeries, dataTypes, unit, origin,
+        intervals, seriesReaders);
+  }
+
+  /**
+   * execute group by with value filter.
+   */
+  public QueryDataSet executeWithValueFilter(QueryContext context)
+      throws FileNodeManagerException, IOException, PathErrorException, ProcessorException {
+
+    QueryTokenManager.getInstance().beginQueryOfGivenQueryPaths(jobId, selectedSeries);
+    QueryTokenManager.getInstance().beginQueryOfGivenExpression(jobId, expression);
+
+    EngineTimeGenerator timestampGenerator = new EngineTimeGenerator(jobId, expression, context);
+    List<EngineReaderByTimeStamp> readersOfSelectedSeries = EngineExecutorWithTimeGenerator
+        .getReadersOfSelectedPaths(jobId, selectedSeries, context);
+
+    List<TSDataType> dataTypes = new ArrayList<>();
+    List<AggregateFunction> functions = new ArrayList<>();
+    for (int i = 0; i < selectedSeries.size(); i++) {
+      AggregateFunction function = createFunction(i);
+      dataTypes.add(function.getResultDataType());
+      functions.add(function);
+    }
+    return new GroupByWithValueFilterDataSet(selectedSeries, dataTypes, unit, origin, intervals,
+        functions, timestampGenerator, readersOfSelectedSeries);
+  }
+
+  private AggregateFunction createFunction(int index)
+      throws PathErrorException, ProcessorException {
+    TSDataType dataType = MManager.getInstance()
+        .getSeriesType(selectedSeries.get(index).getFullPath());
+    AggregateFunction function = AggreFuncFactory.getAggrFuncByName(aggres.get(index), dataType);
+    function.init();
+    return function;
+  }
+}
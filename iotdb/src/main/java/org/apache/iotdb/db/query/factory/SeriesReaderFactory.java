@@ -21,6 +21,7 @@ package org.apache.iotdb.db.query.factory;
 
 import java.io.IOException;
 import java.util.List;
+import org.apache.iotdb.db.engine.cache.ChunkMetaDataCache;
 import org.apache.iotdb.db.engine.filenode.IntervalFileNode;
 import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.querycontext.OverflowInsertFile;
@@ -30,17 +31,17 @@ import org.apache.iotdb.db.query.control.FileReaderManager;
 import org.apache.iotdb.db.query.reader.IReader;
 import org.apache.iotdb.db.query.reader.mem.MemChunkReaderWithFilter;
 import org.apache.iotdb.db.query.reader.mem.MemChunkReaderWithoutFilter;
+import org.apache.iotdb.db.query.reader.mem.MemChunkReverseReader;
 import org.apache.iotdb.db.query.reader.merge.PriorityMergeReader;
 import org.apache.iotdb.db.query.reader.sequence.SealedTsFilesReader;
 import org.apache.iotdb.db.query.reader.unsequence.EngineChunkReader;
+import org.apache.iotdb.db.query.reader.unsequence.EngineChunkReverseReader;
 import org.apache.iotdb.db.utils.QueryUtils;
 import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.Chunk;
 import org.apache.iotdb.tsfile.read.controller.ChunkLoaderImpl;
-import org.apache.iotdb.tsfile.read.controller.MetadataQuerier;
-import org.apache.iotdb.tsfile.read.controller.MetadataQuerierByFileImpl;
 import org.apache.iotdb.tsfile.read.expression.impl.SingleSeriesExpression;
 import org.apache.iotdb.tsfile.read.filter.DigestForFilter;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
@@ -71,8 +72,18 @@ public class SeriesReaderFactory {
   public PriorityMergeReader createUnSeqMergeReader(
       OverflowSeriesDataSource overflowSeriesDataSource, Filter filter)
       throws IOException {
+    return createUnSeqMergeReader(overflowSeriesDataSource, filter, true);
+  }
 
-    PriorityMergeReader unSeqMergeReader = new PriorityMergeReader();
+  /**
+   * create unseq file reader which returns the points in the given order of time. The priorities of
+   * the chunks are the same in both orders, i.e., a later chunk overwrites an earlier one.
+   */
+  public PriorityMergeReader createUnSeqMergeReader(
+      OverflowSeriesDataSource overflowSeriesDataSource, Filter filter, boolean ascending)
+      throws IOException {
+
+    PriorityMergeReader unSeqMergeReader = new PriorityMergeReader(ascending);
 
     int priorityValue = 1;
 
@@ -101,16 +112,21 @@ public class SeriesReaderFactory {
         ChunkReader chunkReader = filter != null ? new ChunkReaderWithFilter(chunk, filter)
             : new ChunkReaderWithoutFilter(chunk);
 
-        unSeqMergeReader
-            .addReaderWithPriority(new EngineChunkReader(chunkReader, unClosedTsFileReader),
-                priorityValue);
+        IReader engineChunkReader = ascending
+            ? new EngineChunkReader(chunkReader)
+            : new EngineChunkReverseReader(chunkReader);
+        unSeqMergeReader.addReaderWithPriority(engineChunkReader, priorityValue);
         priorityValue++;
       }
     }
 
     // add reader for MemTable
     if (overflowSeriesDataSource.hasRawChunk()) {
-      if (filter != null) {
+      if (!ascending) {
+        unSeqMergeReader.addReaderWithPriority(
+            new MemChunkReverseReader(overflowSeriesDataSource.getReadableMemChunk(), filter),
+            priorityValue);
+      } else if (filter != null) {
         unSeqMergeReader.addReaderWithPriority(
             new MemChunkReaderWithFilter(overflowSeriesDataSource.getReadableMemChunk(), filter),
             priorityValue);
@@ -162,10 +178,19 @@ public class SeriesReaderFactory {
       throws IOException {
     TsFileSequenceReader tsFileSequenceReader = FileReaderManager.getInstance()
         .get(fileNode.getFilePath(), true);
-    ChunkLoaderImpl chunkLoader = new ChunkLoaderImpl(tsFileSequenceReader);
-    MetadataQuerier metadataQuerier = new MetadataQuerierByFileImpl(tsFileSequenceReader);
-    List<ChunkMetaData> metaDataList = metadataQuerier
-        .getChunkMetaDataList(singleSeriesExpression.getSeriesPath());
+    ChunkLoaderImpl chunkLoader = new ChunkLoaderImpl(tsFileSequenceReader) {
+      /**
+       * the reader is shared by the series of the merge and the queries, it is closed by
+       * {@link FileReaderManager} once nothing refers to it.
+       */
+      @Override
+      public void close() {
+        // do not close the shared reader
+      }
+    };
+    List<ChunkMetaData> metaDataList = ChunkMetaDataCache.getInstance()
+        .get(fileNode.getFilePath(), singleSeriesExpression.getSeriesPath(),
+            tsFileSequenceReader);
 
     List<Modification> modifications = context.getPathModifications(fileNode.getModFile(),
         singleSeriesExpression.getSeriesPath().getFullPath());
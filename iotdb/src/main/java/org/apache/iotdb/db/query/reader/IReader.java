@@ -38,7 +38,7 @@ public interface IReader {
 
   boolean hasNextBatch();
 
-  BatchData nextBatch();
+  BatchData nextBatch() throws IOException;
 
   BatchData currentBatch();
 }
@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.reader;
+
+import java.io.IOException;
+import org.apache.iotdb.db.utils.TimeValuePair;
+import org.apache.iotdb.db.utils.TimeValuePairUtils;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+
+/**
+ * Reader of points in descending order of time. The batches are fetched from the newest one by
+ * {@link #previousBatch()}, and the points of a batch, which are in ascending order, are returned
+ * from the last one.
+ */
+public abstract class ReverseBatchReader implements IReader {
+
+  private BatchData data;
+  /**
+   * index of the next point to return in data, -1 if data is consumed.
+   */
+  private int index = -1;
+
+  /**
+   * get the batch before the batches fetched so far.
+   *
+   * @return the previous batch, null if there is no more data
+   */
+  protected abstract BatchData previousBatch() throws IOException;
+
+  @Override
+  public boolean hasNext() throws IOException {
+    while (index < 0) {
+      data = previousBatch();
+      if (data == null) {
+        return false;
+      }
+      index = data.length() - 1;
+    }
+    return true;
+  }
+
+  @Override
+  public TimeValuePair next() {
+    return TimeValuePairUtils.getTimeValuePair(data, index--);
+  }
+
+  @Override
+  public void skipCurrentTimeValuePair() {
+    index--;
+  }
+
+  @Override
+  public boolean hasNextBatch() {
+    return false;
+  }
+
+  @Override
+  public BatchData nextBatch() {
+    return null;
+  }
+
+  @Override
+  public BatchData currentBatch() {
+    return null;
+  }
+}
@@ -24,6 +24,9 @@ import java.util.List;
 import java.util.PriorityQueue;
 import org.apache.iotdb.db.query.reader.IReader;
 import org.apache.iotdb.db.utils.TimeValuePair;
+import org.apache.iotdb.db.utils.TsPrimitiveType;
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 
 /**
@@ -32,48 +35,109 @@ import org.apache.iotdb.tsfile.read.common.BatchData;
  * (1) merge multiple chunk group readers in the unsequence file
  * (2）merge sequence reader, unsequence reader and mem reader
  * </p>
+ * The smallest element is kept out of the heap, so that a run of points which comes from a single
+ * reader is consumed without any heap operation. The heap is touched only when the readers
+ * interleave or share timestamps.
  */
 public class PriorityMergeReader implements IReader {
 
   public static final int LOW_PRIORITY = 1;
   public static final int HIGH_PRIORITY = 2;
 
+  /**
+   * max number of points in a batch returned by nextBatch().
+   */
+  private static final int BATCH_SIZE = 1024;
+
+  /**
+   * whether the points are merged in ascending order of time, the readers must return their
+   * points in the same order.
+   */
+  private boolean ascending;
+
   private List<IReader> readerList = new ArrayList<>();
-  private List<Integer> priorityList = new ArrayList<>();
   private PriorityQueue<Element> heap = new PriorityQueue<>();
 
+  /**
+   * the smallest element, which is not in the heap. Null if all the readers are consumed.
+   */
+  private Element top;
+  private BatchData batchData;
+
+  public PriorityMergeReader() {
+    this(true);
+  }
+
+  public PriorityMergeReader(boolean ascending) {
+    this.ascending = ascending;
+  }
+
   /**
    * The bigger the priority value is, the higher the priority of this reader is
    */
   public void addReaderWithPriority(IReader reader, int priority) throws IOException {
     if (reader.hasNext()) {
-      heap.add(new Element(readerList.size(), reader.next(), priority));
+      Element element = new Element(readerList.size(), reader.next(), priority);
+      if (top == null) {
+        top = element;
+      } else if (element.compareTo(top) < 0) {
+        heap.add(top);
+        top = element;
+      } else {
+        heap.add(element);
+      }
     }
     readerList.add(reader);
-    priorityList.add(priority);
   }
 
   @Override
   public boolean hasNext() {
-    return !heap.isEmpty();
+    return top != null;
   }
 
   @Override
   public TimeValuePair next() throws IOException {
-    Element top = heap.peek();
-    updateHeap(top);
-    return top.timeValuePair;
-  }
+    TimeValuePair ret = top.timeValuePair;
+    long time = top.time;
 
-  private void updateHeap(Element top) throws IOException {
-    while (!heap.isEmpty() && heap.peek().timeValuePair.getTimestamp() == top.timeValuePair
-        .getTimestamp()) {
+    // the points of lower priority with the same timestamp are overwritten
+    while (!heap.isEmpty() && heap.peek().time == time) {
       Element e = heap.poll();
-      IReader reader = readerList.get(e.index);
-      if (reader.hasNext()) {
-        heap.add(new Element(e.index, reader.next(), priorityList.get(e.index)));
+      if (advance(e)) {
+        heap.add(e);
       }
     }
+
+    if (!advance(top)) {
+      top = heap.poll();
+    } else if (!heap.isEmpty() && top.compareTo(heap.peek()) > 0) {
+      Element e = heap.poll();
+      heap.add(top);
+      top = e;
+    }
+    return ret;
+  }
+
+  /**
+   * move the element to the next point of its reader, the element object is reused.
+   *
+   * @return false if the reader is consumed
+   */
+  private boolean advance(Element element) throws IOException {
+    IReader reader = readerList.get(element.index);
+    if (!reader.hasNext()) {
+      return false;
+    }
+    element.setTimeValuePair(reader.next());
+    return true;
+  }
+
+  /**
+   * get the next time value pair without consuming it. Notice that, hasNext() must be checked
+   * before calling this method.
+   */
+  public TimeValuePair current() {
+    return top.timeValuePair;
   }
 
   @Override
@@ -92,52 +156,134 @@ public class PriorityMergeReader implements IReader {
 
   @Override
   public boolean hasNextBatch() {
-    // TODO
-    return false;
+    return hasNext();
   }
 
+  /**
+   * get at most BATCH_SIZE merged points. While only one reader covers the time range, its points
+   * are copied into the batch directly. The returned batch is reused by the next call, so it must be
+   * consumed before calling nextBatch() again.
+   */
   @Override
-  public BatchData nextBatch() {
-    return null;
+  public BatchData nextBatch() throws IOException {
+    TSDataType dataType = top.timeValuePair.getValue().getDataType();
+    if (batchData != null && batchData.getDataType() == dataType) {
+      // the previous batch has been consumed, reuse its arrays
+      batchData.clear();
+    } else {
+      batchData = new BatchData(dataType, true, BATCH_SIZE);
+    }
+    while (top != null && batchData.length() < BATCH_SIZE) {
+      if (heap.isEmpty() || before(top.time, heap.peek().time)) {
+        // a run of the top reader, which ends before the next point of the other readers
+        boolean bounded = !heap.isEmpty();
+        long bound = bounded ? heap.peek().time : 0;
+        IReader reader = readerList.get(top.index);
+        putTimeValuePair(top.timeValuePair);
+        TimeValuePair pending = null;
+        while (batchData.length() < BATCH_SIZE && reader.hasNext()) {
+          TimeValuePair timeValuePair = reader.next();
+          if (bounded && !before(timeValuePair.getTimestamp(), bound)) {
+            pending = timeValuePair;
+            break;
+          }
+          putTimeValuePair(timeValuePair);
+        }
+
+        if (pending != null) {
+          top.setTimeValuePair(pending);
+        } else if (!advance(top)) {
+          top = heap.poll();
+          continue;
+        }
+        if (!heap.isEmpty() && top.compareTo(heap.peek()) > 0) {
+          Element e = heap.poll();
+          heap.add(top);
+          top = e;
+        }
+      } else {
+        putTimeValuePair(next());
+      }
+    }
+    return batchData;
   }
 
   @Override
   public BatchData currentBatch() {
-    return null;
+    return batchData;
+  }
+
+  /**
+   * check whether a point of time1 is returned before a point of time2.
+   */
+  private boolean before(long time1, long time2) {
+    return ascending ? time1 < time2 : time1 > time2;
+  }
+
+  private void putTimeValuePair(TimeValuePair timeValuePair) {
+    batchData.putTime(timeValuePair.getTimestamp());
+    TsPrimitiveType value = timeValuePair.getValue();
+    switch (batchData.getDataType()) {
+      case BOOLEAN:
+        batchData.putBoolean(value.getBoolean());
+        break;
+      case INT32:
+        batchData.putInt(value.getInt());
+        break;
+      case INT64:
+        batchData.putLong(value.getLong());
+        break;
+      case FLOAT:
+        batchData.putFloat(value.getFloat());
+        break;
+      case DOUBLE:
+        batchData.putDouble(value.getDouble());
+        break;
+      case TEXT:
+        batchData.putBinary(value.getBinary());
+        break;
+      default:
+        throw new UnSupportedDataTypeException(String.valueOf(batchData.getDataType()));
+    }
   }
 
   protected class Element implements Comparable<Element> {
 
     int index;
+    long time;
     TimeValuePair timeValuePair;
-    Integer priority;
+    int priority;
 
     public Element(int index, TimeValuePair timeValuePair, int priority) {
       this.index = index;
-      this.timeValuePair = timeValuePair;
       this.priority = priority;
+      setTimeValuePair(timeValuePair);
+    }
+
+    void setTimeValuePair(TimeValuePair timeValuePair) {
+      this.timeValuePair = timeValuePair;
+      this.time = timeValuePair.getTimestamp();
     }
 
     @Override
     public int compareTo(Element o) {
 
-      if (this.timeValuePair.getTimestamp() > o.timeValuePair.getTimestamp()) {
+      if (before(o.time, this.time)) {
         return 1;
       }
 
-      if (this.timeValuePair.getTimestamp() < o.timeValuePair.getTimestamp()) {
+      if (before(this.time, o.time)) {
         return -1;
       }
 
-      return o.priority.compareTo(this.priority);
+      return Integer.compare(o.priority, this.priority);
     }
 
     @Override
     public boolean equals(Object o){
       if (o instanceof Element){
         Element element = (Element) o;
-        if (this.timeValuePair.getTimestamp() == element.timeValuePair.getTimestamp()
-        && this.priority.equals(element.priority)){
+        if (this.time == element.time && this.priority == element.priority){
           return true;
         }
       }
@@ -146,7 +292,7 @@ public class PriorityMergeReader implements IReader {
 
     @Override
     public int hashCode(){
-      return (int) (timeValuePair.getTimestamp() * 31 + priority.hashCode());
+      return (int) (time * 31 + priority);
     }
   }
 }
@@ -22,6 +22,8 @@ package org.apache.iotdb.db.query.reader.sequence;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import org.apache.iotdb.db.engine.cache.CachedChunkLoader;
+import org.apache.iotdb.db.engine.cache.ChunkMetaDataCache;
 import org.apache.iotdb.db.engine.filenode.IntervalFileNode;
 import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.query.context.QueryContext;
@@ -35,8 +37,6 @@ import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.controller.ChunkLoader;
-import org.apache.iotdb.tsfile.read.controller.ChunkLoaderImpl;
-import org.apache.iotdb.tsfile.read.controller.MetadataQuerierByFileImpl;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.reader.series.FileSeriesReader;
 import org.apache.iotdb.tsfile.read.reader.series.FileSeriesReaderWithFilter;
@@ -155,7 +155,35 @@ public class SealedTsFilesReader implements IReader {
     }
   }
 
+  /**
+   * skip the leading points of the sealed tsfiles by the number of points in their metadata, see
+   * {@link FileSeriesReader#skipPoints(long)}. Must be called before the first point is read.
+   *
+   * @return the number of skipped points, which may be less than pointsToSkip
+   */
+  public long skipPoints(long pointsToSkip) throws IOException {
+    long skipped = 0;
+    while (skipped < pointsToSkip && usedIntervalFileIndex < sealedTsFiles.size()) {
+      IntervalFileNode fileNode = sealedTsFiles.get(usedIntervalFileIndex++);
+      if (!singleTsFileSatisfied(fileNode)) {
+        continue;
+      }
+      initSingleTsFileReader(fileNode, context);
+      skipped += seriesReader.skipPoints(pointsToSkip - skipped);
+      if (seriesReader.hasNextBatch()) {
+        // the rest points of this file can not be counted without reading them
+        break;
+      }
+    }
+    return skipped;
+  }
+
   private boolean singleTsFileSatisfied(IntervalFileNode fileNode) {
+    return singleTsFileSatisfied(seriesPath, fileNode, filter);
+  }
+
+  static boolean singleTsFileSatisfied(Path seriesPath, IntervalFileNode fileNode,
+      Filter filter) {
 
     if (filter == null) {
       return true;
@@ -168,13 +196,21 @@ public class SealedTsFilesReader implements IReader {
 
   private void initSingleTsFileReader(IntervalFileNode fileNode, QueryContext context)
       throws IOException {
+    seriesReader = createSingleTsFileReader(seriesPath, fileNode, filter, context);
+  }
+
+  /**
+   * create the reader of a series in a sealed tsfile, the deletions of the series are applied.
+   */
+  static FileSeriesReader createSingleTsFileReader(Path seriesPath, IntervalFileNode fileNode,
+      Filter filter, QueryContext context) throws IOException {
 
     // to avoid too many opened files
     TsFileSequenceReader tsFileReader = FileReaderManager.getInstance()
         .get(fileNode.getFilePath(), true);
 
-    MetadataQuerierByFileImpl metadataQuerier = new MetadataQuerierByFileImpl(tsFileReader);
-    List<ChunkMetaData> metaDataList = metadataQuerier.getChunkMetaDataList(seriesPath);
+    List<ChunkMetaData> metaDataList = ChunkMetaDataCache.getInstance()
+        .get(fileNode.getFilePath(), seriesPath, tsFileReader);
 
     List<Modification> pathModifications = context.getPathModifications(fileNode.getModFile(),
         seriesPath.getFullPath());
@@ -182,12 +218,12 @@ public class SealedTsFilesReader implements IReader {
       QueryUtils.modifyChunkMetaData(metaDataList, pathModifications);
     }
 
-    ChunkLoader chunkLoader = new ChunkLoaderImpl(tsFileReader);
+    ChunkLoader chunkLoader = new CachedChunkLoader(tsFileReader, fileNode.getFilePath());
 
     if (filter == null) {
-      seriesReader = new FileSeriesReaderWithoutFilter(chunkLoader, metaDataList);
+      return new FileSeriesReaderWithoutFilter(chunkLoader, metaDataList);
     } else {
-      seriesReader = new FileSeriesReaderWithFilter(chunkLoader, metaDataList, filter);
+      return new FileSeriesReaderWithFilter(chunkLoader, metaDataList, filter);
     }
   }
 
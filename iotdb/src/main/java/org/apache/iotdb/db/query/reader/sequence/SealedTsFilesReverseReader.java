@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.reader.sequence;
+
+import java.io.IOException;
+import java.util.List;
+import org.apache.iotdb.db.engine.filenode.IntervalFileNode;
+import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.reader.ReverseBatchReader;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.reader.series.FileSeriesReader;
+
+/**
+ * Read a series in the sealed tsfiles in descending order of time, i.e., from the last file, and
+ * the chunks and pages of a file from the last. A file is opened only when it is reached.
+ */
+public class SealedTsFilesReverseReader extends ReverseBatchReader {
+
+  private Path seriesPath;
+  private List<IntervalFileNode> sealedTsFiles;
+  /**
+   * the number of files not read yet, which are the first ones.
+   */
+  private int filesToRead;
+  private FileSeriesReader seriesReader;
+  private Filter filter;
+  private QueryContext context;
+
+  /**
+   * init with seriesPath, sealedTsFiles in ascending order of time and filter.
+   */
+  public SealedTsFilesReverseReader(Path seriesPath, List<IntervalFileNode> sealedTsFiles,
+      Filter filter, QueryContext context) {
+    this.seriesPath = seriesPath;
+    this.sealedTsFiles = sealedTsFiles;
+    this.filesToRead = sealedTsFiles.size();
+    this.filter = filter;
+    this.context = context;
+  }
+
+  @Override
+  protected BatchData previousBatch() throws IOException {
+    while (seriesReader == null || !seriesReader.hasPreviousBatch()) {
+      if (seriesReader != null) {
+        // the file is exhausted, release it before opening the previous one
+        seriesReader.close();
+        seriesReader = null;
+      }
+      if (filesToRead == 0) {
+        return null;
+      }
+      IntervalFileNode fileNode = sealedTsFiles.get(--filesToRead);
+      if (SealedTsFilesReader.singleTsFileSatisfied(seriesPath, fileNode, filter)) {
+        seriesReader = SealedTsFilesReader
+            .createSingleTsFileReader(seriesPath, fileNode, filter, context);
+      }
+    }
+    return seriesReader.previousBatch();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (seriesReader != null) {
+      seriesReader.close();
+    }
+  }
+}
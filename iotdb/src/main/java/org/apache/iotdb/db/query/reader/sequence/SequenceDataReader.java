@@ -26,6 +26,7 @@ import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.reader.IReader;
 import org.apache.iotdb.db.query.reader.mem.MemChunkReaderWithFilter;
 import org.apache.iotdb.db.query.reader.mem.MemChunkReaderWithoutFilter;
+import org.apache.iotdb.db.query.reader.mem.MemChunkReverseReader;
 import org.apache.iotdb.db.utils.TimeValuePair;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
@@ -39,6 +40,7 @@ import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 public class SequenceDataReader implements IReader {
 
   private List<IReader> seriesReaders;
+  private SealedTsFilesReader sealedTsFilesReader;
   private boolean curReaderInitialized;
   private int nextSeriesReaderIndex;
   private IReader currentSeriesReader;
@@ -49,16 +51,30 @@ public class SequenceDataReader implements IReader {
   public SequenceDataReader(GlobalSortedSeriesDataSource sources, Filter filter,
       QueryContext context)
       throws IOException {
+    this(sources, filter, context, true);
+  }
+
+  /**
+   * init with globalSortedSeriesDataSource, filter and the order of time to read the points in.
+   */
+  public SequenceDataReader(GlobalSortedSeriesDataSource sources, Filter filter,
+      QueryContext context, boolean ascending)
+      throws IOException {
     seriesReaders = new ArrayList<>();
 
     curReaderInitialized = false;
     nextSeriesReaderIndex = 0;
 
+    if (!ascending) {
+      initReverseReaders(sources, filter, context);
+      return;
+    }
+
     // add reader for sealed TsFiles
     if (sources.hasSealedTsFiles()) {
-      seriesReaders.add(
-          new SealedTsFilesReader(sources.getSeriesPath(), sources.getSealedTsFiles(), filter,
-              context));
+      sealedTsFilesReader = new SealedTsFilesReader(sources.getSeriesPath(),
+          sources.getSealedTsFiles(), filter, context);
+      seriesReaders.add(sealedTsFilesReader);
     }
 
     // add reader for unSealed TsFile
@@ -77,6 +93,38 @@ public class SequenceDataReader implements IReader {
 
   }
 
+  /**
+   * the newest data is read first, i.e., the data in memTable, in the unsealed TsFile and then in
+   * the sealed TsFiles.
+   */
+  private void initReverseReaders(GlobalSortedSeriesDataSource sources, Filter filter,
+      QueryContext context) throws IOException {
+    if (sources.hasRawSeriesChunk()) {
+      seriesReaders.add(new MemChunkReverseReader(sources.getReadableChunk(), filter));
+    }
+    if (sources.hasUnsealedTsFile()) {
+      seriesReaders.add(new UnSealedTsFileReverseReader(sources.getUnsealedTsFile(), filter));
+    }
+    if (sources.hasSealedTsFiles()) {
+      seriesReaders.add(new SealedTsFilesReverseReader(sources.getSeriesPath(),
+          sources.getSealedTsFiles(), filter, context));
+    }
+  }
+
+  /**
+   * skip the leading points without reading them if they are in sealed tsfiles, see
+   * {@link SealedTsFilesReader#skipPoints(long)}. Must be called before the first point is read,
+   * and nothing is skipped in descending order.
+   *
+   * @return the number of skipped points, which may be less than pointsToSkip
+   */
+  public long skipPoints(long pointsToSkip) throws IOException {
+    if (sealedTsFilesReader == null) {
+      return 0;
+    }
+    return sealedTsFilesReader.skipPoints(pointsToSkip);
+  }
+
   @Override
   public boolean hasNext() throws IOException {
     if (curReaderInitialized && currentSeriesReader.hasNext()) {
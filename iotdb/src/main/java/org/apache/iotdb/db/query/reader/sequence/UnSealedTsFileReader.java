@@ -47,21 +47,33 @@ public class UnSealedTsFileReader implements IReader {
    * @param filter -filter
    */
   public UnSealedTsFileReader(UnsealedTsFile unsealedTsFile, Filter filter) throws IOException {
+    unSealedReader = createFileSeriesReader(unsealedTsFile, filter);
+  }
 
+  /**
+   * create the reader of a series in an unsealed tsfile. Closing it does not close the reader of
+   * the file, which is shared by the queries and closed by {@link FileReaderManager}.
+   */
+  static FileSeriesReader createFileSeriesReader(UnsealedTsFile unsealedTsFile, Filter filter)
+      throws IOException {
     TsFileSequenceReader unClosedTsFileReader = FileReaderManager.getInstance()
         .get(unsealedTsFile.getFilePath(),
             false);
-    ChunkLoader chunkLoader = new ChunkLoaderImpl(unClosedTsFileReader);
+    ChunkLoader chunkLoader = new ChunkLoaderImpl(unClosedTsFileReader) {
+      @Override
+      public void close() {
+        // do not close the shared reader
+      }
+    };
 
     if (filter == null) {
-      unSealedReader = new FileSeriesReaderWithoutFilter(chunkLoader,
+      return new FileSeriesReaderWithoutFilter(chunkLoader,
           unsealedTsFile.getChunkMetaDataList());
     } else {
-      unSealedReader = new FileSeriesReaderWithFilter(chunkLoader,
+      return new FileSeriesReaderWithFilter(chunkLoader,
           unsealedTsFile.getChunkMetaDataList(),
           filter);
     }
-
   }
 
   @Override
@@ -0,0 +1,52 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.reader.sequence;
+
+import java.io.IOException;
+import org.apache.iotdb.db.engine.querycontext.UnsealedTsFile;
+import org.apache.iotdb.db.query.reader.ReverseBatchReader;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.reader.series.FileSeriesReader;
+
+/**
+ * Read a series in the unsealed tsfile in descending order of time.
+ */
+public class UnSealedTsFileReverseReader extends ReverseBatchReader {
+
+  private FileSeriesReader unSealedReader;
+
+  public UnSealedTsFileReverseReader(UnsealedTsFile unsealedTsFile, Filter filter)
+      throws IOException {
+    unSealedReader = UnSealedTsFileReader.createFileSeriesReader(unsealedTsFile, filter);
+  }
+
+  @Override
+  protected BatchData previousBatch() throws IOException {
+    if (!unSealedReader.hasPreviousBatch()) {
+      return null;
+    }
+    return unSealedReader.previousBatch();
+  }
+
+  @Override
+  public void close() throws IOException {
+    unSealedReader.close();
+  }
+}
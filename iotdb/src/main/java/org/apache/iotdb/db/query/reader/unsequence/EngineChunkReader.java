@@ -22,7 +22,6 @@ import java.io.IOException;
 import org.apache.iotdb.db.query.reader.IReader;
 import org.apache.iotdb.db.utils.TimeValuePair;
 import org.apache.iotdb.db.utils.TimeValuePairUtils;
-import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReader;
 
@@ -32,14 +31,11 @@ public class EngineChunkReader implements IReader {
   private BatchData data;
 
   /**
-   * Each EngineChunkReader has a corresponding UnClosedTsFileReader, when EngineChunkReader is
-   * closed, UnClosedTsFileReader also should be closed in meanwhile.
+   * The reader of the unsequence file the chunk is read from is shared by the queries, it is not
+   * closed with this reader but by {@link org.apache.iotdb.db.query.control.FileReaderManager}.
    */
-  private TsFileSequenceReader unClosedTsFileReader;
-
-  public EngineChunkReader(ChunkReader chunkReader, TsFileSequenceReader unClosedTsFileReader) {
+  public EngineChunkReader(ChunkReader chunkReader) {
     this.chunkReader = chunkReader;
-    this.unClosedTsFileReader = unClosedTsFileReader;
   }
 
   @Override
@@ -70,7 +66,6 @@ public class EngineChunkReader implements IReader {
   @Override
   public void close() throws IOException {
     this.chunkReader.close();
-    this.unClosedTsFileReader.close();
   }
 
   @Override
@@ -0,0 +1,49 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.reader.unsequence;
+
+import java.io.IOException;
+import org.apache.iotdb.db.query.reader.ReverseBatchReader;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReader;
+
+/**
+ * Read a chunk of an unsequence file in descending order of time, see {@link EngineChunkReader}.
+ */
+public class EngineChunkReverseReader extends ReverseBatchReader {
+
+  private ChunkReader chunkReader;
+
+  public EngineChunkReverseReader(ChunkReader chunkReader) {
+    this.chunkReader = chunkReader;
+  }
+
+  @Override
+  protected BatchData previousBatch() throws IOException {
+    if (!chunkReader.hasPreviousBatch()) {
+      return null;
+    }
+    return chunkReader.previousBatch();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.chunkReader.close();
+  }
+}
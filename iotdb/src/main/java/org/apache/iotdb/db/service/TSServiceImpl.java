@@ -27,6 +27,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import org.apache.iotdb.db.auth.AuthException;
 import org.apache.iotdb.db.auth.AuthorityChecker;
 import org.apache.iotdb.db.auth.authorizer.IAuthorizer;
@@ -58,6 +59,7 @@ import org.apache.iotdb.service.rpc.thrift.TSCloseOperationReq;
 import org.apache.iotdb.service.rpc.thrift.TSCloseOperationResp;
 import org.apache.iotdb.service.rpc.thrift.TSCloseSessionReq;
 import org.apache.iotdb.service.rpc.thrift.TSCloseSessionResp;
+import org.apache.iotdb.service.rpc.thrift.TSColumnarDataSet;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteBatchStatementReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteBatchStatementResp;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementReq;
@@ -69,6 +71,7 @@ import org.apache.iotdb.service.rpc.thrift.TSFetchResultsResp;
 import org.apache.iotdb.service.rpc.thrift.TSGetTimeZoneResp;
 import org.apache.iotdb.service.rpc.thrift.TSHandleIdentifier;
 import org.apache.iotdb.service.rpc.thrift.TSIService;
+import org.apache.iotdb.service.rpc.thrift.TSInsertTabletReq;
 import org.apache.iotdb.service.rpc.thrift.TSOpenSessionReq;
 import org.apache.iotdb.service.rpc.thrift.TSOpenSessionResp;
 import org.apache.iotdb.service.rpc.thrift.TSOperationHandle;
@@ -79,8 +82,11 @@ import org.apache.iotdb.service.rpc.thrift.TSSetTimeZoneResp;
 import org.apache.iotdb.service.rpc.thrift.TS_SessionHandle;
 import org.apache.iotdb.service.rpc.thrift.TS_Status;
 import org.apache.iotdb.service.rpc.thrift.TS_StatusCode;
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.thrift.TException;
 import org.apache.thrift.server.ServerContext;
 import org.slf4j.Logger;
@@ -427,6 +433,100 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
     }
   }
 
+  @Override
+  public TSExecuteBatchStatementResp insertTablet(TSInsertTabletReq req) throws TException {
+    try {
+      if (!checkLogin()) {
+        LOGGER.info(INFO_NOT_LOGIN, IoTDBConstant.GLOBAL_DB_NAME);
+        return getTSBathExecuteStatementResp(TS_StatusCode.ERROR_STATUS, ERROR_NOT_LOGIN, null);
+      }
+      String deviceId = req.getDeviceId();
+      List<String> measurements = req.getMeasurements();
+      List<Path> paths = new ArrayList<>();
+      for (String measurement : measurements) {
+        paths.add(new Path(deviceId, measurement));
+      }
+      if (!AuthorityChecker
+          .check(username.get(), paths, Operator.OperatorType.INSERT, null)) {
+        return getTSBathExecuteStatementResp(TS_StatusCode.ERROR_STATUS,
+            "No permissions for this operation " + Operator.OperatorType.INSERT, null);
+      }
+
+      int size = req.getSize();
+      long[] times = new long[size];
+      ByteBuffer timeBuffer = req.bufferForTimestamps();
+      for (int i = 0; i < size; i++) {
+        times[i] = timeBuffer.getLong();
+      }
+      List<TSDataType> dataTypes = new ArrayList<>();
+      Object[] columns = new Object[measurements.size()];
+      for (int i = 0; i < measurements.size(); i++) {
+        TSDataType dataType = TSDataType.deserialize(req.getTypes().get(i));
+        dataTypes.add(dataType);
+        columns[i] = readColumn(req.getValues().get(i), dataType, size);
+      }
+
+      Map<Integer, String> failedRows = processor.getExecutor()
+          .insertTablet(deviceId, measurements, dataTypes, times, columns);
+      List<Integer> result = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        result.add(failedRows.containsKey(i) ? Statement.EXECUTE_FAILED
+            : Statement.SUCCESS_NO_INFO);
+      }
+      if (failedRows.isEmpty()) {
+        return getTSBathExecuteStatementResp(TS_StatusCode.SUCCESS_STATUS,
+            "Execute batch statements successfully", result);
+      }
+      Entry<Integer, String> firstFailure = failedRows.entrySet().iterator().next();
+      return getTSBathExecuteStatementResp(TS_StatusCode.ERROR_STATUS,
+          String.format("Fail to insert %d of %d rows, the row %d fails because %s",
+              failedRows.size(), size, firstFailure.getKey(), firstFailure.getValue()), result);
+    } catch (Exception e) {
+      LOGGER.error("{}: error occurs when inserting a tablet", IoTDBConstant.GLOBAL_DB_NAME, e);
+      return getTSBathExecuteStatementResp(TS_StatusCode.ERROR_STATUS, e.getMessage(), null);
+    }
+  }
+
+  /**
+   * read one column of TSInsertTabletReq, see rpc.thrift for the format.
+   */
+  private Object readColumn(ByteBuffer buffer, TSDataType dataType, int size) {
+    switch (dataType) {
+      case BOOLEAN:
+        boolean[] booleans = new boolean[size];
+        for (int i = 0; i < size; i++) {
+          booleans[i] = buffer.get() != 0;
+        }
+        return booleans;
+      case INT32:
+        int[] ints = new int[size];
+        buffer.asIntBuffer().get(ints);
+        return ints;
+      case INT64:
+        long[] longs = new long[size];
+        buffer.asLongBuffer().get(longs);
+        return longs;
+      case FLOAT:
+        float[] floats = new float[size];
+        buffer.asFloatBuffer().get(floats);
+        return floats;
+      case DOUBLE:
+        double[] doubles = new double[size];
+        buffer.asDoubleBuffer().get(doubles);
+        return doubles;
+      case TEXT:
+        Binary[] binaries = new Binary[size];
+        for (int i = 0; i < size; i++) {
+          byte[] bytes = new byte[buffer.getInt()];
+          buffer.get(bytes);
+          binaries[i] = new Binary(bytes);
+        }
+        return binaries;
+      default:
+        throw new UnSupportedDataTypeException("Unsupported data type: " + dataType);
+    }
+  }
+
   @Override
   public TSExecuteStatementResp executeStatement(TSExecuteStatementReq req) throws TException {
     try {
@@ -594,15 +694,28 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
       } else {
         queryDataSet = queryRet.get().get(statement);
       }
-      TSQueryDataSet result = Utils.convertQueryDataSetByFetchSize(queryDataSet, fetchSize);
-      boolean hasResultSet = !result.getRecords().isEmpty();
+      boolean hasResultSet;
+      TSQueryDataSet result = null;
+      TSColumnarDataSet columnarResult = null;
+      if (req.isColumnar()) {
+        columnarResult = Utils.convertQueryDataSetToColumnar(queryDataSet, fetchSize,
+            req.getCompressionType());
+        hasResultSet = columnarResult.getRowCount() > 0;
+      } else {
+        result = Utils.convertQueryDataSetByFetchSize(queryDataSet, fetchSize);
+        hasResultSet = !result.getRecords().isEmpty();
+      }
       if (!hasResultSet && queryRet.get() != null) {
         queryRet.get().remove(statement);
       }
       TSFetchResultsResp resp = getTSFetchResultsResp(TS_StatusCode.SUCCESS_STATUS,
           "FetchResult successfully. Has more result: " + hasResultSet);
       resp.setHasResultSet(hasResultSet);
-      resp.setQueryDataSet(result);
+      if (columnarResult != null) {
+        resp.setColumnarDataSet(columnarResult);
+      } else {
+        resp.setQueryDataSet(result);
+      }
       return resp;
     } catch (Exception e) {
       LOGGER.error("{}: Internal server error: ", IoTDBConstant.GLOBAL_DB_NAME, e);
@@ -18,10 +18,14 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import org.apache.iotdb.service.rpc.thrift.TSColumnarDataSet;
 import org.apache.iotdb.service.rpc.thrift.TSDataValue;
 import org.apache.iotdb.service.rpc.thrift.TSQueryDataSet;
 import org.apache.iotdb.service.rpc.thrift.TSRowRecord;
+import org.apache.iotdb.tsfile.compress.ICompressor;
 import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.Field;
 import org.apache.iotdb.tsfile.read.common.RowRecord;
 import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
@@ -56,6 +60,113 @@ public class Utils {
     return tsQueryDataSet;
   }
 
+  /**
+   * convert query data set by fetch size into columns, see TSColumnarDataSet in rpc.thrift for the
+   * format.
+   *
+   * @param queryDataSet -query dataset
+   * @param fetchsize -fetch size
+   * @param compressionType -the CompressionType of the buffers, UNCOMPRESSED if null
+   * @return -convert query dataset
+   */
+  public static TSColumnarDataSet convertQueryDataSetToColumnar(QueryDataSet queryDataSet,
+      int fetchsize, String compressionType) throws IOException {
+    List<RowRecord> rowRecords = new ArrayList<>();
+    while (rowRecords.size() < fetchsize && queryDataSet.hasNext()) {
+      rowRecords.add(queryDataSet.next());
+    }
+    CompressionType type = compressionType == null ? CompressionType.UNCOMPRESSED
+        : CompressionType.valueOf(compressionType);
+    ICompressor compressor = ICompressor.getCompressor(type);
+
+    int rowCount = rowRecords.size();
+    ByteBuffer timeBuffer = ByteBuffer.allocate(rowCount * Long.BYTES);
+    for (RowRecord rowRecord : rowRecords) {
+      timeBuffer.putLong(rowRecord.getTimestamp());
+    }
+    int columnCount = rowCount == 0 ? 0 : rowRecords.get(0).getFields().size();
+    List<Short> types = new ArrayList<>(columnCount);
+    List<ByteBuffer> values = new ArrayList<>(columnCount);
+    for (int i = 0; i < columnCount; i++) {
+      TSDataType dataType = null;
+      int valueSize = 0;
+      for (RowRecord rowRecord : rowRecords) {
+        Field field = rowRecord.getFields().get(i);
+        if (field.getDataType() != null) {
+          dataType = field.getDataType();
+          valueSize += getValueSize(field);
+        }
+      }
+      types.add(dataType == null ? -1 : dataType.serialize());
+      values.add(ByteBuffer.wrap(compressor.compress(serializeColumn(rowRecords, i, valueSize))));
+    }
+
+    TSColumnarDataSet columnarDataSet = new TSColumnarDataSet();
+    columnarDataSet.setRowCount(rowCount);
+    columnarDataSet.setTime(compressor.compress(timeBuffer.array()));
+    columnarDataSet.setTypes(types);
+    columnarDataSet.setValues(values);
+    columnarDataSet.setCompressionType(type.name());
+    return columnarDataSet;
+  }
+
+  private static int getValueSize(Field field) {
+    switch (field.getDataType()) {
+      case BOOLEAN:
+        return 1;
+      case INT32:
+      case FLOAT:
+        return 4;
+      case INT64:
+      case DOUBLE:
+        return 8;
+      case TEXT:
+        return 4 + field.getBinaryV().getLength();
+      default:
+        throw new UnSupportedDataTypeException(String.format(
+            "data type %s is not supported when convert data at server", field.getDataType()));
+    }
+  }
+
+  private static byte[] serializeColumn(List<RowRecord> rowRecords, int column, int valueSize) {
+    int bitmapSize = (rowRecords.size() + 7) / 8;
+    ByteBuffer buffer = ByteBuffer.allocate(bitmapSize + valueSize);
+    buffer.position(bitmapSize);
+    byte[] bitmap = buffer.array();
+    for (int row = 0; row < rowRecords.size(); row++) {
+      Field field = rowRecords.get(row).getFields().get(column);
+      if (field.getDataType() == null) {
+        continue;
+      }
+      bitmap[row / 8] |= (byte) (1 << (7 - row % 8));
+      switch (field.getDataType()) {
+        case BOOLEAN:
+          buffer.put(field.getBoolV() ? (byte) 1 : (byte) 0);
+          break;
+        case INT32:
+          buffer.putInt(field.getIntV());
+          break;
+        case INT64:
+          buffer.putLong(field.getLongV());
+          break;
+        case FLOAT:
+          buffer.putFloat(field.getFloatV());
+          break;
+        case DOUBLE:
+          buffer.putDouble(field.getDoubleV());
+          break;
+        case TEXT:
+          buffer.putInt(field.getBinaryV().getLength());
+          buffer.put(field.getBinaryV().getValues());
+          break;
+        default:
+          throw new UnSupportedDataTypeException(String.format(
+              "data type %s is not supported when convert data at server", field.getDataType()));
+      }
+    }
+    return bitmap;
+  }
+
   /**
    * convert to tsRecord.
    *
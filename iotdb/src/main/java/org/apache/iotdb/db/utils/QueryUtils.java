@@ -32,7 +32,9 @@ public class QueryUtils {
 
   /**
    * modifyChunkMetaData iterates the chunkMetaData and applies all available modifications on it to
-   * generate a ModifiedChunkMetadata.
+   * generate a ModifiedChunkMetadata. The elements of the list may be shared by the
+   * {@link org.apache.iotdb.db.engine.cache.ChunkMetaDataCache}, so a modified chunkMetaData is
+   * replaced by a modified copy of it instead of being modified in place.
    * @param chunkMetaData the original chunkMetaData.
    * @param modifications all possible modifications.
    */
@@ -42,6 +44,7 @@ public class QueryUtils {
 
     for (int metaIndex = 0; metaIndex < chunkMetaData.size(); metaIndex++) {
       ChunkMetaData metaData = chunkMetaData.get(metaIndex);
+      long deletedAt = metaData.getDeletedAt();
       for (int j = modIndex; j < modifications.size(); j++) {
         // iterate each modification to find the max deletion time
         Modification modification = modifications.get(j);
@@ -49,25 +52,36 @@ public class QueryUtils {
           // this modification is after the Chunk, try modifying the chunk
           // if this modification succeeds, update modIndex so in the next loop the previous
           // modifications will not be examined
-          modIndex = doModifyChunkMetaData(modification, metaData)? j : modIndex;
+          long newDeletedAt = getDeletedAt(modification, deletedAt);
+          if (newDeletedAt != deletedAt) {
+            deletedAt = newDeletedAt;
+            modIndex = j;
+          }
         } else {
           // skip old modifications for next metadata
           modIndex++;
         }
       }
+      if (deletedAt != metaData.getDeletedAt()) {
+        metaData = metaData.clone();
+        metaData.setDeletedAt(deletedAt);
+        chunkMetaData.set(metaIndex, metaData);
+      }
     }
     // remove chunks that are completely deleted
     chunkMetaData.removeIf(metaData -> metaData.getDeletedAt() >= metaData.getEndTime());
   }
 
-  private static boolean doModifyChunkMetaData(Modification modification, ChunkMetaData metaData) {
+  /**
+   * @return the deletion time after applying the modification
+   */
+  private static long getDeletedAt(Modification modification, long deletedAt) {
     if (modification instanceof Deletion) {
       Deletion deletion = (Deletion) modification;
-      if (metaData.getDeletedAt() < deletion.getTimestamp()) {
-        metaData.setDeletedAt(deletion.getTimestamp());
-        return true;
+      if (deletedAt < deletion.getTimestamp()) {
+        return deletion.getTimestamp();
       }
     }
-    return false;
+    return deletedAt;
   }
 }
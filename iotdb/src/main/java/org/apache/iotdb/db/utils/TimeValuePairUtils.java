@@ -51,4 +51,32 @@ public class TimeValuePairUtils {
         throw new UnSupportedDataTypeException(String.valueOf(data.getDataType()));
     }
   }
+
+  /**
+   * get given data's (time,value) pair at the given index.
+   *
+   * @param data -batch data
+   * @param idx -index of the pair in data
+   * @return -given data's (time,value) pair
+   */
+  public static TimeValuePair getTimeValuePair(BatchData data, int idx) {
+    long time = data.getTimeByIndex(idx);
+    switch (data.getDataType()) {
+      case INT32:
+        return new TimeValuePair(time, new TsPrimitiveType.TsInt(data.getIntByIndex(idx)));
+      case INT64:
+        return new TimeValuePair(time, new TsPrimitiveType.TsLong(data.getLongByIndex(idx)));
+      case FLOAT:
+        return new TimeValuePair(time, new TsPrimitiveType.TsFloat(data.getFloatByIndex(idx)));
+      case DOUBLE:
+        return new TimeValuePair(time, new TsPrimitiveType.TsDouble(data.getDoubleByIndex(idx)));
+      case TEXT:
+        return new TimeValuePair(time, new TsPrimitiveType.TsBinary(data.getBinaryByIndex(idx)));
+      case BOOLEAN:
+        return new TimeValuePair(time,
+            new TsPrimitiveType.TsBoolean(data.getBooleanByIndex(idx)));
+      default:
+        throw new UnSupportedDataTypeException(String.valueOf(data.getDataType()));
+    }
+  }
 }
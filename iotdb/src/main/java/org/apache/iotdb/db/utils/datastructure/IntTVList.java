@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.utils.datastructure;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+
+/**
+ * A {@link TVList} of INT32 values.
+ */
+public class IntTVList extends TVList {
+
+  private List<int[]> values = new ArrayList<>();
+
+  @Override
+  public void putInt(long time, int value) {
+    checkExpansion();
+    values.get(size / ARRAY_SIZE)[size % ARRAY_SIZE] = value;
+    putTime(time);
+  }
+
+  @Override
+  public int getInt(int index) {
+    checkIndex(index);
+    return values.get(index / ARRAY_SIZE)[index % ARRAY_SIZE];
+  }
+
+  @Override
+  public TSDataType getDataType() {
+    return TSDataType.INT32;
+  }
+
+  @Override
+  protected int getValueSize() {
+    return Integer.BYTES;
+  }
+
+  @Override
+  protected void expandValues() {
+    values.add((int[]) PrimitiveArrayPool.getInstance()
+        .getPrimitiveDataListByType(TSDataType.INT32));
+  }
+
+  @Override
+  protected void releaseLastValueArray() {
+    PrimitiveArrayPool.getInstance().release(values.remove(values.size() - 1));
+  }
+
+  @Override
+  protected void reorderValues(int[] indices, int newSize) {
+    int[] sortedValues = new int[newSize];
+    for (int i = 0; i < newSize; i++) {
+      sortedValues[i] = values.get(indices[i] / ARRAY_SIZE)[indices[i] % ARRAY_SIZE];
+    }
+    for (int i = 0; i < newSize; i++) {
+      values.get(i / ARRAY_SIZE)[i % ARRAY_SIZE] = sortedValues[i];
+    }
+  }
+
+  @Override
+  protected void copyValuesTo(TVList copy) {
+    List<int[]> copyValues = ((IntTVList) copy).values;
+    for (int[] valueArray : values) {
+      copyValues.add(valueArray.clone());
+    }
+  }
+}
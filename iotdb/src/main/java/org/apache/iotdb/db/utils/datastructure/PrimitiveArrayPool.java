@@ -0,0 +1,247 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.utils.datastructure;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.iotdb.db.engine.memcontrol.BasicMemController;
+import org.apache.iotdb.db.engine.memcontrol.BasicMemController.UsageLevel;
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.utils.Binary;
+
+/**
+ * Manage the fixed-size primitive arrays used by {@link TVList}s, the arrays released by a flushed
+ * memtable are reused by the following memtables instead of being reallocated. At most a memtable
+ * size (groupSizeInByte) of arrays is kept for each data type, and the bytes kept by the pool are
+ * reported to the {@link BasicMemController} in steps of {@link #REPORT_UNIT}.
+ */
+public class PrimitiveArrayPool {
+
+  /**
+   * the number of elements of each array.
+   */
+  public static final int ARRAY_SIZE = 32;
+
+  /**
+   * the granularity of the usage reported to the BasicMemController, so that it is not called for
+   * each array.
+   */
+  static final long REPORT_UNIT = 1024 * 1024L;
+
+  /**
+   * timestamps and INT64 values share the long[] queue.
+   */
+  private final Map<TSDataType, Queue<Object>> pool = new EnumMap<>(TSDataType.class);
+
+  /**
+   * the number of arrays in each queue, the size of a ConcurrentLinkedQueue is not O(1).
+   */
+  private final Map<TSDataType, AtomicInteger> pooledNums = new EnumMap<>(TSDataType.class);
+
+  /**
+   * the maximum number of arrays kept for each data type.
+   */
+  private final Map<TSDataType, Integer> capacities = new EnumMap<>(TSDataType.class);
+
+  /**
+   * bytes of all the pooled arrays.
+   */
+  private final AtomicLong pooledSize = new AtomicLong();
+
+  /**
+   * bytes reported to the BasicMemController, a multiple of REPORT_UNIT.
+   */
+  private volatile long reportedSize = 0;
+
+  private PrimitiveArrayPool() {
+    this(TSFileDescriptor.getInstance().getConfig().groupSizeInByte);
+  }
+
+  /**
+   * @param capacityInByte the maximum bytes of the arrays kept for each data type
+   */
+  PrimitiveArrayPool(long capacityInByte) {
+    for (TSDataType dataType : TSDataType.values()) {
+      pool.put(dataType, new ConcurrentLinkedQueue<>());
+      pooledNums.put(dataType, new AtomicInteger());
+      capacities.put(dataType,
+          (int) Math.min(Integer.MAX_VALUE, capacityInByte / getArrayMemSize(dataType)));
+    }
+  }
+
+  public static PrimitiveArrayPool getInstance() {
+    return PrimitiveArrayPoolHolder.INSTANCE;
+  }
+
+  /**
+   * get an array of ARRAY_SIZE elements of the given type, the content of the array is undefined.
+   */
+  public Object getPrimitiveDataListByType(TSDataType dataType) {
+    Object array = pool.get(dataType).poll();
+    if (array == null) {
+      return newArray(dataType);
+    }
+    pooledNums.get(dataType).decrementAndGet();
+    updatePooledSize(-getArrayMemSize(dataType));
+    return array;
+  }
+
+  public long[] getTimeArray() {
+    return (long[]) getPrimitiveDataListByType(TSDataType.INT64);
+  }
+
+  /**
+   * give back an array obtained from this pool, the caller must not use it any more. The array is
+   * dropped if the pool of its data type is full or the memory usage is dangerous.
+   */
+  public void release(Object array) {
+    TSDataType dataType;
+    if (array instanceof long[]) {
+      dataType = TSDataType.INT64;
+    } else if (array instanceof int[]) {
+      dataType = TSDataType.INT32;
+    } else if (array instanceof float[]) {
+      dataType = TSDataType.FLOAT;
+    } else if (array instanceof double[]) {
+      dataType = TSDataType.DOUBLE;
+    } else if (array instanceof boolean[]) {
+      dataType = TSDataType.BOOLEAN;
+    } else if (array instanceof Binary[]) {
+      // do not keep the values alive
+      Arrays.fill((Binary[]) array, null);
+      dataType = TSDataType.TEXT;
+    } else {
+      throw new UnSupportedDataTypeException("Unsupported array: " + array.getClass());
+    }
+    if (BasicMemController.getInstance().getCurrLevel() == UsageLevel.DANGEROUS) {
+      return;
+    }
+    AtomicInteger pooledNum = pooledNums.get(dataType);
+    if (pooledNum.incrementAndGet() > capacities.get(dataType)) {
+      pooledNum.decrementAndGet();
+      return;
+    }
+    pool.get(dataType).offer(array);
+    updatePooledSize(getArrayMemSize(dataType));
+  }
+
+  /**
+   * drop all the pooled arrays and free their memory in the {@link BasicMemController}.
+   */
+  public void clear() {
+    for (TSDataType dataType : TSDataType.values()) {
+      Queue<Object> queue = pool.get(dataType);
+      long freeSize = 0;
+      while (queue.poll() != null) {
+        pooledNums.get(dataType).decrementAndGet();
+        freeSize += getArrayMemSize(dataType);
+      }
+      updatePooledSize(-freeSize);
+    }
+  }
+
+  /**
+   * the number of arrays kept for the given data type.
+   */
+  public int getPooledNum(TSDataType dataType) {
+    return pooledNums.get(dataType).get();
+  }
+
+  /**
+   * bytes of all the pooled arrays.
+   */
+  public long getPooledSize() {
+    return pooledSize.get();
+  }
+
+  /**
+   * add delta to the pooled bytes and report the change to the BasicMemController once it crosses
+   * a REPORT_UNIT boundary.
+   */
+  private void updatePooledSize(long delta) {
+    long size = pooledSize.addAndGet(delta);
+    if (size / REPORT_UNIT != reportedSize / REPORT_UNIT) {
+      syncReportedSize();
+    }
+  }
+
+  private synchronized void syncReportedSize() {
+    long target = pooledSize.get() / REPORT_UNIT * REPORT_UNIT;
+    if (target > reportedSize) {
+      if (BasicMemController.getInstance().reportUse(this, target - reportedSize)
+          != UsageLevel.DANGEROUS) {
+        reportedSize = target;
+      }
+    } else if (target < reportedSize) {
+      BasicMemController.getInstance().reportFree(this, reportedSize - target);
+      reportedSize = target;
+    }
+  }
+
+  private static long getArrayMemSize(TSDataType dataType) {
+    switch (dataType) {
+      case BOOLEAN:
+        return ARRAY_SIZE;
+      case INT32:
+      case FLOAT:
+        return (long) ARRAY_SIZE * Integer.BYTES;
+      case INT64:
+      case DOUBLE:
+        return (long) ARRAY_SIZE * Long.BYTES;
+      case TEXT:
+        return (long) ARRAY_SIZE * BinaryTVList.REFERENCE_SIZE;
+      default:
+        throw new UnSupportedDataTypeException("Unsupported data type: " + dataType);
+    }
+  }
+
+  private static Object newArray(TSDataType dataType) {
+    switch (dataType) {
+      case BOOLEAN:
+        return new boolean[ARRAY_SIZE];
+      case INT32:
+        return new int[ARRAY_SIZE];
+      case INT64:
+        return new long[ARRAY_SIZE];
+      case FLOAT:
+        return new float[ARRAY_SIZE];
+      case DOUBLE:
+        return new double[ARRAY_SIZE];
+      case TEXT:
+        return new Binary[ARRAY_SIZE];
+      default:
+        throw new UnSupportedDataTypeException("Unsupported data type: " + dataType);
+    }
+  }
+
+  private static class PrimitiveArrayPoolHolder {
+
+    private static final PrimitiveArrayPool INSTANCE = new PrimitiveArrayPool();
+
+    private PrimitiveArrayPoolHolder() {
+    }
+  }
+}
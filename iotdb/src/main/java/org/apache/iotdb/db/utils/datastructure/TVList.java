@@ -0,0 +1,308 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.utils.datastructure;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.utils.Binary;
+
+/**
+ * A list of (timestamp, value) pairs of one data type. Timestamps and values are stored in
+ * fixed-size primitive arrays borrowed from {@link PrimitiveArrayPool}, so a value is never boxed
+ * and the memory taken by the list is known exactly.
+ */
+public abstract class TVList {
+
+  protected static final int ARRAY_SIZE = PrimitiveArrayPool.ARRAY_SIZE;
+
+  protected List<long[]> timestamps = new ArrayList<>();
+  protected int size;
+
+  /**
+   * bytes of the arrays (and the Binary values) held by this list.
+   */
+  protected long memSize;
+
+  private boolean sorted = true;
+  private long lastTime;
+
+  public static TVList newList(TSDataType dataType) {
+    switch (dataType) {
+      case BOOLEAN:
+        return new BooleanTVList();
+      case INT32:
+        return new IntTVList();
+      case INT64:
+        return new LongTVList();
+      case FLOAT:
+        return new FloatTVList();
+      case DOUBLE:
+        return new DoubleTVList();
+      case TEXT:
+        return new BinaryTVList();
+      default:
+        throw new UnSupportedDataTypeException("Unsupported data type: " + dataType);
+    }
+  }
+
+  public void putLong(long time, long value) {
+    throw new UnsupportedOperationException("DataType not consistent");
+  }
+
+  public void putInt(long time, int value) {
+    throw new UnsupportedOperationException("DataType not consistent");
+  }
+
+  public void putFloat(long time, float value) {
+    throw new UnsupportedOperationException("DataType not consistent");
+  }
+
+  public void putDouble(long time, double value) {
+    throw new UnsupportedOperationException("DataType not consistent");
+  }
+
+  public void putBinary(long time, Binary value) {
+    throw new UnsupportedOperationException("DataType not consistent");
+  }
+
+  public void putBoolean(long time, boolean value) {
+    throw new UnsupportedOperationException("DataType not consistent");
+  }
+
+  public long getLong(int index) {
+    throw new UnsupportedOperationException("DataType not consistent");
+  }
+
+  public int getInt(int index) {
+    throw new UnsupportedOperationException("DataType not consistent");
+  }
+
+  public float getFloat(int index) {
+    throw new UnsupportedOperationException("DataType not consistent");
+  }
+
+  public double getDouble(int index) {
+    throw new UnsupportedOperationException("DataType not consistent");
+  }
+
+  public Binary getBinary(int index) {
+    throw new UnsupportedOperationException("DataType not consistent");
+  }
+
+  public boolean getBoolean(int index) {
+    throw new UnsupportedOperationException("DataType not consistent");
+  }
+
+  public abstract TSDataType getDataType();
+
+  public long getTime(int index) {
+    checkIndex(index);
+    return timestamps.get(index / ARRAY_SIZE)[index % ARRAY_SIZE];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public long getMemSize() {
+    return memSize;
+  }
+
+  public boolean isSorted() {
+    return sorted;
+  }
+
+  /**
+   * sort the list by timestamp in place and remove the duplicated timestamps, only the last written
+   * value of the same timestamp is kept. The list may be sorted by concurrent readers, so this is
+   * synchronized, but no write may happen at the same time.
+   */
+  public synchronized void sort() {
+    if (sorted) {
+      return;
+    }
+
+    long[] times = new long[size];
+    int[] indices = new int[size];
+    for (int i = 0; i < size; i++) {
+      times[i] = getTime(i);
+      indices[i] = i;
+    }
+    mergeSort(times, indices);
+
+    int newSize = 0;
+    for (int i = 0; i < size; i++) {
+      // the sort is stable, so the last one of the same timestamps is the latest written
+      if (i + 1 < size && times[i] == times[i + 1]) {
+        continue;
+      }
+      times[newSize] = times[i];
+      indices[newSize] = indices[i];
+      newSize++;
+    }
+
+    reorderValues(indices, newSize);
+    for (int i = 0; i < newSize; i++) {
+      timestamps.get(i / ARRAY_SIZE)[i % ARRAY_SIZE] = times[i];
+    }
+    size = newSize;
+    int arrayNum = (size + ARRAY_SIZE - 1) / ARRAY_SIZE;
+    while (timestamps.size() > arrayNum) {
+      releaseLastArrays();
+    }
+    sorted = true;
+    lastTime = size > 0 ? getTime(size - 1) : 0;
+  }
+
+  /**
+   * give all the arrays back to the pool, the list is empty after that.
+   */
+  public void clear() {
+    while (!timestamps.isEmpty()) {
+      releaseLastArrays();
+    }
+    size = 0;
+    memSize = 0;
+    sorted = true;
+    lastTime = 0;
+  }
+
+  /**
+   * a copy of this list in arrays which are not shared with it, so the copy keeps readable after
+   * this list is cleared.
+   */
+  public TVList copy() {
+    TVList copy = newList(getDataType());
+    for (long[] timeArray : timestamps) {
+      copy.timestamps.add(timeArray.clone());
+    }
+    copyValuesTo(copy);
+    copy.size = size;
+    copy.memSize = memSize;
+    copy.sorted = sorted;
+    copy.lastTime = lastTime;
+    return copy;
+  }
+
+  /**
+   * must be called by the typed put methods before the value is stored at index {@link #size}.
+   */
+  protected void checkExpansion() {
+    if (size % ARRAY_SIZE == 0) {
+      timestamps.add(PrimitiveArrayPool.getInstance().getTimeArray());
+      expandValues();
+      memSize += (long) ARRAY_SIZE * (Long.BYTES + getValueSize());
+    }
+  }
+
+  /**
+   * must be called by the typed put methods after the value is stored at index {@link #size}.
+   */
+  protected void putTime(long time) {
+    if (size > 0 && time <= lastTime) {
+      sorted = false;
+    } else {
+      lastTime = time;
+    }
+    timestamps.get(size / ARRAY_SIZE)[size % ARRAY_SIZE] = time;
+    size++;
+  }
+
+  protected void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new ArrayIndexOutOfBoundsException("index: " + index);
+    }
+  }
+
+  private void releaseLastArrays() {
+    PrimitiveArrayPool.getInstance().release(timestamps.remove(timestamps.size() - 1));
+    releaseLastValueArray();
+    memSize -= (long) ARRAY_SIZE * (Long.BYTES + getValueSize());
+  }
+
+  /**
+   * bytes of one value in the value arrays.
+   */
+  protected abstract int getValueSize();
+
+  /**
+   * borrow a new value array from the pool and append it.
+   */
+  protected abstract void expandValues();
+
+  protected abstract void releaseLastValueArray();
+
+  /**
+   * rewrite the values so that the i-th value becomes the one at indices[i] for i < newSize.
+   */
+  protected abstract void reorderValues(int[] indices, int newSize);
+
+  protected abstract void copyValuesTo(TVList copy);
+
+  /**
+   * stable bottom-up merge sort of the timestamps, the indices are moved along with them.
+   */
+  private static void mergeSort(long[] times, int[] indices) {
+    int length = times.length;
+    long[] srcTimes = times;
+    int[] srcIndices = indices;
+    long[] dstTimes = new long[length];
+    int[] dstIndices = new int[length];
+
+    for (int width = 1; width < length; width *= 2) {
+      for (int left = 0; left < length; left += 2 * width) {
+        int mid = Math.min(left + width, length);
+        int right = Math.min(left + 2 * width, length);
+        int i = left;
+        int j = mid;
+        int k = left;
+        while (i < mid && j < right) {
+          if (srcTimes[j] < srcTimes[i]) {
+            dstTimes[k] = srcTimes[j];
+            dstIndices[k++] = srcIndices[j++];
+          } else {
+            dstTimes[k] = srcTimes[i];
+            dstIndices[k++] = srcIndices[i++];
+          }
+        }
+        while (i < mid) {
+          dstTimes[k] = srcTimes[i];
+          dstIndices[k++] = srcIndices[i++];
+        }
+        while (j < right) {
+          dstTimes[k] = srcTimes[j];
+          dstIndices[k++] = srcIndices[j++];
+        }
+      }
+      long[] tmpTimes = srcTimes;
+      srcTimes = dstTimes;
+      dstTimes = tmpTimes;
+      int[] tmpIndices = srcIndices;
+      srcIndices = dstIndices;
+      dstIndices = tmpIndices;
+    }
+
+    if (srcTimes != times) {
+      System.arraycopy(srcTimes, 0, times, 0, length);
+      System.arraycopy(srcIndices, 0, indices, 0, length);
+    }
+  }
+}
@@ -19,12 +19,19 @@
 package org.apache.iotdb.db.writelog.io;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 public interface ILogWriter {
 
   void write(List<byte[]> logCache) throws IOException;
 
+  /**
+   * write the logs already framed with their sizes and checksums in the buffer, the buffer is
+   * consumed. The logs are not forced.
+   */
+  void write(ByteBuffer logBuffer) throws IOException;
+
   void force() throws IOException;
 
   void close() throws IOException;
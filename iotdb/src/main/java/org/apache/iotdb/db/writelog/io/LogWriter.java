@@ -34,6 +34,8 @@ public class LogWriter implements ILogWriter {
   private FileOutputStream fileOutputStream;
   private FileChannel outputStream;
   private CRC32 checkSummer = new CRC32();
+  // reused by every batch, only grows when a batch does not fit
+  private ByteBuffer batchBuffer;
   private IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
 
   public LogWriter(String logFilePath) {
@@ -42,15 +44,16 @@ public class LogWriter implements ILogWriter {
 
   @Override
   public void write(List<byte[]> logCache) throws IOException {
-    if (outputStream == null) {
-      fileOutputStream = new FileOutputStream(logFile, true);
-      outputStream = fileOutputStream.getChannel();
-    }
+    openIfNecessary();
     int totalSize = 0;
     for (byte[] bytes : logCache) {
       totalSize += 4 + 8 + bytes.length;
     }
-    ByteBuffer buffer = ByteBuffer.allocate(totalSize);
+    if (batchBuffer == null || batchBuffer.capacity() < totalSize) {
+      batchBuffer = ByteBuffer.allocate(totalSize);
+    }
+    ByteBuffer buffer = batchBuffer;
+    buffer.clear();
     for (byte[] bytes : logCache) {
       buffer.putInt(bytes.length);
       checkSummer.reset();
@@ -59,12 +62,43 @@ public class LogWriter implements ILogWriter {
       buffer.put(bytes);
     }
     buffer.flip();
-    outputStream.write(buffer);
+    while (buffer.hasRemaining()) {
+      outputStream.write(buffer);
+    }
     if (config.forceWalPeriodInMs == 0) {
       outputStream.force(true);
     }
   }
 
+  /**
+   * write the remaining logs in logBuffer. If it fails, the logs written partially are truncated so
+   * that the logs written later can still be read.
+   */
+  @Override
+  public void write(ByteBuffer logBuffer) throws IOException {
+    openIfNecessary();
+    long start = outputStream.size();
+    try {
+      while (logBuffer.hasRemaining()) {
+        outputStream.write(logBuffer);
+      }
+    } catch (IOException e) {
+      try {
+        outputStream.truncate(start);
+      } catch (IOException truncateException) {
+        e.addSuppressed(truncateException);
+      }
+      throw e;
+    }
+  }
+
+  private void openIfNecessary() throws IOException {
+    if (outputStream == null) {
+      fileOutputStream = new FileOutputStream(logFile, true);
+      outputStream = fileOutputStream.getChannel();
+    }
+  }
+
   @Override
   public void force() throws IOException {
     if (outputStream != null) {
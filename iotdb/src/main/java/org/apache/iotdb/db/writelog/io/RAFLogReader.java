@@ -22,6 +22,8 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.NoSuchElementException;
 import java.util.zip.CRC32;
 import org.apache.iotdb.db.qp.physical.PhysicalPlan;
@@ -29,13 +31,19 @@ import org.apache.iotdb.db.writelog.transfer.PhysicalPlanLogTransfer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Reads the logs through a FileChannel in large blocks, the sizes, checksums and plans are all
+ * parsed out of one reusable buffer instead of being read from the file field by field.
+ */
 public class RAFLogReader implements ILogReader {
 
   private static final Logger logger = LoggerFactory.getLogger(RAFLogReader.class);
+  private static final int LOG_HEADER_SIZE = Integer.BYTES + Long.BYTES;
   private RandomAccessFile logRaf;
+  private FileChannel logChannel;
   private String filepath;
   private int bufferSize = 4 * 1024 * 1024;
-  private byte[] buffer = new byte[bufferSize];
+  private ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
   private CRC32 checkSummer = new CRC32();
   private PhysicalPlan planBuffer = null;
 
@@ -53,28 +61,28 @@ public class RAFLogReader implements ILogReader {
       return true;
     }
     try {
-      if (logRaf.getFilePointer() + 12 > logRaf.length()) {
+      if (!ensureRemaining(LOG_HEADER_SIZE)) {
         return false;
       }
-    } catch (IOException e) {
-      logger.error("Cannot read from log file {}", filepath, e);
-      return false;
-    }
-    try {
-      int logSize = logRaf.readInt();
-      if (logSize > bufferSize) {
-        bufferSize = logSize;
-        buffer = new byte[bufferSize];
+      int logSize = buffer.getInt();
+      final long checkSum = buffer.getLong();
+      if (logSize <= 0 || !ensureRemaining(logSize)) {
+        return false;
       }
-      final long checkSum = logRaf.readLong();
-      logRaf.read(buffer, 0, logSize);
+      int logEnd = buffer.position() + logSize;
       checkSummer.reset();
-      checkSummer.update(buffer, 0, logSize);
+      checkSummer.update(buffer.array(), buffer.arrayOffset() + buffer.position(), logSize);
       if (checkSummer.getValue() != checkSum) {
         return false;
       }
-      PhysicalPlan plan = PhysicalPlanLogTransfer.logToOperator(buffer);
-      planBuffer = plan;
+      int limit = buffer.limit();
+      buffer.limit(logEnd);
+      try {
+        planBuffer = PhysicalPlanLogTransfer.logToOperator(buffer);
+      } finally {
+        buffer.limit(limit);
+        buffer.position(logEnd);
+      }
       return true;
     } catch (IOException e) {
       logger.error("Cannot read log file {}", filepath, e);
@@ -82,6 +90,33 @@ public class RAFLogReader implements ILogReader {
     }
   }
 
+  /**
+   * make sure there are at least size bytes left in the buffer, reading more from the file if
+   * necessary.
+   *
+   * @return false if the file ends before size bytes are available
+   */
+  private boolean ensureRemaining(int size) throws IOException {
+    if (buffer.remaining() >= size) {
+      return true;
+    }
+    if (size > bufferSize) {
+      bufferSize = size;
+      ByteBuffer newBuffer = ByteBuffer.allocate(bufferSize);
+      newBuffer.put(buffer);
+      buffer = newBuffer;
+    } else {
+      buffer.compact();
+    }
+    while (buffer.position() < size) {
+      if (logChannel.read(buffer) < 0) {
+        break;
+      }
+    }
+    buffer.flip();
+    return buffer.remaining() >= size;
+  }
+
   @Override
   public PhysicalPlan next() {
     if (!hasNext()){
@@ -107,6 +142,10 @@ public class RAFLogReader implements ILogReader {
   @Override
   public void open(File logFile) throws FileNotFoundException {
     logRaf = new RandomAccessFile(logFile, "r");
+    logChannel = logRaf.getChannel();
     this.filepath = logFile.getPath();
+    buffer.clear();
+    buffer.limit(0);
+    planBuffer = null;
   }
 }
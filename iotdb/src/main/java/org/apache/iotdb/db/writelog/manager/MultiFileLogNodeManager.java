@@ -21,9 +21,16 @@ package org.apache.iotdb.db.writelog.manager;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.iotdb.db.concurrent.IoTDBThreadPoolFactory;
 import org.apache.iotdb.db.concurrent.ThreadName;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBConstant;
@@ -46,6 +53,13 @@ public class MultiFileLogNodeManager implements WriteLogNodeManager, IService {
   private Thread forceThread;
   private IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
 
+  /**
+   * progress of the last recovery, the number of log nodes to be recovered and recovered so far.
+   */
+  private int nodeNumToRecover;
+  private AtomicInteger recoveredNodeNum = new AtomicInteger();
+  private long recoveryStartTime;
+
   private final Runnable syncTask = ()->{
       while (true) {
         if (Thread.interrupted()) {
@@ -62,7 +76,8 @@ public class MultiFileLogNodeManager implements WriteLogNodeManager, IService {
         }
         logger.debug("Timed sync finished");
         try {
-          Thread.sleep(config.flushWalPeriodInMs);
+          Thread.sleep(config.enableWalGroupCommit ? config.walGroupCommitPeriodInMs
+              : config.flushWalPeriodInMs);
         } catch (InterruptedException e) {
           logger.info("WAL sync thread exits.");
           Thread.currentThread().interrupt();
@@ -135,14 +150,102 @@ public class MultiFileLogNodeManager implements WriteLogNodeManager, IService {
     List<WriteLogNode> nodeList = new ArrayList<>(nodeMap.size());
     nodeList.addAll(nodeMap.values());
     nodeList.sort(null);
+    // the log nodes of one storage group share its FileNodeProcessor, so they are recovered one
+    // by one, while different storage groups are recovered in parallel
+    Map<String, List<WriteLogNode>> groupedNodes = new LinkedHashMap<>();
     for (WriteLogNode node : nodeList) {
+      groupedNodes.computeIfAbsent(getFileNodeName(node), k -> new ArrayList<>()).add(node);
+    }
+    nodeNumToRecover = nodeList.size();
+    recoveredNodeNum.set(0);
+    recoveryStartTime = System.currentTimeMillis();
+
+    int threadNum = Math.min(config.walRecoveryThreadNum, groupedNodes.size());
+    if (threadNum <= 1) {
+      for (List<WriteLogNode> nodes : groupedNodes.values()) {
+        recoverNodes(nodes);
+      }
+    } else {
+      recoverInParallel(groupedNodes.values(), threadNum);
+    }
+    logger.info("{} log nodes of {} storage groups recovered in {}ms", nodeNumToRecover,
+        groupedNodes.size(), System.currentTimeMillis() - recoveryStartTime);
+  }
+
+  private void recoverInParallel(Iterable<List<WriteLogNode>> nodeGroups, int threadNum)
+      throws RecoverException {
+    logger.info("Recovering {} log nodes with {} threads", nodeNumToRecover, threadNum);
+    ExecutorService recoveryPool = IoTDBThreadPoolFactory
+        .newFixedThreadPool(threadNum, ThreadName.WAL_RECOVERY_SERVICE.getName());
+    CompletionService<Void> completionService = new ExecutorCompletionService<>(recoveryPool);
+    int taskNum = 0;
+    for (List<WriteLogNode> nodes : nodeGroups) {
+      completionService.submit(() -> {
+        recoverNodes(nodes);
+        return null;
+      });
+      taskNum++;
+    }
+    try {
+      for (int i = 0; i < taskNum; i++) {
+        completionService.take().get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RecoverException(e);
+    } catch (ExecutionException e) {
+      // stop recovering the remaining storage groups once any of them fails
+      recoveryPool.shutdownNow();
+      if (e.getCause() instanceof RecoverException) {
+        throw (RecoverException) e.getCause();
+      }
+      throw new RecoverException(e.getCause());
+    } finally {
+      recoveryPool.shutdown();
+    }
+  }
+
+  private void recoverNodes(List<WriteLogNode> nodes) throws RecoverException {
+    for (WriteLogNode node : nodes) {
       try {
         node.recover();
       } catch (RecoverException e) {
         logger.error("{} failed to recover because {}", node.toString(), e.getMessage());
         throw e;
       }
+      logger.info("Log node {} recovered, {}/{} log nodes recovered in {}ms",
+          node.getIdentifier(), recoveredNodeNum.incrementAndGet(), nodeNumToRecover,
+          System.currentTimeMillis() - recoveryStartTime);
+    }
+  }
+
+  /**
+   * the name of the storage group of the log node, whose identifier is the name followed by a
+   * suffix. The name is not split at '-' since it may contain '-' itself.
+   */
+  private String getFileNodeName(WriteLogNode node) {
+    String identifier = node.getIdentifier();
+    for (String suffix : new String[]{IoTDBConstant.BUFFERWRITE_LOG_NODE_SUFFIX,
+        IoTDBConstant.OVERFLOW_LOG_NODE_SUFFIX}) {
+      if (identifier.endsWith(suffix)) {
+        return identifier.substring(0, identifier.length() - suffix.length());
+      }
     }
+    return identifier;
+  }
+
+  /**
+   * @return the number of log nodes to be recovered in the current or the last recovery
+   */
+  public int getNodeNumToRecover() {
+    return nodeNumToRecover;
+  }
+
+  /**
+   * @return the number of log nodes recovered so far in the current or the last recovery
+   */
+  public int getRecoveredNodeNum() {
+    return recoveredNodeNum.get();
   }
 
   @Override
@@ -215,7 +318,9 @@ public class MultiFileLogNodeManager implements WriteLogNodeManager, IService {
         InstanceHolder.instance.syncThread = new Thread(InstanceHolder.instance.syncTask,
             ThreadName.WAL_DAEMON.getName());
         InstanceHolder.instance.syncThread.start();
-        if (config.forceWalPeriodInMs > 0 && !isActivated(forceThread)) {
+        // the logs are forced by every group commit in group commit mode
+        if (!config.enableWalGroupCommit && config.forceWalPeriodInMs > 0
+            && !isActivated(forceThread)) {
           InstanceHolder.instance.forceThread = new Thread(InstanceHolder.instance.forceTask,
               ThreadName.WAL_FORCE_DAEMON.getName());
           InstanceHolder.instance.forceThread.start();
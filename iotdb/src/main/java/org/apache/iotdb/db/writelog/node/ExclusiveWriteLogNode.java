@@ -20,15 +20,21 @@ package org.apache.iotdb.db.writelog.node;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.RecoverException;
+import org.apache.iotdb.db.exception.WALOverSizedException;
 import org.apache.iotdb.db.qp.physical.PhysicalPlan;
 import org.apache.iotdb.db.utils.MemUtils;
 import org.apache.iotdb.db.writelog.LogPosition;
@@ -47,6 +53,7 @@ public class ExclusiveWriteLogNode implements WriteLogNode, Comparable<Exclusive
 
   public static final String WAL_FILE_NAME = "wal";
   public static final String OLD_SUFFIX = "-old";
+  private static final int LOG_HEADER_SIZE = Integer.BYTES + Long.BYTES;
   private static final Logger logger = LoggerFactory.getLogger(ExclusiveWriteLogNode.class);
   /**
    * This should be the same as the corresponding FileNode's name.
@@ -67,6 +74,51 @@ public class ExclusiveWriteLogNode implements WriteLogNode, Comparable<Exclusive
 
   private ReadWriteLock forceLock = new ReentrantReadWriteLock();
 
+  /**
+   * whether the logs are written by group commit, see IoTDBConfig.enableWalGroupCommit.
+   */
+  private final boolean groupCommit = config.enableWalGroupCommit;
+
+  /**
+   * in group commit mode, the logs are appended into logBuffer with their sizes and checksums,
+   * while commitBuffer is being written to disk.
+   */
+  private ByteBuffer logBuffer;
+
+  private ByteBuffer commitBuffer;
+
+  /**
+   * the checksum of the logs appended into logBuffer, guarded by bufferLock.
+   */
+  private CRC32 checkSummer = new CRC32();
+
+  /**
+   * the number of the logs appended into the buffers and the number of the logs forced to disk.
+   */
+  private long appendedLogNum;
+
+  private long forcedLogNum;
+
+  /**
+   * the logs up to failedLogNum are not forced because of commitException, the writers waiting for
+   * them fail instead of being acknowledged.
+   */
+  private long failedLogNum;
+
+  private IOException commitException;
+
+  /**
+   * whether commitBuffer holds the logs failed in the last commit, they are committed again before
+   * the logs in logBuffer. Guarded by lockForOther as well as pendingLogNum.
+   */
+  private boolean commitBufferPending;
+
+  private long pendingLogNum;
+
+  private ReentrantLock bufferLock = new ReentrantLock();
+
+  private Condition forcedCondition = bufferLock.newCondition();
+
   /**
    * constructor of ExclusiveWriteLogNode.
    *
@@ -89,11 +141,22 @@ public class ExclusiveWriteLogNode implements WriteLogNode, Comparable<Exclusive
     this.recoverPerformer = recoverPerformer;
   }
 
+  public void setLogWriter(ILogWriter logWriter) {
+    this.currentFileWriter = logWriter;
+  }
+
   /*
    * Return value is of no use in this implementation.
    */
   @Override
   public LogPosition write(PhysicalPlan plan) throws IOException {
+    if (groupCommit) {
+      long logNum = appendToBuffer(plan);
+      if (config.walGroupCommitWaitForce) {
+        waitForForce(logNum);
+      }
+      return null;
+    }
     lockForWrite();
     try {
       byte[] logBytes = PhysicalPlanLogTransfer.operatorToLog(plan);
@@ -108,6 +171,177 @@ public class ExclusiveWriteLogNode implements WriteLogNode, Comparable<Exclusive
     return null;
   }
 
+  /**
+   * @return the number of the log, it is forced once forcedLogNum reaches it
+   */
+  private long appendToBuffer(PhysicalPlan plan) throws IOException {
+    bufferLock.lock();
+    try {
+      if (logBuffer == null) {
+        // an empty buffer must be able to hold any log that is not over-sized
+        int bufferSize = Math.max(config.walGroupCommitBufferSize,
+            config.maxLogEntrySize + LOG_HEADER_SIZE);
+        logBuffer = ByteBuffer.allocateDirect(bufferSize);
+        commitBuffer = ByteBuffer.allocateDirect(bufferSize);
+      }
+      while (true) {
+        int start = logBuffer.position();
+        if (logBuffer.remaining() > LOG_HEADER_SIZE) {
+          // serialize the plan right behind the space left for its size and checksum
+          logBuffer.position(start + LOG_HEADER_SIZE);
+          try {
+            PhysicalPlanLogTransfer.operatorToLog(plan, logBuffer);
+            fillLogHeader(start);
+            return ++appendedLogNum;
+          } catch (WALOverSizedException e) {
+            logBuffer.position(start);
+            if (start == 0) {
+              throw e;
+            }
+          }
+        }
+        // the buffer is full, commit it by this writer, this log is not appended if it fails
+        bufferLock.unlock();
+        try {
+          groupCommit();
+        } finally {
+          bufferLock.lock();
+        }
+      }
+    } finally {
+      bufferLock.unlock();
+    }
+  }
+
+  /**
+   * write the size and the checksum of the log serialized in logBuffer from start +
+   * LOG_HEADER_SIZE to its current position.
+   */
+  private void fillLogHeader(int start) {
+    int end = logBuffer.position();
+    logBuffer.limit(end);
+    logBuffer.position(start + LOG_HEADER_SIZE);
+    checkSummer.reset();
+    checkSummer.update(logBuffer);
+    logBuffer.limit(logBuffer.capacity());
+    logBuffer.putInt(start, end - start - LOG_HEADER_SIZE);
+    logBuffer.putLong(start + Integer.BYTES, checkSummer.getValue());
+  }
+
+  private void waitForForce(long logNum) throws IOException {
+    bufferLock.lock();
+    try {
+      while (forcedLogNum < logNum) {
+        if (failedLogNum >= logNum) {
+          throw new IOException(
+              String.format("Log node %s failed to force the log %d", identifier, logNum),
+              commitException);
+        }
+        if (!forcedCondition.await(config.walGroupCommitPeriodInMs, TimeUnit.MILLISECONDS)) {
+          // not committed in time by others, commit it by this writer
+          bufferLock.unlock();
+          try {
+            groupCommit();
+          } catch (IOException e) {
+            // failedLogNum is updated, checked by the loop
+          } finally {
+            bufferLock.lock();
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted when waiting for the log to be forced", e);
+    } finally {
+      bufferLock.unlock();
+    }
+  }
+
+  /**
+   * write the logs appended so far to disk and force them, writers keep appending into the other
+   * buffer meanwhile. If the commit fails, the logs are kept and committed again by the next
+   * commit, but the writers waiting for them fail.
+   */
+  private void groupCommit() throws IOException {
+    lockForOther();
+    try {
+      if (commitBufferPending) {
+        commit(commitBuffer, pendingLogNum);
+        commitBufferPending = false;
+      }
+
+      ByteBuffer buffer;
+      long logNum;
+      bufferLock.lock();
+      try {
+        if (logBuffer == null || logBuffer.position() == 0) {
+          return;
+        }
+        buffer = logBuffer;
+        logBuffer = commitBuffer;
+        commitBuffer = buffer;
+        logNum = appendedLogNum;
+      } finally {
+        bufferLock.unlock();
+      }
+
+      buffer.flip();
+      try {
+        commit(buffer, logNum);
+      } catch (IOException e) {
+        commitBufferPending = true;
+        pendingLogNum = logNum;
+        throw e;
+      }
+    } finally {
+      unlockForOther();
+    }
+  }
+
+  /**
+   * write and force the flipped buffer. If writing fails, the buffer is rewound to be written again
+   * (the writer leaves no partial log behind), if only forcing fails, the written logs are only
+   * forced again. Either way, all the logs appended so far are marked failed, as none of them can
+   * be forced before the failed ones.
+   *
+   * @param logNum the number of the last log in the buffer
+   */
+  private void commit(ByteBuffer buffer, long logNum) throws IOException {
+    logger.debug("Log node {} starts group commit, {} bytes to be forced", identifier,
+        buffer.remaining());
+    try {
+      if (buffer.hasRemaining()) {
+        try {
+          currentFileWriter.write(buffer);
+        } catch (IOException e) {
+          buffer.rewind();
+          throw e;
+        }
+      }
+      currentFileWriter.force();
+    } catch (IOException e) {
+      logger.error("Log node {} group commit failed", identifier, e);
+      bufferLock.lock();
+      try {
+        failedLogNum = appendedLogNum;
+        commitException = e;
+        forcedCondition.signalAll();
+      } finally {
+        bufferLock.unlock();
+      }
+      throw e;
+    }
+    buffer.clear();
+
+    bufferLock.lock();
+    try {
+      forcedLogNum = Math.max(forcedLogNum, logNum);
+      forcedCondition.signalAll();
+    } finally {
+      bufferLock.unlock();
+    }
+  }
+
   @Override
   public void recover() throws RecoverException {
     close();
@@ -182,6 +416,14 @@ public class ExclusiveWriteLogNode implements WriteLogNode, Comparable<Exclusive
     lockForOther();
     try {
       logCache.clear();
+      bufferLock.lock();
+      try {
+        logBuffer = null;
+        commitBuffer = null;
+        commitBufferPending = false;
+      } finally {
+        bufferLock.unlock();
+      }
       if (currentFileWriter != null) {
         currentFileWriter.close();
       }
@@ -217,6 +459,14 @@ public class ExclusiveWriteLogNode implements WriteLogNode, Comparable<Exclusive
   }
 
   private void sync() {
+    if (groupCommit) {
+      try {
+        groupCommit();
+      } catch (IOException e) {
+        logger.error("Log node {} sync failed", identifier, e);
+      }
+      return;
+    }
     lockForOther();
     try {
       logger.debug("Log node {} starts sync, {} logs to be synced", identifier, logCache.size());
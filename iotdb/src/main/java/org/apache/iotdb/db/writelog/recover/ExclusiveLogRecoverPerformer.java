@@ -50,8 +50,10 @@ public class ExclusiveLogRecoverPerformer implements RecoverPerformer {
   public static final String RECOVER_SUFFIX = "-recover";
   public static final String FLAG_SEPERATOR = "-";
   private static final Logger logger = LoggerFactory.getLogger(ExclusiveLogRecoverPerformer.class);
-  // The two fields can be made static only because the recovery is a serial process.
-  private static RAFLogReader rafLogReader = new RAFLogReader();
+  // log nodes of different storage groups may be recovered in parallel, so each recovery thread
+  // has its own reader.
+  private static ThreadLocal<RAFLogReader> localLogReader = ThreadLocal.withInitial(
+      RAFLogReader::new);
   private ExclusiveWriteLogNode writeLogNode;
   private String recoveryFlagPath;
   private String restoreFilePath;
@@ -262,6 +264,7 @@ public class ExclusiveLogRecoverPerformer implements RecoverPerformer {
   private int replayLogFile(File logFile) throws RecoverException {
     int failedCnt = 0;
     if (logFile.exists()) {
+      RAFLogReader rafLogReader = localLogReader.get();
       try {
         rafLogReader.open(logFile);
       } catch (FileNotFoundException e) {
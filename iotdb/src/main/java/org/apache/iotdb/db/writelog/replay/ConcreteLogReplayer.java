@@ -28,11 +28,19 @@ import org.apache.iotdb.db.qp.physical.PhysicalPlan;
 import org.apache.iotdb.db.qp.physical.crud.DeletePlan;
 import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
 import org.apache.iotdb.db.qp.physical.crud.UpdatePlan;
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.BooleanDataPoint;
 import org.apache.iotdb.tsfile.write.record.datapoint.DataPoint;
+import org.apache.iotdb.tsfile.write.record.datapoint.DoubleDataPoint;
+import org.apache.iotdb.tsfile.write.record.datapoint.FloatDataPoint;
+import org.apache.iotdb.tsfile.write.record.datapoint.IntDataPoint;
+import org.apache.iotdb.tsfile.write.record.datapoint.LongDataPoint;
+import org.apache.iotdb.tsfile.write.record.datapoint.StringDataPoint;
 
 public class ConcreteLogReplayer implements LogReplayer {
 
@@ -66,19 +74,45 @@ public class ConcreteLogReplayer implements LogReplayer {
     String deviceId = insertPlan.getDeviceId();
     long insertTime = insertPlan.getTime();
     List<String> measurementList = insertPlan.getMeasurements();
-    List<String> insertValues = insertPlan.getValues();
 
     TSRecord tsRecord = new TSRecord(insertTime, deviceId);
     for (int i = 0; i < measurementList.size(); i++) {
-      String pathKey = deviceId + "." + measurementList.get(i);
-      TSDataType dataType = MManager.getInstance().getSeriesType(pathKey);
-      String value = insertValues.get(i);
-      DataPoint dataPoint = DataPoint.getDataPoint(dataType, measurementList.get(i), value);
+      DataPoint dataPoint;
+      if (insertPlan.isTyped()) {
+        // typed logs carry their data types, no need to look them up or parse the values
+        dataPoint = getDataPoint(insertPlan.getDataTypes()[i], measurementList.get(i),
+            insertPlan.getTypedValues()[i]);
+      } else {
+        String pathKey = deviceId + "." + measurementList.get(i);
+        TSDataType dataType = MManager.getInstance().getSeriesType(pathKey);
+        String value = insertPlan.getValues().get(i);
+        dataPoint = DataPoint.getDataPoint(dataType, measurementList.get(i), value);
+      }
       tsRecord.addTuple(dataPoint);
     }
     FileNodeManager.getInstance().insert(tsRecord, true);
   }
 
+  private DataPoint getDataPoint(TSDataType dataType, String measurement, Object value) {
+    switch (dataType) {
+      case BOOLEAN:
+        return new BooleanDataPoint(measurement, (Boolean) value);
+      case INT32:
+        return new IntDataPoint(measurement, (Integer) value);
+      case INT64:
+        return new LongDataPoint(measurement, (Long) value);
+      case FLOAT:
+        return new FloatDataPoint(measurement, (Float) value);
+      case DOUBLE:
+        return new DoubleDataPoint(measurement, (Double) value);
+      case TEXT:
+        return new StringDataPoint(measurement, (Binary) value);
+      default:
+        throw new UnSupportedDataTypeException(
+            String.format("Data type %s is not supported.", dataType));
+    }
+  }
+
   private void update(UpdatePlan updatePlan) throws FileNodeManagerException, PathErrorException {
     TSDataType dataType = MManager.getInstance().getSeriesType(updatePlan.getPath().getFullPath());
     for (Pair<Long, Long> timePair : updatePlan.getIntervals()) {
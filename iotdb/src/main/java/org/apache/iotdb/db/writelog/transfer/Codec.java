@@ -19,11 +19,20 @@
 package org.apache.iotdb.db.writelog.transfer;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import org.apache.iotdb.db.qp.physical.PhysicalPlan;
 
 interface Codec<T extends PhysicalPlan> {
 
-  byte[] encode(T t);
+  /**
+   * serialize the plan into the buffer from its current position.
+   *
+   * @throws java.nio.BufferOverflowException if the buffer has not enough space
+   */
+  void encode(T t, ByteBuffer buffer);
 
-  T decode(byte[] bytes) throws IOException;
+  /**
+   * deserialize a plan from the current position of the buffer, the buffer is consumed.
+   */
+  T decode(ByteBuffer buffer) throws IOException;
 }
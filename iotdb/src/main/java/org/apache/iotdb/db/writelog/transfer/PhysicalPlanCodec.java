@@ -20,16 +20,17 @@ package org.apache.iotdb.db.writelog.transfer;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
-import org.apache.iotdb.db.conf.IoTDBConfig;
-import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.qp.physical.crud.DeletePlan;
 import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
 import org.apache.iotdb.db.qp.physical.crud.UpdatePlan;
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.BytesUtils;
 import org.apache.iotdb.tsfile.utils.Pair;
 
@@ -38,10 +39,10 @@ public enum PhysicalPlanCodec {
   MULTIINSERTPLAN(SystemLogOperator.INSERT, CodecInstances.multiInsertPlanCodec), UPDATEPLAN(
       SystemLogOperator.UPDATE,
       CodecInstances.updatePlanCodec), DELETEPLAN(SystemLogOperator.DELETE,
-      CodecInstances.deletePlanCodec);
+      CodecInstances.deletePlanCodec), TYPEDINSERTPLAN(SystemLogOperator.TYPED_INSERT,
+      CodecInstances.typedInsertPlanCodec);
 
   private static final HashMap<Integer, PhysicalPlanCodec> codecMap = new HashMap<>();
-  private static IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
 
   static {
     for (PhysicalPlanCodec codec : PhysicalPlanCodec.values()) {
@@ -69,54 +70,106 @@ public enum PhysicalPlanCodec {
 
     private CodecInstances(){}
 
+    private static void putString(String str, ByteBuffer buffer) {
+      byte[] bytes = BytesUtils.stringToBytes(str);
+      buffer.putInt(bytes.length);
+      buffer.put(bytes);
+    }
+
+    /**
+     * read a string without copying its bytes out of the buffer first when the buffer is backed
+     * by an array.
+     */
+    private static String readString(ByteBuffer buffer) {
+      int length = buffer.getInt();
+      String str;
+      if (buffer.hasArray()) {
+        str = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+            StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+      } else {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        str = BytesUtils.bytesToString(bytes);
+      }
+      return str;
+    }
+
+    private static void putValue(TSDataType dataType, Object value, ByteBuffer buffer) {
+      switch (dataType) {
+        case BOOLEAN:
+          buffer.put((byte) ((Boolean) value ? 1 : 0));
+          break;
+        case INT32:
+          buffer.putInt((Integer) value);
+          break;
+        case INT64:
+          buffer.putLong((Long) value);
+          break;
+        case FLOAT:
+          buffer.putFloat((Float) value);
+          break;
+        case DOUBLE:
+          buffer.putDouble((Double) value);
+          break;
+        case TEXT:
+          byte[] bytes = ((Binary) value).getValues();
+          buffer.putInt(bytes.length);
+          buffer.put(bytes);
+          break;
+        default:
+          throw new UnSupportedDataTypeException(
+              String.format("Data type %s is not supported.", dataType));
+      }
+    }
+
+    private static Object readValue(TSDataType dataType, ByteBuffer buffer) {
+      switch (dataType) {
+        case BOOLEAN:
+          return buffer.get() == 1;
+        case INT32:
+          return buffer.getInt();
+        case INT64:
+          return buffer.getLong();
+        case FLOAT:
+          return buffer.getFloat();
+        case DOUBLE:
+          return buffer.getDouble();
+        case TEXT:
+          byte[] bytes = new byte[buffer.getInt()];
+          buffer.get(bytes);
+          return new Binary(bytes);
+        default:
+          throw new UnSupportedDataTypeException(
+              String.format("Data type %s is not supported.", dataType));
+      }
+    }
+
     static final Codec<DeletePlan> deletePlanCodec = new Codec<DeletePlan>() {
-      ThreadLocal<ByteBuffer> localBuffer = new ThreadLocal<>();
 
       @Override
-      public byte[] encode(DeletePlan t) {
-        if (localBuffer.get() == null) {
-          localBuffer.set(ByteBuffer.allocate(config.maxLogEntrySize));
-        }
-
+      public void encode(DeletePlan t, ByteBuffer buffer) {
         int type = SystemLogOperator.DELETE;
-        ByteBuffer buffer = localBuffer.get();
-        buffer.clear();
         buffer.put((byte) type);
         buffer.putLong(t.getDeleteTime());
-        byte[] pathBytes = BytesUtils.stringToBytes(t.getPaths().get(0).getFullPath());
-        buffer.putInt(pathBytes.length);
-        buffer.put(pathBytes);
-
-        return Arrays.copyOfRange(buffer.array(), 0, buffer.position());
+        putString(t.getPaths().get(0).getFullPath(), buffer);
       }
 
       @Override
-      public DeletePlan decode(byte[] bytes) throws IOException {
-        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      public DeletePlan decode(ByteBuffer buffer) throws IOException {
         buffer.get(); // read  and skip an int representing "type".
         long time = buffer.getLong();
-
-        int pathLength = buffer.getInt();
-        byte[] pathBytes = new byte[pathLength];
-        buffer.get(pathBytes, 0, pathLength);
-        String path = BytesUtils.bytesToString(pathBytes);
+        String path = readString(buffer);
 
         return new DeletePlan(time, new Path(path));
       }
     };
 
     static final Codec<UpdatePlan> updatePlanCodec = new Codec<UpdatePlan>() {
-      ThreadLocal<ByteBuffer> localBuffer = new ThreadLocal<>();
 
       @Override
-      public byte[] encode(UpdatePlan updatePlan) {
+      public void encode(UpdatePlan updatePlan, ByteBuffer buffer) {
         int type = SystemLogOperator.UPDATE;
-        if (localBuffer.get() == null) {
-          localBuffer.set(ByteBuffer.allocate(config.maxLogEntrySize));
-        }
-
-        ByteBuffer buffer = localBuffer.get();
-        buffer.clear();
         buffer.put((byte) type);
         buffer.putInt(updatePlan.getIntervals().size());
         for (Pair<Long, Long> pair : updatePlan.getIntervals()) {
@@ -124,20 +177,12 @@ public enum PhysicalPlanCodec {
           buffer.putLong(pair.right);
         }
 
-        byte[] valueBytes = BytesUtils.stringToBytes(updatePlan.getValue());
-        buffer.putInt(valueBytes.length);
-        buffer.put(valueBytes);
-
-        byte[] pathBytes = BytesUtils.stringToBytes(updatePlan.getPath().getFullPath());
-        buffer.putInt(pathBytes.length);
-        buffer.put(pathBytes);
-
-        return Arrays.copyOfRange(buffer.array(), 0, buffer.position());
+        putString(updatePlan.getValue(), buffer);
+        putString(updatePlan.getPath().getFullPath(), buffer);
       }
 
       @Override
-      public UpdatePlan decode(byte[] bytes) throws IOException {
-        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      public UpdatePlan decode(ByteBuffer buffer) throws IOException {
         buffer.get(); // read and skip an int representing "type"
 
         int timeListBytesLength = buffer.getInt();
@@ -148,87 +193,55 @@ public enum PhysicalPlanCodec {
           timeArrayList.add(new Pair<>(startTime, endTime));
         }
 
-        int valueLength = buffer.getInt();
-        byte[] valueBytes = new byte[valueLength];
-        buffer.get(valueBytes);
-        String value = BytesUtils.bytesToString(valueBytes);
-
-        int pathLength = buffer.getInt();
-        byte[] pathBytes = new byte[pathLength];
-        buffer.get(pathBytes);
-        String path = BytesUtils.bytesToString(pathBytes);
+        String value = readString(buffer);
+        String path = readString(buffer);
 
         return new UpdatePlan(timeArrayList, value, new Path(path));
       }
     };
 
     static final Codec<InsertPlan> multiInsertPlanCodec = new Codec<InsertPlan>() {
-      ThreadLocal<ByteBuffer> localBuffer = new ThreadLocal<>();
 
       @Override
-      public byte[] encode(InsertPlan plan) {
+      public void encode(InsertPlan plan, ByteBuffer buffer) {
         int type = SystemLogOperator.INSERT;
-        if (localBuffer.get() == null) {
-          localBuffer.set(ByteBuffer.allocate(config.maxLogEntrySize));
-        }
-        ByteBuffer buffer = localBuffer.get();
-        buffer.clear();
         buffer.put((byte) type);
         buffer.put((byte) plan.getInsertType());
         buffer.putLong(plan.getTime());
 
-        byte[] deviceBytes = BytesUtils.stringToBytes(plan.getDeviceId());
-        buffer.putInt(deviceBytes.length);
-        buffer.put(deviceBytes);
+        putString(plan.getDeviceId(), buffer);
 
         List<String> measurementList = plan.getMeasurements();
         buffer.putInt(measurementList.size());
         for (String m : measurementList) {
-          byte[] mBytes = BytesUtils.stringToBytes(m);
-          buffer.putInt(mBytes.length);
-          buffer.put(mBytes);
+          putString(m, buffer);
         }
 
         List<String> valueList = plan.getValues();
         buffer.putInt(valueList.size());
-        for (String m : valueList) {
-          byte[] vBytes = BytesUtils.stringToBytes(m);
-          buffer.putInt(vBytes.length);
-          buffer.put(vBytes);
+        for (String v : valueList) {
+          putString(v, buffer);
         }
-
-        return Arrays.copyOfRange(buffer.array(), 0, buffer.position());
       }
 
       @Override
-      public InsertPlan decode(byte[] bytes) throws IOException {
-        ByteBuffer buffer = ByteBuffer.wrap(bytes);
-
+      public InsertPlan decode(ByteBuffer buffer) throws IOException {
         buffer.get(); // read and skip an int representing "type"
         int insertType = buffer.get();
         long time = buffer.getLong();
 
-        int deltaObjLen = buffer.getInt();
-        byte[] deltaObjBytes = new byte[deltaObjLen];
-        buffer.get(deltaObjBytes);
-        String device = BytesUtils.bytesToString(deltaObjBytes);
+        String device = readString(buffer);
 
         int mmListLength = buffer.getInt();
         List<String> measurementsList = new ArrayList<>(mmListLength);
         for (int i = 0; i < mmListLength; i++) {
-          int mmLen = buffer.getInt();
-          byte[] mmBytes = new byte[mmLen];
-          buffer.get(mmBytes);
-          measurementsList.add(BytesUtils.bytesToString(mmBytes));
+          measurementsList.add(readString(buffer));
         }
 
         int valueListLength = buffer.getInt();
         List<String> valuesList = new ArrayList<>(valueListLength);
         for (int i = 0; i < valueListLength; i++) {
-          int valueLen = buffer.getInt();
-          byte[] valueBytes = new byte[valueLen];
-          buffer.get(valueBytes);
-          valuesList.add(BytesUtils.bytesToString(valueBytes));
+          valuesList.add(readString(buffer));
         }
 
         InsertPlan ans = new InsertPlan(device, time, measurementsList, valuesList);
@@ -237,5 +250,53 @@ public enum PhysicalPlanCodec {
       }
     };
 
+    /**
+     * insert plans whose values are typed, each value is written in its binary form after its
+     * data type, so neither the writer nor the recovery has to convert it from or to a string.
+     */
+    static final Codec<InsertPlan> typedInsertPlanCodec = new Codec<InsertPlan>() {
+
+      @Override
+      public void encode(InsertPlan plan, ByteBuffer buffer) {
+        int type = SystemLogOperator.TYPED_INSERT;
+        buffer.put((byte) type);
+        buffer.put((byte) plan.getInsertType());
+        buffer.putLong(plan.getTime());
+
+        putString(plan.getDeviceId(), buffer);
+
+        List<String> measurementList = plan.getMeasurements();
+        TSDataType[] dataTypes = plan.getDataTypes();
+        Object[] values = plan.getTypedValues();
+        buffer.putInt(measurementList.size());
+        for (int i = 0; i < measurementList.size(); i++) {
+          putString(measurementList.get(i), buffer);
+          buffer.putShort(dataTypes[i].serialize());
+          putValue(dataTypes[i], values[i], buffer);
+        }
+      }
+
+      @Override
+      public InsertPlan decode(ByteBuffer buffer) throws IOException {
+        buffer.get(); // read and skip an int representing "type"
+        int insertType = buffer.get();
+        long time = buffer.getLong();
+
+        String device = readString(buffer);
+
+        int size = buffer.getInt();
+        List<String> measurementsList = new ArrayList<>(size);
+        TSDataType[] dataTypes = new TSDataType[size];
+        Object[] values = new Object[size];
+        for (int i = 0; i < size; i++) {
+          measurementsList.add(readString(buffer));
+          dataTypes[i] = TSDataType.deserialize(buffer.getShort());
+          values[i] = readValue(dataTypes[i], buffer);
+        }
+
+        return new InsertPlan(insertType, device, time, measurementsList, dataTypes, values);
+      }
+    };
+
   }
-}
\ No newline at end of file
+}
@@ -20,18 +20,40 @@ package org.apache.iotdb.db.writelog.transfer;
 
 import java.io.IOException;
 import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.WALOverSizedException;
 import org.apache.iotdb.db.qp.physical.PhysicalPlan;
+import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
 
 public class PhysicalPlanLogTransfer {
 
+  private static final ThreadLocal<ByteBuffer> localBuffer = ThreadLocal.withInitial(
+      () -> ByteBuffer.allocate(IoTDBDescriptor.getInstance().getConfig().maxLogEntrySize));
+
   private PhysicalPlanLogTransfer(){}
 
   public static byte[] operatorToLog(PhysicalPlan plan) throws WALOverSizedException {
+    ByteBuffer buffer = localBuffer.get();
+    buffer.clear();
+    operatorToLog(plan, buffer);
+    return Arrays.copyOfRange(buffer.array(), 0, buffer.position());
+  }
+
+  /**
+   * serialize the plan into the given buffer from its current position, so that a caller owning a
+   * reusable buffer needs no intermediate array. If the plan does not fit in the remaining space,
+   * the position of the buffer is restored and a WALOverSizedException is thrown.
+   */
+  public static void operatorToLog(PhysicalPlan plan, ByteBuffer buffer)
+      throws WALOverSizedException {
     Codec<PhysicalPlan> codec;
     switch (plan.getOperatorType()) {
       case INSERT:
-        codec = (Codec<PhysicalPlan>) PhysicalPlanCodec.fromOpcode(SystemLogOperator.INSERT).codec;
+        int opCode = ((InsertPlan) plan).isTyped() ? SystemLogOperator.TYPED_INSERT
+            : SystemLogOperator.INSERT;
+        codec = (Codec<PhysicalPlan>) PhysicalPlanCodec.fromOpcode(opCode).codec;
         break;
       case UPDATE:
         codec = (Codec<PhysicalPlan>) PhysicalPlanCodec.fromOpcode(SystemLogOperator.UPDATE).codec;
@@ -43,17 +65,26 @@ public class PhysicalPlanLogTransfer {
         throw new UnsupportedOperationException(
             "SystemLogOperator given is not supported. " + plan.getOperatorType());
     }
+    int startPosition = buffer.position();
     try {
-      return codec.encode(plan);
+      codec.encode(plan, buffer);
     } catch (BufferOverflowException e) {
+      buffer.position(startPosition);
       throw new WALOverSizedException("Plan " + plan.toString() + " is too big to write to WAL");
     }
   }
 
   public static PhysicalPlan logToOperator(byte[] opInBytes) throws IOException {
+    return logToOperator(ByteBuffer.wrap(opInBytes));
+  }
+
+  /**
+   * deserialize a plan from the current position of the buffer, the buffer is consumed.
+   */
+  public static PhysicalPlan logToOperator(ByteBuffer buffer) throws IOException {
     // the first byte determines the opCode
-    int opCode = opInBytes[0];
+    int opCode = buffer.get(buffer.position());
     Codec<PhysicalPlan> codec = (Codec<PhysicalPlan>) PhysicalPlanCodec.fromOpcode(opCode).codec;
-    return codec.decode(opInBytes);
+    return codec.decode(buffer);
   }
 }
@@ -32,4 +32,5 @@ public class SystemLogOperator {
   public static final int OVERFLOWFLUSHEND = 4;
   public static final int BUFFERFLUSHSTART = 5;
   public static final int BUFFERFLUSHEND = 6;
+  public static final int TYPED_INSERT = 7;
 }
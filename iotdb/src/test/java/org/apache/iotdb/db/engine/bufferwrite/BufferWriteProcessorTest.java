@@ -42,6 +42,7 @@ import org.apache.iotdb.db.exception.ProcessorException;
 import org.apache.iotdb.db.utils.EnvironmentUtils;
 import org.apache.iotdb.db.utils.FileSchemaUtils;
 import org.apache.iotdb.db.utils.TimeValuePair;
+import org.apache.iotdb.db.utils.datastructure.PrimitiveArrayPool;
 import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
 import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
 import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
@@ -205,12 +206,13 @@ public class BufferWriteProcessorTest {
     assertEquals(TsFileIOWriter.magicStringBytes.length, bufferwrite.getFileSize());
     assertEquals(0, bufferwrite.getMetaSize());
     long lastFlushTime = bufferwrite.getLastFlushTime();
-    for (int i = 1; i <= 85; i++) {
+    // the memtable allocates the timestamps and the int values by arrays of ARRAY_SIZE
+    for (int i = 1; i <= 64; i++) {
       bufferwrite.write(deviceId, measurementId, i, dataType, String.valueOf(i));
-      assertEquals(i * 12, bufferwrite.memoryUsage());
+      assertEquals(arrayUsage(i), bufferwrite.memoryUsage());
     }
     assertEquals(lastFlushTime, bufferwrite.getLastFlushTime());
-    bufferwrite.write(deviceId, measurementId, 86, dataType, String.valueOf(86));
+    bufferwrite.write(deviceId, measurementId, 65, dataType, String.valueOf(65));
     //assert a flush() is called.
     assertNotEquals(bufferwrite.getLastFlushTime(), lastFlushTime);
     // sleep to the end of flush
@@ -233,20 +235,20 @@ public class BufferWriteProcessorTest {
     ChunkMetaData chunkMetaData = pair.right.get(0);
     assertEquals(measurementId, chunkMetaData.getMeasurementUid());
     assertEquals(dataType, chunkMetaData.getTsDataType());
-    for (int i = 87; i <= 100; i++) {
+    for (int i = 66; i <= 100; i++) {
       bufferwrite.write(deviceId, measurementId, i, dataType, String.valueOf(i));
-      assertEquals((i - 86) * 12, bufferwrite.memoryUsage());
+      assertEquals(arrayUsage(i - 65), bufferwrite.memoryUsage());
     }
     pair = bufferwrite
         .queryBufferWriteData(deviceId, measurementId, dataType, Collections.emptyMap());
     ReadOnlyMemChunk rawSeriesChunk = (ReadOnlyMemChunk) pair.left;
     assertFalse(rawSeriesChunk.isEmpty());
-    assertEquals(87, rawSeriesChunk.getMinTimestamp());
-    Assert.assertEquals(87, rawSeriesChunk.getValueAtMinTime().getInt());
+    assertEquals(66, rawSeriesChunk.getMinTimestamp());
+    Assert.assertEquals(66, rawSeriesChunk.getValueAtMinTime().getInt());
     assertEquals(100, rawSeriesChunk.getMaxTimestamp());
     Assert.assertEquals(100, rawSeriesChunk.getValueAtMaxTime().getInt());
     Iterator<TimeValuePair> iterator = rawSeriesChunk.getIterator();
-    for (int i = 87; i <= 100; i++) {
+    for (int i = 66; i <= 100; i++) {
       iterator.hasNext();
       TimeValuePair timeValuePair = iterator.next();
       assertEquals(i, timeValuePair.getTimestamp());
@@ -254,4 +256,9 @@ public class BufferWriteProcessorTest {
     }
     bufferwrite.close();
   }
+
+  private long arrayUsage(int pointNum) {
+    int arrayNum = (pointNum + PrimitiveArrayPool.ARRAY_SIZE - 1) / PrimitiveArrayPool.ARRAY_SIZE;
+    return (long) arrayNum * PrimitiveArrayPool.ARRAY_SIZE * (Long.BYTES + Integer.BYTES);
+  }
 }
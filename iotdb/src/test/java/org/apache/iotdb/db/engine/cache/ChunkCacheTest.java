@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.apache.iotdb.tsfile.file.header.ChunkHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.Chunk;
+import org.junit.Test;
+
+public class ChunkCacheTest {
+
+  private static final int CHUNK_SIZE = 1000;
+  private static final String FILE_PATH = "chunkCacheTest.tsfile";
+
+  private CountingReader reader = new CountingReader();
+
+  @Test
+  public void testHit() throws IOException {
+    ChunkCache cache = new ChunkCache(1024 * 1024);
+    Chunk chunk = cache.get(FILE_PATH, metaData(0), reader);
+    assertEquals(chunk, cache.get(FILE_PATH, metaData(0), reader));
+    assertEquals(1, reader.readNum);
+    assertEquals(1, cache.getHitNum());
+    assertEquals(1, cache.getMissNum());
+
+    // the same offset in another file is another chunk
+    cache.get(FILE_PATH + "2", metaData(0), reader);
+    assertEquals(2, reader.readNum);
+  }
+
+  @Test
+  public void testRemove() throws IOException {
+    ChunkCache cache = new ChunkCache(1024 * 1024);
+    cache.get(FILE_PATH, metaData(0), reader);
+    cache.get(FILE_PATH + "2", metaData(0), reader);
+    cache.remove(FILE_PATH);
+    assertEquals(CHUNK_SIZE, cache.get(FILE_PATH, metaData(0), reader).getData().capacity());
+    assertEquals(3, reader.readNum);
+    // the chunks of other files are kept
+    cache.get(FILE_PATH + "2", metaData(0), reader);
+    assertEquals(3, reader.readNum);
+  }
+
+  @Test
+  public void testMemoryBound() throws IOException {
+    long memoryBudget = 64 * 1024L;
+    ChunkCache cache = new ChunkCache(memoryBudget);
+    for (int i = 0; i < 1000; i++) {
+      cache.get(FILE_PATH, metaData(i * CHUNK_SIZE), reader);
+    }
+    assertTrue(cache.getUsedMemory() <= memoryBudget);
+    assertTrue(cache.getUsedMemory() > 0);
+    assertTrue(cache.getEvictionNum() > 0);
+  }
+
+  @Test
+  public void testScanResistance() throws IOException {
+    ChunkCache cache = new ChunkCache(64 * 1024L);
+    // accessed twice, the chunk becomes protected
+    cache.get(FILE_PATH, metaData(0), reader);
+    cache.get(FILE_PATH, metaData(0), reader);
+    for (int i = 1; i < 1000; i++) {
+      cache.get(FILE_PATH, metaData(i * CHUNK_SIZE), reader);
+    }
+    int readNum = reader.readNum;
+    cache.get(FILE_PATH, metaData(0), reader);
+    assertEquals(readNum, reader.readNum);
+  }
+
+  @Test
+  public void testDisabled() throws IOException {
+    ChunkCache cache = new ChunkCache(0);
+    cache.get(FILE_PATH, metaData(0), reader);
+    cache.get(FILE_PATH, metaData(0), reader);
+    assertEquals(2, reader.readNum);
+    assertEquals(0, cache.getUsedMemory());
+  }
+
+  private ChunkMetaData metaData(long offset) {
+    return new ChunkMetaData("s1", TSDataType.INT64, offset, 0, 100);
+  }
+
+  private static class CountingReader extends TsFileSequenceReader {
+
+    private int readNum;
+
+    private CountingReader() {
+      super(null, 0, 0);
+    }
+
+    @Override
+    public Chunk readMemChunk(ChunkMetaData metaData) {
+      readNum++;
+      ChunkHeader header = new ChunkHeader(metaData.getMeasurementUid(), CHUNK_SIZE,
+          metaData.getTsDataType(), CompressionType.UNCOMPRESSED, TSEncoding.PLAIN, 1);
+      return new Chunk(header, ByteBuffer.allocate(CHUNK_SIZE));
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import org.apache.iotdb.db.engine.modification.Deletion;
+import org.apache.iotdb.db.engine.modification.Modification;
+import org.apache.iotdb.db.utils.QueryUtils;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.LongDataPoint;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ChunkMetaDataCacheTest {
+
+  private static final String FILE_PATH = "chunkMetaDataCacheTest.tsfile";
+
+  private ChunkMetaDataCache cache = ChunkMetaDataCache.getInstance();
+  private TsFileSequenceReader reader;
+
+  @Before
+  public void setUp() throws IOException, WriteProcessException {
+    clearCaches();
+    TsFileWriter writer = new TsFileWriter(new File(FILE_PATH));
+    writer.addMeasurement(new MeasurementSchema("s1", TSDataType.INT64, TSEncoding.RLE));
+    writer.addMeasurement(new MeasurementSchema("s2", TSDataType.INT64, TSEncoding.RLE));
+    for (long time = 1; time <= 100; time++) {
+      TSRecord record = new TSRecord(time, "d1");
+      record.addTuple(new LongDataPoint("s1", time));
+      record.addTuple(new LongDataPoint("s2", time));
+      writer.write(record);
+    }
+    writer.close();
+    reader = new TsFileSequenceReader(FILE_PATH);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    reader.close();
+    clearCaches();
+    new File(FILE_PATH).delete();
+  }
+
+  private void clearCaches() {
+    TsFileMetaDataCache.getInstance().clear();
+    RowGroupBlockMetaDataCache.getInstance().clear();
+    cache.clear();
+  }
+
+  @Test
+  public void testHit() throws IOException {
+    long requestNum = cache.getRequestNum();
+    long hitNum = cache.getHitNum();
+    List<ChunkMetaData> first = cache.get(FILE_PATH, new Path("d1.s1"), reader);
+    List<ChunkMetaData> second = cache.get(FILE_PATH, new Path("d1.s1"), reader);
+    assertEquals(1, first.size());
+    assertEquals("s1", first.get(0).getMeasurementUid());
+    assertEquals(100, first.get(0).getEndTime());
+    assertNotSame(first, second);
+    assertEquals(first, second);
+    assertEquals(requestNum + 2, cache.getRequestNum());
+    assertEquals(hitNum + 1, cache.getHitNum());
+    assertTrue(cache.getUsedMemory() > 0);
+
+    assertTrue(cache.get(FILE_PATH, new Path("d2.s1"), reader).isEmpty());
+    assertTrue(cache.get(FILE_PATH, new Path("d1.s3"), reader).isEmpty());
+  }
+
+  @Test
+  public void testModificationNotCached() throws IOException {
+    List<ChunkMetaData> chunkMetaDataList = cache.get(FILE_PATH, new Path("d1.s1"), reader);
+    List<Modification> modifications = Collections
+        .singletonList(new Deletion("d1.s1", chunkMetaDataList.get(0).getVersion() + 1, 50));
+    QueryUtils.modifyChunkMetaData(chunkMetaDataList, modifications);
+    assertEquals(50, chunkMetaDataList.get(0).getDeletedAt());
+
+    assertEquals(-1, cache.get(FILE_PATH, new Path("d1.s1"), reader).get(0).getDeletedAt());
+  }
+
+  @Test
+  public void testRemove() throws IOException {
+    cache.get(FILE_PATH, new Path("d1.s1"), reader);
+    cache.get(FILE_PATH, new Path("d1.s2"), reader);
+    TsFileMetadataUtils.removeCachedMetaData(FILE_PATH);
+    assertEquals(0, cache.getUsedMemory());
+    assertEquals(0, RowGroupBlockMetaDataCache.getInstance().getUsedMemory());
+    assertEquals(0, TsFileMetaDataCache.getInstance().getUsedMemory());
+
+    long hitNum = cache.getHitNum();
+    assertEquals(1, cache.get(FILE_PATH, new Path("d1.s2"), reader).size());
+    assertEquals(hitNum, cache.getHitNum());
+  }
+}
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class SegmentedLruCacheTest {
+
+  private SegmentedLruCache<Integer, String> cache = new SegmentedLruCache<Integer, String>(
+      16 * 1000) {
+    @Override
+    long estimateSize(Integer key, String value) {
+      return value.length();
+    }
+  };
+
+  @Test
+  public void testAccounting() {
+    for (int i = 0; i < 1000; i++) {
+      cache.put(i, "0123456789");
+      // promote every other entry
+      if (i % 2 == 0) {
+        cache.get(i);
+      }
+      assertTrue(cache.getUsedMemory() <= 16 * 1000);
+    }
+    assertEquals(500, cache.getRequestNum());
+    long cachedNum = cache.getUsedMemory() / 10;
+    assertEquals(1000 - cachedNum, cache.getEvictionNum());
+
+    cache.clear();
+    assertEquals(0, cache.getUsedMemory());
+  }
+
+  @Test
+  public void testRemove() {
+    cache.put(1, "one");
+    cache.put(2, "two");
+    cache.get(2);
+    cache.remove(1);
+    cache.remove(2);
+    assertNull(cache.get(1));
+    assertNull(cache.get(2));
+    assertEquals(0, cache.getUsedMemory());
+    assertEquals(1, cache.getHitNum());
+  }
+
+  @Test
+  public void testRemoveIf() {
+    for (int i = 0; i < 100; i++) {
+      cache.put(i, "0123456789");
+      if (i % 3 == 0) {
+        cache.get(i);
+      }
+    }
+    cache.removeIf(key -> key % 2 == 0);
+    assertEquals(50 * 10, cache.getUsedMemory());
+    assertNull(cache.get(2));
+    assertEquals("0123456789", cache.get(3));
+  }
+}
@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.file.metadata.TsFileMetaData;
+import org.apache.iotdb.tsfile.file.metadata.TsSeriesMetadataIndex;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.LongDataPoint;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TsFileMetaDataCacheTest {
+
+  private static final String FILE_PATH = "tsFileMetaDataCacheTest.tsfile";
+  private static final int DEVICE_NUM = 20;
+  private static final int MEASUREMENT_NUM = 20;
+
+  private TsFileMetaDataCache cache = TsFileMetaDataCache.getInstance();
+
+  @Before
+  public void setUp() throws IOException, WriteProcessException {
+    cache.clear();
+    TsFileWriter writer = new TsFileWriter(new File(FILE_PATH));
+    for (int i = 0; i < MEASUREMENT_NUM; i++) {
+      writer.addMeasurement(new MeasurementSchema("s" + i, TSDataType.INT64, TSEncoding.RLE));
+    }
+    for (int d = 0; d < DEVICE_NUM; d++) {
+      for (long time = 1; time <= 10; time++) {
+        TSRecord record = new TSRecord(time, "d" + d);
+        for (int i = 0; i < MEASUREMENT_NUM; i++) {
+          record.addTuple(new LongDataPoint("s" + i, time));
+        }
+        writer.write(record);
+      }
+    }
+    writer.close();
+  }
+
+  @After
+  public void tearDown() {
+    cache.clear();
+    new File(FILE_PATH).delete();
+  }
+
+  @Test
+  public void testHit() throws IOException {
+    long hitNum = cache.getHitNum();
+    TsFileMetaData fileMetaData = cache.get(FILE_PATH);
+    assertSame(fileMetaData, cache.get(FILE_PATH));
+    assertEquals(hitNum + 1, cache.getHitNum());
+
+    cache.remove(FILE_PATH);
+    assertEquals(0, cache.getUsedMemory());
+  }
+
+  @Test
+  public void testEstimateSize() throws IOException {
+    TsFileMetaData fileMetaData = cache.get(FILE_PATH);
+    BloomFilter bloomFilter = fileMetaData.getBloomFilter();
+    assertNotNull(bloomFilter);
+    assertEquals(DEVICE_NUM, fileMetaData.getSeriesIndexMap().size());
+
+    // the series indexes and the bloom filter take most of the memory of the metadata
+    long lowerBound = (bloomFilter.getBitNum() + Long.SIZE - 1) / Long.SIZE * Long.BYTES;
+    for (TsSeriesMetadataIndex seriesIndex : fileMetaData.getSeriesIndexMap().values()) {
+      assertEquals(MEASUREMENT_NUM, seriesIndex.getMeasurementNum());
+      for (int i = 0; i < seriesIndex.getMeasurementNum(); i++) {
+        // the offset, the length and the version of each ChunkMetaData
+        lowerBound += 2L * seriesIndex.getMeasurementId(i).length()
+            + (Long.BYTES + Integer.BYTES + Long.BYTES) * seriesIndex.getChunkNum(i);
+      }
+    }
+    assertTrue(cache.getUsedMemory() > lowerBound);
+  }
+}
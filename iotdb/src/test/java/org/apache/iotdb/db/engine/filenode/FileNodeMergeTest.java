@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.filenode;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.exception.FileNodeManagerException;
+import org.apache.iotdb.db.metadata.MManager;
+import org.apache.iotdb.db.query.control.FileReaderManager;
+import org.apache.iotdb.db.query.control.OpenedFilePathsManager;
+import org.apache.iotdb.db.query.control.QueryTokenManager;
+import org.apache.iotdb.db.query.executor.EngineQueryRouter;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.expression.QueryExpression;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.LongDataPoint;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FileNodeMergeTest {
+
+  private static final String STORAGE_GROUP = "root.merge";
+  private static final int DEVICE_NUM = 2;
+  private static final int MEASUREMENT_NUM = 5;
+
+  private IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  private boolean enableTsFileMmap;
+  private long overflowFileSizeThreshold;
+  private EngineQueryRouter router = new EngineQueryRouter();
+  private List<Path> paths = new ArrayList<>();
+
+  @Before
+  public void setUp() throws Exception {
+    enableTsFileMmap = config.enableTsFileMmap;
+    config.enableTsFileMmap = true;
+    overflowFileSizeThreshold = config.overflowFileSizeThreshold;
+    config.overflowFileSizeThreshold = 0;
+    EnvironmentUtils.envSetUp();
+    MManager.getInstance().setStorageLevelToMTree(STORAGE_GROUP);
+    for (int d = 0; d < DEVICE_NUM; d++) {
+      for (int m = 0; m < MEASUREMENT_NUM; m++) {
+        Path path = new Path(STORAGE_GROUP + ".d" + d, "s" + m);
+        MManager.getInstance().addPathToMTree(path.getFullPath(), TSDataType.INT64.toString(),
+            TSEncoding.RLE.toString());
+        FileNodeManager.getInstance().addTimeSeries(path, TSDataType.INT64, TSEncoding.RLE,
+            CompressionType.valueOf(TSFileConfig.compressor), Collections.emptyMap());
+        paths.add(path);
+      }
+    }
+
+    // a sealed file and the overflow data the merge rewrites it with
+    insert(1, 1000, 0);
+    FileNodeManager.getInstance().closeAll();
+    insert(200, 400, 1);
+    FileNodeManager.getInstance().closeAll();
+  }
+
+  @After
+  public void tearDown() throws IOException, FileNodeManagerException {
+    EnvironmentUtils.cleanEnv();
+    config.enableTsFileMmap = enableTsFileMmap;
+    config.overflowFileSizeThreshold = overflowFileSizeThreshold;
+  }
+
+  private void insert(long startTime, long endTime, long offset) throws FileNodeManagerException {
+    for (int d = 0; d < DEVICE_NUM; d++) {
+      for (long time = startTime; time <= endTime; time++) {
+        TSRecord record = new TSRecord(time, STORAGE_GROUP + ".d" + d);
+        for (int m = 0; m < MEASUREMENT_NUM; m++) {
+          record.addTuple(new LongDataPoint("s" + m, time * 100 + m + offset));
+        }
+        FileNodeManager.getInstance().insert(record, false);
+      }
+    }
+  }
+
+  @Test
+  public void testMergeWhileClearingReaders() throws Exception {
+    QueryExpression queryExpression = QueryExpression.create(paths, null);
+    List<String> rows = query(queryExpression);
+    assertEquals(1000, rows.size());
+    // the cached chunks are slices of the mapping, which stay readable after the reader is closed
+    FileReaderManager.getInstance().clearUnusedReaders();
+    assertEquals(rows, query(queryExpression));
+
+    // the readers no query holds are closed while the merge reads the sealed file
+    AtomicBoolean merging = new AtomicBoolean(true);
+    Thread cleaner = new Thread(() -> {
+      while (merging.get()) {
+        FileReaderManager.getInstance().clearUnusedReaders();
+      }
+    });
+    cleaner.start();
+    try {
+      FileNodeManager.getInstance().mergeAll();
+    } finally {
+      merging.set(false);
+      cleaner.join();
+    }
+
+    assertEquals(rows, query(queryExpression));
+  }
+
+  private List<String> query(QueryExpression queryExpression)
+      throws IOException, FileNodeManagerException {
+    QueryDataSet dataSet = router.query(queryExpression);
+    List<String> rows = new ArrayList<>();
+    while (dataSet.hasNext()) {
+      rows.add(dataSet.next().toString());
+    }
+    QueryTokenManager.getInstance().endQueryForCurrentRequestThread();
+    OpenedFilePathsManager.getInstance().removeUsedFilesForCurrentRequestThread();
+    return rows;
+  }
+}
@@ -78,6 +78,35 @@ public class PrimitiveMemTableTest {
     }
   }
 
+  @Test
+  public void deleteReleaseTest() {
+    IMemTable memTable = new PrimitiveMemTable();
+    for (int i = 0; i < 100; i++) {
+      memTable.write("d1", "s1", TSDataType.INT64, i, String.valueOf(i));
+      memTable.write("d1", "s2", TSDataType.INT64, i, String.valueOf(i));
+    }
+
+    // the replaced chunk is released at once if nothing else reads it
+    IWritableMemChunk chunk = memTable.getMemTableMap().get("d1").get("s1");
+    memTable.delete("d1", "s1", 49);
+    Assert.assertEquals(0, chunk.getMemSize());
+    Assert.assertEquals(50, memTable.getMemTableMap().get("d1").get("s1").count());
+    // a series of the device without data in the memtable is skipped
+    memTable.delete("d1", "s3", 49);
+    Assert.assertFalse(memTable.getMemTableMap().get("d1").containsKey("s3"));
+
+    // the chunks of a copy may still be read through the source, e.g., by a flush
+    chunk = memTable.getMemTableMap().get("d1").get("s2");
+    IMemTable copy = memTable.copy();
+    copy.delete("d1", "s2", 49);
+    Assert.assertEquals(100, chunk.count());
+    Assert.assertTrue(chunk.getMemSize() > 0);
+    IWritableMemChunk newChunk = copy.getMemTableMap().get("d1").get("s2");
+    copy.clear();
+    Assert.assertEquals(0, chunk.getMemSize());
+    Assert.assertEquals(0, newChunk.getMemSize());
+  }
+
   private void write(IMemTable memTable, String deviceId, String sensorId, TSDataType dataType,
       int size) {
     int dataSize = 100;
@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.integration;
+
+import static org.apache.iotdb.db.integration.Constant.count;
+import static org.apache.iotdb.db.integration.Constant.first;
+import static org.apache.iotdb.db.integration.Constant.last;
+import static org.apache.iotdb.db.integration.Constant.max_time;
+import static org.apache.iotdb.db.integration.Constant.max_value;
+import static org.apache.iotdb.db.integration.Constant.mean;
+import static org.apache.iotdb.db.integration.Constant.min_time;
+import static org.apache.iotdb.db.integration.Constant.min_value;
+import static org.apache.iotdb.db.integration.Constant.sum;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.jdbc.Config;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Notice that, all test begins with "IoTDB" is integration test. All test which will start the
+ * IoTDB server should be defined as integration test.
+ */
+public class IoTDBAggregationIT {
+
+  private static final String d0s0 = "root.vehicle.d0.s0";
+
+  private static IoTDB daemon;
+
+  private static String[] sqls = new String[]{"SET STORAGE GROUP TO root.vehicle",
+      "CREATE TIMESERIES root.vehicle.d0.s0 WITH DATATYPE=INT32, ENCODING=RLE",
+
+      // sealed TsFile
+      "insert into root.vehicle.d0(timestamp,s0) values(1,1)",
+      "insert into root.vehicle.d0(timestamp,s0) values(2,2)",
+      "insert into root.vehicle.d0(timestamp,s0) values(3,3)",
+      "insert into root.vehicle.d0(timestamp,s0) values(4,4)",
+      "insert into root.vehicle.d0(timestamp,s0) values(5,5)",
+      "flush",
+
+      // memtable
+      "insert into root.vehicle.d0(timestamp,s0) values(6,6)",
+      "insert into root.vehicle.d0(timestamp,s0) values(7,7)",
+      "insert into root.vehicle.d0(timestamp,s0) values(8,8)",
+      "insert into root.vehicle.d0(timestamp,s0) values(9,9)",
+      "insert into root.vehicle.d0(timestamp,s0) values(10,10)",
+
+      // unsequence data overwrites the point at time 3
+      "insert into root.vehicle.d0(timestamp,s0) values(3,30)"};
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    EnvironmentUtils.closeStatMonitor();
+    EnvironmentUtils.closeMemControl();
+    daemon = IoTDB.getInstance();
+    daemon.active();
+    EnvironmentUtils.envSetUp();
+    insertData();
+  }
+
+  @AfterClass
+  public static void tearDown() throws Exception {
+    daemon.stop();
+    EnvironmentUtils.cleanEnv();
+  }
+
+  private static void insertData() throws ClassNotFoundException, SQLException {
+    Class.forName(Config.JDBC_DRIVER_NAME);
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root")) {
+      Statement statement = connection.createStatement();
+      for (String sql : sqls) {
+        statement.execute(sql);
+      }
+      statement.close();
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail(e.getMessage());
+    }
+  }
+
+  @Test
+  public void withoutFilterTest() throws ClassNotFoundException, SQLException {
+    String sql = "select count(s0),sum(s0),mean(s0),max_value(s0),min_value(s0),first(s0),"
+        + "last(s0),max_time(s0),min_time(s0) from root.vehicle.d0";
+    String[] columns = {count(d0s0), sum(d0s0), mean(d0s0), max_value(d0s0), min_value(d0s0),
+        first(d0s0), last(d0s0), max_time(d0s0), min_time(d0s0)};
+    String[] expected = {"10", "82.0", "8.2", "30", "1", "1", "10", "10", "1"};
+    checkResult(sql, columns, expected);
+  }
+
+  @Test
+  public void withTimeFilterTest() throws ClassNotFoundException, SQLException {
+    String sql = "select count(s0),sum(s0),first(s0),last(s0) from root.vehicle.d0 "
+        + "where time > 2 and time < 9";
+    String[] columns = {count(d0s0), sum(d0s0), first(d0s0), last(d0s0)};
+    String[] expected = {"6", "60.0", "30", "8"};
+    checkResult(sql, columns, expected);
+  }
+
+  @Test
+  public void withValueFilterTest() throws ClassNotFoundException, SQLException {
+    String sql = "select count(s0),sum(s0),min_time(s0) from root.vehicle.d0 where s0 > 5";
+    String[] columns = {count(d0s0), sum(d0s0), min_time(d0s0)};
+    String[] expected = {"6", "70.0", "3"};
+    checkResult(sql, columns, expected);
+  }
+
+  private void checkResult(String sql, String[] columns, String[] expected)
+      throws ClassNotFoundException, SQLException {
+    Class.forName(Config.JDBC_DRIVER_NAME);
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root")) {
+      Statement statement = connection.createStatement();
+      assertTrue(statement.execute(sql));
+      ResultSet resultSet = statement.getResultSet();
+      assertTrue(resultSet.next());
+      for (int i = 0; i < columns.length; i++) {
+        assertEquals(expected[i], resultSet.getString(columns[i]));
+      }
+      assertFalse(resultSet.next());
+      statement.close();
+    }
+  }
+}
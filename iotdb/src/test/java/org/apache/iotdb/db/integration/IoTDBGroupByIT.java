@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.integration;
+
+import static org.apache.iotdb.db.integration.Constant.count;
+import static org.apache.iotdb.db.integration.Constant.first;
+import static org.apache.iotdb.db.integration.Constant.sum;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.jdbc.Config;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Notice that, all test begins with "IoTDB" is integration test. All test which will start the
+ * IoTDB server should be defined as integration test.
+ */
+public class IoTDBGroupByIT {
+
+  private static final String d0s0 = "root.vehicle.d0.s0";
+
+  private static IoTDB daemon;
+
+  private static String[] sqls = new String[]{"SET STORAGE GROUP TO root.vehicle",
+      "CREATE TIMESERIES root.vehicle.d0.s0 WITH DATATYPE=INT32, ENCODING=RLE",
+
+      // sealed TsFile
+      "insert into root.vehicle.d0(timestamp,s0) values(1,1)",
+      "insert into root.vehicle.d0(timestamp,s0) values(2,2)",
+      "insert into root.vehicle.d0(timestamp,s0) values(3,3)",
+      "insert into root.vehicle.d0(timestamp,s0) values(4,4)",
+      "insert into root.vehicle.d0(timestamp,s0) values(5,5)",
+      "flush",
+
+      // memtable
+      "insert into root.vehicle.d0(timestamp,s0) values(6,6)",
+      "insert into root.vehicle.d0(timestamp,s0) values(7,7)",
+      "insert into root.vehicle.d0(timestamp,s0) values(8,8)",
+      "insert into root.vehicle.d0(timestamp,s0) values(9,9)",
+      "insert into root.vehicle.d0(timestamp,s0) values(10,10)",
+
+      // unsequence data overwrites the point at time 3
+      "insert into root.vehicle.d0(timestamp,s0) values(3,30)"};
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    EnvironmentUtils.closeStatMonitor();
+    EnvironmentUtils.closeMemControl();
+    daemon = IoTDB.getInstance();
+    daemon.active();
+    EnvironmentUtils.envSetUp();
+    insertData();
+  }
+
+  @AfterClass
+  public static void tearDown() throws Exception {
+    daemon.stop();
+    EnvironmentUtils.cleanEnv();
+  }
+
+  private static void insertData() throws ClassNotFoundException, SQLException {
+    Class.forName(Config.JDBC_DRIVER_NAME);
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root")) {
+      Statement statement = connection.createStatement();
+      for (String sql : sqls) {
+        statement.execute(sql);
+      }
+      statement.close();
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail(e.getMessage());
+    }
+  }
+
+  @Test
+  public void withoutFilterTest() throws ClassNotFoundException, SQLException {
+    String sql = "select count(s0),sum(s0),first(s0) from root.vehicle.d0 "
+        + "group by(3ms, 0, [1,10])";
+    String[] columns = {count(d0s0), sum(d0s0), first(d0s0)};
+    String[] expected = {"1,2,3.0,1", "3,3,39.0,30", "6,3,21.0,6", "9,2,19.0,9"};
+    checkResult(sql, columns, expected);
+  }
+
+  @Test
+  public void emptyWindowTest() throws ClassNotFoundException, SQLException {
+    String sql = "select count(s0),first(s0) from root.vehicle.d0 "
+        + "group by(3ms, 0, [1,4], [20,22])";
+    String[] columns = {count(d0s0), first(d0s0)};
+    String[] expected = {"1,2,1", "3,2,30", "20,0,null", "21,0,null"};
+    checkResult(sql, columns, expected);
+  }
+
+  @Test
+  public void withTimeFilterTest() throws ClassNotFoundException, SQLException {
+    String sql = "select count(s0),sum(s0) from root.vehicle.d0 where time > 4 "
+        + "group by(3ms, 0, [1,10])";
+    String[] columns = {count(d0s0), sum(d0s0)};
+    String[] expected = {"1,0,null", "3,1,5.0", "6,3,21.0", "9,2,19.0"};
+    checkResult(sql, columns, expected);
+  }
+
+  @Test
+  public void withValueFilterTest() throws ClassNotFoundException, SQLException {
+    String sql = "select count(s0),sum(s0) from root.vehicle.d0 where s0 > 5 "
+        + "group by(3ms, 0, [1,10])";
+    String[] columns = {count(d0s0), sum(d0s0)};
+    String[] expected = {"1,0,null", "3,1,30.0", "6,3,21.0", "9,2,19.0"};
+    checkResult(sql, columns, expected);
+  }
+
+  private void checkResult(String sql, String[] columns, String[] expected)
+      throws ClassNotFoundException, SQLException {
+    Class.forName(Config.JDBC_DRIVER_NAME);
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root")) {
+      Statement statement = connection.createStatement();
+      // a small fetch size makes the windows be fetched in several batches
+      statement.setFetchSize(2);
+      assertTrue(statement.execute(sql));
+      ResultSet resultSet = statement.getResultSet();
+      int cnt = 0;
+      while (resultSet.next()) {
+        StringBuilder builder = new StringBuilder(resultSet.getString(Constant.TIMESTAMP_STR));
+        for (String column : columns) {
+          builder.append(",").append(resultSet.getString(column));
+        }
+        assertEquals(expected[cnt], builder.toString());
+        cnt++;
+      }
+      assertEquals(expected.length, cnt);
+      statement.close();
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+import org.junit.Test;
+
+public class MGraphSnapshotTest {
+
+  private MGraph serializeAndDeserialize(MGraph mgraph) throws Exception {
+    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+    DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream);
+    mgraph.serializeTo(outputStream);
+    outputStream.close();
+    return MGraph.deserializeFrom(new DataInputStream(
+        new ByteArrayInputStream(byteArrayOutputStream.toByteArray())));
+  }
+
+  @Test
+  public void testMTree() throws Exception {
+    MGraph mgraph = new MGraph(MetadataConstant.ROOT);
+    mgraph.setStorageLevel("root.vehicle");
+    mgraph.setStorageLevel("root.laptop.d1");
+    Map<String, String> props = new HashMap<>();
+    props.put("max_point_number", "3");
+    mgraph.addPathToMTree("root.vehicle.d0.s0", TSDataType.FLOAT, TSEncoding.RLE,
+        CompressionType.SNAPPY, props);
+    mgraph.addPathToMTree("root.vehicle.d0.s1", TSDataType.TEXT, TSEncoding.PLAIN,
+        CompressionType.UNCOMPRESSED, null);
+    mgraph.addPathToMTree("root.laptop.d1.s0", TSDataType.INT64, TSEncoding.TS_2DIFF,
+        CompressionType.UNCOMPRESSED, null);
+    mgraph.getSchemaMapForOneFileNode("root.vehicle")
+        .put("s0", mgraph.getSchemaForOnePath("root.vehicle.d0.s0"));
+    mgraph.getNumSchemaMapForOneFileNode("root.vehicle").put("s0", 1);
+
+    MGraph restored = serializeAndDeserialize(mgraph);
+    assertEquals(mgraph.toString(), restored.toString());
+    assertTrue(restored.pathExist("root.vehicle.d0.s1"));
+    assertFalse(restored.pathExist("root.vehicle.d0.s2"));
+    assertEquals("root.laptop.d1", restored.getFileNameByPath("root.laptop.d1.s0"));
+    assertEquals(mgraph.getAllStorageGroup(), restored.getAllStorageGroup());
+
+    MeasurementSchema schema = restored.getSchemaForOnePath("root.vehicle.d0.s0");
+    assertEquals(TSDataType.FLOAT, schema.getType());
+    assertEquals(TSEncoding.RLE, schema.getEncodingType());
+    assertEquals(CompressionType.SNAPPY, schema.getCompressor());
+    assertEquals(props, schema.getProps());
+    assertEquals(schema, restored.getSchemaMapForOneFileNode("root.vehicle").get("s0"));
+    assertEquals(1, (int) restored.getNumSchemaMapForOneFileNode("root.vehicle").get("s0"));
+
+    // the restored tree can be modified as usual
+    restored.addPathToMTree("root.vehicle.d1.s0", TSDataType.INT32, TSEncoding.RLE,
+        CompressionType.UNCOMPRESSED, null);
+    assertEquals("root.vehicle", restored.getFileNameByPath("root.vehicle.d1.s0"));
+    restored.deletePath("root.vehicle.d0.s1");
+    assertFalse(restored.pathExist("root.vehicle.d0.s1"));
+  }
+
+  @Test
+  public void testPTree() throws Exception {
+    MGraph mgraph = new MGraph(MetadataConstant.ROOT);
+    mgraph.setStorageLevel("root.vehicle");
+    mgraph.addPathToMTree("root.vehicle.d0.s0", TSDataType.INT32, TSEncoding.RLE,
+        CompressionType.UNCOMPRESSED, null);
+    mgraph.addPathToMTree("root.vehicle.d1.s0", TSDataType.INT32, TSEncoding.RLE,
+        CompressionType.UNCOMPRESSED, null);
+    mgraph.addAPTree("region");
+    mgraph.addPathToPTree("region.beijing");
+    mgraph.linkMNodeToPTree("region.beijing", "root.vehicle.d0.s0");
+    mgraph.linkMNodeToPTree("region.beijing", "root.vehicle.d1.s0");
+
+    MGraph restored = serializeAndDeserialize(mgraph);
+    HashMap<String, ArrayList<String>> expected = mgraph
+        .getAllPathGroupByFilename("region.beijing");
+    assertEquals(expected, restored.getAllPathGroupByFilename("region.beijing"));
+    assertEquals(2, restored.getAllPathGroupByFilename("region.beijing").get("root.vehicle").size());
+  }
+}
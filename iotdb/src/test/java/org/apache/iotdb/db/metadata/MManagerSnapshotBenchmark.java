@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata;
+
+import java.io.File;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+
+/**
+ * MManager snapshot benchmark. Add one million timeseries with the default snapshot threshold and
+ * print the longest time an addition waits, which includes the time to serialize the metadata
+ * for a snapshot but not the time to sync it. Run it with a fixed heap, e.g. -Xms4g -Xmx4g.
+ */
+public class MManagerSnapshotBenchmark {
+
+  private static final String METADATA_DIR = "target" + File.separator
+      + "mmanagerSnapshotBenchmark" + File.separator;
+
+  private static int numOfStorageGroup = 10;
+  private static int numOfDevice = 10000;
+  private static int numOfMeasurement = 10;
+  private static int snapshotThreshold = 100000;
+
+  public static void main(String[] args) throws Exception {
+    EnvironmentUtils.cleanDir(METADATA_DIR);
+    MManager manager = new MManager(METADATA_DIR, snapshotThreshold);
+    long maxAddTime = 0;
+    long startTime = System.nanoTime();
+    for (int i = 0; i < numOfStorageGroup; i++) {
+      manager.setStorageLevelToMTree("root.sg" + i);
+      for (int j = 0; j < numOfDevice; j++) {
+        for (int k = 0; k < numOfMeasurement; k++) {
+          long addStartTime = System.nanoTime();
+          manager.addPathToMTree("root.sg" + i + ".d" + j + ".s" + k, "FLOAT", "RLE");
+          maxAddTime = Math.max(maxAddTime, System.nanoTime() - addStartTime);
+        }
+      }
+    }
+    long addTime = System.nanoTime() - startTime;
+    manager.waitForSnapshot();
+
+    startTime = System.nanoTime();
+    manager.flushObjectToFile();
+    long snapshotTime = System.nanoTime() - startTime;
+
+    System.out.println(String.format(
+        "Num of time series: %d, add time: %d ms, longest addition: %d ms, "
+            + "synchronous snapshot of all the series: %d ms",
+        numOfStorageGroup * numOfDevice * numOfMeasurement, addTime / 1000000,
+        maxAddTime / 1000000, snapshotTime / 1000000));
+    EnvironmentUtils.cleanDir(METADATA_DIR);
+  }
+}
@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.junit.After;
+import org.junit.Test;
+
+public class MManagerSnapshotTest {
+
+  private static final String METADATA_DIR = "target" + File.separator + "mmanagerSnapshotTest"
+      + File.separator;
+  private static final String STORAGE_GROUP = "root.sg";
+
+  @After
+  public void tearDown() throws Exception {
+    EnvironmentUtils.cleanDir(METADATA_DIR);
+  }
+
+  private void addPaths(MManager manager, int start, int end) throws Exception {
+    for (int i = start; i < end; i++) {
+      manager.addPathToMTree(STORAGE_GROUP + ".d" + i + ".s0", "INT64", "RLE");
+    }
+  }
+
+  private void assertPaths(MManager manager, int num) {
+    for (int i = 0; i < num; i++) {
+      assertTrue(manager.pathExist(STORAGE_GROUP + ".d" + i + ".s0"));
+    }
+    assertFalse(manager.pathExist(STORAGE_GROUP + ".d" + num + ".s0"));
+  }
+
+  @Test
+  public void testBackgroundSnapshot() throws Exception {
+    MManager manager = new MManager(METADATA_DIR, 10);
+    manager.setStorageLevelToMTree(STORAGE_GROUP);
+    // the snapshots are written while the paths are being added
+    addPaths(manager, 0, 95);
+    manager.waitForSnapshot();
+    assertTrue(new File(METADATA_DIR + MetadataConstant.METADATA_SNAPSHOT).exists());
+    assertFalse(new File(METADATA_DIR + MetadataConstant.METADATA_LOG
+        + MetadataConstant.METADATA_OLD).exists());
+
+    MManager restored = new MManager(METADATA_DIR, 10);
+    assertPaths(restored, 95);
+    assertEquals(manager.getMetadataInString(), restored.getMetadataInString());
+  }
+
+  @Test
+  public void testRecoverUnfinishedSnapshot() throws Exception {
+    MManager manager = new MManager(METADATA_DIR, 0);
+    manager.setStorageLevelToMTree(STORAGE_GROUP);
+    addPaths(manager, 0, 5);
+    manager.flushObjectToFile();
+    addPaths(manager, 5, 10);
+
+    // crash after the log is moved aside and 2 operations are logged into a new log, but before
+    // the temporary snapshot replaces the snapshot
+    File logFile = new File(METADATA_DIR + MetadataConstant.METADATA_LOG);
+    List<String> lines = Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8);
+    assertEquals(5, lines.size());
+    Files.write(new File(METADATA_DIR + MetadataConstant.METADATA_LOG
+        + MetadataConstant.METADATA_OLD).toPath(), lines.subList(0, 3), StandardCharsets.UTF_8);
+    Files.write(logFile.toPath(), lines.subList(3, 5), StandardCharsets.UTF_8);
+    Files.write(new File(METADATA_DIR + MetadataConstant.METADATA_SNAPSHOT
+        + MetadataConstant.METADATA_TEMP).toPath(), new byte[]{1, 2, 3});
+
+    MManager restored = new MManager(METADATA_DIR, 0);
+    assertPaths(restored, 10);
+    assertEquals(lines, Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8));
+    assertFalse(new File(METADATA_DIR + MetadataConstant.METADATA_LOG
+        + MetadataConstant.METADATA_OLD).exists());
+    assertFalse(new File(METADATA_DIR + MetadataConstant.METADATA_SNAPSHOT
+        + MetadataConstant.METADATA_TEMP).exists());
+
+    // the recovered files are consistent for the next start
+    assertPaths(new MManager(METADATA_DIR, 0), 10);
+  }
+}
@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.junit.Test;
+
+public class MNodeTest {
+
+  private List<String> childNames(MNode node) {
+    List<String> names = new ArrayList<>();
+    for (MNode child : node.getChildren()) {
+      names.add(child.getName());
+    }
+    return names;
+  }
+
+  @Test
+  public void testChildren() {
+    MNode node = new MNode("d0", null, false);
+    assertEquals(0, node.getChildrenNum());
+    assertTrue(node.getChildren().isEmpty());
+    List<String> expected = new ArrayList<>();
+    // more children than the array holds, so that they are moved into a map
+    for (int i = 0; i < 20; i++) {
+      String name = "s" + i;
+      node.addChild(name, new MNode(name, node, true));
+      expected.add(name);
+      assertEquals(expected, childNames(node));
+      assertEquals(i + 1, node.getChildrenNum());
+      for (int j = 0; j <= i; j++) {
+        assertEquals("s" + j, node.getChild("s" + j).getName());
+      }
+      assertFalse(node.hasChild("s" + (i + 1)));
+    }
+
+    node.deleteChild("s3");
+    expected.remove("s3");
+    assertEquals(expected, childNames(node));
+    assertNull(node.getChild("s3"));
+  }
+
+  @Test
+  public void testDeleteChildInArray() {
+    MNode node = new MNode("d0", null, false);
+    for (int i = 0; i < 4; i++) {
+      node.addChild("s" + i, new MNode("s" + i, node, true));
+    }
+    node.deleteChild("s0");
+    node.deleteChild("s2");
+    node.deleteChild("s5");
+    assertEquals(2, node.getChildrenNum());
+    assertEquals(Arrays.asList("s1", "s3"), childNames(node));
+    MNode replaced = new MNode("s1", node, true);
+    node.addChild("s1", replaced);
+    assertSame(replaced, node.getChild("s1"));
+    assertEquals(2, node.getChildrenNum());
+  }
+
+  @Test
+  public void testLeaf() {
+    MNode leaf = new MNode(new String("s0"), null, true);
+    assertSame("s0", leaf.getName());
+    assertNull(leaf.getChildren());
+    assertFalse(leaf.hasChild("s0"));
+    leaf.addChild("s1", new MNode("s1", leaf, true));
+    assertNull(leaf.getChild("s1"));
+  }
+
+  @Test
+  public void testSharedSchema() throws Exception {
+    MTree mtree = new MTree("root");
+    mtree.setStorageGroup("root.sg");
+    Map<String, String> props = new HashMap<>();
+    props.put("max_point_number", "2");
+    mtree.addTimeseriesPath("root.sg.d0.s0", TSDataType.INT32, TSEncoding.RLE,
+        CompressionType.UNCOMPRESSED, props);
+    mtree.addTimeseriesPath("root.sg.d1.s0", TSDataType.INT32, TSEncoding.RLE,
+        CompressionType.UNCOMPRESSED, new HashMap<>(props));
+    mtree.addTimeseriesPath("root.sg.d2.s0", TSDataType.INT32, TSEncoding.RLE,
+        CompressionType.UNCOMPRESSED, Collections.emptyMap());
+    mtree.addTimeseriesPath("root.sg.d3.s0", TSDataType.INT64, TSEncoding.RLE,
+        CompressionType.UNCOMPRESSED, props);
+
+    assertSame(mtree.getSchemaForOnePath("root.sg.d0.s0"),
+        mtree.getSchemaForOnePath("root.sg.d1.s0"));
+    assertEquals(props, mtree.getSchemaForOnePath("root.sg.d0.s0").getProps());
+    assertTrue(mtree.getSchemaForOnePath("root.sg.d2.s0").getProps().isEmpty());
+    assertEquals(TSDataType.INT64, mtree.getSchemaForOnePath("root.sg.d3.s0").getType());
+  }
+}
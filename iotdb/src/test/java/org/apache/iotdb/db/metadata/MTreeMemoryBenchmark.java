@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata;
+
+import java.util.Collections;
+import org.apache.iotdb.db.exception.PathErrorException;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+
+/**
+ * MTree memory benchmark. Build an MTree of one million timeseries and print the heap it uses and
+ * the speed of looking up the paths. Run it with a fixed heap, e.g. -Xms2g -Xmx2g.
+ */
+public class MTreeMemoryBenchmark {
+
+  private static int numOfStorageGroup = 10;
+  private static int numOfDevice = 10000;
+  private static int numOfMeasurement = 10;
+
+  private static long usedMemory() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+  }
+
+  public static void main(String[] args) throws PathErrorException {
+    long memoryBefore = usedMemory();
+    long startTime = System.currentTimeMillis();
+    MTree mtree = new MTree(MetadataConstant.ROOT);
+    for (int i = 0; i < numOfStorageGroup; i++) {
+      mtree.setStorageGroup("root.sg" + i);
+      for (int j = 0; j < numOfDevice; j++) {
+        for (int k = 0; k < numOfMeasurement; k++) {
+          mtree.addTimeseriesPath("root.sg" + i + ".d" + j + ".s" + k, TSDataType.FLOAT,
+              TSEncoding.RLE, CompressionType.SNAPPY, Collections.emptyMap());
+        }
+      }
+    }
+    long addTime = System.currentTimeMillis() - startTime;
+    long memory = usedMemory() - memoryBefore;
+    int numOfSeries = numOfStorageGroup * numOfDevice * numOfMeasurement;
+
+    startTime = System.currentTimeMillis();
+    int found = 0;
+    for (int i = 0; i < numOfStorageGroup; i++) {
+      for (int j = 0; j < numOfDevice; j++) {
+        for (int k = 0; k < numOfMeasurement; k++) {
+          if (mtree.isPathExist("root.sg" + i + ".d" + j + ".s" + k)) {
+            found++;
+          }
+        }
+      }
+    }
+    long lookupTime = System.currentTimeMillis() - startTime;
+
+    System.out.println(String.format(
+        "Num of time series: %d, add time: %d ms, lookup time: %d ms (%d found), "
+            + "heap: %d MB, heap per million series: %d MB",
+        numOfSeries, addTime, lookupTime, found, memory >> 20,
+        (memory * 1000000L / numOfSeries) >> 20));
+    // keep the tree reachable until the memory is measured
+    System.out.println(mtree.getRoot().getChildrenNum() + " storage groups");
+  }
+}
@@ -23,6 +23,7 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.cache.CacheStatistic;
 import org.apache.iotdb.db.engine.filenode.FileNodeManager;
 import org.apache.iotdb.db.exception.FileNodeManagerException;
 import org.apache.iotdb.db.metadata.MManager;
@@ -124,4 +125,28 @@ public class MonitorTest {
       fail(e.getMessage());
     }
   }
+
+  @Test
+  public void testCacheStatistic() {
+    statMonitor = StatMonitor.getInstance();
+    statMonitor.registStatStorageGroup();
+    CacheStatistic cacheStatistic = CacheStatistic.getInstance();
+    cacheStatistic.registStatMetadata();
+    MManager mManager = MManager.getInstance();
+    for (String path : cacheStatistic.getAllPathForStatistic()) {
+      assertEquals(true, mManager.pathExist(path));
+    }
+
+    TSRecord record = cacheStatistic.getAllStatisticsValue()
+        .get(MonitorConstants.STAT_CACHE_DELTA_NAME);
+    assertNotEquals(null, record);
+    assertEquals(MonitorConstants.CacheStatConstants.values().length,
+        record.dataPointList.size());
+    for (DataPoint dataPoint : record.dataPointList) {
+      if (dataPoint.getMeasurementId().endsWith("HIT_RATIO")) {
+        long ratio = (Long) dataPoint.getValue();
+        assertEquals(true, ratio >= 0 && ratio <= 100);
+      }
+    }
+  }
 }
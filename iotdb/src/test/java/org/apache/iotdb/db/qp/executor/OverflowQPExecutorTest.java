@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.qp.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.iotdb.db.engine.filenode.FileNodeManager;
+import org.apache.iotdb.db.exception.FileNodeManagerException;
+import org.apache.iotdb.db.exception.MetadataArgsErrorException;
+import org.apache.iotdb.db.exception.PathErrorException;
+import org.apache.iotdb.db.exception.ProcessorException;
+import org.apache.iotdb.db.metadata.MManager;
+import org.apache.iotdb.db.query.executor.EngineQueryRouter;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.read.expression.QueryExpression;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OverflowQPExecutorTest {
+
+  private String deviceId = "root.test.d0";
+  private List<String> measurements = Arrays.asList("s0", "s1", "s2");
+  private List<TSDataType> dataTypes = Arrays
+      .asList(TSDataType.INT64, TSDataType.DOUBLE, TSDataType.TEXT);
+  private OverflowQPExecutor executor = new OverflowQPExecutor();
+  private EngineQueryRouter router = new EngineQueryRouter();
+
+  @Before
+  public void setUp() throws MetadataArgsErrorException, PathErrorException, IOException,
+      FileNodeManagerException {
+    MManager.getInstance().setStorageLevelToMTree("root.test");
+    for (int i = 0; i < measurements.size(); i++) {
+      String path = deviceId + "." + measurements.get(i);
+      MManager.getInstance()
+          .addPathToMTree(path, dataTypes.get(i).toString(), TSEncoding.PLAIN.toString());
+      FileNodeManager.getInstance()
+          .addTimeSeries(new Path(path), dataTypes.get(i), TSEncoding.PLAIN,
+              CompressionType.valueOf(TSFileConfig.compressor), Collections.emptyMap());
+    }
+  }
+
+  @After
+  public void tearDown() throws IOException, FileNodeManagerException {
+    EnvironmentUtils.cleanEnv();
+  }
+
+  @Test
+  public void testInsertTablet() throws ProcessorException, IOException, FileNodeManagerException {
+    int size = 100;
+    long[] times = new long[size];
+    long[] longs = new long[size];
+    double[] doubles = new double[size];
+    Binary[] binaries = new Binary[size];
+    for (int i = 0; i < size; i++) {
+      times[i] = i + 1;
+      longs[i] = i * 10;
+      doubles[i] = i * 0.5;
+      binaries[i] = new Binary("v" + i);
+    }
+
+    assertTrue(executor.insertTablet(deviceId, measurements, dataTypes, times,
+        new Object[]{longs, doubles, binaries}).isEmpty());
+
+    QueryDataSet dataSet = query();
+    int cnt = 0;
+    while (dataSet.hasNext()) {
+      RowRecord record = dataSet.next();
+      assertEquals(times[cnt], record.getTimestamp());
+      assertEquals(longs[cnt], record.getFields().get(0).getLongV());
+      assertEquals(doubles[cnt], record.getFields().get(1).getDoubleV(), 0);
+      assertEquals(binaries[cnt], record.getFields().get(2).getBinaryV());
+      cnt++;
+    }
+    assertEquals(size, cnt);
+  }
+
+  @Test
+  public void testTypeMismatch() throws IOException, FileNodeManagerException {
+    long[] times = {1, 2, 3};
+    Object[] columns = {new long[]{1, 2, 3}, new int[]{1, 2, 3},
+        new Binary[]{new Binary("a"), new Binary("b"), new Binary("c")}};
+    try {
+      executor.insertTablet(deviceId, measurements,
+          Arrays.asList(TSDataType.INT64, TSDataType.INT32, TSDataType.TEXT), times, columns);
+      fail();
+    } catch (ProcessorException e) {
+      assertEquals("The data type of root.test.d0.s1 is DOUBLE, but INT32 is given",
+          e.getMessage());
+    }
+    // nothing is inserted, even the columns before the wrong one
+    assertFalse(query().hasNext());
+  }
+
+  @Test
+  public void testWrongColumn() throws IOException, FileNodeManagerException {
+    long[] times = {1, 2, 3};
+    // the TEXT column has only 2 values
+    Object[] columns = {new long[]{1, 2, 3}, new double[]{1, 2, 3},
+        new Binary[]{new Binary("a"), new Binary("b")}};
+    try {
+      executor.insertTablet(deviceId, measurements, dataTypes, times, columns);
+      fail();
+    } catch (ProcessorException e) {
+      assertEquals("The column of root.test.d0.s2 is not a TEXT column of 3 values",
+          e.getMessage());
+    }
+    assertFalse(query().hasNext());
+  }
+
+  private QueryDataSet query() throws IOException, FileNodeManagerException {
+    List<Path> paths = new ArrayList<>();
+    for (String measurement : measurements) {
+      paths.add(new Path(deviceId, measurement));
+    }
+    return router.query(QueryExpression.create(paths, null));
+  }
+}
@@ -119,6 +119,61 @@ public class LogicalPlanSmallTest {
     Assert.assertEquals(((QueryOperator) operator).getSeriesOffset(), 1);
   }
 
+  @Test
+  public void testLimitOffset() throws QueryProcessorException, ArgsErrorException {
+    String sqlStr = "select * from root.vehicle.d1 where time <= now() limit 100 offset 20 slimit 10";
+    AstNode astTree;
+    try {
+      astTree = ParseGenerator.generateAST(sqlStr); // parse string to ASTTree
+    } catch (ParseException e) {
+      throw new IllegalASTFormatException(
+          "parsing error,statement: " + sqlStr + " .message:" + e.getMessage());
+    }
+    AstNode astNode = ParseUtils.findRootNonNullToken(astTree);
+    RootOperator operator = generator.getLogicalPlan(astNode);
+    Assert.assertEquals(operator.getClass(), QueryOperator.class);
+    Assert.assertEquals(((QueryOperator) operator).getRowLimit(), 100);
+    Assert.assertEquals(((QueryOperator) operator).getRowOffset(), 20);
+    Assert.assertEquals(((QueryOperator) operator).getSeriesLimit(), 10);
+  }
+
+  @Test
+  public void testOrderByTimeDesc() throws QueryProcessorException, ArgsErrorException {
+    String sqlStr = "select * from root.vehicle.d1 where time <= now() order by time desc limit 10";
+    AstNode astTree;
+    try {
+      astTree = ParseGenerator.generateAST(sqlStr); // parse string to ASTTree
+    } catch (ParseException e) {
+      throw new IllegalASTFormatException(
+          "parsing error,statement: " + sqlStr + " .message:" + e.getMessage());
+    }
+    AstNode astNode = ParseUtils.findRootNonNullToken(astTree);
+    RootOperator operator = generator.getLogicalPlan(astNode);
+    Assert.assertEquals(operator.getClass(), QueryOperator.class);
+    Assert.assertTrue(((QueryOperator) operator).isDescending());
+    Assert.assertEquals(((QueryOperator) operator).getRowLimit(), 10);
+  }
+
+  @Test
+  public void testDescInPath() throws QueryProcessorException, ArgsErrorException {
+    String sqlStr = "select desc from root.vehicle.Desc order by time desc";
+    AstNode astTree;
+    try {
+      astTree = ParseGenerator.generateAST(sqlStr); // parse string to ASTTree
+    } catch (ParseException e) {
+      throw new IllegalASTFormatException(
+          "parsing error,statement: " + sqlStr + " .message:" + e.getMessage());
+    }
+    AstNode astNode = ParseUtils.findRootNonNullToken(astTree);
+    RootOperator operator = generator.getLogicalPlan(astNode);
+    Assert.assertEquals(operator.getClass(), QueryOperator.class);
+    Assert.assertTrue(((QueryOperator) operator).isDescending());
+    Assert.assertEquals(new Path("desc"),
+        ((QueryOperator) operator).getSelectOperator().getSuffixPaths().get(0));
+    Assert.assertEquals(new Path("root.vehicle.Desc"),
+        ((QueryOperator) operator).getFromOperator().getPrefixPaths().get(0));
+  }
+
   @Test(expected = LogicalOptimizeException.class)
   public void testSlimitLogicalOptimize() throws QueryProcessorException, ArgsErrorException {
     String sqlStr = "select s1 from root.vehicle.d1 where s1 < 20 and time <= now() slimit 10 soffset 1";
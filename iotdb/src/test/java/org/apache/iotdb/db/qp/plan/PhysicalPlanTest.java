@@ -23,6 +23,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import org.apache.iotdb.db.exception.ArgsErrorException;
+import org.apache.iotdb.db.exception.MetadataArgsErrorException;
 import org.apache.iotdb.db.exception.ProcessorException;
 import org.apache.iotdb.db.exception.qp.QueryProcessorException;
 import org.apache.iotdb.db.qp.QueryProcessor;
@@ -38,6 +39,7 @@ import org.apache.iotdb.db.qp.utils.MemIntQpExecutor;
 import org.apache.iotdb.db.query.fill.LinearFill;
 import org.apache.iotdb.db.query.fill.PreviousFill;
 import org.apache.iotdb.tsfile.common.constant.SystemConstant;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.expression.IExpression;
@@ -85,6 +87,27 @@ public class PhysicalPlanTest {
         + "namespace type: ADD_PATH\n" + "args: ", plan.toString());
   }
 
+  @Test
+  public void testMetadataWithCompressor()
+      throws QueryProcessorException, ArgsErrorException, ProcessorException {
+    QueryProcessor processor = new QueryProcessor(new MemIntQpExecutor());
+    for (CompressionType type : new CompressionType[]{CompressionType.SNAPPY,
+        CompressionType.LZ4, CompressionType.ZSTD, CompressionType.GZIP}) {
+      String metadata = "create timeseries root.vehicle.d1.s1 with datatype=DOUBLE,"
+          + "encoding=GORILLA,compressor=" + type.name();
+      MetadataPlan plan = (MetadataPlan) processor.parseSQLToPhysicalPlan(metadata);
+      assertEquals(type, plan.getCompressor());
+    }
+
+    try {
+      processor.parseSQLToPhysicalPlan(
+          "create timeseries root.vehicle.d1.s1 with datatype=DOUBLE,encoding=GORILLA,compressor=LZO");
+      fail();
+    } catch (MetadataArgsErrorException e) {
+      assertEquals("compressor LZO is not support", e.getMessage());
+    }
+  }
+
   @Test
   public void testAuthor() throws QueryProcessorException, ArgsErrorException, ProcessorException {
     String sql = "grant role xm privileges 'SET_STORAGE_GROUP','DELETE_TIMESERIES' on root.vehicle.d1.s1";
@@ -273,4 +296,21 @@ public class PhysicalPlanTest {
 
   }
 
+  @Test
+  public void testDescendingQuery()
+      throws QueryProcessorException, ArgsErrorException, ProcessorException {
+    String sqlStr = "SELECT s1 FROM root.vehicle.d1 WHERE time > 20 order by time desc";
+    PhysicalPlan plan = processor.parseSQLToPhysicalPlan(sqlStr);
+    assertTrue(((QueryPlan) plan).isDescending());
+
+    try {
+      processor.parseSQLToPhysicalPlan(
+          "SELECT s1 FROM root.vehicle.d1 WHERE time > 20 and s1 < 10 order by time desc");
+      fail();
+    } catch (QueryProcessorException e) {
+      assertEquals("ORDER BY TIME DESC is not supported for queries with value filters",
+          e.getMessage());
+    }
+  }
+
 }
@@ -19,6 +19,7 @@
 package org.apache.iotdb.db.qp.utils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -186,6 +187,12 @@ public class MemIntQpExecutor extends QueryProcessExecutor {
     return 0;
   }
 
+  @Override
+  public Map<Integer, String> insertTablet(String deviceId, List<String> measurementList,
+      List<TSDataType> dataTypes, long[] times, Object[] columns) {
+    return Collections.emptyMap();
+  }
+
   private class TestSeries {
 
     public TreeMap<Long, Integer> data = new TreeMap<>();
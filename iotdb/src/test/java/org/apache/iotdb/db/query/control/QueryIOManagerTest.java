@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.iotdb.db.query.reader.IReader;
+import org.apache.iotdb.db.utils.TimeValuePair;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.junit.Test;
+
+public class QueryIOManagerTest {
+
+  private static final int READER_NUM = 10;
+
+  private QueryIOManager manager = QueryIOManager.getInstance();
+
+  @Test
+  public void testBuildReaders() throws IOException {
+    for (int concurrency : new int[]{1, 3, READER_NUM}) {
+      List<IReader> readers = manager.buildReaders(READER_NUM, concurrency, FakeReader::new);
+      assertEquals(READER_NUM, readers.size());
+      for (int i = 0; i < READER_NUM; i++) {
+        FakeReader reader = (FakeReader) readers.get(i);
+        assertEquals(i, reader.index);
+        assertFalse(reader.closed);
+      }
+    }
+  }
+
+  @Test
+  public void testBuildFailure() {
+    for (int concurrency : new int[]{1, 3}) {
+      AtomicInteger running = new AtomicInteger();
+      Queue<FakeReader> built = new ConcurrentLinkedQueue<>();
+      try {
+        manager.buildReaders(READER_NUM, concurrency, i -> {
+          running.incrementAndGet();
+          try {
+            if (i == 4) {
+              throw new IOException("injected failure");
+            }
+            // let the other tasks be still building when the failure happens
+            Thread.sleep(10);
+            FakeReader reader = new FakeReader(i);
+            built.add(reader);
+            return reader;
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+          } finally {
+            running.decrementAndGet();
+          }
+        });
+        fail("The failure of building a reader should be thrown");
+      } catch (IOException e) {
+        assertEquals("injected failure", e.getMessage());
+      }
+      // no task is left running and no reader is left open
+      assertEquals(0, running.get());
+      assertFalse(built.isEmpty());
+      for (FakeReader reader : built) {
+        assertTrue(reader.closed);
+      }
+    }
+  }
+
+  @Test
+  public void testRestart() throws IOException {
+    manager.stop();
+    try {
+      manager.buildReaders(READER_NUM, 3, FakeReader::new);
+      fail("A stopped pool should refuse the tasks");
+    } catch (RejectedExecutionException e) {
+      // the pool has been shut down
+    }
+    manager.start();
+    assertEquals(READER_NUM, manager.buildReaders(READER_NUM, 3, FakeReader::new).size());
+  }
+
+  private static class FakeReader implements IReader {
+
+    private int index;
+    private volatile boolean closed;
+
+    private FakeReader(int index) {
+      this.index = index;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return false;
+    }
+
+    @Override
+    public TimeValuePair next() {
+      return null;
+    }
+
+    @Override
+    public void skipCurrentTimeValuePair() {
+      // nothing to skip
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+
+    @Override
+    public boolean hasNextBatch() {
+      return false;
+    }
+
+    @Override
+    public BatchData nextBatch() {
+      return null;
+    }
+
+    @Override
+    public BatchData currentBatch() {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.dataset;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EngineDataSetWithLimitTest {
+
+  @Test
+  public void testLimitAndOffset() throws IOException {
+    checkTimestamps(new EngineDataSetWithLimit(new RangeDataSet(10), 3, 2), 2, 3);
+    checkTimestamps(new EngineDataSetWithLimit(new RangeDataSet(10), 0, 8), 8, 2);
+    checkTimestamps(new EngineDataSetWithLimit(new RangeDataSet(10), 20, 0), 0, 10);
+    checkTimestamps(new EngineDataSetWithLimit(new RangeDataSet(10), 5, 10), 0, 0);
+  }
+
+  private void checkTimestamps(QueryDataSet dataSet, long firstTime, int count)
+      throws IOException {
+    for (int i = 0; i < count; i++) {
+      Assert.assertTrue(dataSet.hasNext());
+      Assert.assertEquals(firstTime + i, dataSet.next().getTimestamp());
+    }
+    Assert.assertFalse(dataSet.hasNext());
+  }
+
+  /**
+   * returns the rows of timestamp 0, 1, ..., size - 1.
+   */
+  private static class RangeDataSet extends QueryDataSet {
+
+    private long size;
+    private long time = 0;
+
+    RangeDataSet(long size) {
+      super(new ArrayList<>(), new ArrayList<>());
+      this.size = size;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return time < size;
+    }
+
+    @Override
+    public RowRecord next() {
+      return new RowRecord(time++);
+    }
+  }
+}
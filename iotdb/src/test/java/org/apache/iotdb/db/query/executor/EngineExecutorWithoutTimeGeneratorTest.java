@@ -0,0 +1,168 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.executor;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.filenode.FileNodeManager;
+import org.apache.iotdb.db.engine.memcontrol.BasicMemController.UsageLevel;
+import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.exception.FileNodeManagerException;
+import org.apache.iotdb.db.metadata.MManager;
+import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.control.OpenedFilePathsManager;
+import org.apache.iotdb.db.query.control.QueryDataSourceManager;
+import org.apache.iotdb.db.query.control.QueryTokenManager;
+import org.apache.iotdb.db.query.factory.SeriesReaderFactory;
+import org.apache.iotdb.db.query.reader.sequence.SequenceDataReader;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.expression.QueryExpression;
+import org.apache.iotdb.tsfile.read.expression.impl.GlobalTimeExpression;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.LongDataPoint;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EngineExecutorWithoutTimeGeneratorTest {
+
+  private static final String STORAGE_GROUP = "root.test";
+  private static final int DEVICE_NUM = 3;
+  private static final int MEASUREMENT_NUM = 10;
+
+  private IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  private int queryIOConcurrencyPerQuery;
+  private EngineQueryRouter router = new EngineQueryRouter();
+  private List<Path> paths = new ArrayList<>();
+
+  @Before
+  public void setUp() throws Exception {
+    queryIOConcurrencyPerQuery = config.queryIOConcurrencyPerQuery;
+    EnvironmentUtils.envSetUp();
+    MManager.getInstance().setStorageLevelToMTree(STORAGE_GROUP);
+    for (int d = 0; d < DEVICE_NUM; d++) {
+      for (int m = 0; m < MEASUREMENT_NUM; m++) {
+        Path path = new Path(STORAGE_GROUP + ".d" + d, "s" + m);
+        MManager.getInstance().addPathToMTree(path.getFullPath(), TSDataType.INT64.toString(),
+            TSEncoding.RLE.toString());
+        FileNodeManager.getInstance().addTimeSeries(path, TSDataType.INT64, TSEncoding.RLE,
+            CompressionType.valueOf(TSFileConfig.compressor), Collections.emptyMap());
+        paths.add(path);
+      }
+    }
+
+    // sealed, overflow, unsealed and memtable data, some series miss some of the rows
+    insert(1, 100);
+    FileNodeManager.getInstance().closeAll();
+    insert(50, 60);
+    FileNodeManager.getInstance().closeAll();
+    insert(101, 150);
+    FileNodeManager.getInstance().forceFlush(UsageLevel.DANGEROUS);
+    insert(151, 180);
+    FileNodeManager.getInstance().forceFlush(UsageLevel.DANGEROUS);
+    insert(181, 200);
+    insert(70, 75);
+  }
+
+  @After
+  public void tearDown() throws IOException, FileNodeManagerException {
+    EnvironmentUtils.cleanEnv();
+    config.queryIOConcurrencyPerQuery = queryIOConcurrencyPerQuery;
+  }
+
+  private void insert(long startTime, long endTime) throws FileNodeManagerException {
+    for (int d = 0; d < DEVICE_NUM; d++) {
+      for (long time = startTime; time <= endTime; time++) {
+        TSRecord record = new TSRecord(time, STORAGE_GROUP + ".d" + d);
+        for (int m = 0; m < MEASUREMENT_NUM; m++) {
+          if ((time + m) % 7 != 0) {
+            record.addTuple(new LongDataPoint("s" + m, time * 100 + m));
+          }
+        }
+        FileNodeManager.getInstance().insert(record, false);
+      }
+    }
+  }
+
+  @Test
+  public void testConcurrentReaders() throws IOException, FileNodeManagerException {
+    QueryExpression withoutFilter = QueryExpression.create(paths, null);
+    QueryExpression withTimeFilter = QueryExpression.create(paths,
+        new GlobalTimeExpression(TimeFilter.gtEq(42L)));
+    QueryExpression[] queryExpressions = {withoutFilter, withTimeFilter};
+    int[] rowNums = {200, 159};
+    for (int i = 0; i < queryExpressions.length; i++) {
+      config.queryIOConcurrencyPerQuery = 1;
+      List<String> serialRows = query(queryExpressions[i]);
+      config.queryIOConcurrencyPerQuery = 4;
+      List<String> concurrentRows = query(queryExpressions[i]);
+      assertEquals(rowNums[i], serialRows.size());
+      assertEquals(serialRows, concurrentRows);
+    }
+  }
+
+  @Test
+  public void testCloseReaders() throws IOException, FileNodeManagerException {
+    QueryExpression queryExpression = QueryExpression.create(paths, null);
+    List<String> rows = query(queryExpression);
+
+    // close the readers of all the series as a failed query does, the files they read are shared
+    // by the queries and must be left open
+    long jobId = 1000;
+    QueryTokenManager.getInstance().setJobIdForCurrentRequestThread(jobId);
+    OpenedFilePathsManager.getInstance().setJobIdForCurrentRequestThread(jobId);
+    QueryTokenManager.getInstance().beginQueryOfGivenQueryPaths(jobId, paths);
+    QueryContext context = new QueryContext();
+    for (Path path : paths) {
+      QueryDataSource queryDataSource = QueryDataSourceManager
+          .getQueryDataSource(jobId, path, context);
+      new SequenceDataReader(queryDataSource.getSeqDataSource(), null, context).close();
+      SeriesReaderFactory.getInstance()
+          .createUnSeqMergeReader(queryDataSource.getOverflowSeriesDataSource(), null).close();
+    }
+    QueryTokenManager.getInstance().endQueryForCurrentRequestThread();
+
+    assertEquals(rows, query(queryExpression));
+  }
+
+  private List<String> query(QueryExpression queryExpression)
+      throws IOException, FileNodeManagerException {
+    QueryDataSet dataSet = router.query(queryExpression);
+    List<String> rows = new ArrayList<>();
+    while (dataSet.hasNext()) {
+      rows.add(dataSet.next().toString());
+    }
+    // a thread holds the tokens of only one query
+    QueryTokenManager.getInstance().endQueryForCurrentRequestThread();
+    return rows;
+  }
+}
@@ -0,0 +1,144 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.iotdb.db.engine.filenode.FileNodeManager;
+import org.apache.iotdb.db.engine.memcontrol.BasicMemController.UsageLevel;
+import org.apache.iotdb.db.exception.FileNodeManagerException;
+import org.apache.iotdb.db.metadata.MManager;
+import org.apache.iotdb.db.query.control.QueryTokenManager;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.expression.IExpression;
+import org.apache.iotdb.tsfile.read.expression.QueryExpression;
+import org.apache.iotdb.tsfile.read.expression.impl.GlobalTimeExpression;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.DoubleDataPoint;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EngineQueryRouterTest {
+
+  private static final String PROCESSOR_NAME = "root.test";
+  private static final String[] MEASUREMENTS = {"m0", "m1", "m2"};
+
+  private EngineQueryRouter router = new EngineQueryRouter();
+
+  @Before
+  public void setUp() throws Exception {
+    EnvironmentUtils.envSetUp();
+    MManager.getInstance().setStorageLevelToMTree(PROCESSOR_NAME);
+    for (String measurement : MEASUREMENTS) {
+      MManager.getInstance().addPathToMTree(PROCESSOR_NAME + "." + measurement,
+          TSDataType.DOUBLE.toString(), TSEncoding.PLAIN.toString());
+      FileNodeManager.getInstance().addTimeSeries(new Path(PROCESSOR_NAME, measurement),
+          TSDataType.DOUBLE, TSEncoding.PLAIN, CompressionType.valueOf(TSFileConfig.compressor),
+          Collections.emptyMap());
+    }
+  }
+
+  @After
+  public void tearDown() throws IOException, FileNodeManagerException {
+    EnvironmentUtils.cleanEnv();
+  }
+
+  /**
+   * insert a row at each time in [startTime, endTime) by the step, the value of the measurement
+   * missing is not inserted.
+   */
+  private void insert(long startTime, long endTime, long step, double factor, int missing)
+      throws FileNodeManagerException {
+    for (long time = startTime; time < endTime; time += step) {
+      TSRecord record = new TSRecord(time, PROCESSOR_NAME);
+      for (int i = 0; i < MEASUREMENTS.length; i++) {
+        if (i != missing) {
+          record.addTuple(new DoubleDataPoint(MEASUREMENTS[i], time * factor));
+        }
+      }
+      FileNodeManager.getInstance().insert(record, false);
+    }
+  }
+
+  @Test
+  public void testOrderByTimeDesc() throws IOException, FileNodeManagerException {
+    // two sealed files and a flushed overflow file
+    insert(1000, 2000, 1, 1, 1);
+    FileNodeManager.getInstance().closeAll();
+    insert(2000, 3000, 1, 1, -1);
+    FileNodeManager.getInstance().closeAll();
+    insert(500, 2600, 7, -1, 2);
+    FileNodeManager.getInstance().closeAll();
+    // the unsealed file, the second flush waits for the first one
+    insert(3000, 3300, 1, 1, 0);
+    FileNodeManager.getInstance().forceFlush(UsageLevel.DANGEROUS);
+    insert(3300, 3400, 1, 1, 1);
+    FileNodeManager.getInstance().forceFlush(UsageLevel.DANGEROUS);
+    // the memtables of bufferwrite and overflow
+    insert(3400, 3600, 1, 1, -1);
+    insert(600, 2900, 11, -2, -1);
+    FileNodeManager.getInstance().delete(PROCESSOR_NAME, MEASUREMENTS[1], 1500);
+
+    List<List<Path>> selectedSeriesList = Arrays.asList(
+        Collections.singletonList(new Path(PROCESSOR_NAME, MEASUREMENTS[0])),
+        Arrays.asList(new Path(PROCESSOR_NAME, MEASUREMENTS[0]),
+            new Path(PROCESSOR_NAME, MEASUREMENTS[1]), new Path(PROCESSOR_NAME, MEASUREMENTS[2])));
+    List<IExpression> expressions = Arrays.asList(null, new GlobalTimeExpression(
+        FilterFactory.and(TimeFilter.gtEq(1200L), TimeFilter.lt(3100L))));
+    for (List<Path> selectedSeries : selectedSeriesList) {
+      for (IExpression expression : expressions) {
+        List<String> rows = query(selectedSeries, expression, 0, 0, true);
+        Collections.reverse(rows);
+        assertTrue(rows.size() > 100);
+        assertEquals(rows, query(selectedSeries, expression, 0, 0, false));
+        assertEquals(rows.subList(0, 10), query(selectedSeries, expression, 10, 0, false));
+        assertEquals(rows.subList(5, 15), query(selectedSeries, expression, 10, 5, false));
+      }
+    }
+  }
+
+  private List<String> query(List<Path> selectedSeries, IExpression expression, long rowLimit,
+      long rowOffset, boolean ascending) throws IOException, FileNodeManagerException {
+    QueryDataSet dataSet = router
+        .query(QueryExpression.create(selectedSeries, expression), rowLimit, rowOffset,
+            ascending);
+    List<String> rows = new ArrayList<>();
+    while (dataSet.hasNext()) {
+      rows.add(dataSet.next().toString());
+    }
+    // a thread holds the tokens of only one query
+    QueryTokenManager.getInstance().endQueryForCurrentRequestThread();
+    return rows;
+  }
+}
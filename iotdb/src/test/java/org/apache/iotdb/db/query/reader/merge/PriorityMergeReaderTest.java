@@ -20,6 +20,7 @@ package org.apache.iotdb.db.query.reader.merge;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import org.apache.iotdb.db.query.reader.IReader;
@@ -65,11 +66,81 @@ public class PriorityMergeReaderTest {
     Assert.assertEquals(162, cnt);
   }
 
+  @Test
+  public void testBatch() throws IOException {
+    PriorityMergeReader pointReader = new PriorityMergeReader();
+    pointReader.addReaderWithPriority(new FakedPrioritySeriesReader(100, 80, 5, 11), 3);
+    pointReader.addReaderWithPriority(new FakedPrioritySeriesReader(150, 60, 6, 19), 2);
+    pointReader.addReaderWithPriority(new FakedPrioritySeriesReader(180, 50, 7, 31), 1);
+    pointReader.addReaderWithPriority(new FakedPrioritySeriesReader(1000, 3000, 1, 7), 1);
+
+    PriorityMergeReader batchReader = new PriorityMergeReader();
+    batchReader.addReaderWithPriority(new FakedPrioritySeriesReader(100, 80, 5, 11), 3);
+    batchReader.addReaderWithPriority(new FakedPrioritySeriesReader(150, 60, 6, 19), 2);
+    batchReader.addReaderWithPriority(new FakedPrioritySeriesReader(180, 50, 7, 31), 1);
+    batchReader.addReaderWithPriority(new FakedPrioritySeriesReader(1000, 3000, 1, 7), 1);
+
+    int cnt = 0;
+    while (batchReader.hasNextBatch()) {
+      BatchData batchData = batchReader.nextBatch();
+      Assert.assertTrue(batchData.hasNext());
+      while (batchData.hasNext()) {
+        Assert.assertTrue(pointReader.hasNext());
+        TimeValuePair timeValuePair = pointReader.next();
+        Assert.assertEquals(timeValuePair.getTimestamp(), batchData.currentTime());
+        Assert.assertEquals(timeValuePair.getValue().getLong(), batchData.getLong());
+        batchData.next();
+        cnt++;
+      }
+    }
+    Assert.assertFalse(pointReader.hasNext());
+    Assert.assertEquals(3162, cnt);
+  }
+
+  @Test
+  public void testDescending() throws IOException {
+    PriorityMergeReader ascendingReader = new PriorityMergeReader();
+    ascendingReader.addReaderWithPriority(new FakedPrioritySeriesReader(100, 80, 5, 11), 3);
+    ascendingReader.addReaderWithPriority(new FakedPrioritySeriesReader(150, 60, 6, 19), 2);
+    ascendingReader.addReaderWithPriority(new FakedPrioritySeriesReader(180, 50, 7, 31), 1);
+    List<TimeValuePair> expected = new ArrayList<>();
+    while (ascendingReader.hasNext()) {
+      expected.add(ascendingReader.next());
+    }
+    Collections.reverse(expected);
+
+    PriorityMergeReader descendingReader = new PriorityMergeReader(false);
+    descendingReader
+        .addReaderWithPriority(new FakedPrioritySeriesReader(100, 80, 5, 11, false), 3);
+    descendingReader
+        .addReaderWithPriority(new FakedPrioritySeriesReader(150, 60, 6, 19, false), 2);
+    descendingReader
+        .addReaderWithPriority(new FakedPrioritySeriesReader(180, 50, 7, 31, false), 1);
+
+    int cnt = 0;
+    while (descendingReader.hasNextBatch()) {
+      BatchData batchData = descendingReader.nextBatch();
+      while (batchData.hasNext()) {
+        TimeValuePair timeValuePair = expected.get(cnt);
+        Assert.assertEquals(timeValuePair.getTimestamp(), batchData.currentTime());
+        Assert.assertEquals(timeValuePair.getValue().getLong(), batchData.getLong());
+        batchData.next();
+        cnt++;
+      }
+    }
+    Assert.assertEquals(162, cnt);
+  }
+
   public static class FakedPrioritySeriesReader implements IReader {
 
     private Iterator<TimeValuePair> iterator;
 
     FakedPrioritySeriesReader(long startTime, int size, int interval, int modValue) {
+      this(startTime, size, interval, modValue, true);
+    }
+
+    FakedPrioritySeriesReader(long startTime, int size, int interval, int modValue,
+        boolean ascending) {
       long time = startTime;
       List<TimeValuePair> list = new ArrayList<>();
       for (int i = 0; i < size; i++) {
@@ -78,6 +149,9 @@ public class PriorityMergeReaderTest {
         // System.out.println(time + "," + time % modValue);
         time += interval;
       }
+      if (!ascending) {
+        Collections.reverse(list);
+      }
       iterator = list.iterator();
     }
 
@@ -0,0 +1,167 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.service;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.iotdb.db.engine.filenode.FileNodeManager;
+import org.apache.iotdb.db.exception.FileNodeManagerException;
+import org.apache.iotdb.db.exception.MetadataArgsErrorException;
+import org.apache.iotdb.db.exception.PathErrorException;
+import org.apache.iotdb.db.metadata.MManager;
+import org.apache.iotdb.db.query.executor.EngineQueryRouter;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.service.rpc.thrift.TSColumnarDataSet;
+import org.apache.iotdb.service.rpc.thrift.TSQueryDataSet;
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.common.Field;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.read.expression.QueryExpression;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.DataPoint;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test that the columnar fetch format gives the same rows as the row-based one.
+ */
+public class UtilsTest {
+
+  private String deviceId = "root.test.d0";
+  private TSDataType[] dataTypes = {TSDataType.BOOLEAN, TSDataType.INT32, TSDataType.INT64,
+      TSDataType.FLOAT, TSDataType.DOUBLE, TSDataType.TEXT};
+  private int rowNum = 300;
+  private EngineQueryRouter router = new EngineQueryRouter();
+
+  @Before
+  public void setUp() throws MetadataArgsErrorException, PathErrorException, IOException,
+      FileNodeManagerException {
+    MManager.getInstance().setStorageLevelToMTree("root.test");
+    for (int i = 0; i < dataTypes.length; i++) {
+      String path = deviceId + ".s" + i;
+      MManager.getInstance()
+          .addPathToMTree(path, dataTypes[i].toString(), TSEncoding.PLAIN.toString());
+      FileNodeManager.getInstance()
+          .addTimeSeries(new Path(path), dataTypes[i], TSEncoding.PLAIN,
+              CompressionType.valueOf(TSFileConfig.compressor), Collections.emptyMap());
+    }
+
+    for (int time = 1; time <= rowNum; time++) {
+      TSRecord record = new TSRecord(time, deviceId);
+      for (int i = 0; i < dataTypes.length; i++) {
+        // leave some nulls in each column
+        if (time % (i + 2) != 0) {
+          record.addTuple(DataPoint.getDataPoint(dataTypes[i], "s" + i, getValue(i, time)));
+        }
+      }
+      FileNodeManager.getInstance().insert(record, false);
+      if (time == rowNum / 2) {
+        FileNodeManager.getInstance().closeAll();
+      }
+    }
+  }
+
+  @After
+  public void tearDown() throws IOException, FileNodeManagerException {
+    EnvironmentUtils.cleanEnv();
+  }
+
+  @Test
+  public void testColumnarDataSet() throws IOException, FileNodeManagerException {
+    for (int fetchSize : new int[]{1, 7, 1000}) {
+      List<RowRecord> expected = fetchRows(fetchSize);
+      assertEquals(rowNum, expected.size());
+      for (String compressionType : new String[]{null, CompressionType.SNAPPY.name()}) {
+        assertSameRecords(expected, fetchColumnar(fetchSize, compressionType));
+      }
+    }
+  }
+
+  private String getValue(int column, int time) {
+    switch (dataTypes[column]) {
+      case BOOLEAN:
+        return String.valueOf(time % 3 == 0);
+      case FLOAT:
+      case DOUBLE:
+        return String.valueOf(time * 1.5);
+      case TEXT:
+        return "text" + time;
+      default:
+        return String.valueOf(time * 10);
+    }
+  }
+
+  private List<RowRecord> fetchRows(int fetchSize) throws IOException, FileNodeManagerException {
+    QueryDataSet dataSet = query();
+    List<RowRecord> records = new ArrayList<>();
+    while (true) {
+      TSQueryDataSet tsQueryDataSet = Utils.convertQueryDataSetByFetchSize(dataSet, fetchSize);
+      if (tsQueryDataSet.getRecords().isEmpty()) {
+        return records;
+      }
+      records.addAll(org.apache.iotdb.jdbc.Utils.convertRowRecords(tsQueryDataSet));
+    }
+  }
+
+  private List<RowRecord> fetchColumnar(int fetchSize, String compressionType)
+      throws IOException, FileNodeManagerException {
+    QueryDataSet dataSet = query();
+    List<RowRecord> records = new ArrayList<>();
+    while (true) {
+      TSColumnarDataSet columnarDataSet = Utils
+          .convertQueryDataSetToColumnar(dataSet, fetchSize, compressionType);
+      if (columnarDataSet.getRowCount() == 0) {
+        return records;
+      }
+      assertEquals(Math.min(fetchSize, rowNum - records.size()), columnarDataSet.getRowCount());
+      records.addAll(org.apache.iotdb.jdbc.Utils.convertColumnarDataSet(columnarDataSet));
+    }
+  }
+
+  private QueryDataSet query() throws IOException, FileNodeManagerException {
+    List<Path> paths = new ArrayList<>();
+    for (int i = 0; i < dataTypes.length; i++) {
+      paths.add(new Path(deviceId, "s" + i));
+    }
+    return router.query(QueryExpression.create(paths, null));
+  }
+
+  private void assertSameRecords(List<RowRecord> expected, List<RowRecord> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).toString(), actual.get(i).toString());
+      List<Field> expectedFields = expected.get(i).getFields();
+      List<Field> actualFields = actual.get(i).getFields();
+      for (int j = 0; j < expectedFields.size(); j++) {
+        assertEquals(expectedFields.get(j).isNull(), actualFields.get(j).isNull());
+        assertEquals(expectedFields.get(j).getDataType(), actualFields.get(j).getDataType());
+      }
+    }
+  }
+}
@@ -854,7 +854,8 @@ public class SQLParserTest {
             "vehicle",
             "TOK_WHERE", "and", "not", "<", "TOK_PATH", "TOK_ROOT", "laptop", "device_1",
             "sensor_1", "2000", ">",
-            "TOK_PATH", "TOK_ROOT", "laptop", "device_2", "sensor_2", "1000", "TOK_LIMIT", "10"));
+            "TOK_PATH", "TOK_ROOT", "laptop", "device_2", "sensor_2", "1000", "TOK_LIMIT", "10",
+            "TOK_OFFSET", "2"));
     ArrayList<String> rec = new ArrayList<>();
     AstNode astTree = ParseGenerator.generateAST(
         "SELECT device_1.sensor_1,device_2.sensor_2 FROM root.vehicle WHERE not(root.laptop.device_1.sensor_1 < 2000) "
@@ -26,6 +26,8 @@ import org.apache.iotdb.db.auth.authorizer.LocalFileAuthorizer;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.conf.directories.Directories;
+import org.apache.iotdb.db.engine.cache.ChunkCache;
+import org.apache.iotdb.db.engine.cache.ChunkMetaDataCache;
 import org.apache.iotdb.db.engine.cache.RowGroupBlockMetaDataCache;
 import org.apache.iotdb.db.engine.cache.TsFileMetaDataCache;
 import org.apache.iotdb.db.engine.filenode.FileNodeManager;
@@ -82,6 +84,8 @@ public class EnvironmentUtils {
     // clean cache
     TsFileMetaDataCache.getInstance().clear();
     RowGroupBlockMetaDataCache.getInstance().clear();
+    ChunkMetaDataCache.getInstance().clear();
+    ChunkCache.getInstance().clear();
     // close metadata
     MManager.getInstance().clear();
     MManager.getInstance().flushObjectToFile();
@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.utils.datastructure;
+
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.memcontrol.BasicMemController;
+import org.apache.iotdb.db.engine.memcontrol.BasicMemController.ControllerType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrimitiveArrayPoolTest {
+
+  private IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  private int memControllerType;
+
+  @Before
+  public void setUp() {
+    // the reported usage is only recorded by the RecordMemController
+    memControllerType = config.memControllerType;
+    config.memControllerType = ControllerType.RECORD.ordinal();
+  }
+
+  @After
+  public void tearDown() {
+    config.memControllerType = memControllerType;
+  }
+
+  @Test
+  public void testCapacity() {
+    // room for 4 long[] and 8 int[]
+    PrimitiveArrayPool pool = new PrimitiveArrayPool(4L * PrimitiveArrayPool.ARRAY_SIZE
+        * Long.BYTES);
+    for (int i = 0; i < 10; i++) {
+      pool.release(new long[PrimitiveArrayPool.ARRAY_SIZE]);
+      pool.release(new int[PrimitiveArrayPool.ARRAY_SIZE]);
+    }
+    Assert.assertEquals(4, pool.getPooledNum(TSDataType.INT64));
+    Assert.assertEquals(8, pool.getPooledNum(TSDataType.INT32));
+
+    pool.getTimeArray();
+    Assert.assertEquals(3, pool.getPooledNum(TSDataType.INT64));
+    pool.clear();
+    Assert.assertEquals(0, pool.getPooledNum(TSDataType.INT64));
+    Assert.assertEquals(0, pool.getPooledNum(TSDataType.INT32));
+  }
+
+  @Test
+  public void testMemoryReport() {
+    BasicMemController controller = BasicMemController.getInstance();
+    long usage = controller.getTotalUsage();
+    PrimitiveArrayPool pool = new PrimitiveArrayPool(4 * PrimitiveArrayPool.REPORT_UNIT);
+    long arraySize = PrimitiveArrayPool.ARRAY_SIZE * Double.BYTES;
+    int arrayNum = (int) (2 * PrimitiveArrayPool.REPORT_UNIT / arraySize);
+    for (int i = 0; i < arrayNum; i++) {
+      pool.release(new double[PrimitiveArrayPool.ARRAY_SIZE]);
+    }
+    Assert.assertEquals(2 * PrimitiveArrayPool.REPORT_UNIT, pool.getPooledSize());
+    Assert.assertEquals(usage + 2 * PrimitiveArrayPool.REPORT_UNIT, controller.getTotalUsage());
+
+    // the usage is reported in units
+    pool.getPrimitiveDataListByType(TSDataType.DOUBLE);
+    Assert.assertEquals(2 * PrimitiveArrayPool.REPORT_UNIT - arraySize, pool.getPooledSize());
+    Assert.assertEquals(usage + PrimitiveArrayPool.REPORT_UNIT, controller.getTotalUsage());
+
+    pool.clear();
+    Assert.assertEquals(0, pool.getPooledSize());
+    Assert.assertEquals(usage, controller.getTotalUsage());
+  }
+}
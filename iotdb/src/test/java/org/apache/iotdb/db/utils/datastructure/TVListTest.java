@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.utils.datastructure;
+
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TVListTest {
+
+  @Test
+  public void testPutAndGet() {
+    TVList tvList = TVList.newList(TSDataType.INT32);
+    int count = 1000;
+    for (int i = 0; i < count; i++) {
+      tvList.putInt(i, i * 2);
+    }
+    Assert.assertEquals(count, tvList.size());
+    Assert.assertTrue(tvList.isSorted());
+    for (int i = 0; i < count; i++) {
+      Assert.assertEquals(i, tvList.getTime(i));
+      Assert.assertEquals(i * 2, tvList.getInt(i));
+    }
+  }
+
+  @Test
+  public void testSort() {
+    TVList tvList = TVList.newList(TSDataType.INT64);
+    int count = 1000;
+    for (int i = count - 1; i >= 0; i--) {
+      tvList.putLong(i, i);
+    }
+    // overwrite the even timestamps, the latest value should be kept
+    for (int i = 0; i < count; i += 2) {
+      tvList.putLong(i, -i);
+    }
+    Assert.assertFalse(tvList.isSorted());
+
+    tvList.sort();
+    Assert.assertTrue(tvList.isSorted());
+    Assert.assertEquals(count, tvList.size());
+    for (int i = 0; i < count; i++) {
+      Assert.assertEquals(i, tvList.getTime(i));
+      Assert.assertEquals(i % 2 == 0 ? -i : i, tvList.getLong(i));
+    }
+
+    // the list can be appended after sorting
+    tvList.putLong(count, count);
+    Assert.assertTrue(tvList.isSorted());
+    Assert.assertEquals(count, tvList.getTime(count));
+  }
+
+  @Test
+  public void testMemSize() {
+    int arraySize = PrimitiveArrayPool.ARRAY_SIZE;
+    TVList tvList = TVList.newList(TSDataType.DOUBLE);
+    Assert.assertEquals(0, tvList.getMemSize());
+    for (int i = 0; i < arraySize + 1; i++) {
+      tvList.putDouble(i, i);
+    }
+    Assert.assertEquals(2L * arraySize * (Long.BYTES + Double.BYTES), tvList.getMemSize());
+
+    // duplicated timestamps are removed and the useless arrays are released
+    TVList duplicated = TVList.newList(TSDataType.DOUBLE);
+    for (int i = 0; i < arraySize + 1; i++) {
+      duplicated.putDouble(0, i);
+    }
+    duplicated.sort();
+    Assert.assertEquals(1, duplicated.size());
+    Assert.assertEquals(arraySize, duplicated.getDouble(0), 0);
+    Assert.assertEquals((long) arraySize * (Long.BYTES + Double.BYTES), duplicated.getMemSize());
+
+    tvList.clear();
+    Assert.assertEquals(0, tvList.size());
+    Assert.assertEquals(0, tvList.getMemSize());
+  }
+
+  @Test
+  public void testCopy() {
+    TVList tvList = TVList.newList(TSDataType.TEXT);
+    int count = 100;
+    for (int i = 0; i < count; i++) {
+      tvList.putBinary(i, Binary.valueOf(String.valueOf(i)));
+    }
+    TVList copy = tvList.copy();
+    tvList.clear();
+    // the cleared arrays are reused by another list
+    TVList other = TVList.newList(TSDataType.TEXT);
+    for (int i = 0; i < count; i++) {
+      other.putBinary(i, Binary.valueOf("other"));
+    }
+    Assert.assertEquals(count, copy.size());
+    for (int i = 0; i < count; i++) {
+      Assert.assertEquals(i, copy.getTime(i));
+      Assert.assertEquals(String.valueOf(i), copy.getBinary(i).getStringValue());
+    }
+  }
+}
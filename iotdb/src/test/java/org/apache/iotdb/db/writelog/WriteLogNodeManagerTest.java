@@ -19,10 +19,15 @@
 package org.apache.iotdb.db.writelog;
 
 import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertEquals;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.MetadataArgsErrorException;
@@ -35,6 +40,7 @@ import org.apache.iotdb.db.qp.physical.crud.UpdatePlan;
 import org.apache.iotdb.db.utils.EnvironmentUtils;
 import org.apache.iotdb.db.writelog.manager.MultiFileLogNodeManager;
 import org.apache.iotdb.db.writelog.manager.WriteLogNodeManager;
+import org.apache.iotdb.db.writelog.node.ExclusiveWriteLogNode;
 import org.apache.iotdb.db.writelog.node.WriteLogNode;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
@@ -136,4 +142,78 @@ public class WriteLogNodeManagerTest {
     }
     manager.recover();
   }
+
+  @Test
+  public void testParallelRecover() throws IOException, RecoverException {
+    // this test recovers 8 storage groups with 4 threads, the two log nodes of a storage group
+    // must be recovered by the same thread
+    int walRecoveryThreadNum = config.walRecoveryThreadNum;
+    config.walRecoveryThreadNum = 4;
+    File tempRestore = File.createTempFile("managerTest", "restore");
+    File tempProcessorStore = File.createTempFile("managerTest", "processorStore");
+
+    MultiFileLogNodeManager manager = MultiFileLogNodeManager.getInstance();
+    Map<String, String> recoveryThreads = new ConcurrentHashMap<>();
+    try {
+      for (int i = 0; i < 8; i++) {
+        for (String suffix : Arrays.asList("-bufferwrite", "-overflow")) {
+          String identifier = "root.managerTest" + i + suffix;
+          ExclusiveWriteLogNode logNode = (ExclusiveWriteLogNode) manager
+              .getNode(identifier, tempRestore.getPath(), tempProcessorStore.getPath());
+          logNode.setRecoverPerformer(() -> recoveryThreads
+              .put(identifier, Thread.currentThread().getName()));
+        }
+      }
+      manager.recover();
+
+      assertEquals(16, manager.getNodeNumToRecover());
+      assertEquals(16, manager.getRecoveredNodeNum());
+      assertEquals(16, recoveryThreads.size());
+      for (int i = 0; i < 8; i++) {
+        assertEquals(recoveryThreads.get("root.managerTest" + i + "-bufferwrite"),
+            recoveryThreads.get("root.managerTest" + i + "-overflow"));
+      }
+    } finally {
+      config.walRecoveryThreadNum = walRecoveryThreadNum;
+      tempRestore.delete();
+      tempProcessorStore.delete();
+    }
+  }
+
+  @Test
+  public void testParallelRecoverWithHyphen() throws IOException, RecoverException {
+    // '-' is allowed in the names of storage groups, root.manager-test0 and root.manager-test1
+    // are two storage groups and must be recovered concurrently
+    int walRecoveryThreadNum = config.walRecoveryThreadNum;
+    config.walRecoveryThreadNum = 2;
+    File tempRestore = File.createTempFile("managerTest", "restore");
+    File tempProcessorStore = File.createTempFile("managerTest", "processorStore");
+
+    MultiFileLogNodeManager manager = MultiFileLogNodeManager.getInstance();
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    try {
+      for (int i = 0; i < 2; i++) {
+        ExclusiveWriteLogNode logNode = (ExclusiveWriteLogNode) manager
+            .getNode("root.manager-test" + i + "-bufferwrite", tempRestore.getPath(),
+                tempProcessorStore.getPath());
+        logNode.setRecoverPerformer(() -> {
+          bothStarted.countDown();
+          try {
+            if (!bothStarted.await(10, TimeUnit.SECONDS)) {
+              throw new RecoverException("The storage groups are not recovered concurrently");
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RecoverException(e);
+          }
+        });
+      }
+      manager.recover();
+      assertEquals(2, manager.getRecoveredNodeNum());
+    } finally {
+      config.walRecoveryThreadNum = walRecoveryThreadNum;
+      tempRestore.delete();
+      tempProcessorStore.delete();
+    }
+  }
 }
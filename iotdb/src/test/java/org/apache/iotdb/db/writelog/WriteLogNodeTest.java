@@ -20,10 +20,12 @@ package org.apache.iotdb.db.writelog;
 
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.zip.CRC32;
 import org.apache.iotdb.db.conf.IoTDBConfig;
@@ -32,6 +34,8 @@ import org.apache.iotdb.db.qp.physical.crud.DeletePlan;
 import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
 import org.apache.iotdb.db.qp.physical.crud.UpdatePlan;
 import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.db.writelog.io.LogWriter;
+import org.apache.iotdb.db.writelog.io.RAFLogReader;
 import org.apache.iotdb.db.writelog.node.ExclusiveWriteLogNode;
 import org.apache.iotdb.db.writelog.node.WriteLogNode;
 import org.apache.iotdb.db.writelog.transfer.PhysicalPlanLogTransfer;
@@ -284,4 +288,139 @@ public class WriteLogNodeTest {
     tempProcessorStore.delete();
     tempRestore.getParentFile().delete();
   }
+
+  @Test
+  public void testGroupCommit() throws IOException {
+    // this test writes logs by group commit with a tiny buffer, so that the buffer is committed
+    // by the writers when it is full and a log larger than the buffer is met, then reads them back
+    boolean enableWalGroupCommit = config.enableWalGroupCommit;
+    int walGroupCommitBufferSize = config.walGroupCommitBufferSize;
+    config.enableWalGroupCommit = true;
+    config.walGroupCommitBufferSize = 128;
+    File tempRestore = new File("testtemp", "restore");
+    File tempProcessorStore = new File("testtemp", "processorStore");
+    tempRestore.getParentFile().mkdirs();
+    tempRestore.createNewFile();
+    tempProcessorStore.createNewFile();
+
+    WriteLogNode logNode = new ExclusiveWriteLogNode("root.logTestDevice", tempRestore.getPath(),
+        tempProcessorStore.getPath());
+
+    int logNum = 100;
+    String longValue = new String(new char[200]).replace((char) 0, 'a');
+    for (int i = 0; i < logNum; i++) {
+      logNode.write(new InsertPlan(1, "root.logTestDevice", i,
+          Arrays.asList("s1", "s2", "s3", "s4"),
+          Arrays.asList("1.0", "15", i % 10 == 0 ? longValue : "str", "false")));
+    }
+    logNode.forceSync();
+
+    File walFile = new File(
+        config.walFolder + File.separator + "root.logTestDevice" + File.separator + "wal");
+    RAFLogReader reader = new RAFLogReader(walFile);
+    for (int i = 0; i < logNum; i++) {
+      assertTrue(reader.hasNext());
+      InsertPlan insertPlan = (InsertPlan) reader.next();
+      assertEquals(i, insertPlan.getTime());
+    }
+    assertTrue(!reader.hasNext());
+    reader.close();
+
+    logNode.delete();
+    tempRestore.delete();
+    tempProcessorStore.delete();
+    tempRestore.getParentFile().delete();
+    config.enableWalGroupCommit = enableWalGroupCommit;
+    config.walGroupCommitBufferSize = walGroupCommitBufferSize;
+  }
+
+  @Test
+  public void testGroupCommitFailure() throws IOException {
+    // this test makes the writing and then the forcing of a group commit fail, the writers waiting
+    // for them must fail, and the failed logs must be committed by the next group commit once
+    boolean enableWalGroupCommit = config.enableWalGroupCommit;
+    boolean walGroupCommitWaitForce = config.walGroupCommitWaitForce;
+    config.enableWalGroupCommit = true;
+    config.walGroupCommitWaitForce = true;
+    File tempRestore = new File("testtemp", "restore");
+    File tempProcessorStore = new File("testtemp", "processorStore");
+    tempRestore.getParentFile().mkdirs();
+    tempRestore.createNewFile();
+    tempProcessorStore.createNewFile();
+
+    ExclusiveWriteLogNode logNode = new ExclusiveWriteLogNode("root.logTestDevice",
+        tempRestore.getPath(), tempProcessorStore.getPath());
+    File walFile = new File(
+        config.walFolder + File.separator + "root.logTestDevice" + File.separator + "wal");
+    FailingLogWriter logWriter = new FailingLogWriter(walFile.getPath());
+    logNode.setLogWriter(logWriter);
+
+    logWriter.failWrite = true;
+    assertWriteFails(logNode, 0);
+    logWriter.failWrite = false;
+    logNode.write(newInsertPlan(1));
+
+    logWriter.failForce = true;
+    assertWriteFails(logNode, 2);
+    logWriter.failForce = false;
+    logNode.write(newInsertPlan(3));
+
+    RAFLogReader reader = new RAFLogReader(walFile);
+    for (int i = 0; i < 4; i++) {
+      assertTrue(reader.hasNext());
+      InsertPlan insertPlan = (InsertPlan) reader.next();
+      assertEquals(i, insertPlan.getTime());
+    }
+    assertTrue(!reader.hasNext());
+    reader.close();
+
+    logNode.delete();
+    tempRestore.delete();
+    tempProcessorStore.delete();
+    tempRestore.getParentFile().delete();
+    config.enableWalGroupCommit = enableWalGroupCommit;
+    config.walGroupCommitWaitForce = walGroupCommitWaitForce;
+  }
+
+  private InsertPlan newInsertPlan(long time) {
+    return new InsertPlan(1, "root.logTestDevice", time, Arrays.asList("s1", "s2"),
+        Arrays.asList("1.0", "15"));
+  }
+
+  private void assertWriteFails(WriteLogNode logNode, long time) {
+    try {
+      logNode.write(newInsertPlan(time));
+      fail("The log of " + time + " should not be written");
+    } catch (IOException e) {
+      assertTrue(e.getCause() instanceof IOException);
+    }
+  }
+
+  private static class FailingLogWriter extends LogWriter {
+
+    private boolean failWrite;
+    private boolean failForce;
+
+    private FailingLogWriter(String logFilePath) {
+      super(logFilePath);
+    }
+
+    @Override
+    public void write(ByteBuffer logBuffer) throws IOException {
+      if (failWrite) {
+        // consume part of the buffer as a real partial write does
+        logBuffer.position(logBuffer.position() + logBuffer.remaining() / 2);
+        throw new IOException("injected write failure");
+      }
+      super.write(logBuffer);
+    }
+
+    @Override
+    public void force() throws IOException {
+      if (failForce) {
+        throw new IOException("injected force failure");
+      }
+      super.force();
+    }
+  }
 }
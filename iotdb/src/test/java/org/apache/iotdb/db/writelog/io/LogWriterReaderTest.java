@@ -19,9 +19,12 @@
 package org.apache.iotdb.db.writelog.io;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -31,7 +34,9 @@ import org.apache.iotdb.db.qp.physical.crud.DeletePlan;
 import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
 import org.apache.iotdb.db.qp.physical.crud.UpdatePlan;
 import org.apache.iotdb.db.writelog.transfer.PhysicalPlanLogTransfer;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.utils.Binary;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -52,8 +57,14 @@ public class LogWriterReaderTest {
         Arrays.asList("1", "2"));
     UpdatePlan updatePlan = new UpdatePlan(8L, 11L, "3", new Path("root.d1.s1"));
     DeletePlan deletePlan = new DeletePlan(10L, new Path("root.d1.s1"));
+    InsertPlan typedInsertPlan = new InsertPlan(2, "d1", 12L,
+        Arrays.asList("s1", "s2", "s3", "s4", "s5", "s6"),
+        new TSDataType[]{TSDataType.BOOLEAN, TSDataType.INT32, TSDataType.INT64, TSDataType.FLOAT,
+            TSDataType.DOUBLE, TSDataType.TEXT},
+        new Object[]{true, 1, 2L, 3.0f, 4.0, new Binary("five")});
     plans.add(insertPlan1);
     plans.add(insertPlan2);
+    plans.add(typedInsertPlan);
     plans.add(updatePlan);
     plans.add(deletePlan);
     for (PhysicalPlan plan : plans) {
@@ -81,4 +92,29 @@ public class LogWriterReaderTest {
       new File(filePath).delete();
     }
   }
+
+  @Test
+  public void testSerializeIntoBuffer() throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(1024);
+    buffer.putInt(-1);
+    for (PhysicalPlan plan : plans) {
+      PhysicalPlanLogTransfer.operatorToLog(plan, buffer);
+    }
+    buffer.flip();
+    assertEquals(-1, buffer.getInt());
+    for (PhysicalPlan plan : plans) {
+      assertEquals(plan, PhysicalPlanLogTransfer.logToOperator(buffer));
+    }
+    assertEquals(0, buffer.remaining());
+
+    // a plan not fitting in the buffer leaves the buffer untouched
+    buffer = ByteBuffer.allocate(16);
+    buffer.put((byte) 1);
+    try {
+      PhysicalPlanLogTransfer.operatorToLog(plans.get(0), buffer);
+      fail();
+    } catch (WALOverSizedException e) {
+      assertEquals(1, buffer.position());
+    }
+  }
 }
@@ -48,6 +48,10 @@ public class Config {
   public static final long RETRY_INTERVAL = 1000;
 
   public static int fetchSize = 10000;
+  /**
+   * the CompressionType name asked for the fetched results.
+   */
+  public static String resultCompressionType = "UNCOMPRESSED";
   public static int connectionTimeoutInMs = 0;
 
   public static final String JDBC_DRIVER_NAME = "org.apache.iotdb.jdbc.IoTDBDriver";
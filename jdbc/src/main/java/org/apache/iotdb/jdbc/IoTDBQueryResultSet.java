@@ -40,7 +40,6 @@ import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -63,8 +62,6 @@ public class IoTDBQueryResultSet implements ResultSet {
   private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(IoTDBQueryResultSet.class);
   private static final String METHOD_NOT_SUPPORTED = "Method not supported";
   private final String TIMESTAMP_STR = "Time";
-  private static final String limitStr = "LIMIT";
-  private static final String offsetStr = "OFFSET";
   private Statement statement = null;
   private String sql;
   private SQLWarning warningChain = null;
@@ -82,23 +79,6 @@ public class IoTDBQueryResultSet implements ResultSet {
   private int fetchSize;
   private boolean emptyResultSet = false;
   private String operationType;
-  // 0 means it is not constrained in sql
-  private int rowsLimit = 0;
-  // 0 means it is not constrained in sql, or the offset position has been reached
-  private int rowsOffset = 0;
-
-  /*
-   * Combine maxRows and the LIMIT constraints. maxRowsOrRowsLimit = 0 means that neither maxRows
-   * nor LIMIT is constrained. maxRowsOrRowsLimit > 0 means that maxRows and/or
-   * LIMIT are constrained.
-   * 1) When neither maxRows nor LIMIT is constrained, i.e., maxRows=0 and rowsLimit=0,
-   * maxRowsOrRowsLimit = 0 2). When both maxRows and LIMIT are constrained, i.e., maxRows>0 and
-   * rowsLimit>0, maxRowsOrRowsLimit = min(maxRows, rowsLimit) 3) When maxRows is constrained and
-   * LIMIT is NOT constrained, i.e., maxRows>0 and rowsLimit=0, maxRowsOrRowsLimit = maxRows
-   * 4) When maxRows is NOT constrained and LIMIT is constrained, i.e., maxRows=0 and
-   * rowsLimit>0, maxRowsOrRowsLimit = rowsLimit
-   */
-  private int maxRowsOrRowsLimit;
 
   public IoTDBQueryResultSet() {
     // do nothing
@@ -128,36 +108,6 @@ public class IoTDBQueryResultSet implements ResultSet {
         columnInfoMap.put(name, index++);
       }
     }
-
-    maxRowsOrRowsLimit = maxRows;
-
-    // parse the LIMIT&OFFSET parameters from sql
-    String[] splited = sql.toUpperCase().split("\\s+");
-    List<String> arraySplited = Arrays.asList(splited);
-    try {
-      int posLimit = arraySplited.indexOf(limitStr);
-      if (posLimit != -1) {
-        rowsLimit = Integer.parseInt(splited[posLimit + 1]);
-
-        // NOTE that maxRows=0 in TsfileStatement means it is not constrained
-        // NOTE that LIMIT <N>: N is ensured to be a positive integer by the server side
-        if (maxRows == 0) {
-          maxRowsOrRowsLimit = rowsLimit;
-        } else {
-          maxRowsOrRowsLimit = (rowsLimit < maxRows) ? rowsLimit : maxRows;
-        }
-
-        // check if OFFSET is constrained after LIMIT has been constrained
-        int posOffset = arraySplited.indexOf(offsetStr);
-        if (posOffset != -1) {
-          // NOTE that OFFSET <OFFSETValue>: OFFSETValue is ensured to be a non-negative
-          // integer by the server side
-          rowsOffset = Integer.parseInt(splited[posOffset + 1]);
-        }
-      }
-    } catch (NumberFormatException e) {
-      throw new IoTDBSQLException("Out of range: LIMIT&SLIMIT parameter should be Int32.");
-    }
   }
 
   @Override
@@ -701,6 +651,8 @@ public class IoTDBQueryResultSet implements ResultSet {
   private boolean nextWithoutConstraints() throws SQLException {
     if ((recordItr == null || !recordItr.hasNext()) && !emptyResultSet) {
       TSFetchResultsReq req = new TSFetchResultsReq(sql, fetchSize);
+      req.setColumnar(true);
+      req.setCompressionType(Config.resultCompressionType);
 
       try {
         TSFetchResultsResp resp = client.fetchResults(req);
@@ -708,8 +660,14 @@ public class IoTDBQueryResultSet implements ResultSet {
         if (!resp.hasResultSet) {
           emptyResultSet = true;
         } else {
-          TSQueryDataSet tsQueryDataSet = resp.getQueryDataSet();
-          List<RowRecord> records = Utils.convertRowRecords(tsQueryDataSet);
+          List<RowRecord> records;
+          if (resp.isSetColumnarDataSet()) {
+            records = Utils.convertColumnarDataSet(resp.getColumnarDataSet());
+          } else {
+            // the server does not support the columnar format
+            TSQueryDataSet tsQueryDataSet = resp.getQueryDataSet();
+            records = Utils.convertRowRecords(tsQueryDataSet);
+          }
           recordItr = records.iterator();
         }
       } catch (TException e) {
@@ -727,33 +685,17 @@ public class IoTDBQueryResultSet implements ResultSet {
   }
 
   @Override
-  // the next record rule considering both the maxRows constraint and the LIMIT&OFFSET constraint
+  // the next record rule considering the maxRows constraint, the LIMIT&OFFSET constraint is
+  // applied by the server
   public boolean next() throws SQLException {
-    if (maxRowsOrRowsLimit > 0 && rowsFetched >= maxRowsOrRowsLimit) {
-      // The constraint of maxRows instead of rowsLimit is embodied
-      if (rowsLimit == 0 || (maxRows > 0 && maxRows < rowsLimit)) {
-        LOGGER.debug("Reach max rows " + maxRows);
-      }
+    if (maxRows > 0 && rowsFetched >= maxRows) {
+      LOGGER.debug("Reach max rows " + maxRows);
       return false;
     }
 
-    // When rowsOffset is constrained and the offset position has NOT been reached
-    if (rowsOffset != 0) {
-      for (int i = 0; i < rowsOffset; i++) { // Try to move to the offset position
-        if (!nextWithoutConstraints()) {
-          return false; // No next record, i.e, fail to move to the offset position
-        }
-      }
-      rowsOffset = 0; // The offset position has been reached
-    }
-
     boolean isNext = nextWithoutConstraints();
 
     if (isNext) {
-      /*
-       * Note that 'rowsFetched' is not increased in the nextWithoutConstraints(),
-       * because 'rowsFetched' should not count the rows fetched before the OFFSET position.
-       */
       rowsFetched++;
     }
 
@@ -19,6 +19,7 @@
 
 package org.apache.iotdb.jdbc;
 
+import java.nio.ByteBuffer;
 import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
@@ -40,9 +41,11 @@ import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementResp;
 import org.apache.iotdb.service.rpc.thrift.TSFetchMetadataReq;
 import org.apache.iotdb.service.rpc.thrift.TSFetchMetadataResp;
 import org.apache.iotdb.service.rpc.thrift.TSIService;
+import org.apache.iotdb.service.rpc.thrift.TSInsertTabletReq;
 import org.apache.iotdb.service.rpc.thrift.TSOperationHandle;
 import org.apache.iotdb.service.rpc.thrift.TS_SessionHandle;
 import org.apache.iotdb.service.rpc.thrift.TS_StatusCode;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -287,6 +290,61 @@ public class IoTDBStatement implements Statement {
     TSExecuteBatchStatementReq execReq = new TSExecuteBatchStatementReq(sessionHandle,
         batchSQLList);
     TSExecuteBatchStatementResp execResp = client.executeBatchStatement(execReq);
+    return getBatchResult(execResp);
+  }
+
+  /**
+   * Insert the rows of one device without SQL parsing on the server. The values are given by
+   * columns: columns[i] holds the values of measurements.get(i) of all the rows, which must be a
+   * boolean[], int[], long[], float[], double[] or Binary[] according to dataTypes.get(i).
+   * Nothing is inserted if the schema or a column is wrong, otherwise a failed row does not stop
+   * the following ones and is reported as EXECUTE_FAILED in the BatchUpdateException.
+   *
+   * @return the result of each row, like {@link #executeBatch()}
+   */
+  public int[] insertTablet(String deviceId, List<String> measurements,
+      List<TSDataType> dataTypes, long[] timestamps, Object[] columns) throws SQLException {
+    checkConnection("insertTablet");
+    isClosed = false;
+    try {
+      return insertTabletInternal(deviceId, measurements, dataTypes, timestamps, columns);
+    } catch (TException e) {
+      boolean flag = connection.reconnect();
+      reInit();
+      if (flag) {
+        try {
+          return insertTabletInternal(deviceId, measurements, dataTypes, timestamps, columns);
+        } catch (TException e2) {
+          throw new SQLException(
+              "Fail to insert tablet after reconnecting. please check server status", e2);
+        }
+      } else {
+        throw new SQLException(
+            "Fail to reconnect to server when inserting tablet. please check server status", e);
+      }
+    }
+  }
+
+  private int[] insertTabletInternal(String deviceId, List<String> measurements,
+      List<TSDataType> dataTypes, long[] timestamps, Object[] columns)
+      throws TException, SQLException {
+    isCancelled = false;
+    int size = timestamps.length;
+    ByteBuffer timeBuffer = ByteBuffer.allocate(size * Long.BYTES);
+    timeBuffer.asLongBuffer().put(timestamps);
+    List<Short> types = new ArrayList<>();
+    List<ByteBuffer> values = new ArrayList<>();
+    for (int i = 0; i < measurements.size(); i++) {
+      types.add(dataTypes.get(i).serialize());
+      values.add(Utils.serializeColumn(dataTypes.get(i), columns[i], size));
+    }
+    TSInsertTabletReq req = new TSInsertTabletReq(sessionHandle, deviceId, measurements, types,
+        timeBuffer, values, size);
+    return getBatchResult(client.insertTablet(req));
+  }
+
+  private int[] getBatchResult(TSExecuteBatchStatementResp execResp)
+      throws BatchUpdateException {
     if (execResp.getStatus().statusCode == TS_StatusCode.SUCCESS_STATUS) {
       if (execResp.getResult() == null) {
         return new int[0];
@@ -18,17 +18,21 @@
  */
 package org.apache.iotdb.jdbc;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.apache.iotdb.service.rpc.thrift.TSColumnarDataSet;
 import org.apache.iotdb.service.rpc.thrift.TSDataValue;
 import org.apache.iotdb.service.rpc.thrift.TSQueryDataSet;
 import org.apache.iotdb.service.rpc.thrift.TSRowRecord;
 import org.apache.iotdb.service.rpc.thrift.TS_Status;
 import org.apache.iotdb.service.rpc.thrift.TS_StatusCode;
+import org.apache.iotdb.tsfile.compress.IUnCompressor;
 import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.Field;
 import org.apache.iotdb.tsfile.read.common.RowRecord;
@@ -46,6 +50,58 @@ public class Utils {
     throw new IllegalAccessError("Utility class");
   }
 
+  /**
+   * Serialize one column of TSInsertTabletReq, see rpc.thrift for the format.
+   *
+   * @param column a boolean[], int[], long[], float[], double[] or Binary[] according to dataType
+   * @param size the number of the rows
+   */
+  public static ByteBuffer serializeColumn(TSDataType dataType, Object column, int size) {
+    ByteBuffer buffer;
+    switch (dataType) {
+      case BOOLEAN:
+        boolean[] booleans = (boolean[]) column;
+        buffer = ByteBuffer.allocate(size);
+        for (int i = 0; i < size; i++) {
+          buffer.put(booleans[i] ? (byte) 1 : (byte) 0);
+        }
+        break;
+      case INT32:
+        buffer = ByteBuffer.allocate(size * Integer.BYTES);
+        buffer.asIntBuffer().put((int[]) column, 0, size);
+        break;
+      case INT64:
+        buffer = ByteBuffer.allocate(size * Long.BYTES);
+        buffer.asLongBuffer().put((long[]) column, 0, size);
+        break;
+      case FLOAT:
+        buffer = ByteBuffer.allocate(size * Float.BYTES);
+        buffer.asFloatBuffer().put((float[]) column, 0, size);
+        break;
+      case DOUBLE:
+        buffer = ByteBuffer.allocate(size * Double.BYTES);
+        buffer.asDoubleBuffer().put((double[]) column, 0, size);
+        break;
+      case TEXT:
+        Binary[] binaries = (Binary[]) column;
+        int length = 0;
+        for (int i = 0; i < size; i++) {
+          length += Integer.BYTES + binaries[i].getLength();
+        }
+        buffer = ByteBuffer.allocate(length);
+        for (int i = 0; i < size; i++) {
+          buffer.putInt(binaries[i].getLength());
+          buffer.put(binaries[i].getValues());
+        }
+        break;
+      default:
+        throw new UnSupportedDataTypeException(
+            String.format("Data type %s is not supported.", dataType));
+    }
+    buffer.position(0);
+    return buffer;
+  }
+
   /**
    * Parse JDBC connection URL The only supported format of the URL is:
    * jdbc:iotdb://localhost:6667/.
@@ -119,6 +175,78 @@ public class Utils {
     return records;
   }
 
+  /**
+   * convert the columnar data set fetched from the server to row records.
+   *
+   * @param columnarDataSet -the columnar data set, see rpc.thrift for the format
+   * @return -list of row record
+   */
+  public static List<RowRecord> convertColumnarDataSet(TSColumnarDataSet columnarDataSet) {
+    IUnCompressor unCompressor = IUnCompressor
+        .getUnCompressor(CompressionType.valueOf(columnarDataSet.getCompressionType()));
+    int rowCount = columnarDataSet.getRowCount();
+    List<RowRecord> records = new ArrayList<>(rowCount);
+    ByteBuffer timeBuffer = ByteBuffer.wrap(unCompressor.uncompress(columnarDataSet.getTime()));
+    for (int i = 0; i < rowCount; i++) {
+      records.add(new RowRecord(timeBuffer.getLong()));
+    }
+
+    int bitmapSize = (rowCount + 7) / 8;
+    for (int i = 0; i < columnarDataSet.getTypesSize(); i++) {
+      short type = columnarDataSet.getTypes().get(i);
+      TSDataType dataType = type < 0 ? null : TSDataType.deserialize(type);
+      byte[] bytes = unCompressor.uncompress(toBytes(columnarDataSet.getValues().get(i)));
+      ByteBuffer valueBuffer = ByteBuffer.wrap(bytes, bitmapSize, bytes.length - bitmapSize);
+      for (int row = 0; row < rowCount; row++) {
+        Field field;
+        if (dataType == null || (bytes[row / 8] & (1 << (7 - row % 8))) == 0) {
+          field = new Field(null);
+          field.setNull();
+        } else {
+          field = new Field(dataType);
+          readField(field, dataType, valueBuffer);
+        }
+        records.get(row).getFields().add(field);
+      }
+    }
+    return records;
+  }
+
+  private static byte[] toBytes(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
+  }
+
+  private static void readField(Field field, TSDataType dataType, ByteBuffer buffer) {
+    switch (dataType) {
+      case BOOLEAN:
+        field.setBoolV(buffer.get() != 0);
+        break;
+      case INT32:
+        field.setIntV(buffer.getInt());
+        break;
+      case INT64:
+        field.setLongV(buffer.getLong());
+        break;
+      case FLOAT:
+        field.setFloatV(buffer.getFloat());
+        break;
+      case DOUBLE:
+        field.setDoubleV(buffer.getDouble());
+        break;
+      case TEXT:
+        byte[] values = new byte[buffer.getInt()];
+        buffer.get(values);
+        field.setBinaryV(new Binary(values));
+        break;
+      default:
+        throw new UnSupportedDataTypeException(
+            String.format("data type %s is not supported when convert data at client",
+                dataType));
+    }
+  }
+
   /**
    *
    * @param field -the field need to add new data
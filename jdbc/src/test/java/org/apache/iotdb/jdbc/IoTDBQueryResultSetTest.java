@@ -219,14 +219,12 @@ public class IoTDBQueryResultSetTest {
     }
   }
 
-  // fake the first-time fetched result of 'testSql' from an IoTDB server
+  // fake the first-time fetched result of 'testSql' from an IoTDB server, which has applied the
+  // LIMIT&OFFSET constraint
   private TSQueryDataSet FakedFirstFetchResult() {
     TSQueryDataSet tsQueryDataSet = new TSQueryDataSet(new ArrayList<>());
     final int DATA_TYPE_NUM = 3;
     Object[][] input = {
-        {1L, "root.vehicle.d0.s2", TSDataType.FLOAT, null, "root.vehicle.d0.s1", TSDataType.INT64,
-            1101L,
-            "root.vehicle.d0.s0", TSDataType.INT32, null,},
         {2L, "root.vehicle.d0.s2", TSDataType.FLOAT, 2.22F, "root.vehicle.d0.s1", TSDataType.INT64,
             40000L,
             "root.vehicle.d0.s0", TSDataType.INT32, null,},
@@ -26,6 +26,7 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import org.apache.iotdb.service.rpc.thrift.TSColumnarDataSet;
 import org.apache.iotdb.service.rpc.thrift.TSDataValue;
 import org.apache.iotdb.service.rpc.thrift.TSQueryDataSet;
 import org.apache.iotdb.service.rpc.thrift.TSRowRecord;
@@ -34,6 +35,7 @@ import org.apache.iotdb.service.rpc.thrift.TS_StatusCode;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.Field;
 import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.utils.Binary;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -187,4 +189,54 @@ public class UtilsTest {
     }
   }
 
+  @Test
+  public void testSerializeColumn() {
+    int size = 3;
+    ByteBuffer buffer = Utils.serializeColumn(TSDataType.INT64, new long[]{1L, -2L, 3L}, size);
+    assertEquals(size * Long.BYTES, buffer.remaining());
+    assertEquals(1L, buffer.getLong());
+    assertEquals(-2L, buffer.getLong());
+    assertEquals(3L, buffer.getLong());
+
+    buffer = Utils.serializeColumn(TSDataType.BOOLEAN, new boolean[]{true, false, true}, size);
+    assertEquals(size, buffer.remaining());
+    assertEquals(1, buffer.get());
+    assertEquals(0, buffer.get());
+    assertEquals(1, buffer.get());
+
+    buffer = Utils.serializeColumn(TSDataType.TEXT,
+        new Binary[]{new Binary("a"), new Binary(""), new Binary("bcd")}, size);
+    assertEquals(3 * Integer.BYTES + 4, buffer.remaining());
+    assertEquals(1, buffer.getInt());
+    assertEquals('a', buffer.get());
+    assertEquals(0, buffer.getInt());
+    assertEquals(3, buffer.getInt());
+  }
+
+  @Test
+  public void testConvertColumnarDataSet() {
+    // 3 rows, column 0 is INT32 with a null in row 1, column 1 has no value
+    ByteBuffer time = ByteBuffer.allocate(3 * Long.BYTES);
+    time.putLong(1L).putLong(2L).putLong(3L);
+    ByteBuffer intColumn = ByteBuffer.allocate(1 + 2 * Integer.BYTES);
+    intColumn.put((byte) 0xA0).putInt(10).putInt(30);
+    intColumn.flip();
+    ByteBuffer emptyColumn = ByteBuffer.allocate(1);
+
+    List<Short> types = new ArrayList<>();
+    types.add(TSDataType.INT32.serialize());
+    types.add((short) -1);
+    List<ByteBuffer> values = new ArrayList<>();
+    values.add(intColumn);
+    values.add(emptyColumn);
+    TSColumnarDataSet columnarDataSet = new TSColumnarDataSet(3, ByteBuffer.wrap(time.array()),
+        types, values, "UNCOMPRESSED");
+
+    List<RowRecord> records = Utils.convertColumnarDataSet(columnarDataSet);
+    assertEquals(3, records.size());
+    assertEquals("1\t10\tnull", records.get(0).toString());
+    assertEquals("2\tnull\tnull", records.get(1).toString());
+    assertEquals("3\t30\tnull", records.get(2).toString());
+  }
+
 }
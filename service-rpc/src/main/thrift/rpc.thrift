@@ -147,6 +147,33 @@ struct TSExecuteBatchStatementReq{
   2: required list<string> statements
 }
 
+// InsertTablet()
+//
+// Insert rows of one device without SQL parsing. The values are given by columns, each column is
+// serialized in big endian into one buffer:
+// BOOLEAN: 1 byte per row, INT32/FLOAT: 4 bytes per row, INT64/DOUBLE: 8 bytes per row,
+// TEXT: a 4-byte length followed by the bytes per row.
+struct TSInsertTabletReq {
+  // The session to execute the insertion against
+  1: required TS_SessionHandle sessionHandle
+
+  2: required string deviceId
+
+  3: required list<string> measurements
+
+  // The serialized TSDataType of each measurement
+  4: required list<i16> types
+
+  // The timestamps of the rows, 8 bytes per row
+  5: required binary timestamps
+
+  // One buffer per measurement
+  6: required list<binary> values
+
+  // The number of the rows
+  7: required i32 size
+}
+
 
 struct TSGetOperationStatusReq {
   // Session to run this request against
@@ -200,15 +227,38 @@ struct TSQueryDataSet{
 	1: required list<TSRowRecord> records
 }
 
+// A batch of fetched rows organized by columns, which is much smaller than TSQueryDataSet for wide
+// results.
+struct TSColumnarDataSet{
+	// The number of the rows
+	1: required i32 rowCount
+	// The timestamps of the rows, 8 bytes per row
+	2: required binary time
+	// The serialized TSDataType of each column, -1 if the column has no value in this batch
+	3: required list<i16> types
+	// One buffer per column: a bitmap of (rowCount + 7) / 8 bytes, in which bit (7 - i % 8) of byte
+	// i / 8 is set if row i has a value, followed by the values of those rows in the format of
+	// TSInsertTabletReq
+	4: required list<binary> values
+	// The CompressionType of time and each value buffer
+	5: required string compressionType
+}
+
 struct TSFetchResultsReq{
 	1: required string statement
 	2: required i32 fetch_size
+	// Ask for TSColumnarDataSet instead of TSQueryDataSet, the server answers with TSQueryDataSet
+	// if it does not support it
+	3: optional bool columnar
+	// The CompressionType for TSColumnarDataSet, UNCOMPRESSED if absent
+	4: optional string compressionType
 }
 
 struct TSFetchResultsResp{
 	1: required TS_Status status
 	2: required bool hasResultSet
 	3: optional TSQueryDataSet queryDataSet
+	4: optional TSColumnarDataSet columnarDataSet
 }
 
 struct TSFetchMetadataResp{
@@ -259,6 +309,8 @@ service TSIService {
 
 	TSExecuteBatchStatementResp executeBatchStatement(1:TSExecuteBatchStatementReq req);
 
+	TSExecuteBatchStatementResp insertTablet(1:TSInsertTabletReq req);
+
 	TSExecuteStatementResp executeQueryStatement(1:TSExecuteStatementReq req);
 
 	TSExecuteStatementResp executeUpdateStatement(1:TSExecuteStatementReq req);
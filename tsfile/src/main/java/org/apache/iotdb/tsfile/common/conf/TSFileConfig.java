@@ -51,9 +51,9 @@ public class TSFileConfig {
   public static final String CONFIG_FILE_NAME = "tsfile-format.properties";
   public static final String MAGIC_STRING = "TsFilev0.8.0";
   /**
-   * Current version is 3.
+   * Current version is 4, which adds the series index and the bloom filter to the file metadata.
    */
-  public static final int CURRENT_VERSION = 3;
+  public static final int CURRENT_VERSION = 4;
   /**
    * The default grow size of class BatchData.
    */
@@ -86,6 +86,16 @@ public class TSFileConfig {
    * Floating-point precision.
    */
   public static int floatPrecision = 2;
+  /**
+   * Maximum number of distinct values in the dictionary of one PLAIN_DICTIONARY page. A page
+   * exceeding it falls back to PLAIN.
+   */
+  public static int maxDictionarySize = 1024;
+  /**
+   * The expected false positive rate of the bloom filter over the series of a TsFile, which lets a
+   * query skip a file without the series.
+   */
+  public static double bloomFilterErrorRate = 0.05;
   /**
    * Encoder of time series, TsFile supports TS_2DIFF, PLAIN and RLE(run-length encoding) Default
    * value is TS_2DIFF.
@@ -94,8 +104,8 @@ public class TSFileConfig {
   /**
    * Encoder of value series. default value is PLAIN. For int, long data type, TsFile also supports
    * TS_2DIFF and RLE(run-length encoding). For float, double data type, TsFile also supports
-   * TS_2DIFF, RLE(run-length encoding) and GORILLA. For text data type, TsFile only supports
-   * PLAIN.
+   * TS_2DIFF, RLE(run-length encoding) and GORILLA. For text data type, TsFile also supports
+   * PLAIN_DICTIONARY.
    */
   public static String valueEncoder = "PLAIN";
 
@@ -125,6 +125,12 @@ public class TSFileDescriptor {
       TSFileConfig.floatPrecision = Integer
           .parseInt(properties
               .getProperty("float_precision", Integer.toString(TSFileConfig.floatPrecision)));
+      TSFileConfig.maxDictionarySize = Integer
+          .parseInt(properties.getProperty("max_dictionary_size",
+              Integer.toString(TSFileConfig.maxDictionarySize)));
+      TSFileConfig.bloomFilterErrorRate = Double
+          .parseDouble(properties.getProperty("bloom_filter_error_rate",
+              Double.toString(TSFileConfig.bloomFilterErrorRate)));
       TSFileConfig.timeSeriesEncoder = properties
           .getProperty("time_series_encoder", TSFileConfig.timeSeriesEncoder);
       TSFileConfig.valueEncoder = properties
@@ -22,12 +22,18 @@ package org.apache.iotdb.tsfile.compress;
 import java.io.IOException;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+import com.github.luben.zstd.Zstd;
+import net.jpountz.lz4.LZ4Factory;
 import org.apache.iotdb.tsfile.exception.compress.CompressionTypeNotSupportedException;
 import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.utils.PublicBAOS;
 import org.xerial.snappy.Snappy;
 
 /**
- * compress data according to type in schema.
+ * compress data according to type in schema. The data compressed by LZ4 and ZSTD is preceded by
+ * its uncompressed length (an int), so that it can be uncompressed into a buffer of exact size.
  * TODO we need to modify MManger.flush method to avoid add Serializable interface
  */
 public interface ICompressor extends Serializable {
@@ -51,6 +57,12 @@ public interface ICompressor extends Serializable {
         return new NoCompressor();
       case SNAPPY:
         return new SnappyCompressor();
+      case GZIP:
+        return new GZIPCompressor();
+      case LZ4:
+        return new LZ4Compressor();
+      case ZSTD:
+        return new ZSTDCompressor();
       default:
         throw new CompressionTypeNotSupportedException(name.toString());
     }
@@ -140,4 +152,168 @@ public interface ICompressor extends Serializable {
       return CompressionType.SNAPPY;
     }
   }
+
+  /**
+   * GZIPCompressor writes standard gzip streams, it has a high ratio and is fit for cold data.
+   */
+  class GZIPCompressor implements ICompressor {
+
+    @Override
+    public byte[] compress(byte[] data) throws IOException {
+      if (data == null) {
+        return new byte[0];
+      }
+      PublicBAOS out = gzip(data, 0, data.length);
+      return Arrays.copyOf(out.getBuf(), out.size());
+    }
+
+    @Override
+    public int compress(byte[] data, int offset, int length, byte[] compressed) throws IOException {
+      PublicBAOS out = gzip(data, offset, length);
+      System.arraycopy(out.getBuf(), 0, compressed, 0, out.size());
+      return out.size();
+    }
+
+    @Override
+    public int compress(ByteBuffer data, ByteBuffer compressed) throws IOException {
+      byte[] input = new byte[data.remaining()];
+      data.duplicate().get(input);
+      PublicBAOS out = gzip(input, 0, input.length);
+      compressed.duplicate().put(out.getBuf(), 0, out.size());
+      compressed.limit(compressed.position() + out.size());
+      return out.size();
+    }
+
+    private PublicBAOS gzip(byte[] data, int offset, int length) throws IOException {
+      PublicBAOS out = new PublicBAOS(getMaxBytesForCompression(length));
+      try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(out)) {
+        gzipOutputStream.write(data, offset, length);
+      }
+      return out;
+    }
+
+    @Override
+    public int getMaxBytesForCompression(int uncompressedDataSize) {
+      // the bound of deflate plus the gzip header and trailer
+      return uncompressedDataSize + (uncompressedDataSize >> 12) + (uncompressedDataSize >> 14)
+          + (uncompressedDataSize >> 25) + 13 + 18;
+    }
+
+    @Override
+    public CompressionType getType() {
+      return CompressionType.GZIP;
+    }
+  }
+
+  /**
+   * LZ4Compressor compresses slower than Snappy but its data is uncompressed faster, so it is fit
+   * for hot data.
+   */
+  class LZ4Compressor implements ICompressor {
+
+    private static final LZ4Factory factory = LZ4Factory.fastestInstance();
+
+    @Override
+    public byte[] compress(byte[] data) throws IOException {
+      if (data == null) {
+        return new byte[0];
+      }
+      byte[] compressed = new byte[getMaxBytesForCompression(data.length)];
+      return Arrays.copyOf(compressed, compress(data, 0, data.length, compressed));
+    }
+
+    @Override
+    public int compress(byte[] data, int offset, int length, byte[] compressed) throws IOException {
+      ByteBuffer.wrap(compressed).putInt(length);
+      return Integer.BYTES + factory.fastCompressor()
+          .compress(data, offset, length, compressed, Integer.BYTES,
+              compressed.length - Integer.BYTES);
+    }
+
+    @Override
+    public int compress(ByteBuffer data, ByteBuffer compressed) throws IOException {
+      int position = compressed.position();
+      compressed.putInt(position, data.remaining());
+      int size = Integer.BYTES + factory.fastCompressor()
+          .compress(data, data.position(), data.remaining(), compressed,
+              position + Integer.BYTES, compressed.remaining() - Integer.BYTES);
+      compressed.limit(position + size);
+      return size;
+    }
+
+    @Override
+    public int getMaxBytesForCompression(int uncompressedDataSize) {
+      return Integer.BYTES + factory.fastCompressor().maxCompressedLength(uncompressedDataSize);
+    }
+
+    @Override
+    public CompressionType getType() {
+      return CompressionType.LZ4;
+    }
+  }
+
+  /**
+   * ZSTDCompressor has a ratio close to GZIP's but is much faster, it is fit for cold data.
+   */
+  class ZSTDCompressor implements ICompressor {
+
+    /**
+     * the default level of zstd.
+     */
+    private static final int LEVEL = 3;
+
+    @Override
+    public byte[] compress(byte[] data) throws IOException {
+      if (data == null) {
+        return new byte[0];
+      }
+      byte[] compressed = new byte[getMaxBytesForCompression(data.length)];
+      return Arrays.copyOf(compressed, compress(data, 0, data.length, compressed));
+    }
+
+    @Override
+    public int compress(byte[] data, int offset, int length, byte[] compressed) throws IOException {
+      ByteBuffer.wrap(compressed).putInt(length);
+      long size = Zstd.compressByteArray(compressed, Integer.BYTES,
+          compressed.length - Integer.BYTES, data, offset, length, LEVEL);
+      return Integer.BYTES + checkSize(size);
+    }
+
+    @Override
+    public int compress(ByteBuffer data, ByteBuffer compressed) throws IOException {
+      int position = compressed.position();
+      int size;
+      if (data.isDirect() && compressed.isDirect()) {
+        compressed.putInt(position, data.remaining());
+        size = Integer.BYTES + checkSize(Zstd.compressDirectByteBuffer(compressed,
+            position + Integer.BYTES, compressed.remaining() - Integer.BYTES, data,
+            data.position(), data.remaining(), LEVEL));
+      } else {
+        byte[] input = new byte[data.remaining()];
+        data.duplicate().get(input);
+        byte[] output = compress(input);
+        compressed.duplicate().put(output);
+        size = output.length;
+      }
+      compressed.limit(position + size);
+      return size;
+    }
+
+    static int checkSize(long size) throws IOException {
+      if (Zstd.isError(size)) {
+        throw new IOException("zstd error: " + Zstd.getErrorName(size));
+      }
+      return (int) size;
+    }
+
+    @Override
+    public int getMaxBytesForCompression(int uncompressedDataSize) {
+      return Integer.BYTES + (int) Zstd.compressBound(uncompressedDataSize);
+    }
+
+    @Override
+    public CompressionType getType() {
+      return CompressionType.ZSTD;
+    }
+  }
 }
@@ -19,8 +19,14 @@
 
 package org.apache.iotdb.tsfile.compress;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.GZIPInputStream;
+import com.github.luben.zstd.Zstd;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
 import org.apache.iotdb.tsfile.exception.compress.CompressionTypeNotSupportedException;
 import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.slf4j.Logger;
@@ -47,6 +53,12 @@ public interface IUnCompressor {
         return new NoUnCompressor();
       case SNAPPY:
         return new SnappyUnCompressor();
+      case GZIP:
+        return new GZIPUnCompressor();
+      case LZ4:
+        return new LZ4UnCompressor();
+      case ZSTD:
+        return new ZSTDUnCompressor();
       default:
         throw new CompressionTypeNotSupportedException(name.toString());
     }
@@ -167,25 +179,229 @@ public interface IUnCompressor {
     }
 
     @Override
-    public int uncompress(ByteBuffer compressed, ByteBuffer uncompressed) {
+    public int uncompress(ByteBuffer compressed, ByteBuffer uncompressed) throws IOException {
       if (compressed == null || !compressed.hasRemaining()) {
         return 0;
       }
 
+      return Snappy.uncompress(compressed, uncompressed);
+    }
+
+    @Override
+    public CompressionType getCodecName() {
+      return CompressionType.SNAPPY;
+    }
+  }
+
+  class GZIPUnCompressor implements IUnCompressor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GZIPUnCompressor.class);
+
+    /**
+     * the uncompressed length is the last 4 bytes (in little endian) of a gzip stream.
+     */
+    @Override
+    public int getUncompressedLength(byte[] array, int offset, int length) {
+      return ByteBuffer.wrap(array).order(ByteOrder.LITTLE_ENDIAN)
+          .getInt(offset + length - Integer.BYTES);
+    }
+
+    @Override
+    public int getUncompressedLength(ByteBuffer buffer) {
+      return buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN)
+          .getInt(buffer.limit() - Integer.BYTES);
+    }
+
+    @Override
+    public byte[] uncompress(byte[] bytes) {
+      if (bytes == null || bytes.length == 0) {
+        return new byte[0];
+      }
+
       try {
-        return Snappy.uncompress(compressed, uncompressed);
+        byte[] uncompressed = new byte[getUncompressedLength(bytes, 0, bytes.length)];
+        uncompress(bytes, 0, bytes.length, uncompressed, 0);
+        return uncompressed;
       } catch (IOException e) {
         LOGGER.error(
-            "tsfile-compression SnappyUnCompressor: errors occurs when uncompress input byte, "
+            "tsfile-compression GZIPUnCompressor: errors occurs when uncompress input byte, "
                 + "bytes is {}",
-            compressed.array(), e);
+            bytes, e);
+      }
+      return new byte[0];
+    }
+
+    @Override
+    public int uncompress(byte[] byteArray, int offset, int length, byte[] output, int outOffset)
+        throws IOException {
+      int size = getUncompressedLength(byteArray, offset, length);
+      int read = 0;
+      try (GZIPInputStream inputStream = new GZIPInputStream(
+          new ByteArrayInputStream(byteArray, offset, length))) {
+        while (read < size) {
+          int n = inputStream.read(output, outOffset + read, size - read);
+          if (n < 0) {
+            break;
+          }
+          read += n;
+        }
+      }
+      return read;
+    }
+
+    @Override
+    public int uncompress(ByteBuffer compressed, ByteBuffer uncompressed) throws IOException {
+      if (compressed == null || !compressed.hasRemaining()) {
+        return 0;
       }
-      return 0;
+      byte[] input = new byte[compressed.remaining()];
+      compressed.duplicate().get(input);
+      byte[] output = new byte[getUncompressedLength(input, 0, input.length)];
+      int size = uncompress(input, 0, input.length, output, 0);
+      uncompressed.duplicate().put(output, 0, size);
+      uncompressed.limit(uncompressed.position() + size);
+      return size;
     }
 
     @Override
     public CompressionType getCodecName() {
-      return CompressionType.SNAPPY;
+      return CompressionType.GZIP;
+    }
+  }
+
+  class LZ4UnCompressor implements IUnCompressor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LZ4UnCompressor.class);
+    private static final LZ4Factory factory = LZ4Factory.fastestInstance();
+
+    @Override
+    public int getUncompressedLength(byte[] array, int offset, int length) {
+      return ByteBuffer.wrap(array).getInt(offset);
+    }
+
+    @Override
+    public int getUncompressedLength(ByteBuffer buffer) {
+      return buffer.getInt(buffer.position());
+    }
+
+    @Override
+    public byte[] uncompress(byte[] bytes) {
+      if (bytes == null || bytes.length == 0) {
+        return new byte[0];
+      }
+
+      try {
+        byte[] uncompressed = new byte[getUncompressedLength(bytes, 0, bytes.length)];
+        uncompress(bytes, 0, bytes.length, uncompressed, 0);
+        return uncompressed;
+      } catch (IOException e) {
+        LOGGER.error(
+            "tsfile-compression LZ4UnCompressor: errors occurs when uncompress input byte, "
+                + "bytes is {}",
+            bytes, e);
+      }
+      return new byte[0];
+    }
+
+    @Override
+    public int uncompress(byte[] byteArray, int offset, int length, byte[] output, int outOffset)
+        throws IOException {
+      try {
+        return factory.safeDecompressor().decompress(byteArray, offset + Integer.BYTES,
+            length - Integer.BYTES, output, outOffset,
+            getUncompressedLength(byteArray, offset, length));
+      } catch (LZ4Exception e) {
+        throw new IOException(e);
+      }
+    }
+
+    @Override
+    public int uncompress(ByteBuffer compressed, ByteBuffer uncompressed) throws IOException {
+      if (compressed == null || !compressed.hasRemaining()) {
+        return 0;
+      }
+      try {
+        int size = factory.safeDecompressor().decompress(compressed,
+            compressed.position() + Integer.BYTES, compressed.remaining() - Integer.BYTES,
+            uncompressed, uncompressed.position(), getUncompressedLength(compressed));
+        uncompressed.limit(uncompressed.position() + size);
+        return size;
+      } catch (LZ4Exception e) {
+        throw new IOException(e);
+      }
+    }
+
+    @Override
+    public CompressionType getCodecName() {
+      return CompressionType.LZ4;
+    }
+  }
+
+  class ZSTDUnCompressor implements IUnCompressor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ZSTDUnCompressor.class);
+
+    @Override
+    public int getUncompressedLength(byte[] array, int offset, int length) {
+      return ByteBuffer.wrap(array).getInt(offset);
+    }
+
+    @Override
+    public int getUncompressedLength(ByteBuffer buffer) {
+      return buffer.getInt(buffer.position());
+    }
+
+    @Override
+    public byte[] uncompress(byte[] bytes) {
+      if (bytes == null || bytes.length == 0) {
+        return new byte[0];
+      }
+
+      try {
+        byte[] uncompressed = new byte[getUncompressedLength(bytes, 0, bytes.length)];
+        uncompress(bytes, 0, bytes.length, uncompressed, 0);
+        return uncompressed;
+      } catch (IOException e) {
+        LOGGER.error(
+            "tsfile-compression ZSTDUnCompressor: errors occurs when uncompress input byte, "
+                + "bytes is {}",
+            bytes, e);
+      }
+      return new byte[0];
+    }
+
+    @Override
+    public int uncompress(byte[] byteArray, int offset, int length, byte[] output, int outOffset)
+        throws IOException {
+      return ICompressor.ZSTDCompressor.checkSize(Zstd.decompressByteArray(output, outOffset,
+          getUncompressedLength(byteArray, offset, length), byteArray, offset + Integer.BYTES,
+          length - Integer.BYTES));
+    }
+
+    @Override
+    public int uncompress(ByteBuffer compressed, ByteBuffer uncompressed) throws IOException {
+      if (compressed == null || !compressed.hasRemaining()) {
+        return 0;
+      }
+      int size;
+      if (compressed.isDirect() && uncompressed.isDirect()) {
+        size = ICompressor.ZSTDCompressor.checkSize(Zstd.decompressDirectByteBuffer(uncompressed,
+            uncompressed.position(), getUncompressedLength(compressed), compressed,
+            compressed.position() + Integer.BYTES, compressed.remaining() - Integer.BYTES));
+      } else {
+        byte[] input = new byte[compressed.remaining()];
+        compressed.duplicate().get(input);
+        byte[] output = new byte[getUncompressedLength(input, 0, input.length)];
+        size = uncompress(input, 0, input.length, output, 0);
+        uncompressed.duplicate().put(output, 0, size);
+      }
+      uncompressed.limit(uncompressed.position() + size);
+      return size;
+    }
+
+    @Override
+    public CompressionType getCodecName() {
+      return CompressionType.ZSTD;
     }
   }
 }
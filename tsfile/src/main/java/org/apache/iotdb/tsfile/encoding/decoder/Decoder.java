@@ -92,6 +92,12 @@ public abstract class Decoder {
           throw new TsFileDecodingException(
               "Decoder not found:" + type + " , DataType is :" + dataType);
       }
+    } else if (type == TSEncoding.PLAIN_DICTIONARY) {
+      if (dataType == TSDataType.TEXT) {
+        return new DictionaryDecoder();
+      }
+      throw new TsFileDecodingException(
+          "Decoder not found:" + type + " , DataType is :" + dataType);
     } else {
       throw new TsFileDecodingException(
           "Decoder not found:" + type + " , DataType is :" + dataType);
@@ -132,6 +138,75 @@ public abstract class Decoder {
 
   public abstract boolean hasNext(ByteBuffer buffer) throws IOException;
 
+  /**
+   * decode at most {@code length} boolean values into {@code out} starting at {@code offset}.
+   * Decoders override it to decode a run of values at a time instead of one by one.
+   *
+   * @return number of decoded values, which is less than {@code length} only if no value is left
+   */
+  public int decode(ByteBuffer buffer, boolean[] out, int offset, int length) throws IOException {
+    int count = 0;
+    while (count < length && hasNext(buffer)) {
+      out[offset + count++] = readBoolean(buffer);
+    }
+    return count;
+  }
+
+  /**
+   * decode int values, see {@link #decode(ByteBuffer, boolean[], int, int)}.
+   */
+  public int decode(ByteBuffer buffer, int[] out, int offset, int length) throws IOException {
+    int count = 0;
+    while (count < length && hasNext(buffer)) {
+      out[offset + count++] = readInt(buffer);
+    }
+    return count;
+  }
+
+  /**
+   * decode long values, see {@link #decode(ByteBuffer, boolean[], int, int)}.
+   */
+  public int decode(ByteBuffer buffer, long[] out, int offset, int length) throws IOException {
+    int count = 0;
+    while (count < length && hasNext(buffer)) {
+      out[offset + count++] = readLong(buffer);
+    }
+    return count;
+  }
+
+  /**
+   * decode float values, see {@link #decode(ByteBuffer, boolean[], int, int)}.
+   */
+  public int decode(ByteBuffer buffer, float[] out, int offset, int length) throws IOException {
+    int count = 0;
+    while (count < length && hasNext(buffer)) {
+      out[offset + count++] = readFloat(buffer);
+    }
+    return count;
+  }
+
+  /**
+   * decode double values, see {@link #decode(ByteBuffer, boolean[], int, int)}.
+   */
+  public int decode(ByteBuffer buffer, double[] out, int offset, int length) throws IOException {
+    int count = 0;
+    while (count < length && hasNext(buffer)) {
+      out[offset + count++] = readDouble(buffer);
+    }
+    return count;
+  }
+
+  /**
+   * decode Binary values, see {@link #decode(ByteBuffer, boolean[], int, int)}.
+   */
+  public int decode(ByteBuffer buffer, Binary[] out, int offset, int length) throws IOException {
+    int count = 0;
+    while (count < length && hasNext(buffer)) {
+      out[offset + count++] = readBinary(buffer);
+    }
+    return count;
+  }
+
   public abstract void reset();
 
 }
@@ -114,6 +114,26 @@ public abstract class DeltaBinaryDecoder extends Decoder {
       return readT(buffer);
     }
 
+    @Override
+    public int decode(ByteBuffer buffer, int[] out, int offset, int length) {
+      int count = 0;
+      while (count < length) {
+        if (nextReadIndex == readIntTotalCount) {
+          if (buffer.remaining() == 0) {
+            break;
+          }
+          out[offset + count++] = loadIntBatch(buffer);
+          continue;
+        }
+        // copy the decoded pack instead of reading it value by value
+        int n = Math.min(length - count, readIntTotalCount - nextReadIndex);
+        System.arraycopy(data, nextReadIndex, out, offset + count, n);
+        nextReadIndex += n;
+        count += n;
+      }
+      return count;
+    }
+
     /**
      * if remaining data has been run out, load next pack from InputStream.
      *
@@ -231,6 +251,26 @@ public abstract class DeltaBinaryDecoder extends Decoder {
       return readT(buffer);
     }
 
+    @Override
+    public int decode(ByteBuffer buffer, long[] out, int offset, int length) {
+      int count = 0;
+      while (count < length) {
+        if (nextReadIndex == readIntTotalCount) {
+          if (buffer.remaining() == 0) {
+            break;
+          }
+          out[offset + count++] = loadIntBatch(buffer);
+          continue;
+        }
+        // copy the decoded pack instead of reading it value by value
+        int n = Math.min(length - count, readIntTotalCount - nextReadIndex);
+        System.arraycopy(data, nextReadIndex, out, offset + count, n);
+        nextReadIndex += n;
+        count += n;
+      }
+      return count;
+    }
+
     @Override
     protected void readHeader(ByteBuffer buffer) {
       minDeltaBase = ReadWriteIOUtils.readLong(buffer);
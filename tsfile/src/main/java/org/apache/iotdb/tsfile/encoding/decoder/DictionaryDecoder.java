@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.apache.iotdb.tsfile.encoding.common.EndianType;
+import org.apache.iotdb.tsfile.encoding.encoder.DictionaryEncoder;
+import org.apache.iotdb.tsfile.exception.encoding.TsFileDecodingException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
+
+/**
+ * Decoder for TEXT value encoded by {@link DictionaryEncoder}. The dictionary of a page is read
+ * lazily with the first value after {@link #reset()}. Readers may check every dictionary entry once
+ * and then go through the ids by {@link #readId(ByteBuffer)} instead of decoding every value.
+ */
+public class DictionaryDecoder extends Decoder {
+
+  private boolean headerRead = false;
+
+  private boolean dictionaryMode;
+
+  private Binary[] dictionary;
+
+  private IntRleDecoder idDecoder = new IntRleDecoder(EndianType.LITTLE_ENDIAN);
+
+  private PlainDecoder plainDecoder = new PlainDecoder(EndianType.LITTLE_ENDIAN);
+
+  public DictionaryDecoder() {
+    super(TSEncoding.PLAIN_DICTIONARY);
+  }
+
+  private void readHeader(ByteBuffer buffer) {
+    if (headerRead) {
+      return;
+    }
+    byte mode = buffer.get();
+    if (mode == DictionaryEncoder.DICTIONARY_MODE) {
+      dictionaryMode = true;
+      int size = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
+      dictionary = new Binary[size];
+      for (int i = 0; i < size; i++) {
+        int length = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        dictionary[i] = new Binary(bytes);
+      }
+    } else if (mode == DictionaryEncoder.PLAIN_MODE) {
+      dictionaryMode = false;
+    } else {
+      throw new TsFileDecodingException(
+          String.format("tsfile-encoding DictionaryDecoder: unknown page mode %d", mode));
+    }
+    headerRead = true;
+  }
+
+  /**
+   * check whether the current page is stored with a dictionary.
+   *
+   * @param buffer value buffer of the page
+   * @return false if the page has fallen back to PLAIN or has no values
+   */
+  public boolean isDictionaryEncoded(ByteBuffer buffer) {
+    if (!headerRead && buffer.remaining() == 0) {
+      return false;
+    }
+    readHeader(buffer);
+    return dictionaryMode;
+  }
+
+  /**
+   * dictionary of the current page, only valid if {@link #isDictionaryEncoded(ByteBuffer)} is true.
+   */
+  public Binary[] getDictionary() {
+    return dictionary;
+  }
+
+  /**
+   * read the dictionary id of the next value, only valid if {@link
+   * #isDictionaryEncoded(ByteBuffer)} is true.
+   */
+  public int readId(ByteBuffer buffer) {
+    return idDecoder.readInt(buffer);
+  }
+
+  /**
+   * decode the dictionary ids of the next values in bulk, only valid if {@link
+   * #isDictionaryEncoded(ByteBuffer)} is true.
+   */
+  public int decodeIds(ByteBuffer buffer, int[] out, int offset, int length) throws IOException {
+    return idDecoder.decode(buffer, out, offset, length);
+  }
+
+  @Override
+  public Binary readBinary(ByteBuffer buffer) {
+    readHeader(buffer);
+    if (dictionaryMode) {
+      return dictionary[idDecoder.readInt(buffer)];
+    }
+    return plainDecoder.readBinary(buffer);
+  }
+
+  @Override
+  public boolean hasNext(ByteBuffer buffer) throws IOException {
+    if (!headerRead) {
+      return buffer.remaining() > 0;
+    }
+    if (dictionaryMode) {
+      return idDecoder.hasNext(buffer);
+    }
+    return plainDecoder.hasNext(buffer);
+  }
+
+  @Override
+  public void reset() {
+    headerRead = false;
+    dictionary = null;
+    idDecoder.reset();
+  }
+}
@@ -50,6 +50,12 @@ public class FloatDecoder extends Decoder {
    */
   private boolean isMaxPointNumberRead;
 
+  /**
+   * reusable buffers of the scaled integers decoded in bulk.
+   */
+  private int[] intBuffer;
+  private long[] longBuffer;
+
   public FloatDecoder(TSEncoding encodingType, TSDataType dataType) {
     super(encodingType);
     if (encodingType == TSEncoding.RLE) {
@@ -96,6 +102,41 @@ public class FloatDecoder extends Decoder {
     return value / maxPointValue;
   }
 
+  /**
+   * decode the scaled integers in bulk by the inner decoder, then scale them back.
+   */
+  @Override
+  public int decode(ByteBuffer buffer, float[] out, int offset, int length) throws IOException {
+    if (!hasNext(buffer)) {
+      return 0;
+    }
+    readMaxPointValue(buffer);
+    if (intBuffer == null || intBuffer.length < length) {
+      intBuffer = new int[length];
+    }
+    int count = decoder.decode(buffer, intBuffer, 0, length);
+    for (int i = 0; i < count; i++) {
+      out[offset + i] = (float) (intBuffer[i] / maxPointValue);
+    }
+    return count;
+  }
+
+  @Override
+  public int decode(ByteBuffer buffer, double[] out, int offset, int length) throws IOException {
+    if (!hasNext(buffer)) {
+      return 0;
+    }
+    readMaxPointValue(buffer);
+    if (longBuffer == null || longBuffer.length < length) {
+      longBuffer = new long[length];
+    }
+    int count = decoder.decode(buffer, longBuffer, 0, length);
+    for (int i = 0; i < count; i++) {
+      out[offset + i] = longBuffer[i] / maxPointValue;
+    }
+    return count;
+  }
+
   private void readMaxPointValue(ByteBuffer buffer) {
     if (!isMaxPointNumberRead) {
       int maxPointNumber = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
@@ -21,6 +21,7 @@ package org.apache.iotdb.tsfile.encoding.decoder;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
 import org.apache.iotdb.tsfile.encoding.bitpacking.IntPacker;
 import org.apache.iotdb.tsfile.encoding.common.EndianType;
@@ -104,6 +105,34 @@ public class IntRleDecoder extends RleDecoder {
     return result;
   }
 
+  /**
+   * decode a whole rle run or bit-packed group at a time.
+   */
+  @Override
+  public int decode(ByteBuffer buffer, int[] out, int offset, int length) throws IOException {
+    int count = 0;
+    while (count < length && hasNext(buffer)) {
+      if (!isLengthAndBitWidthReaded) {
+        readLengthAndBitWidth(buffer);
+      }
+      if (currentCount == 0) {
+        readNext();
+      }
+      int n = Math.min(length - count, currentCount);
+      if (mode == Mode.RLE) {
+        Arrays.fill(out, offset + count, offset + count + n, currentValue);
+      } else {
+        System.arraycopy(currentBuffer, bitPackingNum - currentCount, out, offset + count, n);
+      }
+      currentCount -= n;
+      count += n;
+      if (!hasNextPackage()) {
+        isLengthAndBitWidthReaded = false;
+      }
+    }
+    return count;
+  }
+
   @Override
   protected void initPacker() {
     packer = new IntPacker(bitWidth);
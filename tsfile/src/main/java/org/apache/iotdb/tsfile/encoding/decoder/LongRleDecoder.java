@@ -21,6 +21,7 @@ package org.apache.iotdb.tsfile.encoding.decoder;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
 import org.apache.iotdb.tsfile.encoding.bitpacking.LongPacker;
 import org.apache.iotdb.tsfile.encoding.common.EndianType;
@@ -99,6 +100,34 @@ public class LongRleDecoder extends RleDecoder {
     return result;
   }
 
+  /**
+   * decode a whole rle run or bit-packed group at a time.
+   */
+  @Override
+  public int decode(ByteBuffer buffer, long[] out, int offset, int length) throws IOException {
+    int count = 0;
+    while (count < length && hasNext(buffer)) {
+      if (!isLengthAndBitWidthReaded) {
+        readLengthAndBitWidth(buffer);
+      }
+      if (currentCount == 0) {
+        readNext();
+      }
+      int n = Math.min(length - count, currentCount);
+      if (mode == Mode.RLE) {
+        Arrays.fill(out, offset + count, offset + count + n, currentValue);
+      } else {
+        System.arraycopy(currentBuffer, bitPackingNum - currentCount, out, offset + count, n);
+      }
+      currentCount -= n;
+      count += n;
+      if (!hasNextPackage()) {
+        isLengthAndBitWidthReaded = false;
+      }
+    }
+    return count;
+  }
+
   @Override
   protected void initPacker() {
     packer = new LongPacker(bitWidth);
@@ -123,4 +152,4 @@ public class LongRleDecoder extends RleDecoder {
     packer.unpackAllValues(bytes, bytesToRead, currentBuffer);
   }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -22,6 +22,7 @@ package org.apache.iotdb.tsfile.encoding.decoder;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import org.apache.iotdb.tsfile.encoding.common.EndianType;
 import org.apache.iotdb.tsfile.exception.encoding.TsFileDecodingException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
@@ -117,6 +118,55 @@ public class PlainDecoder extends Decoder {
     return new Binary(buf);
   }
 
+  /**
+   * view the fixed length values as a little endian buffer and copy them at once.
+   */
+  private ByteBuffer littleEndianView(ByteBuffer buffer, int count, int valueSize) {
+    ByteBuffer view = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+    buffer.position(buffer.position() + count * valueSize);
+    return view;
+  }
+
+  @Override
+  public int decode(ByteBuffer buffer, int[] out, int offset, int length) throws IOException {
+    if (endianType != EndianType.LITTLE_ENDIAN) {
+      return super.decode(buffer, out, offset, length);
+    }
+    int count = Math.min(length, buffer.remaining() / Integer.BYTES);
+    littleEndianView(buffer, count, Integer.BYTES).asIntBuffer().get(out, offset, count);
+    return count;
+  }
+
+  @Override
+  public int decode(ByteBuffer buffer, long[] out, int offset, int length) throws IOException {
+    if (endianType != EndianType.LITTLE_ENDIAN) {
+      return super.decode(buffer, out, offset, length);
+    }
+    int count = Math.min(length, buffer.remaining() / Long.BYTES);
+    littleEndianView(buffer, count, Long.BYTES).asLongBuffer().get(out, offset, count);
+    return count;
+  }
+
+  @Override
+  public int decode(ByteBuffer buffer, float[] out, int offset, int length) throws IOException {
+    if (endianType != EndianType.LITTLE_ENDIAN) {
+      return super.decode(buffer, out, offset, length);
+    }
+    int count = Math.min(length, buffer.remaining() / Float.BYTES);
+    littleEndianView(buffer, count, Float.BYTES).asFloatBuffer().get(out, offset, count);
+    return count;
+  }
+
+  @Override
+  public int decode(ByteBuffer buffer, double[] out, int offset, int length) throws IOException {
+    if (endianType != EndianType.LITTLE_ENDIAN) {
+      return super.decode(buffer, out, offset, length);
+    }
+    int count = Math.min(length, buffer.remaining() / Double.BYTES);
+    littleEndianView(buffer, count, Double.BYTES).asDoubleBuffer().get(out, offset, count);
+    return count;
+  }
+
   @Override
   public boolean hasNext(ByteBuffer buffer) throws IOException {
     return buffer.remaining() > 0;
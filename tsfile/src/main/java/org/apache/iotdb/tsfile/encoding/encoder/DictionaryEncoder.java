@@ -0,0 +1,176 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.encoding.common.EndianType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
+
+/**
+ * Encoder for TEXT value using a dictionary built for each page. The encoded page starts with a
+ * mode byte:
+ * <ul>
+ * <li>{@link #DICTIONARY_MODE}: the number of entries, every entry as its length and bytes, then
+ * the ids of all values encoded by {@link IntRleEncoder}.</li>
+ * <li>{@link #PLAIN_MODE}: all values encoded by {@link PlainEncoder}. The encoder falls back to it
+ * when the page has more than {@link TSFileConfig#maxDictionarySize} distinct values or when the
+ * dictionary would not be smaller than the plain values.</li>
+ * </ul>
+ */
+public class DictionaryEncoder extends Encoder {
+
+  public static final byte DICTIONARY_MODE = 0;
+  public static final byte PLAIN_MODE = 1;
+
+  private final int maxDictionarySize;
+
+  private Map<Binary, Integer> entryIndex = new HashMap<>();
+  private List<Binary> entries = new ArrayList<>();
+  private List<Integer> ids = new ArrayList<>();
+
+  /**
+   * bytes of all dictionary entries, including their length.
+   */
+  private long entriesSize = 0;
+
+  /**
+   * bytes of the buffered values if they were encoded by PLAIN.
+   */
+  private long plainSize = 0;
+
+  /**
+   * true if the current page has fallen back to PLAIN, in which case values are written directly.
+   */
+  private boolean plainMode = false;
+
+  private PlainEncoder plainEncoder;
+
+  public DictionaryEncoder(int maxStringLength) {
+    this(maxStringLength, TSFileConfig.maxDictionarySize);
+  }
+
+  public DictionaryEncoder(int maxStringLength, int maxDictionarySize) {
+    super(TSEncoding.PLAIN_DICTIONARY);
+    this.maxDictionarySize = maxDictionarySize;
+    this.plainEncoder = new PlainEncoder(EndianType.LITTLE_ENDIAN, TSDataType.TEXT,
+        maxStringLength);
+  }
+
+  @Override
+  public void encode(Binary value, ByteArrayOutputStream out) throws IOException {
+    if (plainMode) {
+      plainEncoder.encode(value, out);
+      return;
+    }
+    Integer id = entryIndex.get(value);
+    if (id == null) {
+      if (entries.size() >= maxDictionarySize) {
+        fallBackToPlain(out);
+        plainEncoder.encode(value, out);
+        return;
+      }
+      id = entries.size();
+      entryIndex.put(value, id);
+      entries.add(value);
+      entriesSize += ReadWriteForEncodingUtils.getUnsignedVarInt(value.getLength()).length
+          + value.getLength();
+    }
+    ids.add(id);
+    plainSize += Integer.BYTES + value.getLength();
+  }
+
+  /**
+   * write the buffered values of this page by PLAIN and encode the rest of the page by PLAIN too.
+   */
+  private void fallBackToPlain(ByteArrayOutputStream out) throws IOException {
+    out.write(PLAIN_MODE);
+    for (int id : ids) {
+      plainEncoder.encode(entries.get(id), out);
+    }
+    clearDictionary();
+    plainMode = true;
+  }
+
+  @Override
+  public void flush(ByteArrayOutputStream out) throws IOException {
+    if (plainMode || ids.isEmpty()) {
+      reset();
+      return;
+    }
+    ByteArrayOutputStream idOut = new ByteArrayOutputStream();
+    IntRleEncoder idEncoder = new IntRleEncoder(EndianType.LITTLE_ENDIAN);
+    for (int id : ids) {
+      idEncoder.encode(id, idOut);
+    }
+    idEncoder.flush(idOut);
+
+    byte[] entryCount = ReadWriteForEncodingUtils.getUnsignedVarInt(entries.size());
+    if (entryCount.length + entriesSize + idOut.size() < plainSize) {
+      out.write(DICTIONARY_MODE);
+      out.write(entryCount);
+      for (Binary entry : entries) {
+        ReadWriteForEncodingUtils.writeUnsignedVarInt(entry.getLength(), out);
+        out.write(entry.getValues());
+      }
+      idOut.writeTo(out);
+    } else {
+      fallBackToPlain(out);
+    }
+    reset();
+  }
+
+  private void reset() {
+    clearDictionary();
+    plainMode = false;
+  }
+
+  private void clearDictionary() {
+    entryIndex.clear();
+    entries.clear();
+    ids.clear();
+    entriesSize = 0;
+    plainSize = 0;
+  }
+
+  @Override
+  public int getOneItemMaxSize() {
+    return plainEncoder.getOneItemMaxSize();
+  }
+
+  @Override
+  public long getMaxByteSize() {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    // the ids need at most the bit width of the dictionary size, plus the rle headers
+    int bitWidth = 32 - Integer.numberOfLeadingZeros(entries.size());
+    long dictionarySize = Integer.BYTES + entriesSize + (long) ids.size() * bitWidth / 8
+        + ids.size() / 8 + 16;
+    return 1 + Math.min(dictionarySize, plainSize);
+  }
+}
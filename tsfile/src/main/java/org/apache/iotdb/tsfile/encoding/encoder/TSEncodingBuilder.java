@@ -62,6 +62,8 @@ public abstract class TSEncodingBuilder {
         return new TS_2DIFF();
       case GORILLA:
         return new GORILLA();
+      case PLAIN_DICTIONARY:
+        return new PLAIN_DICTIONARY();
       default:
         throw new UnsupportedOperationException(type.toString());
     }
@@ -240,4 +242,36 @@ public abstract class TSEncodingBuilder {
     }
 
   }
+
+  /**
+   * for TEXT.
+   */
+  public static class PLAIN_DICTIONARY extends TSEncodingBuilder {
+
+    private int maxStringLength = TSFileConfig.maxStringLength;
+
+    @Override
+    public Encoder getEncoder(TSDataType type) {
+      if (type == TSDataType.TEXT) {
+        return new DictionaryEncoder(maxStringLength);
+      }
+      throw new UnSupportedDataTypeException("PLAIN_DICTIONARY doesn't support data type: " + type);
+    }
+
+    @Override
+    public void initFromProps(Map<String, String> props) {
+      // set max string length from initialized map or default value if not set
+      if (props == null || !props.containsKey(Encoder.MAX_STRING_LENGTH)) {
+        maxStringLength = TSFileConfig.maxStringLength;
+      } else {
+        maxStringLength = Integer.valueOf(props.get(Encoder.MAX_STRING_LENGTH));
+        if (maxStringLength < 0) {
+          maxStringLength = TSFileConfig.maxStringLength;
+          LOGGER.warn(
+              "cannot set max string length to negative value, replaced with default value:{}",
+              maxStringLength);
+        }
+      }
+    }
+  }
 }
@@ -264,4 +264,18 @@ public class ChunkMetaData {
   public void setDeletedAt(long deletedAt) {
     this.deletedAt = deletedAt;
   }
+
+  /**
+   * a shallow copy whose fields can be changed without affecting this one, the digest is shared.
+   */
+  @Override
+  public ChunkMetaData clone() {
+    ChunkMetaData chunkMetaData = new ChunkMetaData(measurementUid, tsDataType,
+        offsetOfChunkHeader, startTime, endTime);
+    chunkMetaData.numOfPoints = numOfPoints;
+    chunkMetaData.version = version;
+    chunkMetaData.deletedAt = deletedAt;
+    chunkMetaData.valuesStatistics = valuesStatistics;
+    return chunkMetaData;
+  }
 }
@@ -25,7 +25,9 @@ import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
+import org.apache.iotdb.tsfile.common.constant.SystemConstant;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 
@@ -34,8 +36,25 @@ import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
  */
 public class TsFileMetaData {
 
+  /**
+   * The first version with the series index and the bloom filter, the files of earlier versions
+   * have neither of them.
+   */
+  public static final int SERIES_INDEX_VERSION = 4;
+
   private Map<String, TsDeviceMetadataIndex> deviceIndexMap = new HashMap<>();
 
+  /**
+   * The index of the ChunkMetaData of the measurements of each device, null or without a device
+   * if the index is absent.
+   */
+  private Map<String, TsSeriesMetadataIndex> seriesIndexMap;
+
+  /**
+   * The bloom filter over the full paths of all the series in this file, null if it is absent.
+   */
+  private BloomFilter bloomFilter;
+
   /**
    * TSFile schema for this file. This schema contains metadata for all the time series.
    */
@@ -109,6 +128,18 @@ public class TsFileMetaData {
       fileMetaData.createdBy = ReadWriteIOUtils.readString(inputStream);
     }
 
+    if (fileMetaData.currentVersion >= SERIES_INDEX_VERSION) {
+      size = ReadWriteIOUtils.readInt(inputStream);
+      fileMetaData.seriesIndexMap = new HashMap<>();
+      for (int i = 0; i < size; i++) {
+        String key = ReadWriteIOUtils.readString(inputStream);
+        fileMetaData.seriesIndexMap.put(key, TsSeriesMetadataIndex.deserializeFrom(inputStream));
+      }
+      if (ReadWriteIOUtils.readIsNull(inputStream)) {
+        fileMetaData.bloomFilter = BloomFilter.deserializeFrom(inputStream);
+      }
+    }
+
     return fileMetaData;
   }
 
@@ -152,6 +183,18 @@ public class TsFileMetaData {
       fileMetaData.createdBy = ReadWriteIOUtils.readString(buffer);
     }
 
+    if (fileMetaData.currentVersion >= SERIES_INDEX_VERSION) {
+      size = ReadWriteIOUtils.readInt(buffer);
+      fileMetaData.seriesIndexMap = new HashMap<>();
+      for (int i = 0; i < size; i++) {
+        String key = ReadWriteIOUtils.readString(buffer);
+        fileMetaData.seriesIndexMap.put(key, TsSeriesMetadataIndex.deserializeFrom(buffer));
+      }
+      if (ReadWriteIOUtils.readIsNull(buffer)) {
+        fileMetaData.bloomFilter = BloomFilter.deserializeFrom(buffer);
+      }
+    }
+
     return fileMetaData;
   }
 
@@ -203,6 +246,46 @@ public class TsFileMetaData {
     return this.deviceIndexMap.get(deltaObjUid);
   }
 
+  /**
+   * @return the index of the ChunkMetaData of the device, or null if it is absent
+   */
+  public TsSeriesMetadataIndex getSeriesMetadataIndex(String deviceId) {
+    return seriesIndexMap == null ? null : seriesIndexMap.get(deviceId);
+  }
+
+  public Map<String, TsSeriesMetadataIndex> getSeriesIndexMap() {
+    return seriesIndexMap;
+  }
+
+  public void setSeriesIndexMap(Map<String, TsSeriesMetadataIndex> seriesIndexMap) {
+    this.seriesIndexMap = seriesIndexMap;
+  }
+
+  public BloomFilter getBloomFilter() {
+    return bloomFilter;
+  }
+
+  public void setBloomFilter(BloomFilter bloomFilter) {
+    this.bloomFilter = bloomFilter;
+  }
+
+  /**
+   * check whether the file may contain the series without reading any TsDeviceMetadata.
+   *
+   * @return false if the file does not contain the series, true if it may contain the series
+   */
+  public boolean mightContainSeries(String deviceId, String measurementId) {
+    if (bloomFilter != null && !bloomFilter
+        .contains(deviceId + SystemConstant.PATH_SEPARATOR + measurementId)) {
+      return false;
+    }
+    if (!containsDevice(deviceId)) {
+      return false;
+    }
+    TsSeriesMetadataIndex seriesIndex = getSeriesMetadataIndex(deviceId);
+    return seriesIndex == null || seriesIndex.indexOf(measurementId) >= 0;
+  }
+
   public boolean containsMeasurement(String measurement) {
     return measurementSchema.containsKey(measurement);
   }
@@ -253,6 +336,22 @@ public class TsFileMetaData {
       byteLen += ReadWriteIOUtils.write(createdBy, outputStream);
     }
 
+    if (currentVersion >= SERIES_INDEX_VERSION) {
+      if (seriesIndexMap == null) {
+        byteLen += ReadWriteIOUtils.write(0, outputStream);
+      } else {
+        byteLen += ReadWriteIOUtils.write(seriesIndexMap.size(), outputStream);
+        for (Map.Entry<String, TsSeriesMetadataIndex> entry : seriesIndexMap.entrySet()) {
+          byteLen += ReadWriteIOUtils.write(entry.getKey(), outputStream);
+          byteLen += entry.getValue().serializeTo(outputStream);
+        }
+      }
+      byteLen += ReadWriteIOUtils.writeIsNull(bloomFilter, outputStream);
+      if (bloomFilter != null) {
+        byteLen += bloomFilter.serializeTo(outputStream);
+      }
+    }
+
     return byteLen;
   }
 
@@ -284,6 +383,22 @@ public class TsFileMetaData {
       byteLen += ReadWriteIOUtils.write(createdBy, buffer);
     }
 
+    if (currentVersion >= SERIES_INDEX_VERSION) {
+      if (seriesIndexMap == null) {
+        byteLen += ReadWriteIOUtils.write(0, buffer);
+      } else {
+        byteLen += ReadWriteIOUtils.write(seriesIndexMap.size(), buffer);
+        for (Map.Entry<String, TsSeriesMetadataIndex> entry : seriesIndexMap.entrySet()) {
+          byteLen += ReadWriteIOUtils.write(entry.getKey(), buffer);
+          byteLen += entry.getValue().serializeTo(buffer);
+        }
+      }
+      byteLen += ReadWriteIOUtils.writeIsNull(bloomFilter, buffer);
+      if (bloomFilter != null) {
+        byteLen += bloomFilter.serializeTo(buffer);
+      }
+    }
+
     return byteLen;
   }
 
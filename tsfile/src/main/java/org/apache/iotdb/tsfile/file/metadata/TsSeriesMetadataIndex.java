@@ -0,0 +1,238 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.file.metadata;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+
+/**
+ * The index of the ChunkMetaData of each measurement of a device in the TsFile. The measurements
+ * are sorted, and for each of them the positions, the sizes and the versions (of the chunk groups)
+ * of its ChunkMetaData are kept, so that the ChunkMetaData of a series can be read without reading
+ * and decoding the whole TsDeviceMetadata.
+ */
+public class TsSeriesMetadataIndex {
+
+  private String[] measurementIds;
+  /**
+   * the ChunkMetaData of measurementIds[i] are in [chunkStarts[i], chunkStarts[i + 1]) of the
+   * following arrays.
+   */
+  private int[] chunkStarts;
+  private long[] offsets;
+  private int[] lens;
+  private long[] versions;
+
+  private TsSeriesMetadataIndex() {
+    //do nothing
+  }
+
+  /**
+   * construct the index of the TsDeviceMetadata written at the offset.
+   *
+   * @param offset -the offset of the TsDeviceMetadata
+   * @param deviceMetadata -the TsDeviceMetadata
+   */
+  public TsSeriesMetadataIndex(long offset, TsDeviceMetadata deviceMetadata) {
+    // the layout follows TsDeviceMetadata.serializeTo and ChunkGroupMetaData.serializeTo
+    long position = offset + Long.BYTES + Long.BYTES + Integer.BYTES;
+    Map<String, List<long[]>> chunkMap = new TreeMap<>();
+    int chunkNum = 0;
+    for (ChunkGroupMetaData chunkGroupMetaData : deviceMetadata.getChunkGroupMetaDataList()) {
+      position += Integer.BYTES + chunkGroupMetaData.getDeviceID().length()
+          + 3 * Long.BYTES + Integer.BYTES;
+      for (ChunkMetaData chunkMetaData : chunkGroupMetaData.getChunkMetaDataList()) {
+        int len = chunkMetaData.getSerializedSize();
+        chunkMap.computeIfAbsent(chunkMetaData.getMeasurementUid(), k -> new ArrayList<>())
+            .add(new long[]{position, len, chunkGroupMetaData.getVersion()});
+        position += len;
+        chunkNum++;
+      }
+    }
+
+    measurementIds = new String[chunkMap.size()];
+    chunkStarts = new int[chunkMap.size() + 1];
+    offsets = new long[chunkNum];
+    lens = new int[chunkNum];
+    versions = new long[chunkNum];
+    int measurementIndex = 0;
+    int chunkIndex = 0;
+    for (Map.Entry<String, List<long[]>> entry : chunkMap.entrySet()) {
+      measurementIds[measurementIndex] = entry.getKey();
+      chunkStarts[measurementIndex] = chunkIndex;
+      for (long[] chunk : entry.getValue()) {
+        offsets[chunkIndex] = chunk[0];
+        lens[chunkIndex] = (int) chunk[1];
+        versions[chunkIndex] = chunk[2];
+        chunkIndex++;
+      }
+      measurementIndex++;
+    }
+    chunkStarts[measurementIndex] = chunkIndex;
+  }
+
+  /**
+   * @return the index of the measurement, or a negative value if the device has no such
+   * measurement
+   */
+  public int indexOf(String measurementId) {
+    return Arrays.binarySearch(measurementIds, measurementId);
+  }
+
+  public int getMeasurementNum() {
+    return measurementIds.length;
+  }
+
+  public String getMeasurementId(int measurementIndex) {
+    return measurementIds[measurementIndex];
+  }
+
+  /**
+   * @return the number of ChunkMetaData of the measurement
+   */
+  public int getChunkNum(int measurementIndex) {
+    return chunkStarts[measurementIndex + 1] - chunkStarts[measurementIndex];
+  }
+
+  /**
+   * @return the offset of the i-th ChunkMetaData of the measurement in the file
+   */
+  public long getChunkMetaDataOffset(int measurementIndex, int i) {
+    return offsets[chunkStarts[measurementIndex] + i];
+  }
+
+  /**
+   * @return the serialized size of the i-th ChunkMetaData of the measurement
+   */
+  public int getChunkMetaDataLen(int measurementIndex, int i) {
+    return lens[chunkStarts[measurementIndex] + i];
+  }
+
+  /**
+   * @return the version of the chunk group of the i-th ChunkMetaData of the measurement
+   */
+  public long getVersion(int measurementIndex, int i) {
+    return versions[chunkStarts[measurementIndex] + i];
+  }
+
+  /**
+   * use inputStream to get a TsSeriesMetadataIndex.
+   *
+   * @param inputStream -determine the index's source
+   * @return -a TsSeriesMetadataIndex
+   */
+  public static TsSeriesMetadataIndex deserializeFrom(InputStream inputStream)
+      throws IOException {
+    TsSeriesMetadataIndex index = new TsSeriesMetadataIndex();
+    int measurementNum = ReadWriteIOUtils.readInt(inputStream);
+    index.measurementIds = new String[measurementNum];
+    index.chunkStarts = new int[measurementNum + 1];
+    for (int i = 0; i < measurementNum; i++) {
+      index.measurementIds[i] = ReadWriteIOUtils.readString(inputStream);
+      index.chunkStarts[i + 1] = index.chunkStarts[i] + ReadWriteIOUtils.readInt(inputStream);
+    }
+    int chunkNum = index.chunkStarts[measurementNum];
+    index.offsets = new long[chunkNum];
+    index.lens = new int[chunkNum];
+    index.versions = new long[chunkNum];
+    for (int i = 0; i < chunkNum; i++) {
+      index.offsets[i] = ReadWriteIOUtils.readLong(inputStream);
+      index.lens[i] = ReadWriteIOUtils.readInt(inputStream);
+      index.versions[i] = ReadWriteIOUtils.readLong(inputStream);
+    }
+    return index;
+  }
+
+  /**
+   * use buffer to get a TsSeriesMetadataIndex.
+   *
+   * @param buffer -determine the index's source
+   * @return -a TsSeriesMetadataIndex
+   */
+  public static TsSeriesMetadataIndex deserializeFrom(ByteBuffer buffer) {
+    TsSeriesMetadataIndex index = new TsSeriesMetadataIndex();
+    int measurementNum = ReadWriteIOUtils.readInt(buffer);
+    index.measurementIds = new String[measurementNum];
+    index.chunkStarts = new int[measurementNum + 1];
+    for (int i = 0; i < measurementNum; i++) {
+      index.measurementIds[i] = ReadWriteIOUtils.readString(buffer);
+      index.chunkStarts[i + 1] = index.chunkStarts[i] + ReadWriteIOUtils.readInt(buffer);
+    }
+    int chunkNum = index.chunkStarts[measurementNum];
+    index.offsets = new long[chunkNum];
+    index.lens = new int[chunkNum];
+    index.versions = new long[chunkNum];
+    for (int i = 0; i < chunkNum; i++) {
+      index.offsets[i] = ReadWriteIOUtils.readLong(buffer);
+      index.lens[i] = ReadWriteIOUtils.readInt(buffer);
+      index.versions[i] = ReadWriteIOUtils.readLong(buffer);
+    }
+    return index;
+  }
+
+  /**
+   * get the byte length of the given outputStream.
+   *
+   * @param outputStream -param to determine the byte length
+   * @return -byte length
+   */
+  public int serializeTo(OutputStream outputStream) throws IOException {
+    int byteLen = 0;
+    byteLen += ReadWriteIOUtils.write(measurementIds.length, outputStream);
+    for (int i = 0; i < measurementIds.length; i++) {
+      byteLen += ReadWriteIOUtils.write(measurementIds[i], outputStream);
+      byteLen += ReadWriteIOUtils.write(getChunkNum(i), outputStream);
+    }
+    for (int i = 0; i < offsets.length; i++) {
+      byteLen += ReadWriteIOUtils.write(offsets[i], outputStream);
+      byteLen += ReadWriteIOUtils.write(lens[i], outputStream);
+      byteLen += ReadWriteIOUtils.write(versions[i], outputStream);
+    }
+    return byteLen;
+  }
+
+  /**
+   * get the byte length of the given buffer.
+   *
+   * @param buffer -buffer to determine the byte length
+   * @return -byte length
+   */
+  public int serializeTo(ByteBuffer buffer) {
+    int byteLen = 0;
+    byteLen += ReadWriteIOUtils.write(measurementIds.length, buffer);
+    for (int i = 0; i < measurementIds.length; i++) {
+      byteLen += ReadWriteIOUtils.write(measurementIds[i], buffer);
+      byteLen += ReadWriteIOUtils.write(getChunkNum(i), buffer);
+    }
+    for (int i = 0; i < offsets.length; i++) {
+      byteLen += ReadWriteIOUtils.write(offsets[i], buffer);
+      byteLen += ReadWriteIOUtils.write(lens[i], buffer);
+      byteLen += ReadWriteIOUtils.write(versions[i], buffer);
+    }
+    return byteLen;
+  }
+}
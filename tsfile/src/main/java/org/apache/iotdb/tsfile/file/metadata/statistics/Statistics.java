@@ -28,7 +28,10 @@ import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
+import java.util.Map;
+import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
 import org.apache.iotdb.tsfile.exception.write.UnknownColumnTypeException;
+import org.apache.iotdb.tsfile.file.metadata.TsDigest;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
@@ -97,6 +100,52 @@ public abstract class Statistics<T> {
     return statistics;
   }
 
+  /**
+   * restore the statistics of a chunk from its digest. The digest stores min, max, first, last and
+   * sum in the same byte format as the serialized page statistics.
+   *
+   * @param digest digest of a chunk
+   * @param dataType data type of the chunk
+   * @return Statistics, which is empty if the digest does not contain all the values
+   */
+  public static Statistics deserialize(TsDigest digest, TSDataType dataType) throws IOException {
+    Statistics statistics = getStatsByType(dataType);
+    Map<String, ByteBuffer> values = digest == null ? null : digest.getStatistics();
+    if (values == null || statistics.sizeOfDatum() == 0) {
+      return statistics;
+    }
+
+    String[] keys = {StatisticConstant.MIN_VALUE, StatisticConstant.MAX_VALUE,
+        StatisticConstant.FIRST, StatisticConstant.LAST};
+    boolean withLength = statistics.sizeOfDatum() == -1;
+    int size = Double.BYTES;
+    for (String key : keys) {
+      ByteBuffer value = values.get(key);
+      if (value == null) {
+        return statistics;
+      }
+      size += value.remaining() + (withLength ? Integer.BYTES : 0);
+    }
+    ByteBuffer sum = values.get(StatisticConstant.SUM);
+    if (sum == null) {
+      return statistics;
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    for (String key : keys) {
+      ByteBuffer value = values.get(key).duplicate();
+      if (withLength) {
+        buffer.putInt(value.remaining());
+      }
+      buffer.put(value);
+    }
+    buffer.put(sum.duplicate());
+    buffer.flip();
+    statistics.fill(buffer);
+    statistics.isEmpty = false;
+    return statistics;
+  }
+
   public abstract void setMinMaxFromBytes(byte[] minBytes, byte[] maxBytes);
 
   public abstract T getMin();
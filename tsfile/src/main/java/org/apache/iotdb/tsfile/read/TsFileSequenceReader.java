@@ -21,18 +21,23 @@ package org.apache.iotdb.tsfile.read;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
 import org.apache.iotdb.tsfile.compress.IUnCompressor;
 import org.apache.iotdb.tsfile.file.footer.ChunkGroupFooter;
 import org.apache.iotdb.tsfile.file.header.ChunkHeader;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkGroupMetaData;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.file.metadata.TsDeviceMetadata;
 import org.apache.iotdb.tsfile.file.metadata.TsDeviceMetadataIndex;
 import org.apache.iotdb.tsfile.file.metadata.TsFileMetaData;
+import org.apache.iotdb.tsfile.file.metadata.TsSeriesMetadataIndex;
 import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.Chunk;
+import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.reader.DefaultTsFileInput;
 import org.apache.iotdb.tsfile.read.reader.TsFileInput;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
@@ -71,6 +76,20 @@ public class TsFileSequenceReader {
     }
   }
 
+  /**
+   * Create a file reader which reads the given file through the given input, e.g. a {@link
+   * org.apache.iotdb.tsfile.read.reader.MappedTsFileInput} for a sealed file.
+   *
+   * @param input the input of the file
+   * @param file the name of the file
+   * @throws IOException If some I/O error occurs
+   */
+  public TsFileSequenceReader(TsFileInput input, String file) throws IOException {
+    this.file = file;
+    this.tsFileInput = input;
+    loadMetadataSize();
+  }
+
   /**
    * construct function for TsFileSequenceReader.
    *
@@ -142,6 +161,57 @@ public class TsFileSequenceReader {
     return TsDeviceMetadata.deserializeFrom(readData(index.getOffset(), index.getLen()));
   }
 
+  /**
+   * read the ChunkMetaData of the series with their versions set. Only the ChunkMetaData of the
+   * series are read if the file has the TsSeriesMetadataIndex of the device, otherwise the whole
+   * TsDeviceMetadata is read, as the files of earlier versions have no such index. Nothing is read
+   * if the bloom filter tells the file has no such series. this function does not modify the
+   * position of the file reader.
+   */
+  public List<ChunkMetaData> readChunkMetaDataList(TsFileMetaData fileMetaData, Path path)
+      throws IOException {
+    List<ChunkMetaData> chunkMetaDataList = new ArrayList<>();
+    if (!fileMetaData.mightContainSeries(path.getDevice(), path.getMeasurement())) {
+      return chunkMetaDataList;
+    }
+
+    TsSeriesMetadataIndex seriesIndex = fileMetaData.getSeriesMetadataIndex(path.getDevice());
+    if (seriesIndex != null) {
+      int measurementIndex = seriesIndex.indexOf(path.getMeasurement());
+      int chunkNum = seriesIndex.getChunkNum(measurementIndex);
+      if (chunkNum == 0) {
+        return chunkMetaDataList;
+      }
+      // the ChunkMetaData of the series are in the TsDeviceMetadata in ascending order of their
+      // offsets, read the range covering all of them at once
+      long start = seriesIndex.getChunkMetaDataOffset(measurementIndex, 0);
+      long end = seriesIndex.getChunkMetaDataOffset(measurementIndex, chunkNum - 1)
+          + seriesIndex.getChunkMetaDataLen(measurementIndex, chunkNum - 1);
+      ByteBuffer buffer = readData(start, (int) (end - start));
+      int base = buffer.position();
+      for (int i = 0; i < chunkNum; i++) {
+        buffer.position(
+            base + (int) (seriesIndex.getChunkMetaDataOffset(measurementIndex, i) - start));
+        ChunkMetaData chunkMetaData = ChunkMetaData.deserializeFrom(buffer);
+        chunkMetaData.setVersion(seriesIndex.getVersion(measurementIndex, i));
+        chunkMetaDataList.add(chunkMetaData);
+      }
+      return chunkMetaDataList;
+    }
+
+    TsDeviceMetadata deviceMetadata = readTsDeviceMetaData(
+        fileMetaData.getDeviceMetadataIndex(path.getDevice()));
+    for (ChunkGroupMetaData chunkGroupMetaData : deviceMetadata.getChunkGroupMetaDataList()) {
+      for (ChunkMetaData chunkMetaData : chunkGroupMetaData.getChunkMetaDataList()) {
+        if (path.getMeasurement().equals(chunkMetaData.getMeasurementUid())) {
+          chunkMetaData.setVersion(chunkGroupMetaData.getVersion());
+          chunkMetaDataList.add(chunkMetaData);
+        }
+      }
+    }
+    return chunkMetaDataList;
+  }
+
   /**
    * read data from current position of the input, and deserialize it to a CHUNK_GROUP_FOOTER. <br>
    * This method is not threadsafe.
@@ -274,18 +344,19 @@ public class TsFileSequenceReader {
   private ByteBuffer readPage(PageHeader header, CompressionType type, long position)
       throws IOException {
     ByteBuffer buffer = readData(position, header.getCompressedSize());
+    if (type == CompressionType.UNCOMPRESSED) {
+      return buffer;
+    }
     IUnCompressor unCompressor = IUnCompressor.getUnCompressor(type);
-    ByteBuffer uncompressedBuffer = ByteBuffer.allocate(header.getUncompressedSize());
-    switch (type) {
-      case UNCOMPRESSED:
-        return buffer;
-      default:
-        // FIXME if the buffer is not array-implemented.
-        unCompressor.uncompress(buffer.array(), buffer.position(), buffer.remaining(),
-            uncompressedBuffer.array(),
-            0);
-        return uncompressedBuffer;
+    if (buffer.isDirect()) {
+      ByteBuffer uncompressedBuffer = ByteBuffer.allocateDirect(header.getUncompressedSize());
+      unCompressor.uncompress(buffer, uncompressedBuffer);
+      return uncompressedBuffer;
     }
+    ByteBuffer uncompressedBuffer = ByteBuffer.allocate(header.getUncompressedSize());
+    unCompressor.uncompress(buffer.array(), buffer.arrayOffset() + buffer.position(),
+        buffer.remaining(), uncompressedBuffer.array(), 0);
+    return uncompressedBuffer;
   }
 
   /**
@@ -306,6 +377,10 @@ public class TsFileSequenceReader {
     this.tsFileInput.close();
   }
 
+  public TsFileInput getTsFileInput() {
+    return tsFileInput;
+  }
+
   public String getFileName() {
     return this.file;
   }
@@ -319,15 +394,15 @@ public class TsFileSequenceReader {
    * @param position the start position of data in the tsFileInput, or the current position if
    * position = -1
    * @param size the size of data that want to read
-   * @return data that been read.
+   * @return data that been read, which may be a read-only view of the input rather than a copy if
+   * position != -1.
    */
   private ByteBuffer readData(long position, int size) throws IOException {
-    ByteBuffer buffer = ByteBuffer.allocate(size);
-    if (position == -1) {
-      ReadWriteIOUtils.readAsPossible(tsFileInput.wrapAsFileChannel(), buffer);
-    } else {
-      ReadWriteIOUtils.readAsPossible(tsFileInput.wrapAsFileChannel(), buffer, position, size);
+    if (position != -1) {
+      return tsFileInput.readBuffer(position, size);
     }
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    ReadWriteIOUtils.readAsPossible(tsFileInput.wrapAsFileChannel(), buffer);
     buffer.flip();
     return buffer;
   }
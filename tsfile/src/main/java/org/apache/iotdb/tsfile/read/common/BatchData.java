@@ -18,48 +18,39 @@
  */
 package org.apache.iotdb.tsfile.read.common;
 
-import java.util.ArrayList;
-import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import java.util.Arrays;
 import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.utils.Binary;
 
 /**
  * <code>BatchData</code> is a self-defined data structure which is optimized for different type of
- * values. This class can be viewed as a collection which is more efficient than ArrayList.
+ * values. This class can be viewed as a collection which is more efficient than ArrayList: times
+ * and values are kept in contiguous primitive arrays, which are sized up front when the number of
+ * points is known (e.g. from a page header) and grow by doubling otherwise.
  */
 public class BatchData {
 
-  private int timeCapacity = 1;
-  private int valueCapacity = 1;
-  private int emptyTimeCapacity = 1;
-  private int capacityThreshold = 1024;
+  /** the capacity of the arrays when the number of points is not known. */
+  private static final int DEFAULT_CAPACITY = 16;
 
   private TSDataType dataType;
   private int curIdx;
 
-  /** the number of ArrayList in timeRet **/
-  private int timeArrayIdx;
-  /** the index of current ArrayList in timeRet **/
-  private int curTimeIdx;
   /** the insert timestamp number of timeRet **/
   private int timeLength;
 
-  /** the number of ArrayList in valueRet **/
-  private int valueArrayIdx;
-  /** the index of current ArrayList in valueRet **/
-  private int curValueIdx;
   /** the insert value number of valueRet **/
   private int valueLength;
 
-  private ArrayList<long[]> timeRet;
-  private ArrayList<long[]> emptyTimeRet;
-  private ArrayList<boolean[]> booleanRet;
-  private ArrayList<int[]> intRet;
-  private ArrayList<long[]> longRet;
-  private ArrayList<float[]> floatRet;
-  private ArrayList<double[]> doubleRet;
-  private ArrayList<Binary[]> binaryRet;
+  private long[] timeRet;
+  private long[] emptyTimeRet;
+  private boolean[] booleanRet;
+  private int[] intRet;
+  private long[] longRet;
+  private float[] floatRet;
+  private double[] doubleRet;
+  private Binary[] binaryRet;
 
   public BatchData() {
     dataType = null;
@@ -83,6 +74,18 @@ public class BatchData {
     init(type, recordTime, hasEmptyTime);
   }
 
+  /**
+   * BatchData Constructor whose arrays are allocated for the expected number of points, so that
+   * filling it does not copy the arrays.
+   *
+   * @param type Data type to record for this BatchData
+   * @param recordTime whether to record time value for this BatchData
+   * @param capacity expected number of points
+   */
+  public BatchData(TSDataType type, boolean recordTime, int capacity) {
+    init(type, recordTime, false, capacity);
+  }
+
   public boolean hasNext() {
     return curIdx < timeLength;
   }
@@ -93,7 +96,7 @@ public class BatchData {
 
   public long currentTime() {
     rangeCheckForTime(curIdx);
-    return this.timeRet.get(curIdx / timeCapacity)[curIdx % timeCapacity];
+    return this.timeRet[curIdx];
   }
 
   /**
@@ -132,76 +135,86 @@ public class BatchData {
    * @param hasEmptyTime if has empty time
    */
   public void init(TSDataType type, boolean recordTime, boolean hasEmptyTime) {
+    init(type, recordTime, hasEmptyTime, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * initialize batch data with arrays of the given capacity.
+   *
+   * @param type TSDataType
+   * @param recordTime if record time
+   * @param hasEmptyTime if has empty time
+   * @param capacity expected number of points
+   */
+  public void init(TSDataType type, boolean recordTime, boolean hasEmptyTime, int capacity) {
     this.dataType = type;
-    this.valueArrayIdx = 0;
-    this.curValueIdx = 0;
     this.valueLength = 0;
     this.curIdx = 0;
-    capacityThreshold = TSFileConfig.DYNAMIC_DATA_SIZE;
 
     if (recordTime) {
-      timeRet = new ArrayList<>();
-      timeRet.add(new long[timeCapacity]);
-      timeArrayIdx = 0;
-      curTimeIdx = 0;
+      timeRet = new long[capacity];
       timeLength = 0;
     }
 
     if (hasEmptyTime) {
-      emptyTimeRet = new ArrayList<>();
-      emptyTimeRet.add(new long[emptyTimeCapacity]);
+      emptyTimeRet = new long[capacity];
     }
 
     switch (dataType) {
       case BOOLEAN:
-        booleanRet = new ArrayList<>();
-        booleanRet.add(new boolean[valueCapacity]);
+        booleanRet = new boolean[capacity];
         break;
       case INT32:
-        intRet = new ArrayList<>();
-        intRet.add(new int[valueCapacity]);
+        intRet = new int[capacity];
         break;
       case INT64:
-        longRet = new ArrayList<>();
-        longRet.add(new long[valueCapacity]);
+        longRet = new long[capacity];
         break;
       case FLOAT:
-        floatRet = new ArrayList<>();
-        floatRet.add(new float[valueCapacity]);
+        floatRet = new float[capacity];
         break;
       case DOUBLE:
-        doubleRet = new ArrayList<>();
-        doubleRet.add(new double[valueCapacity]);
+        doubleRet = new double[capacity];
         break;
       case TEXT:
-        binaryRet = new ArrayList<>();
-        binaryRet.add(new Binary[valueCapacity]);
+        binaryRet = new Binary[capacity];
         break;
       default:
         throw new UnSupportedDataTypeException(String.valueOf(dataType));
     }
   }
 
+  /**
+   * remove all the points but keep the allocated arrays, so that the BatchData can be filled again
+   * by its owner once the previous points are consumed.
+   */
+  public void clear() {
+    this.curIdx = 0;
+    this.timeLength = 0;
+    this.valueLength = 0;
+    if (binaryRet != null) {
+      Arrays.fill(binaryRet, null);
+    }
+  }
+
+  /**
+   * the new capacity of an array holding <code>capacity</code> elements which must hold at least
+   * <code>minCapacity</code> elements.
+   */
+  private static int grow(int capacity, int minCapacity) {
+    return Math.max(capacity << 1, minCapacity);
+  }
+
   /**
    * put timestamp.
    *
    * @param v timestamp
    */
   public void putTime(long v) {
-    if (curTimeIdx == timeCapacity) {
-      if (timeCapacity >= capacityThreshold) {
-        this.timeRet.add(new long[timeCapacity]);
-        timeArrayIdx++;
-        curTimeIdx = 0;
-      } else {
-        long[] newData = new long[timeCapacity * 2];
-        System.arraycopy(timeRet.get(0), 0, newData, 0, timeCapacity);
-        this.timeRet.set(0, newData);
-        timeCapacity = timeCapacity * 2;
-      }
+    if (timeLength == timeRet.length) {
+      timeRet = Arrays.copyOf(timeRet, grow(timeRet.length, timeLength + 1));
     }
-    (timeRet.get(timeArrayIdx))[curTimeIdx++] = v;
-    timeLength++;
+    timeRet[timeLength++] = v;
   }
 
   /**
@@ -210,22 +223,10 @@ public class BatchData {
    * @param v boolean data
    */
   public void putBoolean(boolean v) {
-    if (curValueIdx == valueCapacity) {
-      if (valueCapacity >= capacityThreshold) {
-        if (this.booleanRet.size() <= valueArrayIdx + 1) {
-          this.booleanRet.add(new boolean[valueCapacity]);
-        }
-        valueArrayIdx++;
-        curValueIdx = 0;
-      } else {
-        boolean[] newData = new boolean[valueCapacity * 2];
-        System.arraycopy(booleanRet.get(0), 0, newData, 0, valueCapacity);
-        this.booleanRet.set(0, newData);
-        valueCapacity = valueCapacity * 2;
-      }
+    if (valueLength == booleanRet.length) {
+      booleanRet = Arrays.copyOf(booleanRet, grow(booleanRet.length, valueLength + 1));
     }
-    (this.booleanRet.get(valueArrayIdx))[curValueIdx++] = v;
-    valueLength++;
+    booleanRet[valueLength++] = v;
   }
 
   /**
@@ -234,22 +235,10 @@ public class BatchData {
    * @param v int data
    */
   public void putInt(int v) {
-    if (curValueIdx == valueCapacity) {
-      if (valueCapacity >= capacityThreshold) {
-        if (this.intRet.size() <= valueArrayIdx + 1) {
-          this.intRet.add(new int[valueCapacity]);
-        }
-        valueArrayIdx++;
-        curValueIdx = 0;
-      } else {
-        int[] newData = new int[valueCapacity * 2];
-        System.arraycopy(intRet.get(0), 0, newData, 0, valueCapacity);
-        this.intRet.set(0, newData);
-        valueCapacity = valueCapacity * 2;
-      }
+    if (valueLength == intRet.length) {
+      intRet = Arrays.copyOf(intRet, grow(intRet.length, valueLength + 1));
     }
-    (this.intRet.get(valueArrayIdx))[curValueIdx++] = v;
-    valueLength++;
+    intRet[valueLength++] = v;
   }
 
   /**
@@ -258,22 +247,10 @@ public class BatchData {
    * @param v long data
    */
   public void putLong(long v) {
-    if (curValueIdx == valueCapacity) {
-      if (valueCapacity >= capacityThreshold) {
-        if (this.longRet.size() <= valueArrayIdx + 1) {
-          this.longRet.add(new long[valueCapacity]);
-        }
-        valueArrayIdx++;
-        curValueIdx = 0;
-      } else {
-        long[] newData = new long[valueCapacity * 2];
-        System.arraycopy(longRet.get(0), 0, newData, 0, valueCapacity);
-        this.longRet.set(0, newData);
-        valueCapacity = valueCapacity * 2;
-      }
+    if (valueLength == longRet.length) {
+      longRet = Arrays.copyOf(longRet, grow(longRet.length, valueLength + 1));
     }
-    (this.longRet.get(valueArrayIdx))[curValueIdx++] = v;
-    valueLength++;
+    longRet[valueLength++] = v;
   }
 
   /**
@@ -282,22 +259,10 @@ public class BatchData {
    * @param v float data
    */
   public void putFloat(float v) {
-    if (curValueIdx == valueCapacity) {
-      if (valueCapacity >= capacityThreshold) {
-        if (this.floatRet.size() <= valueArrayIdx + 1) {
-          this.floatRet.add(new float[valueCapacity]);
-        }
-        valueArrayIdx++;
-        curValueIdx = 0;
-      } else {
-        float[] newData = new float[valueCapacity * 2];
-        System.arraycopy(floatRet.get(0), 0, newData, 0, valueCapacity);
-        this.floatRet.set(0, newData);
-        valueCapacity = valueCapacity * 2;
-      }
+    if (valueLength == floatRet.length) {
+      floatRet = Arrays.copyOf(floatRet, grow(floatRet.length, valueLength + 1));
     }
-    (this.floatRet.get(valueArrayIdx))[curValueIdx++] = v;
-    valueLength++;
+    floatRet[valueLength++] = v;
   }
 
   /**
@@ -306,46 +271,103 @@ public class BatchData {
    * @param v double data
    */
   public void putDouble(double v) {
-    if (curValueIdx == valueCapacity) {
-      if (valueCapacity >= capacityThreshold) {
-        if (this.doubleRet.size() <= valueArrayIdx + 1) {
-          this.doubleRet.add(new double[valueCapacity]);
-        }
-        valueArrayIdx++;
-        curValueIdx = 0;
-      } else {
-        double[] newData = new double[valueCapacity * 2];
-        System.arraycopy(doubleRet.get(0), 0, newData, 0, valueCapacity);
-        this.doubleRet.set(0, newData);
-        valueCapacity = valueCapacity * 2;
-      }
+    if (valueLength == doubleRet.length) {
+      doubleRet = Arrays.copyOf(doubleRet, grow(doubleRet.length, valueLength + 1));
     }
-    (this.doubleRet.get(valueArrayIdx))[curValueIdx++] = v;
-    valueLength++;
+    doubleRet[valueLength++] = v;
   }
 
   /**
    * put binary data.
    *
-   * @param v binary data.
+   * @param v binary data
    */
   public void putBinary(Binary v) {
-    if (curValueIdx == valueCapacity) {
-      if (valueCapacity >= capacityThreshold) {
-        if (this.binaryRet.size() <= valueArrayIdx + 1) {
-          this.binaryRet.add(new Binary[valueCapacity]);
-        }
-        valueArrayIdx++;
-        curValueIdx = 0;
-      } else {
-        Binary[] newData = new Binary[valueCapacity * 2];
-        System.arraycopy(binaryRet.get(0), 0, newData, 0, valueCapacity);
-        this.binaryRet.set(0, newData);
-        valueCapacity = valueCapacity * 2;
-      }
+    if (valueLength == binaryRet.length) {
+      binaryRet = Arrays.copyOf(binaryRet, grow(binaryRet.length, valueLength + 1));
+    }
+    binaryRet[valueLength++] = v;
+  }
+
+  /**
+   * put a run of timestamps decoded in bulk.
+   *
+   * @param times timestamps
+   * @param offset index of the first timestamp to put
+   * @param length number of timestamps to put
+   */
+  public void putTimes(long[] times, int offset, int length) {
+    if (timeLength + length > timeRet.length) {
+      timeRet = Arrays.copyOf(timeRet, grow(timeRet.length, timeLength + length));
+    }
+    System.arraycopy(times, offset, timeRet, timeLength, length);
+    timeLength += length;
+  }
+
+  /**
+   * put a run of boolean values, see {@link #putTimes(long[], int, int)}.
+   */
+  public void putBooleans(boolean[] values, int offset, int length) {
+    if (valueLength + length > booleanRet.length) {
+      booleanRet = Arrays.copyOf(booleanRet, grow(booleanRet.length, valueLength + length));
+    }
+    System.arraycopy(values, offset, booleanRet, valueLength, length);
+    valueLength += length;
+  }
+
+  /**
+   * put a run of int values, see {@link #putTimes(long[], int, int)}.
+   */
+  public void putInts(int[] values, int offset, int length) {
+    if (valueLength + length > intRet.length) {
+      intRet = Arrays.copyOf(intRet, grow(intRet.length, valueLength + length));
+    }
+    System.arraycopy(values, offset, intRet, valueLength, length);
+    valueLength += length;
+  }
+
+  /**
+   * put a run of long values, see {@link #putTimes(long[], int, int)}.
+   */
+  public void putLongs(long[] values, int offset, int length) {
+    if (valueLength + length > longRet.length) {
+      longRet = Arrays.copyOf(longRet, grow(longRet.length, valueLength + length));
+    }
+    System.arraycopy(values, offset, longRet, valueLength, length);
+    valueLength += length;
+  }
+
+  /**
+   * put a run of float values, see {@link #putTimes(long[], int, int)}.
+   */
+  public void putFloats(float[] values, int offset, int length) {
+    if (valueLength + length > floatRet.length) {
+      floatRet = Arrays.copyOf(floatRet, grow(floatRet.length, valueLength + length));
+    }
+    System.arraycopy(values, offset, floatRet, valueLength, length);
+    valueLength += length;
+  }
+
+  /**
+   * put a run of double values, see {@link #putTimes(long[], int, int)}.
+   */
+  public void putDoubles(double[] values, int offset, int length) {
+    if (valueLength + length > doubleRet.length) {
+      doubleRet = Arrays.copyOf(doubleRet, grow(doubleRet.length, valueLength + length));
     }
-    (this.binaryRet.get(valueArrayIdx))[curValueIdx++] = v;
-    valueLength++;
+    System.arraycopy(values, offset, doubleRet, valueLength, length);
+    valueLength += length;
+  }
+
+  /**
+   * put a run of Binary values, see {@link #putTimes(long[], int, int)}.
+   */
+  public void putBinaries(Binary[] values, int offset, int length) {
+    if (valueLength + length > binaryRet.length) {
+      binaryRet = Arrays.copyOf(binaryRet, grow(binaryRet.length, valueLength + length));
+    }
+    System.arraycopy(values, offset, binaryRet, valueLength, length);
+    valueLength += length;
   }
 
   /**
@@ -383,71 +405,109 @@ public class BatchData {
 
   public boolean getBoolean() {
     rangeCheck(curIdx);
-    return this.booleanRet.get(curIdx / timeCapacity)[curIdx % timeCapacity];
+    return this.booleanRet[curIdx];
   }
 
   public void setBoolean(int idx, boolean v) {
     rangeCheck(idx);
-    this.booleanRet.get(idx / timeCapacity)[idx % timeCapacity] = v;
+    this.booleanRet[idx] = v;
   }
 
   public int getInt() {
     rangeCheck(curIdx);
-    return this.intRet.get(curIdx / timeCapacity)[curIdx % timeCapacity];
+    return this.intRet[curIdx];
   }
 
   public void setInt(int idx, int v) {
     rangeCheck(idx);
-    this.intRet.get(idx / timeCapacity)[idx % timeCapacity] = v;
+    this.intRet[idx] = v;
   }
 
   public long getLong() {
     rangeCheck(curIdx);
-    return this.longRet.get(curIdx / timeCapacity)[curIdx % timeCapacity];
+    return this.longRet[curIdx];
   }
 
   public void setLong(int idx, long v) {
     rangeCheck(idx);
-    this.longRet.get(idx / timeCapacity)[idx % timeCapacity] = v;
+    this.longRet[idx] = v;
   }
 
   public float getFloat() {
     rangeCheck(curIdx);
-    return this.floatRet.get(curIdx / timeCapacity)[curIdx % timeCapacity];
+    return this.floatRet[curIdx];
   }
 
   public void setFloat(int idx, float v) {
     rangeCheck(idx);
-    this.floatRet.get(idx / timeCapacity)[idx % timeCapacity] = v;
+    this.floatRet[idx] = v;
   }
 
   public double getDouble() {
     rangeCheck(curIdx);
-    return this.doubleRet.get(curIdx / timeCapacity)[curIdx % timeCapacity];
+    return this.doubleRet[curIdx];
   }
 
   public void setDouble(int idx, double v) {
     rangeCheck(idx);
-    this.doubleRet.get(idx / timeCapacity)[idx % timeCapacity] = v;
+    this.doubleRet[idx] = v;
   }
 
   public Binary getBinary() {
     rangeCheck(curIdx);
-    return this.binaryRet.get(curIdx / timeCapacity)[curIdx % timeCapacity];
+    return this.binaryRet[curIdx];
   }
 
   public void setBinary(int idx, Binary v) {
-    this.binaryRet.get(idx / timeCapacity)[idx % timeCapacity] = v;
+    this.binaryRet[idx] = v;
   }
 
   public void setTime(int idx, long v) {
     rangeCheckForTime(idx);
-    this.timeRet.get(idx / timeCapacity)[idx % timeCapacity] = v;
+    this.timeRet[idx] = v;
   }
 
   public long getEmptyTime(int idx) {
     rangeCheckForEmptyTime(idx);
-    return this.emptyTimeRet.get(idx / emptyTimeCapacity)[idx % emptyTimeCapacity];
+    return this.emptyTimeRet[idx];
+  }
+
+  /**
+   * get the timestamp at the given index, which does not move the cursor.
+   */
+  public long getTimeByIndex(int idx) {
+    rangeCheckForTime(idx);
+    return this.timeRet[idx];
+  }
+
+  public boolean getBooleanByIndex(int idx) {
+    rangeCheck(idx);
+    return this.booleanRet[idx];
+  }
+
+  public int getIntByIndex(int idx) {
+    rangeCheck(idx);
+    return this.intRet[idx];
+  }
+
+  public long getLongByIndex(int idx) {
+    rangeCheck(idx);
+    return this.longRet[idx];
+  }
+
+  public float getFloatByIndex(int idx) {
+    rangeCheck(idx);
+    return this.floatRet[idx];
+  }
+
+  public double getDoubleByIndex(int idx) {
+    rangeCheck(idx);
+    return this.doubleRet[idx];
+  }
+
+  public Binary getBinaryByIndex(int idx) {
+    rangeCheck(idx);
+    return this.binaryRet[idx];
   }
 
   /**
@@ -456,11 +516,7 @@ public class BatchData {
    * @return time array
    */
   public long[] getTimeAsArray() {
-    long[] res = new long[timeLength];
-    for (int i = 0; i < timeLength; i++) {
-      res[i] = timeRet.get(i / timeCapacity)[i % timeCapacity];
-    }
-    return res;
+    return Arrays.copyOf(timeRet, timeLength);
   }
 
   /**
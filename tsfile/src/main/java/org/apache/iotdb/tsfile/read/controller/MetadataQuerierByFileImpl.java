@@ -192,10 +192,15 @@ public class MetadataQuerierByFileImpl implements MetadataQuerier {
 
   private List<ChunkMetaData> loadChunkMetadata(Path path) throws IOException {
 
-    if (!fileMetaData.containsDevice(path.getDevice())) {
+    if (!fileMetaData.mightContainSeries(path.getDevice(), path.getMeasurement())) {
       return new ArrayList<>();
     }
 
+    if (!partitionMode) {
+      // read only the ChunkMetaData of the series if the file has the series index
+      return tsFileReader.readChunkMetaDataList(fileMetaData, path);
+    }
+
     // get the index information of TsDeviceMetadata
     TsDeviceMetadataIndex index = fileMetaData.getDeviceMetadataIndex(path.getDevice());
 
@@ -34,6 +34,15 @@ public interface Filter {
    */
   boolean satisfy(DigestForFilter digest);
 
+  /**
+   * To examine whether all the points summarized by the digest are satisfied with the filter, in
+   * which case they can be accepted without checking them one by one.
+   *
+   * @param digest
+   *            digest with min time, max time, min value, max value.
+   */
+  boolean containDigest(DigestForFilter digest);
+
   /**
    * To examine whether the single point(with time and value) is satisfied with the filter.
    *
@@ -53,4 +62,15 @@ public interface Filter {
    *            end time of a page, series or device
    */
   boolean satisfyStartEndTime(long startTime, long endTime);
+
+  /**
+   * To examine whether all the points in [startTime, endTime] are satisfied with the filter. Note
+   * that a value filter does not restrict time, so it always returns true.
+   *
+   * @param startTime
+   *            start time of a page, series or device
+   * @param endTime
+   *            end time of a page, series or device
+   */
+  boolean containStartEndTime(long startTime, long endTime);
 }
@@ -38,6 +38,11 @@ public class AndFilter extends BinaryFilter {
     return left.satisfy(digest) && right.satisfy(digest);
   }
 
+  @Override
+  public boolean containDigest(DigestForFilter digest) {
+    return left.containDigest(digest) && right.containDigest(digest);
+  }
+
   @Override
   public boolean satisfy(long time, Object value) {
     return left.satisfy(time, value) && right.satisfy(time, value);
@@ -49,6 +54,12 @@ public class AndFilter extends BinaryFilter {
         .satisfyStartEndTime(startTime, endTime);
   }
 
+  @Override
+  public boolean containStartEndTime(long startTime, long endTime) {
+    return left.containStartEndTime(startTime, endTime) && right
+        .containStartEndTime(startTime, endTime);
+  }
+
   @Override
   public String toString() {
     return "(" + left + " && " + right + ")";
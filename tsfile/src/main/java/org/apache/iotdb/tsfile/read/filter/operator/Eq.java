@@ -45,6 +45,16 @@ public class Eq<T extends Comparable<T>> extends UnaryFilter<T> {
     }
   }
 
+  @Override
+  public boolean containDigest(DigestForFilter digest) {
+    if (filterType == FilterType.TIME_FILTER) {
+      return ((Long) value) == digest.getMinTime() && ((Long) value) == digest.getMaxTime();
+    } else {
+      return value.compareTo(digest.getMinValue()) == 0
+          && value.compareTo(digest.getMaxValue()) == 0;
+    }
+  }
+
   @Override
   public boolean satisfy(long time, Object value) {
     Object v = filterType == FilterType.TIME_FILTER ? time : value;
@@ -64,6 +74,16 @@ public class Eq<T extends Comparable<T>> extends UnaryFilter<T> {
     }
   }
 
+  @Override
+  public boolean containStartEndTime(long startTime, long endTime) {
+    if (filterType == FilterType.TIME_FILTER) {
+      long time = (Long) value;
+      return time == startTime && time == endTime;
+    } else {
+      return true;
+    }
+  }
+
   @Override
   public String toString() {
     return getFilterType() + " == " + value;
@@ -44,6 +44,15 @@ public class Lt<T extends Comparable<T>> extends UnaryFilter<T> {
     }
   }
 
+  @Override
+  public boolean containDigest(DigestForFilter digest) {
+    if (filterType == FilterType.TIME_FILTER) {
+      return ((Long) value) > digest.getMaxTime();
+    } else {
+      return value.compareTo(digest.getMaxValue()) > 0;
+    }
+  }
+
   @Override
   public boolean satisfy(long time, Object value) {
     Object v = filterType == FilterType.TIME_FILTER ? time : value;
@@ -63,6 +72,16 @@ public class Lt<T extends Comparable<T>> extends UnaryFilter<T> {
     }
   }
 
+  @Override
+  public boolean containStartEndTime(long startTime, long endTime) {
+    if (filterType == FilterType.TIME_FILTER) {
+      long time = (Long) value;
+      return endTime < time;
+    } else {
+      return true;
+    }
+  }
+
   @Override
   public String toString() {
     return getFilterType() + " < " + value;
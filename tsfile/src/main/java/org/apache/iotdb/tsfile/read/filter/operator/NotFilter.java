@@ -39,6 +39,11 @@ public class NotFilter implements Filter, Serializable {
     return !that.satisfy(digest);
   }
 
+  @Override
+  public boolean containDigest(DigestForFilter digest) {
+    return !that.satisfy(digest);
+  }
+
   @Override
   public boolean satisfy(long time, Object value) {
     return !that.satisfy(time, value);
@@ -53,6 +58,11 @@ public class NotFilter implements Filter, Serializable {
     return !that.satisfyStartEndTime(startTime, endTime);
   }
 
+  @Override
+  public boolean containStartEndTime(long startTime, long endTime) {
+    return !that.satisfyStartEndTime(startTime, endTime);
+  }
+
   public Filter getFilter() {
     return this.that;
   }
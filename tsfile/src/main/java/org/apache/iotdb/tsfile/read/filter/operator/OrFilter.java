@@ -44,6 +44,11 @@ public class OrFilter extends BinaryFilter implements Serializable {
     return left.satisfy(digest) || right.satisfy(digest);
   }
 
+  @Override
+  public boolean containDigest(DigestForFilter digest) {
+    return left.containDigest(digest) || right.containDigest(digest);
+  }
+
   @Override
   public boolean satisfy(long time, Object value) {
     return left.satisfy(time, value) || right.satisfy(time, value);
@@ -55,4 +60,10 @@ public class OrFilter extends BinaryFilter implements Serializable {
         .satisfyStartEndTime(startTime, endTime);
   }
 
+  @Override
+  public boolean containStartEndTime(long startTime, long endTime) {
+    return left.containStartEndTime(startTime, endTime) || right
+        .containStartEndTime(startTime, endTime);
+  }
+
 }
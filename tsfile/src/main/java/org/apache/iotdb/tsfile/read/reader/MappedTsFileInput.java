@@ -0,0 +1,237 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.read.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.apache.iotdb.tsfile.exception.NotImplementedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A TsFileInput that memory-maps a sealed (no longer growing) TsFile. The file is mapped lazily in
+ * windows of a fixed size, and {@link #readBuffer(long, int)} returns read-only slices of the
+ * mapped windows instead of copying the data onto the heap. Reads that cross a window boundary fall
+ * back to the FileChannel.
+ *
+ * <p>
+ * Closing the input drops its windows, and the JVM unmaps them once the last slice handed out by
+ * this input is collected, so slices stay valid even if they outlive the input. When no slice can
+ * be read any more, e.g., the file is deleted and no reader references it, {@link
+ * #unmapAndClose()} releases the mapped memory at once instead of waiting for a GC.
+ * </p>
+ */
+public class MappedTsFileInput implements TsFileInput {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MappedTsFileInput.class);
+
+  /**
+   * sun.misc.Unsafe#invokeCleaner(ByteBuffer) of Java 9 and later, null on Java 8.
+   */
+  private static final Method INVOKE_CLEANER;
+  private static final Object UNSAFE;
+
+  static {
+    Method invokeCleaner = null;
+    Object unsafe = null;
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      unsafe = theUnsafe.get(null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      invokeCleaner = null;
+      unsafe = null;
+    }
+    INVOKE_CLEANER = invokeCleaner;
+    UNSAFE = unsafe;
+  }
+
+  private FileChannel channel;
+  private long size;
+  private int windowSize;
+  private MappedByteBuffer[] windows;
+
+  /**
+   * @param file a sealed TsFile
+   * @param windowSize the byte size of each mapped region of the file
+   */
+  public MappedTsFileInput(Path file, int windowSize) throws IOException {
+    if (windowSize <= 0) {
+      throw new IllegalArgumentException("Illegal mapping window size: " + windowSize);
+    }
+    channel = FileChannel.open(file, StandardOpenOption.READ);
+    size = channel.size();
+    this.windowSize = windowSize;
+    windows = new MappedByteBuffer[(int) ((size + windowSize - 1) / windowSize)];
+  }
+
+  @Override
+  public long size() throws IOException {
+    return size;
+  }
+
+  @Override
+  public long position() throws IOException {
+    return channel.position();
+  }
+
+  @Override
+  public TsFileInput position(long newPosition) throws IOException {
+    channel.position(newPosition);
+    return this;
+  }
+
+  @Override
+  public int read(ByteBuffer dst) throws IOException {
+    return channel.read(dst);
+  }
+
+  @Override
+  public int read(ByteBuffer dst, long position) throws IOException {
+    if (position >= size) {
+      return -1;
+    }
+    int length = (int) Math.min(dst.remaining(), size - position);
+    ByteBuffer slice = slice(position, length);
+    if (slice == null) {
+      return channel.read(dst, position);
+    }
+    dst.put(slice);
+    return length;
+  }
+
+  @Override
+  public ByteBuffer readBuffer(long position, int length) throws IOException {
+    ByteBuffer slice = slice(position, length);
+    return slice != null ? slice : TsFileInput.super.readBuffer(position, length);
+  }
+
+  /**
+   * @return a view of the given range, or null if the range is not inside a single window
+   */
+  private ByteBuffer slice(long position, int length) throws IOException {
+    long end = position + length;
+    if (position < 0 || length <= 0 || end > size
+        || position / windowSize != (end - 1) / windowSize) {
+      return null;
+    }
+    int index = (int) (position / windowSize);
+    int offset = (int) (position - (long) index * windowSize);
+    ByteBuffer buffer = getWindow(index).duplicate();
+    buffer.position(offset);
+    buffer.limit(offset + length);
+    return buffer.slice();
+  }
+
+  private synchronized MappedByteBuffer getWindow(int index) throws IOException {
+    if (windows == null) {
+      throw new IOException("The mapped input has been closed");
+    }
+    if (windows[index] == null) {
+      long start = (long) index * windowSize;
+      windows[index] = channel.map(MapMode.READ_ONLY, start, Math.min(windowSize, size - start));
+    }
+    return windows[index];
+  }
+
+  @Override
+  public int read() throws IOException {
+    throw new NotImplementedException();
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    throw new NotImplementedException();
+  }
+
+  @Override
+  public FileChannel wrapAsFileChannel() throws IOException {
+    return channel;
+  }
+
+  @Override
+  public InputStream wrapAsInputStream() throws IOException {
+    return Channels.newInputStream(channel);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (windows == null) {
+      return;
+    }
+    Arrays.fill(windows, null);
+    windows = null;
+    channel.close();
+  }
+
+  /**
+   * close the input and unmap its windows at once. Reading a slice of this input after that crashes
+   * the JVM, so the caller must guarantee that no slice is read any more.
+   */
+  public synchronized void unmapAndClose() throws IOException {
+    if (windows == null) {
+      return;
+    }
+    for (MappedByteBuffer window : windows) {
+      if (window != null) {
+        unmap(window);
+      }
+    }
+    close();
+  }
+
+  /**
+   * release the mapped memory of the window now. If the JVM provides no way to do so, the memory is
+   * released when the window is collected by GC.
+   */
+  private static void unmap(MappedByteBuffer window) {
+    try {
+      if (INVOKE_CLEANER != null) {
+        INVOKE_CLEANER.invoke(UNSAFE, window);
+        return;
+      }
+      // Java 8: ((sun.nio.ch.DirectBuffer) window).cleaner().clean()
+      Method cleanerMethod = window.getClass().getMethod("cleaner");
+      cleanerMethod.setAccessible(true);
+      Object cleaner = cleanerMethod.invoke(window);
+      if (cleaner != null) {
+        cleaner.getClass().getMethod("clean").invoke(cleaner);
+      }
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      LOGGER.warn("Cannot unmap a window of a tsfile, leave it to GC", e);
+    }
+  }
+
+  @Override
+  public int readInt() throws IOException {
+    throw new NotImplementedException();
+  }
+}
@@ -26,6 +26,7 @@ import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 
 public interface TsFileInput {
 
@@ -103,6 +104,27 @@ public interface TsFileInput {
    */
   int read(ByteBuffer dst, long position) throws IOException;
 
+  /**
+   * Reads size bytes starting at the given position into a buffer which is ready to be read. This
+   * method does not modify this TsFileInput's position.
+   *
+   * <p>
+   * Implementations backed by memory may return a read-only view of their content instead of a
+   * copy, so the returned buffer is not necessarily array-backed.
+   * </p>
+   *
+   * @param position The position at which the data begins; must be non-negative
+   * @param size The number of bytes to read
+   * @return a buffer whose remaining bytes are the data that has been read
+   * @throws IOException If some I/O error occurs
+   */
+  default ByteBuffer readBuffer(long position, int size) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    ReadWriteIOUtils.readAsPossible(wrapAsFileChannel(), buffer, position, size);
+    buffer.flip();
+    return buffer;
+  }
+
   /**
    * read a byte from the Input.
    */
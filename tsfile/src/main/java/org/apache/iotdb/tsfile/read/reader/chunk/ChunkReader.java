@@ -26,6 +26,7 @@ import org.apache.iotdb.tsfile.compress.IUnCompressor;
 import org.apache.iotdb.tsfile.encoding.decoder.Decoder;
 import org.apache.iotdb.tsfile.file.header.ChunkHeader;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.common.BatchData;
@@ -38,6 +39,12 @@ public abstract class ChunkReader {
   ChunkHeader chunkHeader;
   private ByteBuffer chunkDataBuffer;
 
+  /**
+   * reusable target of uncompressing pages in direct memory.
+   */
+  private static final ThreadLocal<ByteBuffer> uncompressBuffer = ThreadLocal
+      .withInitial(() -> ByteBuffer.allocateDirect(0));
+
   private IUnCompressor unCompressor;
   private Decoder valueDecoder;
   private Decoder timeDecoder = Decoder.getDecoderByType(
@@ -48,6 +55,15 @@ public abstract class ChunkReader {
 
   private BatchData data;
 
+  private PageHeader pageHeader;
+
+  /**
+   * start positions of the satisfied pages in chunkDataBuffer, for reading the pages from the last.
+   * Null until {@link #hasPreviousBatch()} is called.
+   */
+  private int[] pagePositions;
+  private int pagesToReadReversely;
+
   /**
    * Data whose timestamp <= deletedAt should be considered deleted(not be returned).
    */
@@ -94,7 +110,7 @@ public abstract class ChunkReader {
 
       // if the current page satisfies
       if (pageSatisfied(pageHeader)) {
-        PageReader pageReader = constructPageReaderForNextPage(pageHeader.getCompressedSize());
+        PageReader pageReader = constructPageReaderForNextPage(pageHeader);
         if (pageReader.hasNextBatch()) {
           data = pageReader.nextBatch();
           return data;
@@ -111,33 +127,161 @@ public abstract class ChunkReader {
     return data;
   }
 
+  /**
+   * check if there is a satisfied page before the pages returned by {@link #previousBatch()}. The
+   * first call reads the headers of all the pages. A reader is read either by nextBatch() or by
+   * previousBatch(), not both.
+   */
+  public boolean hasPreviousBatch() throws IOException {
+    if (pagePositions == null) {
+      pagePositions = new int[4];
+      while (chunkDataBuffer.remaining() > 0) {
+        int position = chunkDataBuffer.position();
+        PageHeader header = PageHeader.deserializeFrom(chunkDataBuffer, chunkHeader.getDataType());
+        if (pageSatisfied(header)) {
+          if (pagesToReadReversely == pagePositions.length) {
+            pagePositions = Arrays.copyOf(pagePositions, pagePositions.length * 2);
+          }
+          pagePositions[pagesToReadReversely++] = position;
+        }
+        skipBytesInStreamByLength(header.getCompressedSize());
+      }
+    }
+    return pagesToReadReversely > 0;
+  }
+
+  /**
+   * decode the last satisfied page which has not been returned, its points are still in ascending
+   * order. hasPreviousBatch() must be checked before calling this method.
+   *
+   * @return data of the page, which may be empty
+   */
+  public BatchData previousBatch() throws IOException {
+    chunkDataBuffer.position(pagePositions[--pagesToReadReversely]);
+    PageHeader header = PageHeader.deserializeFrom(chunkDataBuffer, chunkHeader.getDataType());
+    data = constructPageReaderForNextPage(header).nextBatch();
+    return data;
+  }
+
+  /**
+   * get the header of the next page without reading its data. Then the data of the page must be
+   * consumed by either {@link #nextPageData()} or {@link #skipPageData()}.
+   *
+   * @return header of the next page
+   */
+  public PageHeader nextPageHeader() throws IOException {
+    pageHeader = PageHeader.deserializeFrom(chunkDataBuffer, chunkHeader.getDataType());
+    return pageHeader;
+  }
+
+  /**
+   * decode the data of the page whose header is returned by the last {@link #nextPageHeader()}.
+   *
+   * @return data of the page, which may be empty
+   */
+  public BatchData nextPageData() throws IOException {
+    PageReader pageReader = constructPageReaderForNextPage(pageHeader);
+    data = pageReader.nextBatch();
+    return data;
+  }
+
+  /**
+   * skip the data of the page whose header is returned by the last {@link #nextPageHeader()}.
+   */
+  public void skipPageData() {
+    skipBytesInStreamByLength(pageHeader.getCompressedSize());
+  }
+
+  /**
+   * skip the leading pages without decoding them, as long as all their points would be returned
+   * by this reader and they have no more than maxPointsToSkip points in total. The page which can
+   * not be skipped is left to {@link #nextBatch()}.
+   *
+   * @return the number of skipped points
+   */
+  public long skipPages(long maxPointsToSkip) throws IOException {
+    long skipped = 0;
+    while (chunkDataBuffer.remaining() > 0) {
+      int position = chunkDataBuffer.position();
+      PageHeader header = PageHeader.deserializeFrom(chunkDataBuffer, chunkHeader.getDataType());
+      if (header.getNumOfValues() > maxPointsToSkip - skipped
+          || header.getMinTimestamp() <= deletedAt || !pageContained(header)) {
+        chunkDataBuffer.position(position);
+        break;
+      }
+      skipBytesInStreamByLength(header.getCompressedSize());
+      skipped += header.getNumOfValues();
+    }
+    return skipped;
+  }
+
+  public TSDataType getDataType() {
+    return chunkHeader.getDataType();
+  }
+
   private void skipBytesInStreamByLength(long length) {
     chunkDataBuffer.position(chunkDataBuffer.position() + (int) length);
   }
 
   public abstract boolean pageSatisfied(PageHeader pageHeader);
 
-  private PageReader constructPageReaderForNextPage(int compressedPageBodyLength)
-      throws IOException {
-    byte[] compressedPageBody = new byte[compressedPageBodyLength];
+  /**
+   * check whether all the points of a page satisfy the filter, so that the page is decoded without
+   * checking the filter point by point.
+   */
+  public boolean pageContained(PageHeader pageHeader) {
+    return filter == null;
+  }
 
+  private PageReader constructPageReaderForNextPage(PageHeader pageHeader) throws IOException {
+    int compressedPageBodyLength = pageHeader.getCompressedSize();
     // already in memory
     if (compressedPageBodyLength > chunkDataBuffer.remaining()) {
       throw new IOException(
           "unexpected byte read length when read compressedPageBody. Expected:"
-              + Arrays.toString(compressedPageBody) + ". Actual:" + chunkDataBuffer
-              .remaining());
+              + compressedPageBodyLength + ". Actual:" + chunkDataBuffer.remaining());
     }
 
-    chunkDataBuffer.get(compressedPageBody, 0, compressedPageBodyLength);
+    ByteBuffer compressedPageBody = chunkDataBuffer.slice();
+    compressedPageBody.limit(compressedPageBodyLength);
+    skipBytesInStreamByLength(compressedPageBodyLength);
     valueDecoder.reset();
-    PageReader reader = new PageReader(ByteBuffer.wrap(unCompressor.uncompress(compressedPageBody)),
+    PageReader reader = new PageReader(uncompress(compressedPageBody),
         chunkHeader.getDataType(),
-        valueDecoder, timeDecoder, filter);
+        valueDecoder, timeDecoder, pageContained(pageHeader) ? null : filter);
     reader.setDeletedAt(deletedAt);
+    reader.setNumOfValues(pageHeader.getNumOfValues());
     return reader;
   }
 
+  /**
+   * uncompress a page body without copying it. An uncompressed body is returned as it is, and a body
+   * in direct memory (e.g. of a memory-mapped file) is uncompressed into a direct buffer of the
+   * current thread, which is safe because a page is always decoded as soon as it is uncompressed.
+   */
+  private ByteBuffer uncompress(ByteBuffer compressedPageBody) throws IOException {
+    if (chunkHeader.getCompressionType() == CompressionType.UNCOMPRESSED) {
+      return compressedPageBody;
+    }
+    if (compressedPageBody.isDirect()) {
+      int uncompressedLength = unCompressor.getUncompressedLength(compressedPageBody);
+      ByteBuffer uncompressed = uncompressBuffer.get();
+      if (uncompressed.capacity() < uncompressedLength) {
+        uncompressed = ByteBuffer.allocateDirect(uncompressedLength);
+        uncompressBuffer.set(uncompressed);
+      }
+      uncompressed.clear();
+      unCompressor.uncompress(compressedPageBody, uncompressed);
+      return uncompressed;
+    }
+    int offset = compressedPageBody.arrayOffset() + compressedPageBody.position();
+    int length = compressedPageBody.remaining();
+    byte[] uncompressed = new byte[unCompressor
+        .getUncompressedLength(compressedPageBody.array(), offset, length)];
+    unCompressor.uncompress(compressedPageBody.array(), offset, length, uncompressed, 0);
+    return ByteBuffer.wrap(uncompressed);
+  }
+
   public void close() {
   }
 
@@ -34,15 +34,23 @@ public class ChunkReaderWithFilter extends ChunkReader {
 
   @Override
   public boolean pageSatisfied(PageHeader pageHeader) {
-    if (pageHeader.getMaxTimestamp() < deletedAt) {
+    if (pageHeader.getMaxTimestamp() <= deletedAt) {
       return false;
     }
-    DigestForFilter digest = new DigestForFilter(pageHeader.getMinTimestamp(),
+    return filter.satisfy(getDigest(pageHeader));
+  }
+
+  @Override
+  public boolean pageContained(PageHeader pageHeader) {
+    return filter.containDigest(getDigest(pageHeader));
+  }
+
+  private DigestForFilter getDigest(PageHeader pageHeader) {
+    return new DigestForFilter(pageHeader.getMinTimestamp(),
         pageHeader.getMaxTimestamp(),
         pageHeader.getStatistics().getMinBytebuffer(),
         pageHeader.getStatistics().getMaxBytebuffer(),
         chunkHeader.getDataType());
-    return filter.satisfy(digest);
   }
 
 }
@@ -21,10 +21,15 @@ package org.apache.iotdb.tsfile.read.reader.page;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import org.apache.iotdb.tsfile.encoding.decoder.Decoder;
+import org.apache.iotdb.tsfile.encoding.decoder.DictionaryDecoder;
 import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.filter.basic.BinaryFilter;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.filter.basic.UnaryFilter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterType;
+import org.apache.iotdb.tsfile.read.filter.operator.NotFilter;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
 
@@ -50,6 +55,14 @@ public class PageReader {
 
   private long deletedAt = -1;
 
+  /** number of points in the page, or -1 if it is unknown **/
+  private int numOfValues = -1;
+
+  /**
+   * number of points decoded at a time.
+   */
+  private static final int DECODE_BATCH_SIZE = 1024;
+
   public PageReader(ByteBuffer pageData, TSDataType dataType, Decoder valueDecoder,
       Decoder timeDecoder,
       Filter filter) {
@@ -89,12 +102,7 @@ public class PageReader {
    * may return an empty BatchData
    */
   public BatchData nextBatch() throws IOException {
-    if (filter == null) {
-      data = getAllPageData();
-    } else {
-      data = getAllPageDataWithFilter();
-    }
-
+    data = getAllPageData();
     return data;
   }
 
@@ -102,142 +110,189 @@ public class PageReader {
     return data;
   }
 
+  /**
+   * decode the page column by column into primitive arrays, {@link #DECODE_BATCH_SIZE} points at a
+   * time, and check the filter (if any) on the decoded arrays.
+   */
   private BatchData getAllPageData() throws IOException {
+    if (filter != null && valueDecoder instanceof DictionaryDecoder && isValueFilter(filter)
+        && ((DictionaryDecoder) valueDecoder).isDictionaryEncoded(valueBuffer)) {
+      return getDictionaryPageDataWithFilter((DictionaryDecoder) valueDecoder);
+    }
 
-    BatchData pageData = new BatchData(dataType, true);
-
-    while (timeDecoder.hasNext(timeBuffer)) {
-      long timestamp = timeDecoder.readLong(timeBuffer);
-
-      switch (dataType) {
-        case BOOLEAN:
-          boolean aBoolean = valueDecoder.readBoolean(valueBuffer);
-          if (timestamp > deletedAt) {
-            pageData.putTime(timestamp);
-            pageData.putBoolean(aBoolean);
+    BatchData pageData = createPageData();
+    long[] times = new long[DECODE_BATCH_SIZE];
+    int count;
+    switch (dataType) {
+      case BOOLEAN:
+        boolean[] booleans = new boolean[DECODE_BATCH_SIZE];
+        while ((count = timeDecoder.decode(timeBuffer, times, 0, DECODE_BATCH_SIZE)) > 0) {
+          valueDecoder.decode(valueBuffer, booleans, 0, count);
+          if (filter == null) {
+            int start = firstUndeleted(times, count);
+            pageData.putTimes(times, start, count - start);
+            pageData.putBooleans(booleans, start, count - start);
+          } else {
+            for (int i = 0; i < count; i++) {
+              if (times[i] > deletedAt && filter.satisfy(times[i], booleans[i])) {
+                pageData.putTime(times[i]);
+                pageData.putBoolean(booleans[i]);
+              }
+            }
           }
-          break;
-        case INT32:
-          int anInt = valueDecoder.readInt(valueBuffer);
-          if (timestamp > deletedAt) {
-            pageData.putTime(timestamp);
-            pageData.putInt(anInt);
+        }
+        break;
+      case INT32:
+        int[] ints = new int[DECODE_BATCH_SIZE];
+        while ((count = timeDecoder.decode(timeBuffer, times, 0, DECODE_BATCH_SIZE)) > 0) {
+          valueDecoder.decode(valueBuffer, ints, 0, count);
+          if (filter == null) {
+            int start = firstUndeleted(times, count);
+            pageData.putTimes(times, start, count - start);
+            pageData.putInts(ints, start, count - start);
+          } else {
+            for (int i = 0; i < count; i++) {
+              if (times[i] > deletedAt && filter.satisfy(times[i], ints[i])) {
+                pageData.putTime(times[i]);
+                pageData.putInt(ints[i]);
+              }
+            }
           }
-          break;
-        case INT64:
-          long aLong = valueDecoder.readLong(valueBuffer);
-          if (timestamp > deletedAt) {
-            pageData.putTime(timestamp);
-            pageData.putLong(aLong);
+        }
+        break;
+      case INT64:
+        long[] longs = new long[DECODE_BATCH_SIZE];
+        while ((count = timeDecoder.decode(timeBuffer, times, 0, DECODE_BATCH_SIZE)) > 0) {
+          valueDecoder.decode(valueBuffer, longs, 0, count);
+          if (filter == null) {
+            int start = firstUndeleted(times, count);
+            pageData.putTimes(times, start, count - start);
+            pageData.putLongs(longs, start, count - start);
+          } else {
+            for (int i = 0; i < count; i++) {
+              if (times[i] > deletedAt && filter.satisfy(times[i], longs[i])) {
+                pageData.putTime(times[i]);
+                pageData.putLong(longs[i]);
+              }
+            }
           }
-          break;
-        case FLOAT:
-          float aFloat = valueDecoder.readFloat(valueBuffer);
-          if (timestamp > deletedAt) {
-            pageData.putTime(timestamp);
-            pageData.putFloat(aFloat);
+        }
+        break;
+      case FLOAT:
+        float[] floats = new float[DECODE_BATCH_SIZE];
+        while ((count = timeDecoder.decode(timeBuffer, times, 0, DECODE_BATCH_SIZE)) > 0) {
+          valueDecoder.decode(valueBuffer, floats, 0, count);
+          if (filter == null) {
+            int start = firstUndeleted(times, count);
+            pageData.putTimes(times, start, count - start);
+            pageData.putFloats(floats, start, count - start);
+          } else {
+            for (int i = 0; i < count; i++) {
+              if (times[i] > deletedAt && filter.satisfy(times[i], floats[i])) {
+                pageData.putTime(times[i]);
+                pageData.putFloat(floats[i]);
+              }
+            }
           }
-          break;
-        case DOUBLE:
-          double aDouble = valueDecoder.readDouble(valueBuffer);
-          if (timestamp > deletedAt) {
-            pageData.putTime(timestamp);
-            pageData.putDouble(aDouble);
+        }
+        break;
+      case DOUBLE:
+        double[] doubles = new double[DECODE_BATCH_SIZE];
+        while ((count = timeDecoder.decode(timeBuffer, times, 0, DECODE_BATCH_SIZE)) > 0) {
+          valueDecoder.decode(valueBuffer, doubles, 0, count);
+          if (filter == null) {
+            int start = firstUndeleted(times, count);
+            pageData.putTimes(times, start, count - start);
+            pageData.putDoubles(doubles, start, count - start);
+          } else {
+            for (int i = 0; i < count; i++) {
+              if (times[i] > deletedAt && filter.satisfy(times[i], doubles[i])) {
+                pageData.putTime(times[i]);
+                pageData.putDouble(doubles[i]);
+              }
+            }
           }
-          break;
-        case TEXT:
-          Binary aBinary = valueDecoder.readBinary(valueBuffer);
-          if (timestamp > deletedAt) {
-            pageData.putTime(timestamp);
-            pageData.putBinary(aBinary);
+        }
+        break;
+      case TEXT:
+        Binary[] binaries = new Binary[DECODE_BATCH_SIZE];
+        while ((count = timeDecoder.decode(timeBuffer, times, 0, DECODE_BATCH_SIZE)) > 0) {
+          valueDecoder.decode(valueBuffer, binaries, 0, count);
+          if (filter == null) {
+            int start = firstUndeleted(times, count);
+            pageData.putTimes(times, start, count - start);
+            pageData.putBinaries(binaries, start, count - start);
+          } else {
+            for (int i = 0; i < count; i++) {
+              if (times[i] > deletedAt && filter.satisfy(times[i], binaries[i])) {
+                pageData.putTime(times[i]);
+                pageData.putBinary(binaries[i]);
+              }
+            }
           }
-          break;
-        default:
-          throw new UnSupportedDataTypeException(String.valueOf(dataType));
-      }
-    }
-    return pageData;
-  }
-
-  private BatchData getAllPageDataWithFilter() throws IOException {
-    BatchData pageData = new BatchData(dataType, true);
-
-    while (timeDecoder.hasNext(timeBuffer)) {
-      long timestamp = timeDecoder.readLong(timeBuffer);
-
-      switch (dataType) {
-        case BOOLEAN:
-          readBoolean(pageData, timestamp);
-          break;
-        case INT32:
-          readInt(pageData, timestamp);
-          break;
-        case INT64:
-          readLong(pageData, timestamp);
-          break;
-        case FLOAT:
-          readFloat(pageData, timestamp);
-          break;
-        case DOUBLE:
-          readDouble(pageData, timestamp);
-          break;
-        case TEXT:
-          readText(pageData, timestamp);
-          break;
-        default:
-          throw new UnSupportedDataTypeException(String.valueOf(dataType));
-      }
+        }
+        break;
+      default:
+        throw new UnSupportedDataTypeException(String.valueOf(dataType));
     }
-
     return pageData;
   }
 
-  private void readBoolean(BatchData pageData, long timestamp) {
-    boolean aBoolean = valueDecoder.readBoolean(valueBuffer);
-    if (timestamp > deletedAt && filter.satisfy(timestamp, aBoolean)) {
-      pageData.putTime(timestamp);
-      pageData.putBoolean(aBoolean);
-    }
-  }
-
-  private void readInt(BatchData pageData, long timestamp) {
-    int anInt = valueDecoder.readInt(valueBuffer);
-    if (timestamp > deletedAt && filter.satisfy(timestamp, anInt)) {
-      pageData.putTime(timestamp);
-      pageData.putInt(anInt);
-    }
-  }
-
-  private void readLong(BatchData pageData, long timestamp) {
-    long aLong = valueDecoder.readLong(valueBuffer);
-    if (timestamp > deletedAt && filter.satisfy(timestamp, aLong)) {
-      pageData.putTime(timestamp);
-      pageData.putLong(aLong);
+  /**
+   * the index of the first point not deleted, the timestamps in a page are increasing.
+   */
+  private int firstUndeleted(long[] times, int count) {
+    int start = 0;
+    while (start < count && times[start] <= deletedAt) {
+      start++;
     }
+    return start;
   }
 
-  private void readFloat(BatchData pageData, long timestamp) {
-    float aFloat = valueDecoder.readFloat(valueBuffer);
-    if (timestamp > deletedAt && filter.satisfy(timestamp, aFloat)) {
-      pageData.putTime(timestamp);
-      pageData.putFloat(aFloat);
+  /**
+   * the filter only depends on the value, so it is evaluated once for every dictionary entry and
+   * the values are selected by their ids.
+   */
+  private BatchData getDictionaryPageDataWithFilter(DictionaryDecoder decoder) throws IOException {
+    BatchData pageData = createPageData();
+
+    Binary[] dictionary = decoder.getDictionary();
+    boolean[] satisfied = new boolean[dictionary.length];
+    boolean anySatisfied = false;
+    for (int i = 0; i < dictionary.length; i++) {
+      satisfied[i] = filter.satisfy(0, dictionary[i]);
+      anySatisfied |= satisfied[i];
     }
-  }
 
-  private void readDouble(BatchData pageData, long timestamp) {
-    double aDouble = valueDecoder.readDouble(valueBuffer);
-    if (timestamp > deletedAt && filter.satisfy(timestamp, aDouble)) {
-      pageData.putTime(timestamp);
-      pageData.putDouble(aDouble);
+    long[] times = new long[DECODE_BATCH_SIZE];
+    int[] ids = new int[DECODE_BATCH_SIZE];
+    int count;
+    while ((count = timeDecoder.decode(timeBuffer, times, 0, DECODE_BATCH_SIZE)) > 0) {
+      if (!anySatisfied) {
+        // no value of this page can satisfy the filter, only consume the time column
+        continue;
+      }
+      decoder.decodeIds(valueBuffer, ids, 0, count);
+      for (int i = 0; i < count; i++) {
+        if (times[i] > deletedAt && satisfied[ids[i]]) {
+          pageData.putTime(times[i]);
+          pageData.putBinary(dictionary[ids[i]]);
+        }
+      }
     }
+    return pageData;
   }
 
-  private void readText(BatchData pageData, long timestamp) {
-    Binary aBinary = valueDecoder.readBinary(valueBuffer);
-    if (timestamp > deletedAt && filter.satisfy(timestamp, aBinary)) {
-      pageData.putTime(timestamp);
-      pageData.putBinary(aBinary);
+  private static boolean isValueFilter(Filter filter) {
+    if (filter instanceof UnaryFilter) {
+      return ((UnaryFilter) filter).getFilterType() == FilterType.VALUE_FILTER;
+    } else if (filter instanceof NotFilter) {
+      return isValueFilter(((NotFilter) filter).getFilter());
+    } else if (filter instanceof BinaryFilter) {
+      return isValueFilter(((BinaryFilter) filter).getLeft()) && isValueFilter(
+          ((BinaryFilter) filter).getRight());
     }
+    return false;
   }
 
   public void close() {
@@ -248,4 +303,19 @@ public class PageReader {
   public void setDeletedAt(long deletedAt) {
     this.deletedAt = deletedAt;
   }
+
+  public void setNumOfValues(int numOfValues) {
+    this.numOfValues = numOfValues;
+  }
+
+  /**
+   * create the BatchData of the page, whose arrays hold all the points of the page at once if the
+   * number of points is known.
+   */
+  private BatchData createPageData() {
+    if (numOfValues < 0) {
+      return new BatchData(dataType, true);
+    }
+    return new BatchData(dataType, true, numOfValues);
+  }
 }
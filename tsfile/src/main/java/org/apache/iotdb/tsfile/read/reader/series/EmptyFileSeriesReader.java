@@ -42,6 +42,11 @@ public class EmptyFileSeriesReader extends FileSeriesReader {
     return false;
   }
 
+  @Override
+  protected boolean chunkContained(ChunkMetaData chunkMetaData) {
+    return false;
+  }
+
   @Override
   public boolean hasNextBatch() {
     return false;
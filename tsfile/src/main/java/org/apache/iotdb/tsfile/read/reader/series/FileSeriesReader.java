@@ -34,6 +34,10 @@ public abstract class FileSeriesReader {
   protected List<ChunkMetaData> chunkMetaDataList;
   protected ChunkReader chunkReader;
   private int chunkToRead;
+  /**
+   * the number of chunks not read by previousBatch() yet, which are the first ones.
+   */
+  private int chunksToReadReversely;
 
   private BatchData data;
 
@@ -44,6 +48,8 @@ public abstract class FileSeriesReader {
     this.chunkLoader = chunkLoader;
     this.chunkMetaDataList = chunkMetaDataList;
     this.chunkToRead = 0;
+    // readers of series without data may have no chunk list
+    this.chunksToReadReversely = chunkMetaDataList == null ? 0 : chunkMetaDataList.size();
   }
 
   /**
@@ -99,10 +105,86 @@ public abstract class FileSeriesReader {
     return data;
   }
 
+  /**
+   * check if there is data before the batches returned by {@link #previousBatch()}. A reader is
+   * read either by nextBatch() or by previousBatch(), not both.
+   */
+  public boolean hasPreviousBatch() throws IOException {
+    if (chunkReader != null && chunkReader.hasPreviousBatch()) {
+      return true;
+    }
+    return chunksToReadReversely > 0;
+  }
+
+  /**
+   * get the previous batch data, i.e., the chunks are read from the last and the pages of a chunk
+   * from the last, while the points in a batch are still in ascending order.
+   *
+   * @return the previous batch, which is empty if there is no more data
+   */
+  public BatchData previousBatch() throws IOException {
+    if (chunkReader != null && chunkReader.hasPreviousBatch()) {
+      data = chunkReader.previousBatch();
+      return data;
+    }
+
+    while (chunksToReadReversely > 0) {
+      ChunkMetaData chunkMetaData = chunkMetaDataList.get(--chunksToReadReversely);
+      if (chunkSatisfied(chunkMetaData)) {
+        initChunkReader(chunkMetaData);
+
+        if (chunkReader.hasPreviousBatch()) {
+          data = chunkReader.previousBatch();
+          return data;
+        }
+      }
+    }
+
+    return new BatchData();
+  }
+
+  /**
+   * skip the leading points of the series using the number of points in the metadata, so that
+   * whole chunks are skipped without being loaded and whole pages without being decoded. It stops
+   * at the first chunk or page whose points can not be counted this way, e.g., a page which is
+   * partially deleted or does not entirely satisfy the filter. Must be called before the first
+   * batch is read.
+   *
+   * @param pointsToSkip the maximum number of points to skip
+   * @return the number of skipped points, which may be less than pointsToSkip
+   */
+  public long skipPoints(long pointsToSkip) throws IOException {
+    long skipped = 0;
+    while (skipped < pointsToSkip && chunkToRead < chunkMetaDataList.size()) {
+      ChunkMetaData chunkMetaData = chunkMetaDataList.get(chunkToRead);
+      if (!chunkSatisfied(chunkMetaData)) {
+        // none of its points would be returned
+        chunkToRead++;
+        continue;
+      }
+      if (chunkMetaData.getNumOfPoints() <= pointsToSkip - skipped
+          && chunkMetaData.getStartTime() > chunkMetaData.getDeletedAt()
+          && chunkContained(chunkMetaData)) {
+        chunkToRead++;
+        skipped += chunkMetaData.getNumOfPoints();
+        continue;
+      }
+      initChunkReader(nextChunkMeta());
+      skipped += chunkReader.skipPages(pointsToSkip - skipped);
+      break;
+    }
+    return skipped;
+  }
+
   protected abstract void initChunkReader(ChunkMetaData chunkMetaData) throws IOException;
 
   protected abstract boolean chunkSatisfied(ChunkMetaData chunkMetaData);
 
+  /**
+   * check whether all the points of a chunk satisfy the condition of this reader.
+   */
+  protected abstract boolean chunkContained(ChunkMetaData chunkMetaData);
+
   public void close() throws IOException {
     chunkLoader.close();
   }
@@ -27,6 +27,7 @@ import org.apache.iotdb.tsfile.read.controller.ChunkLoader;
 import org.apache.iotdb.tsfile.read.filter.DigestForFilter;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReaderWithFilter;
+import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReaderWithoutFilter;
 
 /**
  * Series reader is used to query one series of one TsFile,
@@ -45,17 +46,30 @@ public class FileSeriesReaderWithFilter extends FileSeriesReader {
   @Override
   protected void initChunkReader(ChunkMetaData chunkMetaData) throws IOException {
     Chunk chunk = chunkLoader.getChunk(chunkMetaData);
-    this.chunkReader = new ChunkReaderWithFilter(chunk, filter);
+    if (filter.containDigest(getDigest(chunkMetaData))) {
+      // all the points of the chunk satisfy the filter
+      this.chunkReader = new ChunkReaderWithoutFilter(chunk);
+    } else {
+      this.chunkReader = new ChunkReaderWithFilter(chunk, filter);
+    }
   }
 
   @Override
   protected boolean chunkSatisfied(ChunkMetaData chunkMetaData) {
-    DigestForFilter digest = new DigestForFilter(chunkMetaData.getStartTime(),
+    return filter.satisfy(getDigest(chunkMetaData));
+  }
+
+  @Override
+  protected boolean chunkContained(ChunkMetaData chunkMetaData) {
+    return filter.containDigest(getDigest(chunkMetaData));
+  }
+
+  private DigestForFilter getDigest(ChunkMetaData chunkMetaData) {
+    return new DigestForFilter(chunkMetaData.getStartTime(),
         chunkMetaData.getEndTime(),
         chunkMetaData.getDigest().getStatistics().get(StatisticConstant.MIN_VALUE),
         chunkMetaData.getDigest().getStatistics().get(StatisticConstant.MAX_VALUE),
         chunkMetaData.getTsDataType());
-    return filter.satisfy(digest);
   }
 
 }
@@ -46,4 +46,9 @@ public class FileSeriesReaderWithoutFilter extends FileSeriesReader {
     return true;
   }
 
+  @Override
+  protected boolean chunkContained(ChunkMetaData chunkMetaData) {
+    return true;
+  }
+
 }
@@ -0,0 +1,160 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A bloom filter over strings, e.g., the full paths of the series in a TsFile. It answers whether
+ * a string may have been added: a false answer is always right, a true answer is wrong with about
+ * the error rate given when creating the filter.
+ */
+public class BloomFilter {
+
+  private static final double MIN_ERROR_RATE = 0.0001;
+  private static final double MAX_ERROR_RATE = 0.5;
+  private static final int MAX_HASH_NUM = 16;
+
+  private long[] bits;
+  private int bitNum;
+  private int hashNum;
+
+  private BloomFilter(long[] bits, int bitNum, int hashNum) {
+    this.bits = bits;
+    this.bitNum = bitNum;
+    this.hashNum = hashNum;
+  }
+
+  /**
+   * create an empty filter sized for the number of strings and the expected error rate.
+   *
+   * @param size the number of strings to be added
+   * @param errorRate the expected rate of false positives
+   */
+  public static BloomFilter getEmptyBloomFilter(int size, double errorRate) {
+    errorRate = Math.max(MIN_ERROR_RATE, Math.min(MAX_ERROR_RATE, errorRate));
+    int stringNum = Math.max(size, 1);
+    // the optimal bits and hash functions for the error rate
+    double bitsPerString = -Math.log(errorRate) / (Math.log(2) * Math.log(2));
+    int bitNum = (int) Math.min(Integer.MAX_VALUE - Long.SIZE,
+        Math.ceil(stringNum * bitsPerString));
+    int hashNum = (int) Math
+        .max(1, Math.min(MAX_HASH_NUM, Math.round(bitsPerString * Math.log(2))));
+    return new BloomFilter(new long[(bitNum + Long.SIZE - 1) / Long.SIZE], bitNum, hashNum);
+  }
+
+  public void add(String value) {
+    long hash = hash(value);
+    int hash1 = (int) hash;
+    int hash2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashNum; i++) {
+      int index = ((hash1 + i * hash2) & Integer.MAX_VALUE) % bitNum;
+      bits[index >>> 6] |= 1L << index;
+    }
+  }
+
+  /**
+   * @return false if the value has never been added, true if it may have been added
+   */
+  public boolean contains(String value) {
+    long hash = hash(value);
+    int hash1 = (int) hash;
+    int hash2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashNum; i++) {
+      int index = ((hash1 + i * hash2) & Integer.MAX_VALUE) % bitNum;
+      if ((bits[index >>> 6] & (1L << index)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * 64 bits FNV-1a hash of the chars followed by the finalizer of MurmurHash3, whose two halves are
+   * used as two independent hashes. It must not change, as the filters are persisted.
+   */
+  private static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  public int getBitNum() {
+    return bitNum;
+  }
+
+  public int getHashNum() {
+    return hashNum;
+  }
+
+  public int getSerializedSize() {
+    return 4 + 4 + bits.length * 8;
+  }
+
+  public int serializeTo(OutputStream outputStream) throws IOException {
+    int byteLen = 0;
+    byteLen += ReadWriteIOUtils.write(bitNum, outputStream);
+    byteLen += ReadWriteIOUtils.write(hashNum, outputStream);
+    for (long word : bits) {
+      byteLen += ReadWriteIOUtils.write(word, outputStream);
+    }
+    return byteLen;
+  }
+
+  public int serializeTo(ByteBuffer buffer) {
+    int byteLen = 0;
+    byteLen += ReadWriteIOUtils.write(bitNum, buffer);
+    byteLen += ReadWriteIOUtils.write(hashNum, buffer);
+    for (long word : bits) {
+      byteLen += ReadWriteIOUtils.write(word, buffer);
+    }
+    return byteLen;
+  }
+
+  public static BloomFilter deserializeFrom(InputStream inputStream) throws IOException {
+    int bitNum = ReadWriteIOUtils.readInt(inputStream);
+    int hashNum = ReadWriteIOUtils.readInt(inputStream);
+    long[] bits = new long[(bitNum + Long.SIZE - 1) / Long.SIZE];
+    for (int i = 0; i < bits.length; i++) {
+      bits[i] = ReadWriteIOUtils.readLong(inputStream);
+    }
+    return new BloomFilter(bits, bitNum, hashNum);
+  }
+
+  public static BloomFilter deserializeFrom(ByteBuffer buffer) {
+    int bitNum = ReadWriteIOUtils.readInt(buffer);
+    int hashNum = ReadWriteIOUtils.readInt(buffer);
+    long[] bits = new long[(bitNum + Long.SIZE - 1) / Long.SIZE];
+    for (int i = 0; i < bits.length; i++) {
+      bits[i] = ReadWriteIOUtils.readLong(buffer);
+    }
+    return new BloomFilter(bits, bitNum, hashNum);
+  }
+}
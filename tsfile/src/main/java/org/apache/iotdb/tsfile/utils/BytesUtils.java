@@ -171,13 +171,17 @@ public class BytesUtils {
    * @return integer variable
    */
   public static int bytesToInt(byte[] result, int pos, int width) {
-
+    // take as many bits of a byte as possible at a time, the first bit is the most significant
     int value = 0;
-    int temp = 0;
-
-    for (int i = 0; i < width; i++) {
-      temp = (pos + width - 1 - i) / 8;
-      value = setIntN(value, i, getByteN(result[temp], pos + width - 1 - i));
+    int bitPos = pos;
+    int remaining = width;
+    while (remaining > 0) {
+      int available = 8 - (bitPos & 7);
+      int take = Math.min(available, remaining);
+      int bits = ((result[bitPos >>> 3] & 0xff) >>> (available - take)) & ((1 << take) - 1);
+      value = (value << take) | bits;
+      bitPos += take;
+      remaining -= take;
     }
     return value;
   }
@@ -521,11 +525,17 @@ public class BytesUtils {
    * @return long variable
    */
   public static long bytesToLong(byte[] result, int pos, int width) {
+    // take as many bits of a byte as possible at a time, the first bit is the most significant
     long value = 0;
-    int temp = 0;
-    for (int i = 0; i < width; i++) {
-      temp = (pos + width - 1 - i) / 8;
-      value = setLongN(value, i, getByteN(result[temp], pos + width - 1 - i));
+    int bitPos = pos;
+    int remaining = width;
+    while (remaining > 0) {
+      int available = 8 - (bitPos & 7);
+      int take = Math.min(available, remaining);
+      int bits = ((result[bitPos >>> 3] & 0xff) >>> (available - take)) & ((1 << take) - 1);
+      value = (value << take) | bits;
+      bitPos += take;
+      remaining -= take;
     }
     return value;
   }
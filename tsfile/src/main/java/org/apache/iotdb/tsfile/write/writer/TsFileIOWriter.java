@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.TreeMap;
 import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
 import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
+import org.apache.iotdb.tsfile.common.constant.SystemConstant;
 import org.apache.iotdb.tsfile.file.MetaMarker;
 import org.apache.iotdb.tsfile.file.footer.ChunkGroupFooter;
 import org.apache.iotdb.tsfile.file.header.ChunkHeader;
@@ -37,10 +38,12 @@ import org.apache.iotdb.tsfile.file.metadata.TsDeviceMetadata;
 import org.apache.iotdb.tsfile.file.metadata.TsDeviceMetadataIndex;
 import org.apache.iotdb.tsfile.file.metadata.TsDigest;
 import org.apache.iotdb.tsfile.file.metadata.TsFileMetaData;
+import org.apache.iotdb.tsfile.file.metadata.TsSeriesMetadataIndex;
 import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 import org.apache.iotdb.tsfile.utils.BytesUtils;
 import org.apache.iotdb.tsfile.utils.PublicBAOS;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
@@ -215,11 +218,14 @@ public class TsFileIOWriter {
     Map<String, MeasurementSchema> schemaDescriptors = schema.getAllMeasurementSchema();
     LOG.debug("get time series list:{}", schemaDescriptors);
 
+    Map<String, TsSeriesMetadataIndex> tsSeriesMetadataIndexMap = new HashMap<>();
     Map<String, TsDeviceMetadataIndex> tsDeviceMetadataIndexMap = flushTsDeviceMetaDataAndGetIndex(
-        this.chunkGroupMetaDataList);
+        this.chunkGroupMetaDataList, tsSeriesMetadataIndexMap);
 
     TsFileMetaData tsFileMetaData = new TsFileMetaData(tsDeviceMetadataIndexMap, schemaDescriptors,
         TSFileConfig.CURRENT_VERSION);
+    tsFileMetaData.setSeriesIndexMap(tsSeriesMetadataIndexMap);
+    tsFileMetaData.setBloomFilter(buildBloomFilter(tsSeriesMetadataIndexMap));
 
     long footerIndex = out.getPosition();
     LOG.debug("start to flush the footer,file pos:{}", footerIndex);
@@ -241,13 +247,15 @@ public class TsFileIOWriter {
 
   /**
    * 1. group chunkGroupMetaDataList to TsDeviceMetadata 2. flush TsDeviceMetadata 3. get
-   * TsDeviceMetadataIndex
+   * TsDeviceMetadataIndex and TsSeriesMetadataIndex
    *
    * @param chunkGroupMetaDataList all chunk group metadata in memory
+   * @param tsSeriesMetadataIndexMap to be filled with the TsSeriesMetadataIndex of each device
    * @return TsDeviceMetadataIndex in TsFileMetaData
    */
   private Map<String, TsDeviceMetadataIndex> flushTsDeviceMetaDataAndGetIndex(
-      List<ChunkGroupMetaData> chunkGroupMetaDataList) throws IOException {
+      List<ChunkGroupMetaData> chunkGroupMetaDataList,
+      Map<String, TsSeriesMetadataIndex> tsSeriesMetadataIndexMap) throws IOException {
 
     Map<String, TsDeviceMetadataIndex> tsDeviceMetadataIndexMap = new HashMap<>();
 
@@ -268,11 +276,34 @@ public class TsFileIOWriter {
       TsDeviceMetadataIndex tsDeviceMetadataIndex = new TsDeviceMetadataIndex(offset, size,
           currentTsDeviceMetadata);
       tsDeviceMetadataIndexMap.put(entry.getKey(), tsDeviceMetadataIndex);
+      tsSeriesMetadataIndexMap.put(entry.getKey(),
+          new TsSeriesMetadataIndex(offset, currentTsDeviceMetadata));
     }
 
     return tsDeviceMetadataIndexMap;
   }
 
+  /**
+   * build the bloom filter over the full paths of all the series in the file.
+   */
+  private BloomFilter buildBloomFilter(
+      Map<String, TsSeriesMetadataIndex> tsSeriesMetadataIndexMap) {
+    int seriesNum = 0;
+    for (TsSeriesMetadataIndex seriesIndex : tsSeriesMetadataIndexMap.values()) {
+      seriesNum += seriesIndex.getMeasurementNum();
+    }
+    BloomFilter bloomFilter = BloomFilter
+        .getEmptyBloomFilter(seriesNum, TSFileConfig.bloomFilterErrorRate);
+    for (Map.Entry<String, TsSeriesMetadataIndex> entry : tsSeriesMetadataIndexMap.entrySet()) {
+      TsSeriesMetadataIndex seriesIndex = entry.getValue();
+      for (int i = 0; i < seriesIndex.getMeasurementNum(); i++) {
+        bloomFilter.add(entry.getKey() + SystemConstant.PATH_SEPARATOR
+            + seriesIndex.getMeasurementId(i));
+      }
+    }
+    return bloomFilter;
+  }
+
   /**
    * group all chunk group metadata by device.
    *
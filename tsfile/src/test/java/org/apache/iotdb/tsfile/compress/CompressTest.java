@@ -21,7 +21,9 @@ package org.apache.iotdb.tsfile.compress;
 import static org.junit.Assert.assertEquals;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.utils.PublicBAOS;
 import org.junit.After;
 import org.junit.Before;
@@ -72,6 +74,55 @@ public class CompressTest {
     assertEquals(inputString, result);
   }
 
+  @Test
+  public void gzipCompressorTest() throws IOException {
+    roundTrip(CompressionType.GZIP);
+  }
+
+  @Test
+  public void lz4CompressorTest() throws IOException {
+    roundTrip(CompressionType.LZ4);
+  }
+
+  @Test
+  public void zstdCompressorTest() throws IOException {
+    roundTrip(CompressionType.ZSTD);
+  }
+
+  private void roundTrip(CompressionType type) throws IOException {
+    ICompressor compressor = ICompressor.getCompressor(type);
+    IUnCompressor unCompressor = IUnCompressor.getUnCompressor(type);
+    byte[] input = inputString.getBytes("UTF-8");
+
+    byte[] compressed = compressor.compress(input);
+    assertEquals(input.length, unCompressor.getUncompressedLength(compressed, 0, compressed.length));
+    assertEquals(inputString, new String(unCompressor.uncompress(compressed), "UTF-8"));
+
+    // compress a part of an array
+    byte[] padded = new byte[input.length + 10];
+    System.arraycopy(input, 0, padded, 5, input.length);
+    compressed = new byte[compressor.getMaxBytesForCompression(input.length)];
+    int size = compressor.compress(padded, 5, input.length, compressed);
+    byte[] uncompressed = new byte[input.length + 3];
+    assertEquals(input.length, unCompressor.uncompress(compressed, 0, size, uncompressed, 3));
+    assertEquals(inputString, new String(uncompressed, 3, input.length, "UTF-8"));
+
+    // compress between direct buffers, which is how the pages of mapped files are read
+    ByteBuffer data = ByteBuffer.allocateDirect(input.length);
+    data.put(input);
+    data.flip();
+    ByteBuffer compressedBuffer = ByteBuffer
+        .allocateDirect(compressor.getMaxBytesForCompression(input.length));
+    size = compressor.compress(data, compressedBuffer);
+    assertEquals(size, compressedBuffer.remaining());
+    assertEquals(input.length, unCompressor.getUncompressedLength(compressedBuffer));
+    ByteBuffer uncompressedBuffer = ByteBuffer.allocateDirect(input.length);
+    assertEquals(input.length, unCompressor.uncompress(compressedBuffer, uncompressedBuffer));
+    byte[] result = new byte[uncompressedBuffer.remaining()];
+    uncompressedBuffer.get(result);
+    assertEquals(inputString, new String(result, "UTF-8"));
+  }
+
   @Test
   public void snappyTest() throws IOException {
     byte[] compressed = Snappy.compress(inputString.getBytes("UTF-8"));
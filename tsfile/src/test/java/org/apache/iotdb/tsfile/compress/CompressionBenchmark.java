@@ -0,0 +1,212 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.compress;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.file.MetaMarker;
+import org.apache.iotdb.tsfile.file.header.ChunkHeader;
+import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.write.page.PageWriter;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the compression ratio and speed of the codecs on tsfile pages. Every operation
+ * compresses or uncompresses all the pages, whose total size is printed at setup together with the
+ * ratio, so MB/s = ops/s * total size.
+ *
+ * <p>
+ * The pages are taken from the tsfile given by -Dbenchmark.tsfile=..., or generated with the
+ * encodings our series use if it is not given. Run it by the main method or by the JMH runner.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionBenchmark {
+
+  private static final int GENERATED_PAGE_NUM = 64;
+
+  @Param({"SNAPPY", "LZ4", "ZSTD", "GZIP"})
+  private CompressionType type;
+
+  /**
+   * the shape of the generated pages, ignored when a tsfile is given.
+   */
+  @Param({"INT64_TS_2DIFF", "DOUBLE_GORILLA", "INT32_RLE", "TEXT_PLAIN"})
+  private String series;
+
+  private ICompressor compressor;
+  private IUnCompressor unCompressor;
+  private List<byte[]> pages;
+  private List<byte[]> compressedPages;
+  private byte[] compressBuffer;
+  private byte[] uncompressBuffer;
+
+  @Setup
+  public void setUp() throws IOException {
+    compressor = ICompressor.getCompressor(type);
+    unCompressor = IUnCompressor.getUnCompressor(type);
+    String file = System.getProperty("benchmark.tsfile");
+    pages = file == null ? generatePages() : readPages(file);
+
+    int maxPageSize = 0;
+    long totalSize = 0;
+    long compressedSize = 0;
+    compressedPages = new ArrayList<>();
+    for (byte[] page : pages) {
+      byte[] compressed = compressor.compress(page);
+      compressedPages.add(compressed);
+      maxPageSize = Math.max(maxPageSize, page.length);
+      totalSize += page.length;
+      compressedSize += compressed.length;
+    }
+    compressBuffer = new byte[compressor.getMaxBytesForCompression(maxPageSize)];
+    uncompressBuffer = new byte[maxPageSize];
+    System.out.printf("%n%s on %s: %d pages, %d bytes, ratio %.3f%n", type,
+        file == null ? series : file, pages.size(), totalSize, (double) totalSize / compressedSize);
+  }
+
+  @Benchmark
+  public int compress() throws IOException {
+    int size = 0;
+    for (byte[] page : pages) {
+      size += compressor.compress(page, 0, page.length, compressBuffer);
+    }
+    return size;
+  }
+
+  @Benchmark
+  public int uncompress() throws IOException {
+    int size = 0;
+    for (byte[] page : compressedPages) {
+      size += unCompressor.uncompress(page, 0, page.length, uncompressBuffer, 0);
+    }
+    return size;
+  }
+
+  /**
+   * generate pages of sensor-like data: regular timestamps with jitter and slowly changing values.
+   */
+  private List<byte[]> generatePages() throws IOException {
+    String[] shape = series.split("_", 2);
+    TSDataType dataType = TSDataType.valueOf(shape[0]);
+    MeasurementSchema schema = new MeasurementSchema("s", dataType, TSEncoding.valueOf(shape[1]));
+    Random random = new Random(0);
+    String[] states = {"RUNNING", "IDLE", "MAINTENANCE", "OFFLINE"};
+
+    List<byte[]> ret = new ArrayList<>();
+    long time = 1_500_000_000_000L;
+    double value = 20;
+    int state = 0;
+    for (int i = 0; i < GENERATED_PAGE_NUM; i++) {
+      PageWriter pageWriter = new PageWriter(schema);
+      while (pageWriter.estimateMaxMemSize() < TSFileConfig.pageSizeInByte) {
+        time += 1000 + (random.nextInt(10) == 0 ? random.nextInt(20) - 10 : 0);
+        value += random.nextGaussian() * 0.1;
+        if (random.nextInt(500) == 0) {
+          state = random.nextInt(states.length);
+        }
+        switch (dataType) {
+          case INT32:
+            pageWriter.write(time, state);
+            break;
+          case INT64:
+            pageWriter.write(time, time / 1000 + random.nextInt(3));
+            break;
+          case DOUBLE:
+            pageWriter.write(time, Math.round(value * 100) / 100.0);
+            break;
+          case TEXT:
+            pageWriter.write(time, new Binary(states[state]));
+            break;
+          default:
+            throw new IllegalArgumentException(series);
+        }
+      }
+      ByteBuffer page = pageWriter.getUncompressedBytes();
+      byte[] bytes = new byte[page.remaining()];
+      page.get(bytes);
+      ret.add(bytes);
+    }
+    return ret;
+  }
+
+  /**
+   * read all the pages of a tsfile, uncompressed.
+   */
+  private List<byte[]> readPages(String file) throws IOException {
+    List<byte[]> ret = new ArrayList<>();
+    TsFileSequenceReader reader = new TsFileSequenceReader(file);
+    byte marker;
+    while ((marker = reader.readMarker()) != MetaMarker.SEPARATOR) {
+      switch (marker) {
+        case MetaMarker.CHUNK_HEADER:
+          ChunkHeader header = reader.readChunkHeader();
+          for (int j = 0; j < header.getNumOfPages(); j++) {
+            PageHeader pageHeader = reader.readPageHeader(header.getDataType());
+            ByteBuffer page = reader.readPage(pageHeader, header.getCompressionType());
+            byte[] bytes = new byte[page.remaining()];
+            page.get(bytes);
+            ret.add(bytes);
+          }
+          break;
+        case MetaMarker.CHUNK_GROUP_FOOTER:
+          reader.readChunkGroupFooter();
+          break;
+        default:
+          MetaMarker.handleUnexpectedMarker(marker);
+      }
+    }
+    reader.close();
+    return ret;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(CompressionBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,217 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.apache.iotdb.tsfile.encoding.common.EndianType;
+import org.apache.iotdb.tsfile.encoding.encoder.DeltaBinaryEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.DoublePrecisionEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
+import org.apache.iotdb.tsfile.encoding.encoder.FloatEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.IntRleEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.LongRleEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.PlainEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.SinglePrecisionEncoder;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.junit.Test;
+
+/**
+ * checks that decoding in bulk returns the same values as decoding one by one.
+ */
+public class BulkDecodeTest {
+
+  private static final int COUNT = 10007;
+  /**
+   * odd batch size so that batches end in the middle of rle runs and delta packs.
+   */
+  private static final int BATCH_SIZE = 37;
+
+  private int intValue(int i) {
+    // repeated runs followed by scattered values
+    return i % 1000 < 500 ? i / 100 : i * 7 - 3000;
+  }
+
+  @Test
+  public void testInt() throws IOException {
+    checkInt(new IntRleEncoder(EndianType.LITTLE_ENDIAN),
+        () -> new IntRleDecoder(EndianType.LITTLE_ENDIAN));
+    checkInt(new DeltaBinaryEncoder.IntDeltaEncoder(), DeltaBinaryDecoder.IntDeltaDecoder::new);
+    checkInt(new PlainEncoder(EndianType.LITTLE_ENDIAN, TSDataType.INT32, 0),
+        () -> new PlainDecoder(EndianType.LITTLE_ENDIAN));
+  }
+
+  @Test
+  public void testLong() throws IOException {
+    checkLong(new LongRleEncoder(EndianType.LITTLE_ENDIAN),
+        () -> new LongRleDecoder(EndianType.LITTLE_ENDIAN));
+    checkLong(new DeltaBinaryEncoder.LongDeltaEncoder(), DeltaBinaryDecoder.LongDeltaDecoder::new);
+    checkLong(new PlainEncoder(EndianType.LITTLE_ENDIAN, TSDataType.INT64, 0),
+        () -> new PlainDecoder(EndianType.LITTLE_ENDIAN));
+  }
+
+  @Test
+  public void testFloat() throws IOException {
+    checkFloat(new FloatEncoder(TSEncoding.RLE, TSDataType.FLOAT, 2),
+        () -> new FloatDecoder(TSEncoding.RLE, TSDataType.FLOAT));
+    checkFloat(new FloatEncoder(TSEncoding.TS_2DIFF, TSDataType.FLOAT, 2),
+        () -> new FloatDecoder(TSEncoding.TS_2DIFF, TSDataType.FLOAT));
+    checkFloat(new SinglePrecisionEncoder(), SinglePrecisionDecoder::new);
+    checkFloat(new PlainEncoder(EndianType.LITTLE_ENDIAN, TSDataType.FLOAT, 0),
+        () -> new PlainDecoder(EndianType.LITTLE_ENDIAN));
+  }
+
+  @Test
+  public void testDouble() throws IOException {
+    checkDouble(new FloatEncoder(TSEncoding.RLE, TSDataType.DOUBLE, 3),
+        () -> new FloatDecoder(TSEncoding.RLE, TSDataType.DOUBLE));
+    checkDouble(new FloatEncoder(TSEncoding.TS_2DIFF, TSDataType.DOUBLE, 3),
+        () -> new FloatDecoder(TSEncoding.TS_2DIFF, TSDataType.DOUBLE));
+    checkDouble(new DoublePrecisionEncoder(), DoublePrecisionDecoder::new);
+    checkDouble(new PlainEncoder(EndianType.LITTLE_ENDIAN, TSDataType.DOUBLE, 0),
+        () -> new PlainDecoder(EndianType.LITTLE_ENDIAN));
+  }
+
+  @Test
+  public void testBoolean() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Encoder encoder = new IntRleEncoder(EndianType.LITTLE_ENDIAN);
+    for (int i = 0; i < COUNT; i++) {
+      encoder.encode(i % 3 == 0 || i % 1000 < 200, out);
+    }
+    encoder.flush(out);
+
+    Decoder decoder = new IntRleDecoder(EndianType.LITTLE_ENDIAN);
+    ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+    boolean[] expected = new boolean[COUNT];
+    for (int i = 0; i < COUNT; i++) {
+      expected[i] = decoder.readBoolean(buffer);
+    }
+    Decoder bulkDecoder = new IntRleDecoder(EndianType.LITTLE_ENDIAN);
+    ByteBuffer bulkBuffer = ByteBuffer.wrap(out.toByteArray());
+    boolean[] actual = new boolean[COUNT];
+    assertEquals(COUNT,
+        decodeAll(COUNT, (off, len) -> bulkDecoder.decode(bulkBuffer, actual, off, len)));
+    assertArrayEquals(expected, actual);
+  }
+
+  private void checkInt(Encoder encoder, DecoderFactory factory) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    int[] expected = new int[COUNT];
+    for (int i = 0; i < COUNT; i++) {
+      expected[i] = intValue(i);
+      encoder.encode(expected[i], out);
+    }
+    encoder.flush(out);
+
+    Decoder decoder = factory.create();
+    ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+    int[] actual = new int[COUNT];
+    assertEquals(COUNT, decodeAll(COUNT, (off, len) -> decoder.decode(buffer, actual, off, len)));
+    assertArrayEquals(expected, actual);
+    assertEquals(0, decoder.decode(buffer, actual, 0, 1));
+  }
+
+  private void checkLong(Encoder encoder, DecoderFactory factory) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    long[] expected = new long[COUNT];
+    for (int i = 0; i < COUNT; i++) {
+      expected[i] = (long) intValue(i) * Integer.MAX_VALUE;
+      encoder.encode(expected[i], out);
+    }
+    encoder.flush(out);
+
+    Decoder decoder = factory.create();
+    ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+    long[] actual = new long[COUNT];
+    assertEquals(COUNT, decodeAll(COUNT, (off, len) -> decoder.decode(buffer, actual, off, len)));
+    assertArrayEquals(expected, actual);
+    assertEquals(0, decoder.decode(buffer, actual, 0, 1));
+  }
+
+  private void checkFloat(Encoder encoder, DecoderFactory factory) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (int i = 0; i < COUNT; i++) {
+      encoder.encode(intValue(i) / 100.0f, out);
+    }
+    encoder.flush(out);
+
+    Decoder decoder = factory.create();
+    ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+    float[] expected = new float[COUNT];
+    for (int i = 0; i < COUNT; i++) {
+      expected[i] = decoder.readFloat(buffer);
+    }
+    Decoder bulkDecoder = factory.create();
+    ByteBuffer bulkBuffer = ByteBuffer.wrap(out.toByteArray());
+    float[] actual = new float[COUNT];
+    assertEquals(COUNT,
+        decodeAll(COUNT, (off, len) -> bulkDecoder.decode(bulkBuffer, actual, off, len)));
+    assertArrayEquals(expected, actual, 0);
+  }
+
+  private void checkDouble(Encoder encoder, DecoderFactory factory) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (int i = 0; i < COUNT; i++) {
+      encoder.encode(intValue(i) / 1000.0, out);
+    }
+    encoder.flush(out);
+
+    Decoder decoder = factory.create();
+    ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+    double[] expected = new double[COUNT];
+    for (int i = 0; i < COUNT; i++) {
+      expected[i] = decoder.readDouble(buffer);
+    }
+    Decoder bulkDecoder = factory.create();
+    ByteBuffer bulkBuffer = ByteBuffer.wrap(out.toByteArray());
+    double[] actual = new double[COUNT];
+    assertEquals(COUNT,
+        decodeAll(COUNT, (off, len) -> bulkDecoder.decode(bulkBuffer, actual, off, len)));
+    assertArrayEquals(expected, actual, 0);
+  }
+
+  /**
+   * decode in batches of {@link #BATCH_SIZE} until nothing is left.
+   */
+  private int decodeAll(int capacity, BatchDecoder batchDecoder) throws IOException {
+    int total = 0;
+    int count;
+    while (total < capacity
+        && (count = batchDecoder.decode(total, Math.min(BATCH_SIZE, capacity - total))) > 0) {
+      total += count;
+    }
+    return total;
+  }
+
+  private interface DecoderFactory {
+
+    Decoder create();
+  }
+
+  private interface BatchDecoder {
+
+    int decode(int offset, int length) throws IOException;
+  }
+}
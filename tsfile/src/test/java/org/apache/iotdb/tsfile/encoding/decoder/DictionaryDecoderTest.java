@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.iotdb.tsfile.encoding.common.EndianType;
+import org.apache.iotdb.tsfile.encoding.encoder.DictionaryEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.PlainEncoder;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.junit.Test;
+
+public class DictionaryDecoderTest {
+
+  private static final int MAX_STRING_LENGTH = 128;
+
+  @Test
+  public void testLowCardinality() throws IOException {
+    List<Binary> values = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      values.add(new Binary("state" + i % 7));
+    }
+    ByteBuffer page = encode(new DictionaryEncoder(MAX_STRING_LENGTH), values);
+
+    DictionaryDecoder decoder = new DictionaryDecoder();
+    assertTrue(decoder.isDictionaryEncoded(page));
+    assertEquals(7, decoder.getDictionary().length);
+    assertValues(decoder, page, values);
+    // much smaller than plain
+    assertTrue(page.limit() * 10 < plainSize(values));
+  }
+
+  @Test
+  public void testFallBackWhenDictionaryIsFull() throws IOException {
+    List<Binary> values = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      values.add(new Binary("device" + i % 300));
+    }
+    ByteBuffer page = encode(new DictionaryEncoder(MAX_STRING_LENGTH, 100), values);
+
+    DictionaryDecoder decoder = new DictionaryDecoder();
+    assertFalse(decoder.isDictionaryEncoded(page));
+    assertValues(decoder, page, values);
+    assertEquals(1 + plainSize(values), page.limit());
+  }
+
+  @Test
+  public void testUniqueValues() throws IOException {
+    List<Binary> values = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      values.add(new Binary("unique" + i));
+    }
+    ByteBuffer page = encode(new DictionaryEncoder(MAX_STRING_LENGTH), values);
+
+    DictionaryDecoder decoder = new DictionaryDecoder();
+    decoder.isDictionaryEncoded(page);
+    assertValues(decoder, page, values);
+    // never larger than plain
+    assertTrue(page.limit() <= 1 + plainSize(values));
+  }
+
+  @Test
+  public void testEmptyPage() throws IOException {
+    ByteBuffer page = encode(new DictionaryEncoder(MAX_STRING_LENGTH), new ArrayList<>());
+    assertEquals(0, page.limit());
+    DictionaryDecoder decoder = new DictionaryDecoder();
+    assertFalse(decoder.isDictionaryEncoded(page));
+    assertFalse(decoder.hasNext(page));
+  }
+
+  @Test
+  public void testMultiplePages() throws IOException {
+    DictionaryEncoder encoder = new DictionaryEncoder(MAX_STRING_LENGTH, 50);
+    DictionaryDecoder decoder = new DictionaryDecoder();
+    for (int pageIndex = 0; pageIndex < 4; pageIndex++) {
+      // pages alternate between a dictionary and the PLAIN fallback
+      int cardinality = pageIndex % 2 == 0 ? 3 : 80;
+      List<Binary> values = new ArrayList<>();
+      for (int i = 0; i < 500; i++) {
+        values.add(new Binary(pageIndex + "-" + i % cardinality));
+      }
+      ByteBuffer page = encode(encoder, values);
+      decoder.reset();
+      assertEquals(pageIndex % 2 == 0, decoder.isDictionaryEncoded(page));
+      assertValues(decoder, page, values);
+    }
+  }
+
+  @Test
+  public void testReadId() throws IOException {
+    List<Binary> values = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      values.add(new Binary(i % 3 == 0 ? "on" : "off"));
+    }
+    ByteBuffer page = encode(new DictionaryEncoder(MAX_STRING_LENGTH), values);
+
+    DictionaryDecoder decoder = new DictionaryDecoder();
+    assertTrue(decoder.isDictionaryEncoded(page));
+    Binary[] dictionary = decoder.getDictionary();
+    for (Binary value : values) {
+      assertTrue(decoder.hasNext(page));
+      assertEquals(value, dictionary[decoder.readId(page)]);
+    }
+    assertFalse(decoder.hasNext(page));
+  }
+
+  private ByteBuffer encode(DictionaryEncoder encoder, List<Binary> values) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (Binary value : values) {
+      encoder.encode(value, out);
+    }
+    encoder.flush(out);
+    return ByteBuffer.wrap(out.toByteArray());
+  }
+
+  private int plainSize(List<Binary> values) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PlainEncoder encoder = new PlainEncoder(EndianType.LITTLE_ENDIAN, TSDataType.TEXT,
+        MAX_STRING_LENGTH);
+    for (Binary value : values) {
+      encoder.encode(value, out);
+    }
+    return out.size();
+  }
+
+  private void assertValues(DictionaryDecoder decoder, ByteBuffer page, List<Binary> values)
+      throws IOException {
+    for (Binary value : values) {
+      assertTrue(decoder.hasNext(page));
+      assertEquals(value, decoder.readBinary(page));
+    }
+    assertFalse(decoder.hasNext(page));
+  }
+}
@@ -24,7 +24,9 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import org.apache.iotdb.tsfile.file.metadata.utils.TestHelper;
 import org.apache.iotdb.tsfile.file.metadata.utils.Utils;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -55,6 +57,32 @@ public class TsFileMetaDataTest {
     serialized(readMetaData);
   }
 
+  @Test
+  public void testBloomFilter() {
+    TsFileMetaData tsfMetaData = TestHelper.createSimpleFileMetaData();
+    BloomFilter bloomFilter = BloomFilter.getEmptyBloomFilter(1, 0.01);
+    bloomFilter.add("device_0.sensor");
+    tsfMetaData.setBloomFilter(bloomFilter);
+    serialized(tsfMetaData);
+    TsFileMetaData readMetaData = deSerialized();
+    Assert.assertTrue(readMetaData.mightContainSeries("device_0", "sensor"));
+    Assert.assertFalse(readMetaData.mightContainSeries("device_5", "sensor"));
+    Assert.assertNull(readMetaData.getSeriesMetadataIndex("device_0"));
+  }
+
+  @Test
+  public void testEarlierVersion() {
+    TsFileMetaData tsfMetaData = TestHelper.createSimpleFileMetaData();
+    tsfMetaData.setCurrentVersion(TsFileMetaData.SERIES_INDEX_VERSION - 1);
+    tsfMetaData.setBloomFilter(BloomFilter.getEmptyBloomFilter(1, 0.01));
+    serialized(tsfMetaData);
+    TsFileMetaData readMetaData = deSerialized();
+    Utils.isFileMetaDataEqual(tsfMetaData, readMetaData);
+    // neither the series index nor the bloom filter is written for an earlier version
+    Assert.assertNull(readMetaData.getBloomFilter());
+    Assert.assertTrue(readMetaData.mightContainSeries("device_0", "sensor"));
+  }
+
   private TsFileMetaData deSerialized() {
     FileInputStream fis = null;
     TsFileMetaData metaData = null;
@@ -21,16 +21,20 @@ package org.apache.iotdb.tsfile.read;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
 import org.apache.iotdb.tsfile.file.MetaMarker;
 import org.apache.iotdb.tsfile.file.header.ChunkHeader;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
 import org.apache.iotdb.tsfile.file.metadata.ChunkGroupMetaData;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.file.metadata.TsDeviceMetadata;
 import org.apache.iotdb.tsfile.file.metadata.TsDeviceMetadataIndex;
 import org.apache.iotdb.tsfile.file.metadata.TsFileMetaData;
+import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.utils.TsFileGeneratorForTest;
 import org.junit.After;
@@ -98,4 +102,70 @@ public class TsFileSequenceReaderTest {
     }
     reader.close();
   }
+
+  @Test
+  public void testReadChunkMetaDataList()
+      throws IOException, InterruptedException, WriteProcessException {
+    TsFileGeneratorForTest.generateFile(rowCount, 16 * 1024, 1024);
+    TsFileSequenceReader reader = new TsFileSequenceReader(FILE_PATH);
+    TsFileMetaData metaData = reader.readFileMetadata();
+    Assert.assertNotNull(metaData.getBloomFilter());
+    for (Map.Entry<String, TsDeviceMetadataIndex> entry : metaData.getDeviceMap().entrySet()) {
+      String device = entry.getKey();
+      Assert.assertNotNull(metaData.getSeriesMetadataIndex(device));
+      // the ChunkMetaData read from the whole device metadata
+      Map<String, List<ChunkMetaData>> expected = new HashMap<>();
+      for (ChunkGroupMetaData chunkGroupMetaData : reader.readTsDeviceMetaData(entry.getValue())
+          .getChunkGroupMetaDataList()) {
+        for (ChunkMetaData chunkMetaData : chunkGroupMetaData.getChunkMetaDataList()) {
+          chunkMetaData.setVersion(chunkGroupMetaData.getVersion());
+          expected.computeIfAbsent(chunkMetaData.getMeasurementUid(), k -> new ArrayList<>())
+              .add(chunkMetaData);
+        }
+      }
+      for (Map.Entry<String, List<ChunkMetaData>> series : expected.entrySet()) {
+        Path path = new Path(device, series.getKey());
+        Assert.assertTrue(metaData.getBloomFilter().contains(path.getFullPath()));
+        List<ChunkMetaData> chunkMetaDataList = reader.readChunkMetaDataList(metaData, path);
+        Assert.assertEquals(series.getValue().size(), chunkMetaDataList.size());
+        for (int i = 0; i < chunkMetaDataList.size(); i++) {
+          ChunkMetaData expectedChunk = series.getValue().get(i);
+          ChunkMetaData chunk = chunkMetaDataList.get(i);
+          Assert.assertEquals(expectedChunk.getOffsetOfChunkHeader(),
+              chunk.getOffsetOfChunkHeader());
+          Assert.assertEquals(expectedChunk.getStartTime(), chunk.getStartTime());
+          Assert.assertEquals(expectedChunk.getEndTime(), chunk.getEndTime());
+          Assert.assertEquals(expectedChunk.getNumOfPoints(), chunk.getNumOfPoints());
+          Assert.assertEquals(expectedChunk.getVersion(), chunk.getVersion());
+        }
+      }
+      Assert.assertTrue(reader.readChunkMetaDataList(metaData, new Path(device, "none"))
+          .isEmpty());
+    }
+    Assert.assertTrue(reader.readChunkMetaDataList(metaData, new Path("none", "s1")).isEmpty());
+    reader.close();
+  }
+
+  @Test
+  public void testReadChunkMetaDataListWithoutIndex() throws IOException {
+    TsFileSequenceReader reader = new TsFileSequenceReader(FILE_PATH);
+    TsFileMetaData metaData = reader.readFileMetadata();
+    // as a file of an earlier version
+    metaData.setSeriesIndexMap(null);
+    metaData.setBloomFilter(null);
+    for (Map.Entry<String, TsDeviceMetadataIndex> entry : metaData.getDeviceMap().entrySet()) {
+      int chunkNum = 0;
+      for (ChunkGroupMetaData chunkGroupMetaData : reader.readTsDeviceMetaData(entry.getValue())
+          .getChunkGroupMetaDataList()) {
+        for (ChunkMetaData chunkMetaData : chunkGroupMetaData.getChunkMetaDataList()) {
+          if (chunkMetaData.getMeasurementUid().equals("s1")) {
+            chunkNum++;
+          }
+        }
+      }
+      Assert.assertEquals(chunkNum,
+          reader.readChunkMetaDataList(metaData, new Path(entry.getKey(), "s1")).size());
+    }
+    reader.close();
+  }
 }
\ No newline at end of file
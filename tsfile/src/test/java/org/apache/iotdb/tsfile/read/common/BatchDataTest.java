@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.read.common;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.junit.Test;
+
+public class BatchDataTest {
+
+  @Test
+  public void testPutAndIterate() {
+    // starts smaller than the number of points, so the arrays have to grow
+    BatchData batchData = new BatchData(TSDataType.INT64, true, 3);
+    for (long i = 0; i < 1000; i++) {
+      batchData.putTime(i);
+      batchData.putLong(i * 10);
+    }
+    assertEquals(1000, batchData.length());
+    long i = 0;
+    while (batchData.hasNext()) {
+      assertEquals(i, batchData.currentTime());
+      assertEquals(i * 10, batchData.getLong());
+      assertEquals(i * 10, batchData.currentValue());
+      batchData.next();
+      i++;
+    }
+    assertEquals(1000, i);
+    assertEquals(500, batchData.getTimeByIndex(500));
+    assertEquals(5000, batchData.getLongByIndex(500));
+  }
+
+  @Test
+  public void testBulkPut() {
+    BatchData batchData = new BatchData(TSDataType.DOUBLE, true);
+    long[] times = new long[100];
+    double[] values = new double[100];
+    for (int i = 0; i < 100; i++) {
+      times[i] = i;
+      values[i] = i * 0.5;
+    }
+    batchData.putTimes(times, 10, 50);
+    batchData.putDoubles(values, 10, 50);
+    batchData.putTimes(times, 60, 40);
+    batchData.putDoubles(values, 60, 40);
+
+    long[] expected = new long[90];
+    System.arraycopy(times, 10, expected, 0, 90);
+    assertArrayEquals(expected, batchData.getTimeAsArray());
+    for (int i = 0; i < 90; i++) {
+      assertEquals(values[i + 10], batchData.getDoubleByIndex(i), 0);
+    }
+  }
+
+  @Test
+  public void testClear() {
+    BatchData batchData = new BatchData(TSDataType.TEXT, true, 2);
+    batchData.putTime(1);
+    batchData.putBinary(new Binary("a"));
+    batchData.putTime(2);
+    batchData.putBinary(new Binary("b"));
+    batchData.next();
+
+    batchData.clear();
+    assertEquals(0, batchData.length());
+    assertFalse(batchData.hasNext());
+
+    batchData.putTime(3);
+    batchData.putBinary(new Binary("c"));
+    assertTrue(batchData.hasNext());
+    assertEquals(3, batchData.currentTime());
+    assertEquals(new Binary("c"), batchData.getBinary());
+    batchData.next();
+    assertFalse(batchData.hasNext());
+  }
+
+  @Test
+  public void testSet() {
+    BatchData batchData = new BatchData(TSDataType.INT32, true, 0);
+    for (int i = 0; i < 10; i++) {
+      batchData.putTime(i);
+      batchData.putInt(i);
+    }
+    batchData.setInt(3, 30);
+    batchData.setTime(3, 33);
+    batchData.setAnObject(4, 40);
+    assertEquals(30, batchData.getIntByIndex(3));
+    assertEquals(33, batchData.getTimeByIndex(3));
+    assertEquals(40, batchData.getIntByIndex(4));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testRangeCheck() {
+    BatchData batchData = new BatchData(TSDataType.FLOAT, true);
+    batchData.putTime(1);
+    batchData.putFloat(1.0f);
+    batchData.getFloatByIndex(1);
+  }
+}
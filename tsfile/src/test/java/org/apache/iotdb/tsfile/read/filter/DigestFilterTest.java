@@ -98,4 +98,37 @@ public class DigestFilterTest {
     Assert.assertEquals(true, orFilter.satisfy(digest2));
   }
 
+  @Test
+  public void testContainDigest() {
+    Assert.assertEquals(false, ValueFilter.eq(100).containDigest(digest1));
+    Assert.assertEquals(true, ValueFilter.eq(5).containDigest(
+        new DigestForFilter(1L, 100L, BytesUtils.intToBytes(5), BytesUtils.intToBytes(5),
+            TSDataType.INT32)));
+    Assert.assertEquals(false, ValueFilter.notEq(150).containDigest(digest2));
+    Assert.assertEquals(true, ValueFilter.notEq(300).containDigest(digest2));
+
+    Assert.assertEquals(true, ValueFilter.gt(100).containDigest(digest2));
+    Assert.assertEquals(false, ValueFilter.gt(101).containDigest(digest2));
+    Assert.assertEquals(true, ValueFilter.gtEq(101).containDigest(digest2));
+    Assert.assertEquals(true, ValueFilter.lt(101).containDigest(digest1));
+    Assert.assertEquals(false, ValueFilter.lt(100).containDigest(digest1));
+    Assert.assertEquals(true, ValueFilter.ltEq(100).containDigest(digest1));
+
+    Assert.assertEquals(true, TimeFilter.gtEq(101L).containDigest(digest2));
+    Assert.assertEquals(false, TimeFilter.gt(101L).containDigest(digest2));
+    Assert.assertEquals(true, TimeFilter.lt(101L).containDigest(digest1));
+
+    Filter andFilter = FilterFactory.and(TimeFilter.gt(0L), ValueFilter.lt(150));
+    Assert.assertEquals(true, andFilter.containDigest(digest1));
+    Assert.assertEquals(false, andFilter.containDigest(digest2));
+
+    Filter orFilter = FilterFactory.or(ValueFilter.gt(150), TimeFilter.gt(100L));
+    Assert.assertEquals(false, orFilter.containDigest(digest1));
+    Assert.assertEquals(true, orFilter.containDigest(digest2));
+
+    Filter notFilter = FilterFactory.not(ValueFilter.gt(100));
+    Assert.assertEquals(true, notFilter.containDigest(digest1));
+    Assert.assertEquals(false, notFilter.containDigest(digest2));
+  }
+
 }
@@ -156,4 +156,28 @@ public class MinTimeMaxTimeFilterTest {
     not = FilterFactory.not(ValueFilter.ltEq(100));
     Assert.assertEquals(false, not.satisfyStartEndTime(minTime, maxTime));
   }
+
+  @Test
+  public void testContain() {
+    Assert.assertEquals(true, TimeFilter.gt(10L).containStartEndTime(minTime, maxTime));
+    Assert.assertEquals(false, TimeFilter.gt(100L).containStartEndTime(minTime, maxTime));
+    Assert.assertEquals(true, TimeFilter.gtEq(100L).containStartEndTime(minTime, maxTime));
+    Assert.assertEquals(true, TimeFilter.lt(300L).containStartEndTime(minTime, maxTime));
+    Assert.assertEquals(false, TimeFilter.lt(200L).containStartEndTime(minTime, maxTime));
+    Assert.assertEquals(true, TimeFilter.ltEq(200L).containStartEndTime(minTime, maxTime));
+    Assert.assertEquals(false, TimeFilter.eq(100L).containStartEndTime(minTime, maxTime));
+    Assert.assertEquals(true, TimeFilter.eq(100L).containStartEndTime(100L, 100L));
+    Assert.assertEquals(false, TimeFilter.notEq(150L).containStartEndTime(minTime, maxTime));
+    Assert.assertEquals(true, TimeFilter.notEq(300L).containStartEndTime(minTime, maxTime));
+
+    Filter andFilter = FilterFactory.and(TimeFilter.gt(10L), TimeFilter.lt(300L));
+    Assert.assertEquals(true, andFilter.containStartEndTime(minTime, maxTime));
+    andFilter = FilterFactory.and(TimeFilter.gt(10L), TimeFilter.lt(150L));
+    Assert.assertEquals(false, andFilter.containStartEndTime(minTime, maxTime));
+
+    Filter not = FilterFactory.not(TimeFilter.ltEq(10L));
+    Assert.assertEquals(true, not.containStartEndTime(minTime, maxTime));
+    not = FilterFactory.not(TimeFilter.ltEq(150L));
+    Assert.assertEquals(false, not.containStartEndTime(minTime, maxTime));
+  }
 }
@@ -128,6 +128,11 @@ public class NodeTest {
       return false;
     }
 
+    @Override
+    protected boolean chunkContained(ChunkMetaData chunkMetaData) {
+      return false;
+    }
+
     @Override
     public void close() {
 
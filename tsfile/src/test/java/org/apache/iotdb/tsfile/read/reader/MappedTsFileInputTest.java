@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.read.reader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.read.ReadOnlyTsFile;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.expression.QueryExpression;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.utils.TsFileGeneratorForTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MappedTsFileInputTest {
+
+  private static final String FILE_PATH = TsFileGeneratorForTest.outputDataFile;
+  // small enough to make many reads cross the border of two windows
+  private static final int WINDOW_SIZE = 4096;
+
+  @Before
+  public void before() throws InterruptedException, WriteProcessException, IOException {
+    TsFileGeneratorForTest.generateFile(1000, 16 * 1024 * 1024, 10000);
+  }
+
+  @After
+  public void after() {
+    TsFileGeneratorForTest.after();
+  }
+
+  @Test
+  public void testReadBuffer() throws IOException {
+    TsFileInput defaultInput = new DefaultTsFileInput(Paths.get(FILE_PATH));
+    TsFileInput mappedInput = new MappedTsFileInput(Paths.get(FILE_PATH), WINDOW_SIZE);
+    long size = defaultInput.size();
+    Assert.assertEquals(size, mappedInput.size());
+    for (int length : new int[]{1, 100, WINDOW_SIZE, WINDOW_SIZE + 1}) {
+      for (long position = 0; position + length <= size; position += 97) {
+        ByteBuffer expected = defaultInput.readBuffer(position, length);
+        ByteBuffer actual = mappedInput.readBuffer(position, length);
+        Assert.assertEquals(expected, actual);
+      }
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(200);
+    Assert.assertEquals(200, mappedInput.read(buffer, WINDOW_SIZE - 100));
+    buffer.flip();
+    Assert.assertEquals(defaultInput.readBuffer(WINDOW_SIZE - 100, 200), buffer);
+    Assert.assertEquals(-1, mappedInput.read(buffer, size));
+
+    defaultInput.close();
+    mappedInput.close();
+  }
+
+  @Test
+  public void testClose() throws IOException {
+    TsFileInput defaultInput = new DefaultTsFileInput(Paths.get(FILE_PATH));
+    MappedTsFileInput mappedInput = new MappedTsFileInput(Paths.get(FILE_PATH), WINDOW_SIZE);
+    ByteBuffer slice = mappedInput.readBuffer(0, 100);
+    mappedInput.close();
+    // closing twice is harmless
+    mappedInput.close();
+    // the slices handed out before stay readable until they are collected
+    Assert.assertEquals(defaultInput.readBuffer(0, 100), slice);
+    try {
+      mappedInput.readBuffer(0, 100);
+      Assert.fail();
+    } catch (IOException e) {
+      // the input has been closed
+    }
+    defaultInput.close();
+
+    mappedInput = new MappedTsFileInput(Paths.get(FILE_PATH), WINDOW_SIZE);
+    Assert.assertEquals(100, mappedInput.readBuffer(0, 100).remaining());
+    mappedInput.unmapAndClose();
+    mappedInput.unmapAndClose();
+    mappedInput.close();
+    try {
+      mappedInput.readBuffer(0, 100);
+      Assert.fail();
+    } catch (IOException e) {
+      // the windows have been unmapped
+    }
+  }
+
+  @Test
+  public void testQuery() throws IOException {
+    ReadOnlyTsFile defaultTsFile = new ReadOnlyTsFile(new TsFileSequenceReader(FILE_PATH));
+    ReadOnlyTsFile mappedTsFile = new ReadOnlyTsFile(new TsFileSequenceReader(
+        new MappedTsFileInput(Paths.get(FILE_PATH), WINDOW_SIZE), FILE_PATH));
+    QueryExpression queryExpression = QueryExpression.create()
+        .addSelectedPath(new Path("d1.s1")).addSelectedPath(new Path("d1.s2"))
+        .addSelectedPath(new Path("d1.s4")).addSelectedPath(new Path("d1.s5"))
+        .addSelectedPath(new Path("d1.s6")).addSelectedPath(new Path("d2.s1"));
+
+    QueryDataSet expected = defaultTsFile.query(queryExpression);
+    QueryDataSet actual = mappedTsFile.query(queryExpression);
+    int count = 0;
+    while (expected.hasNext()) {
+      Assert.assertTrue(actual.hasNext());
+      Assert.assertEquals(expected.next().toString(), actual.next().toString());
+      count++;
+    }
+    Assert.assertFalse(actual.hasNext());
+    Assert.assertTrue(count > 0);
+
+    defaultTsFile.close();
+    mappedTsFile.close();
+  }
+}
@@ -23,12 +23,14 @@ import java.nio.ByteBuffer;
 import org.apache.iotdb.tsfile.encoding.common.EndianType;
 import org.apache.iotdb.tsfile.encoding.decoder.Decoder;
 import org.apache.iotdb.tsfile.encoding.decoder.DeltaBinaryDecoder;
+import org.apache.iotdb.tsfile.encoding.decoder.DictionaryDecoder;
 import org.apache.iotdb.tsfile.encoding.decoder.DoublePrecisionDecoder;
 import org.apache.iotdb.tsfile.encoding.decoder.IntRleDecoder;
 import org.apache.iotdb.tsfile.encoding.decoder.LongRleDecoder;
 import org.apache.iotdb.tsfile.encoding.decoder.PlainDecoder;
 import org.apache.iotdb.tsfile.encoding.decoder.SinglePrecisionDecoder;
 import org.apache.iotdb.tsfile.encoding.encoder.DeltaBinaryEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.DictionaryEncoder;
 import org.apache.iotdb.tsfile.encoding.encoder.DoublePrecisionEncoder;
 import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
 import org.apache.iotdb.tsfile.encoding.encoder.IntRleEncoder;
@@ -37,6 +39,10 @@ import org.apache.iotdb.tsfile.encoding.encoder.PlainEncoder;
 import org.apache.iotdb.tsfile.encoding.encoder.SinglePrecisionEncoder;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
 import org.apache.iotdb.tsfile.read.reader.page.PageReader;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.write.page.PageWriter;
@@ -142,6 +148,56 @@ public class PageReaderTest {
     test.test();
   }
 
+  @Test
+  public void testDictionaryBinary() {
+    LoopWriteReadTest test = new LoopWriteReadTest("Test Dictionary",
+        new DictionaryEncoder(1000), new DictionaryDecoder(), TSDataType.TEXT,
+        POINTS_COUNT_IN_ONE_PAGE) {
+      @Override
+      public Object generateValueByIndex(int i) {
+        return new Binary(new StringBuilder("STATE").append(i % 5).toString());
+      }
+    };
+    test.test();
+  }
+
+  @Test
+  public void testDictionaryBinaryWithFilter() throws IOException {
+    int count = 10000;
+    // a value filter is evaluated against the dictionary
+    checkDictionaryFilter(ValueFilter.eq(new Binary("STATE3")), count, count / 5);
+    checkDictionaryFilter(ValueFilter.notEq(new Binary("STATE3")), count, count - count / 5);
+    checkDictionaryFilter(ValueFilter.eq(new Binary("STATE9")), count, 0);
+    // a filter on time is evaluated on every point
+    checkDictionaryFilter(FilterFactory
+        .and(TimeFilter.gtEq(count / 2), ValueFilter.eq(new Binary("STATE3"))), count, count / 10);
+  }
+
+  private void checkDictionaryFilter(Filter filter, int count, int expectedCount)
+      throws IOException {
+    PageWriter pageWriter = new PageWriter();
+    pageWriter.setTimeEncoder(new DeltaBinaryEncoder.LongDeltaEncoder());
+    pageWriter.setValueEncoder(new DictionaryEncoder(1000));
+    for (int i = 0; i < count; i++) {
+      pageWriter.write(i, new Binary("STATE" + i % 5));
+    }
+    ByteBuffer page = ByteBuffer.wrap(pageWriter.getUncompressedBytes().array());
+
+    PageReader pageReader = new PageReader(page, TSDataType.TEXT, new DictionaryDecoder(),
+        new DeltaBinaryDecoder.LongDeltaDecoder(), filter);
+    int index = 0;
+    while (pageReader.hasNextBatch()) {
+      BatchData data = pageReader.nextBatch();
+      while (data.hasNext()) {
+        Assert.assertTrue(filter.satisfy(data.currentTime(), data.currentValue()));
+        Assert.assertEquals(new Binary("STATE" + data.currentTime() % 5), data.currentValue());
+        data.next();
+        index++;
+      }
+    }
+    Assert.assertEquals(expectedCount, index);
+  }
+
   private abstract static class LoopWriteReadTest {
 
     private Encoder encoder;
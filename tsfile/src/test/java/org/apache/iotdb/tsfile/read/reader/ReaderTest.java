@@ -100,6 +100,91 @@ public class ReaderTest {
     }
   }
 
+  @Test
+  public void reverseReadTest() throws IOException {
+    ChunkLoaderImpl seriesChunkLoader = new ChunkLoaderImpl(fileReader);
+    List<ChunkMetaData> chunkMetaDataList = metadataQuerierByFile
+        .getChunkMetaDataList(new Path("d1.s1"));
+    long startTime = TsFileGeneratorForTest.START_TIMESTAMP;
+
+    FileSeriesReader seriesReader = new FileSeriesReaderWithoutFilter(seriesChunkLoader,
+        chunkMetaDataList);
+    checkReverseRead(seriesReader, startTime + rowCount - 1, rowCount);
+
+    Filter filter = TimeFilter.lt(startTime + 1000);
+    seriesReader = new FileSeriesReaderWithFilter(seriesChunkLoader, chunkMetaDataList, filter);
+    checkReverseRead(seriesReader, startTime + 999, 1000);
+  }
+
+  /**
+   * read the points backwards and check that their timestamps decrease one by one.
+   */
+  private void checkReverseRead(FileSeriesReader seriesReader, long expectedLastTime,
+      long expectedCount) throws IOException {
+    long time = expectedLastTime;
+    long count = 0;
+    while (seriesReader.hasPreviousBatch()) {
+      BatchData data = seriesReader.previousBatch();
+      for (int i = data.length() - 1; i >= 0; i--) {
+        Assert.assertEquals(time--, data.getTimeByIndex(i));
+        count++;
+      }
+    }
+    Assert.assertEquals(expectedCount, count);
+  }
+
+  @Test
+  public void skipPointsTest() throws IOException {
+    ChunkLoaderImpl seriesChunkLoader = new ChunkLoaderImpl(fileReader);
+    List<ChunkMetaData> chunkMetaDataList = metadataQuerierByFile
+        .getChunkMetaDataList(new Path("d1.s1"));
+    long startTime = TsFileGeneratorForTest.START_TIMESTAMP;
+
+    FileSeriesReader seriesReader = new FileSeriesReaderWithoutFilter(seriesChunkLoader,
+        chunkMetaDataList);
+    // no page is decoded before the one holding the 123457th point
+    Assert.assertTrue(
+        checkSkippedPoints(seriesReader, 123456, startTime + 123456, rowCount - 123456) > 0);
+
+    Filter filter = TimeFilter.gt(startTime + 1000);
+    seriesReader = new FileSeriesReaderWithFilter(seriesChunkLoader, chunkMetaDataList, filter);
+    checkSkippedPoints(seriesReader, 5000, startTime + 6001, rowCount - 6001);
+
+    seriesReader = new FileSeriesReaderWithoutFilter(seriesChunkLoader, chunkMetaDataList);
+    Assert.assertEquals(rowCount, checkSkippedPoints(seriesReader, rowCount, 0, 0));
+  }
+
+  /**
+   * skip the given number of points by skipPoints() and then one by one, and check the rest.
+   *
+   * @return the number of points skipped by skipPoints()
+   */
+  private long checkSkippedPoints(FileSeriesReader seriesReader, long pointsToSkip,
+      long expectedFirstTime, long expectedCount) throws IOException {
+    long skippedByMetadata = seriesReader.skipPoints(pointsToSkip);
+    Assert.assertTrue(skippedByMetadata <= pointsToSkip);
+
+    long skipped = skippedByMetadata;
+
+    long count = 0;
+    while (seriesReader.hasNextBatch()) {
+      BatchData data = seriesReader.nextBatch();
+      while (data.hasNext()) {
+        if (skipped < pointsToSkip) {
+          skipped++;
+        } else {
+          if (count == 0) {
+            Assert.assertEquals(expectedFirstTime, data.currentTime());
+          }
+          count++;
+        }
+        data.next();
+      }
+    }
+    Assert.assertEquals(expectedCount, count);
+    return skippedByMetadata;
+  }
+
   @Test
   public void readWithFilterTest() throws IOException {
     ChunkLoaderImpl seriesChunkLoader = new ChunkLoaderImpl(fileReader);
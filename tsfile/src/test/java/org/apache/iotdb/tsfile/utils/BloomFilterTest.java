@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+
+public class BloomFilterTest {
+
+  private static final int SERIES_NUM = 10000;
+
+  @Test
+  public void testNoFalseNegative() {
+    BloomFilter filter = BloomFilter.getEmptyBloomFilter(SERIES_NUM, 0.05);
+    for (int i = 0; i < SERIES_NUM; i++) {
+      filter.add("root.sg.d" + i + ".s" + i);
+    }
+    for (int i = 0; i < SERIES_NUM; i++) {
+      assertTrue(filter.contains("root.sg.d" + i + ".s" + i));
+    }
+  }
+
+  @Test
+  public void testErrorRate() {
+    BloomFilter filter = BloomFilter.getEmptyBloomFilter(SERIES_NUM, 0.05);
+    for (int i = 0; i < SERIES_NUM; i++) {
+      filter.add("root.sg.d" + i + ".s" + i);
+    }
+    int falsePositiveNum = 0;
+    for (int i = 0; i < SERIES_NUM; i++) {
+      if (filter.contains("root.sg.d" + i + ".t" + i)) {
+        falsePositiveNum++;
+      }
+    }
+    assertTrue(falsePositiveNum < SERIES_NUM * 0.1);
+  }
+
+  @Test
+  public void testSerialization() throws IOException {
+    BloomFilter filter = BloomFilter.getEmptyBloomFilter(100, 0.01);
+    for (int i = 0; i < 100; i++) {
+      filter.add("d1.s" + i);
+    }
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    assertEquals(filter.getSerializedSize(), filter.serializeTo(outputStream));
+    BloomFilter streamFilter = BloomFilter
+        .deserializeFrom(new ByteArrayInputStream(outputStream.toByteArray()));
+
+    ByteBuffer buffer = ByteBuffer.allocate(filter.getSerializedSize());
+    filter.serializeTo(buffer);
+    buffer.flip();
+    BloomFilter bufferFilter = BloomFilter.deserializeFrom(buffer);
+
+    for (BloomFilter deserialized : new BloomFilter[]{streamFilter, bufferFilter}) {
+      assertEquals(filter.getBitNum(), deserialized.getBitNum());
+      assertEquals(filter.getHashNum(), deserialized.getHashNum());
+      for (int i = 0; i < 1000; i++) {
+        assertEquals(filter.contains("d1.s" + i), deserialized.contains("d1.s" + i));
+      }
+    }
+  }
+}
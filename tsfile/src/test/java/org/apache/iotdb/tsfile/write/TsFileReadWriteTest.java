@@ -24,8 +24,10 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.ReadOnlyTsFile;
@@ -33,13 +35,21 @@ import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.common.RowRecord;
 import org.apache.iotdb.tsfile.read.expression.QueryExpression;
+import org.apache.iotdb.tsfile.read.expression.impl.SingleSeriesExpression;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
 import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.read.reader.MappedTsFileInput;
+import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.write.record.TSRecord;
 import org.apache.iotdb.tsfile.write.record.datapoint.DataPoint;
 import org.apache.iotdb.tsfile.write.record.datapoint.DoubleDataPoint;
 import org.apache.iotdb.tsfile.write.record.datapoint.FloatDataPoint;
 import org.apache.iotdb.tsfile.write.record.datapoint.IntDataPoint;
 import org.apache.iotdb.tsfile.write.record.datapoint.LongDataPoint;
+import org.apache.iotdb.tsfile.write.record.datapoint.StringDataPoint;
 import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 import org.junit.After;
 import org.junit.Before;
@@ -106,6 +116,45 @@ public class TsFileReadWriteTest {
     reader.close();
   }
 
+  @Test
+  public void compressorTest() throws IOException, WriteProcessException {
+    CompressionType[] types = {CompressionType.GZIP, CompressionType.LZ4, CompressionType.ZSTD};
+    ArrayList<Path> paths = new ArrayList<>();
+    for (CompressionType type : types) {
+      tsFileWriter.addMeasurement(
+          new MeasurementSchema(type.name(), TSDataType.DOUBLE, TSEncoding.GORILLA, type));
+      paths.add(new Path("device_1." + type.name()));
+    }
+    int count = 100000;
+    for (long i = 1; i < count; i++) {
+      TSRecord tsRecord = new TSRecord(i, "device_1");
+      for (CompressionType type : types) {
+        tsRecord.addTuple(new DoubleDataPoint(type.name(), i / 10.0));
+      }
+      tsFileWriter.write(tsRecord);
+    }
+    tsFileWriter.close();
+
+    // read both into heap buffers and from a mapped file
+    TsFileSequenceReader[] readers = {new TsFileSequenceReader(path),
+        new TsFileSequenceReader(new MappedTsFileInput(Paths.get(path), 64 * 1024), path)};
+    for (TsFileSequenceReader reader : readers) {
+      QueryDataSet queryDataSet = new ReadOnlyTsFile(reader)
+          .query(QueryExpression.create(paths, null));
+      long i = 1;
+      while (queryDataSet.hasNext()) {
+        RowRecord r = queryDataSet.next();
+        assertEquals(i, r.getTimestamp());
+        for (int j = 0; j < types.length; j++) {
+          assertEquals(i / 10.0, r.getFields().get(j).getDoubleV(), delta);
+        }
+        i++;
+      }
+      assertEquals(count, i);
+      reader.close();
+    }
+  }
+
   @Test
   public void longTest() throws IOException, WriteProcessException {
     int floatCount = 1024 * 1024 * 13 + 1023;
@@ -218,6 +267,96 @@ public class TsFileReadWriteTest {
     reader.close();
   }
 
+  @Test
+  public void valueFilterTest() throws IOException, WriteProcessException {
+    int count = 1024 * 1024 + 1023;
+    // add measurements into file schema
+    tsFileWriter
+        .addMeasurement(new MeasurementSchema("sensor_1", TSDataType.INT32, TSEncoding.RLE));
+    for (long i = 1; i < count; i++) {
+      // construct TSRecord
+      TSRecord tsRecord = new TSRecord(i, "device_1");
+      DataPoint dPoint1 = new IntDataPoint("sensor_1", (int) i);
+      tsRecord.addTuple(dPoint1);
+      // write a TSRecord to TsFile
+      tsFileWriter.write(tsRecord);
+    }
+    // close TsFile
+    tsFileWriter.close();
+    TsFileSequenceReader reader = new TsFileSequenceReader(path);
+    ReadOnlyTsFile readTsFile = new ReadOnlyTsFile(reader);
+
+    // most pages are either skipped or entirely accepted
+    checkValueFilter(readTsFile, ValueFilter.gtEq(1000), 1000, count - 1);
+    checkValueFilter(readTsFile, FilterFactory.and(ValueFilter.gt(12345), ValueFilter.lt(543210)),
+        12346, 543209);
+    checkValueFilter(readTsFile,
+        FilterFactory.and(TimeFilter.gtEq(100L), ValueFilter.ltEq(700000)), 100, 700000);
+    reader.close();
+  }
+
+  private void checkValueFilter(ReadOnlyTsFile readTsFile, Filter filter, int expectedStart,
+      int expectedEnd) throws IOException {
+    ArrayList<Path> paths = new ArrayList<>();
+    paths.add(new Path("device_1.sensor_1"));
+    QueryExpression queryExpression = QueryExpression
+        .create(paths, new SingleSeriesExpression(new Path("device_1.sensor_1"), filter));
+    QueryDataSet queryDataSet = readTsFile.query(queryExpression);
+    int i = expectedStart;
+    while (queryDataSet.hasNext()) {
+      RowRecord r = queryDataSet.next();
+      assertEquals(i, r.getTimestamp());
+      assertEquals(i, r.getFields().get(0).getIntV());
+      i++;
+    }
+    assertEquals(expectedEnd + 1, i);
+  }
+
+  @Test
+  public void textDictionaryTest() throws IOException, WriteProcessException {
+    int count = 1024 * 1024 + 1023;
+    // add measurements into file schema
+    tsFileWriter.addMeasurement(
+        new MeasurementSchema("sensor_1", TSDataType.TEXT, TSEncoding.PLAIN_DICTIONARY));
+    for (long i = 1; i < count; i++) {
+      // construct TSRecord
+      TSRecord tsRecord = new TSRecord(i, "device_1");
+      DataPoint dPoint1 = new StringDataPoint("sensor_1", new Binary("state" + i % 4));
+      tsRecord.addTuple(dPoint1);
+      // write a TSRecord to TsFile
+      tsFileWriter.write(tsRecord);
+    }
+    // close TsFile
+    tsFileWriter.close();
+    TsFileSequenceReader reader = new TsFileSequenceReader(path);
+    ReadOnlyTsFile readTsFile = new ReadOnlyTsFile(reader);
+    ArrayList<Path> paths = new ArrayList<>();
+    paths.add(new Path("device_1.sensor_1"));
+
+    QueryDataSet queryDataSet = readTsFile.query(QueryExpression.create(paths, null));
+    int i = 1;
+    while (queryDataSet.hasNext()) {
+      RowRecord r = queryDataSet.next();
+      assertEquals(i, r.getTimestamp());
+      assertEquals("state" + i % 4, r.getFields().get(0).getStringValue());
+      i++;
+    }
+    assertEquals(count, i);
+
+    QueryExpression queryExpression = QueryExpression.create(paths, new SingleSeriesExpression(
+        new Path("device_1.sensor_1"), ValueFilter.eq(new Binary("state2"))));
+    queryDataSet = readTsFile.query(queryExpression);
+    i = 2;
+    while (queryDataSet.hasNext()) {
+      RowRecord r = queryDataSet.next();
+      assertEquals(i, r.getTimestamp());
+      assertEquals("state2", r.getFields().get(0).getStringValue());
+      i += 4;
+    }
+    assertTrue(i >= count);
+    reader.close();
+  }
+
   @Test
   public void readEmptyMeasurementTest() throws IOException, WriteProcessException {
     String path = "test.tsfile";